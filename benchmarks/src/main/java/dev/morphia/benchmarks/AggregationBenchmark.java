@@ -0,0 +1,152 @@
+package dev.morphia.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.aggregation.AggregationImpl;
+import dev.morphia.benchmarks.models.Order;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static dev.morphia.aggregation.expressions.AccumulatorExpressions.avg;
+import static dev.morphia.aggregation.expressions.AccumulatorExpressions.max;
+import static dev.morphia.aggregation.expressions.AccumulatorExpressions.push;
+import static dev.morphia.aggregation.expressions.AccumulatorExpressions.sum;
+import static dev.morphia.aggregation.expressions.ArrayExpressions.filter;
+import static dev.morphia.aggregation.expressions.ArrayExpressions.size;
+import static dev.morphia.aggregation.expressions.BooleanExpressions.and;
+import static dev.morphia.aggregation.expressions.ComparisonExpressions.eq;
+import static dev.morphia.aggregation.expressions.ComparisonExpressions.gt;
+import static dev.morphia.aggregation.expressions.ConditionalExpressions.condition;
+import static dev.morphia.aggregation.expressions.Expressions.field;
+import static dev.morphia.aggregation.expressions.Expressions.value;
+import static dev.morphia.aggregation.expressions.MathExpressions.multiply;
+import static dev.morphia.aggregation.expressions.WindowExpressions.rank;
+import static dev.morphia.aggregation.stages.Bucket.bucket;
+import static dev.morphia.aggregation.stages.Facet.facet;
+import static dev.morphia.aggregation.stages.Group.group;
+import static dev.morphia.aggregation.stages.Group.id;
+import static dev.morphia.aggregation.stages.Lookup.lookup;
+import static dev.morphia.aggregation.stages.Match.match;
+import static dev.morphia.aggregation.stages.Projection.project;
+import static dev.morphia.aggregation.stages.SetWindowFields.Output.output;
+import static dev.morphia.aggregation.stages.SetWindowFields.setWindowFields;
+import static dev.morphia.aggregation.stages.Sort.sort;
+import static dev.morphia.aggregation.stages.SortByCount.sortByCount;
+import static dev.morphia.aggregation.stages.Unwind.unwind;
+import static dev.morphia.query.Sort.ascending;
+import static dev.morphia.query.filters.Filters.expr;
+import static dev.morphia.query.filters.Filters.gt;
+
+/**
+ * Measures building aggregation pipelines with expression heavy stages and encoding them in to their {@link Document} form.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregationBenchmark {
+    private MongoClient client;
+    private MorphiaDatastore datastore;
+
+    @Setup
+    public void setup() {
+        client = MongoClients.create();
+        datastore = Fixtures.datastore(client);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public List<Document> groupPipeline() {
+        return ((AggregationImpl<Order>) datastore.aggregate(Order.class)
+                .match(gt("items.quantity", 0))
+                .unwind(unwind("items"))
+                .group(group(id().field("city", field("customer.billing.city")))
+                        .field("revenue", sum(multiply(field("items.quantity"), field("items.product.price"))))
+                        .field("orders", sum(value(1)))
+                        .field("averagePrice", avg(field("items.product.price")))
+                        .field("largest", max(field("items.quantity")))
+                        .field("skus", push(field("items.product.sku"))))
+                .sort(sort().descending("revenue")))
+                .pipeline();
+    }
+
+    @Benchmark
+    public List<Document> windowPipeline() {
+        return ((AggregationImpl<Order>) datastore.aggregate(Order.class)
+                .unwind(unwind("items"))
+                .setWindowFields(setWindowFields()
+                        .partitionBy(field("customer.billing.city"))
+                        .sortBy(ascending("items.quantity"))
+                        .output(output("runningTotal")
+                                .operator(sum(multiply(field("items.quantity"), field("items.product.price"))))
+                                .window()
+                                .documents("unbounded", "current"),
+                                output("rank")
+                                        .operator(rank()))))
+                .pipeline();
+    }
+
+    @Benchmark
+    public List<Document> lookupPipeline() {
+        return ((AggregationImpl<Order>) datastore.aggregate(Order.class)
+                .lookup(lookup("inventory")
+                        .localField("items.product.sku")
+                        .foreignField("sku")
+                        .as("stock"))
+                .lookup(lookup("shipments")
+                        .let("city", field("customer.shipping.city"))
+                        .let("items", size(field("items")))
+                        .pipeline(match(expr(and(
+                                eq(field("destination"), field("$$city")),
+                                gt(field("capacity"), field("$$items"))))))
+                        .as("carriers"))
+                .project(project()
+                        .include("customer.name")
+                        .include("stock")
+                        .include("backordered", filter(field("items"), gt(field("$$this.quantity"), value(10))))))
+                .pipeline();
+    }
+
+    @Benchmark
+    public List<Document> facetPipeline() {
+        return ((AggregationImpl<Order>) datastore.aggregate(Order.class)
+                .facet(facet()
+                        .field("byCity",
+                                sortByCount(field("customer.billing.city")))
+                        .field("bySize",
+                                bucket()
+                                        .groupBy(size(field("items")))
+                                        .boundaries(value(0), value(5), value(10), value(20))
+                                        .defaultValue("large")
+                                        .outputField("count", sum(value(1)))
+                                        .outputField("cities", push(field("customer.billing.city"))))
+                        .field("flagged",
+                                unwind("items"),
+                                match(expr(gt(field("items.quantity"), value(15)))),
+                                project().include("flag",
+                                        condition(gt(field("items.product.price"), value(100)), value("expensive"), value("cheap"))))))
+                .pipeline();
+    }
+}
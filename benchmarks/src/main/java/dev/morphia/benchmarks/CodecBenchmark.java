@@ -0,0 +1,98 @@
+package dev.morphia.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.mapping.codec.reader.DocumentReader;
+import dev.morphia.mapping.codec.writer.DocumentWriter;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures encoding and decoding entities of various shapes with Morphia's codecs. Each shape is encoded to and decoded from binary BSON,
+ * as the driver does on the wire, and {@link Document}s, as Morphia does internally for lifecycle events and updates. No server is
+ * needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+    private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    @Param({ "flat", "immutable", "deep", "polymorphic", "collections", "arrays", "lifecycle", "references" })
+    public String shape;
+
+    private MongoClient client;
+    private MorphiaDatastore datastore;
+    private Codec<Object> codec;
+    private Object entity;
+    private byte[] bytes;
+    private Document document;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        client = MongoClients.create();
+        datastore = Fixtures.datastore(client);
+        entity = Fixtures.create(shape);
+        codec = (Codec<Object>) datastore.getCodecRegistry().get(entity.getClass());
+        bytes = encodeBinary().toByteArray();
+        document = datastore.getCodecRegistry().get(Document.class)
+                .decode(new BsonBinaryReader(ByteBuffer.wrap(bytes)), DECODER_CONTEXT);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public BasicOutputBuffer encodeBinary() {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        codec.encode(new BsonBinaryWriter(buffer), entity, ENCODER_CONTEXT);
+        return buffer;
+    }
+
+    @Benchmark
+    public Object decodeBinary() {
+        return codec.decode(new BsonBinaryReader(ByteBuffer.wrap(bytes)), DECODER_CONTEXT);
+    }
+
+    @Benchmark
+    public Document encodeDocument() {
+        return new DocumentWriter(datastore.getMapper().getConfig())
+                .encode(datastore.getCodecRegistry(), entity, ENCODER_CONTEXT)
+                .getDocument();
+    }
+
+    @Benchmark
+    public Object decodeDocument() {
+        return codec.decode(new DocumentReader(document), DECODER_CONTEXT);
+    }
+}
@@ -0,0 +1,147 @@
+package dev.morphia.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import com.mongodb.client.MongoClient;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.benchmarks.models.Arrays;
+import dev.morphia.benchmarks.models.Audited;
+import dev.morphia.benchmarks.models.Book;
+import dev.morphia.benchmarks.models.Book.Author;
+import dev.morphia.benchmarks.models.Collections;
+import dev.morphia.benchmarks.models.Drawing;
+import dev.morphia.benchmarks.models.Drawing.Circle;
+import dev.morphia.benchmarks.models.Drawing.Shape;
+import dev.morphia.benchmarks.models.Drawing.Square;
+import dev.morphia.benchmarks.models.Drawing.Triangle;
+import dev.morphia.benchmarks.models.Flat;
+import dev.morphia.benchmarks.models.Immutable;
+import dev.morphia.benchmarks.models.Order;
+import dev.morphia.benchmarks.models.Order.Address;
+import dev.morphia.benchmarks.models.Order.Customer;
+import dev.morphia.benchmarks.models.Order.LineItem;
+import dev.morphia.benchmarks.models.Order.Location;
+import dev.morphia.benchmarks.models.Order.Product;
+import dev.morphia.config.MorphiaConfig;
+
+import org.bson.types.ObjectId;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Creates the datastore and sample entities used by the benchmarks. Nothing is ever sent to the server.
+ */
+public final class Fixtures {
+    private Fixtures() {
+    }
+
+    /**
+     * @param client the client to use
+     * @return a datastore mapping the benchmark models
+     */
+    public static MorphiaDatastore datastore(MongoClient client) {
+        return new StubbedDatastore(client, MorphiaConfig.load());
+    }
+
+    /**
+     * @param shape the name of the shape to create
+     * @return a sample entity of the given shape
+     */
+    public static Object create(String shape) {
+        switch (shape) {
+            case "flat":
+                return flat();
+            case "immutable":
+                return immutable();
+            case "deep":
+                return deep();
+            case "polymorphic":
+                return polymorphic();
+            case "collections":
+                return collections();
+            case "arrays":
+                return arrays();
+            case "lifecycle":
+                return lifecycle();
+            case "references":
+                return references();
+            default:
+                throw new IllegalArgumentException(format("Unknown shape '%s'", shape));
+        }
+    }
+
+    private static Flat flat() {
+        return new Flat("Malcolm Reynolds", "mal@serenity.com", 49, 1_234_567L, 4.5, true, LocalDateTime.of(2517, 9, 20, 12, 0));
+    }
+
+    private static Immutable immutable() {
+        return new Immutable(new ObjectId(), "Serenity", 12, 1_999.99, List.of("firefly", "transport", "class 03-K64"));
+    }
+
+    private static Order deep() {
+        Location location = new Location(29.7604, -95.3698);
+        Customer customer = new Customer("Inara Serra", new Address("1 Companion Way", "Sihnon", "00001", location),
+                new Address("2 Shuttle Bay", "Serenity", "00002", location));
+        List<LineItem> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(new LineItem(new Product("SKU-" + i, "Product number " + i, 9.99 * i), i));
+        }
+        return new Order(customer, items);
+    }
+
+    private static Drawing polymorphic() {
+        List<Shape> shapes = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            switch (i % 3) {
+                case 0:
+                    shapes.add(new Circle("red", i));
+                    break;
+                case 1:
+                    shapes.add(new Square("green", i));
+                    break;
+                default:
+                    shapes.add(new Triangle("blue", i, i * 2));
+            }
+        }
+        return new Drawing("shapes", shapes);
+    }
+
+    private static Collections collections() {
+        List<String> names = new ArrayList<>();
+        Map<String, Integer> totals = new HashMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            names.add("name-" + i);
+            totals.put("key-" + i, i);
+        }
+        return new Collections(names, LongStream.range(0, 1_000).boxed().collect(toList()), totals);
+    }
+
+    private static Arrays arrays() {
+        byte[] bytes = new byte[4_096];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return new Arrays(IntStream.range(0, 1_000).toArray(), LongStream.range(0, 1_000).toArray(),
+                IntStream.range(0, 1_000).asDoubleStream().toArray(), bytes);
+    }
+
+    private static Audited lifecycle() {
+        return new Audited("audited", "an entity with lifecycle methods");
+    }
+
+    private static Book references() {
+        List<Author> contributors = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            contributors.add(new Author("Contributor " + i));
+        }
+        return new Book("Serenity", new Author("Joss Whedon"), contributors);
+    }
+}
@@ -0,0 +1,103 @@
+package dev.morphia.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.benchmarks.models.Flat;
+import dev.morphia.benchmarks.models.Order;
+import dev.morphia.query.FindOptions;
+import dev.morphia.query.MorphiaQuery;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static dev.morphia.query.Sort.ascending;
+import static dev.morphia.query.Sort.descending;
+import static dev.morphia.query.filters.Filters.and;
+import static dev.morphia.query.filters.Filters.elemMatch;
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.filters.Filters.exists;
+import static dev.morphia.query.filters.Filters.gt;
+import static dev.morphia.query.filters.Filters.in;
+import static dev.morphia.query.filters.Filters.lte;
+import static dev.morphia.query.filters.Filters.ne;
+import static dev.morphia.query.filters.Filters.or;
+import static dev.morphia.query.filters.Filters.regex;
+
+/**
+ * Measures building queries and encoding their filters, sorts, and projections. Each invocation builds a new query so the costs of
+ * resolving paths and encoding values are included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+    private static final List<String> CITIES = List.of("Houston", "Boston", "Seattle", "Denver", "Austin");
+
+    private MongoClient client;
+    private MorphiaDatastore datastore;
+
+    @Setup
+    public void setup() {
+        client = MongoClients.create();
+        datastore = Fixtures.datastore(client);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public Document simpleFilter() {
+        return ((MorphiaQuery<Flat>) datastore.find(Flat.class)
+                .filter(eq("name", "Malcolm Reynolds")))
+                .toDocument();
+    }
+
+    @Benchmark
+    public Document compoundFilter() {
+        return ((MorphiaQuery<Flat>) datastore.find(Flat.class)
+                .filter(gt("age", 21),
+                        lte("rating", 4.5),
+                        ne("active", false),
+                        or(regex("email", "^mal").caseInsensitive(), exists("visits"))))
+                .toDocument();
+    }
+
+    @Benchmark
+    public Document nestedFilter() {
+        return ((MorphiaQuery<Order>) datastore.find(Order.class)
+                .filter(in("customer.billing.city", CITIES),
+                        elemMatch("items", gt("quantity", 5), lte("product.price", 100.0)),
+                        and(eq("customer.name", "Inara Serra"), exists("customer.shipping.location"))))
+                .toDocument();
+    }
+
+    @Benchmark
+    public void sortAndProjection(Blackhole blackhole) {
+        FindOptions options = new FindOptions()
+                .sort(descending("rating"), ascending("name"), ascending("created"));
+        options.projection().include("name", "email", "rating");
+        blackhole.consume(options.mappedSort(datastore.getMapper(), Flat.class));
+        blackhole.consume(options.mappedProjection(datastore.getMapper(), Flat.class));
+    }
+}
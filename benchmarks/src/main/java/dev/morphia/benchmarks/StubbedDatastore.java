@@ -0,0 +1,123 @@
+package dev.morphia.benchmarks;
+
+import java.util.List;
+
+import com.mongodb.client.DistinctIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.InsertManyResult;
+import com.mongodb.client.result.InsertOneResult;
+import com.mongodb.client.result.UpdateResult;
+
+import dev.morphia.DeleteOptions;
+import dev.morphia.InsertManyOptions;
+import dev.morphia.InsertOneOptions;
+import dev.morphia.ModifyOptions;
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.ReplaceOptions;
+import dev.morphia.UpdateOptions;
+import dev.morphia.config.MorphiaConfig;
+import dev.morphia.query.CountOptions;
+import dev.morphia.query.FindAndDeleteOptions;
+
+import org.bson.Document;
+
+/**
+ * A datastore whose operations never reach a server. Benchmarks only build and encode commands so any attempt to execute one is a bug in
+ * the benchmark.
+ */
+public class StubbedDatastore extends MorphiaDatastore {
+    /**
+     * @param client the client to use. It is never connected.
+     * @param config the config to use
+     */
+    public StubbedDatastore(MongoClient client, MorphiaConfig config) {
+        super(client, config);
+        operations(new StubbedOperations());
+    }
+
+    private static class StubbedOperations extends DatastoreOperations {
+        @Override
+        public <T> long countDocuments(MongoCollection<T> collection, Document query, CountOptions options) {
+            throw unsupported();
+        }
+
+        @Override
+        public <T> DeleteResult deleteMany(MongoCollection<T> collection, Document query, DeleteOptions options) {
+            throw unsupported();
+        }
+
+        @Override
+        public <T> DeleteResult deleteOne(MongoCollection<T> collection, Document query, DeleteOptions options) {
+            throw unsupported();
+        }
+
+        @Override
+        public <T, V> DistinctIterable<V> distinct(MongoCollection<T> collection, String field, Document query, Class<V> type) {
+            throw unsupported();
+        }
+
+        @Override
+        public <T> FindIterable<T> find(MongoCollection<T> collection, Document query) {
+            throw unsupported();
+        }
+
+        @Override
+        public <T> T findOneAndDelete(MongoCollection<T> collection, Document query, FindAndDeleteOptions options) {
+            throw unsupported();
+        }
+
+        @Override
+        public <T> T findOneAndUpdate(MongoCollection<T> collection, Document query, Document update, ModifyOptions options) {
+            throw unsupported();
+        }
+
+        @Override
+        public <T> InsertManyResult insertMany(MongoCollection<T> collection, List<T> list, InsertManyOptions options) {
+            throw unsupported();
+        }
+
+        @Override
+        public <T> InsertOneResult insertOne(MongoCollection<T> collection, T entity, InsertOneOptions options) {
+            throw unsupported();
+        }
+
+        @Override
+        public <T> UpdateResult replaceOne(MongoCollection<T> collection, T entity, Document filter, ReplaceOptions options) {
+            throw unsupported();
+        }
+
+        @Override
+        public Document runCommand(Document command) {
+            throw unsupported();
+        }
+
+        @Override
+        public <T> UpdateResult updateMany(MongoCollection<T> collection, Document query, Document updates, UpdateOptions options) {
+            throw unsupported();
+        }
+
+        @Override
+        public <T> UpdateResult updateMany(MongoCollection<T> collection, Document query, List<Document> updates,
+                UpdateOptions options) {
+            throw unsupported();
+        }
+
+        @Override
+        public <T> UpdateResult updateOne(MongoCollection<T> collection, Document query, Document updates, UpdateOptions options) {
+            throw unsupported();
+        }
+
+        @Override
+        public <T> UpdateResult updateOne(MongoCollection<T> collection, Document query, List<Document> updates,
+                UpdateOptions options) {
+            throw unsupported();
+        }
+
+        private static UnsupportedOperationException unsupported() {
+            return new UnsupportedOperationException("Benchmarks must not execute operations against the server");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package dev.morphia.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.benchmarks.models.Flat;
+import dev.morphia.benchmarks.models.Order;
+import dev.morphia.benchmarks.models.Order.Address;
+import dev.morphia.benchmarks.models.Order.LineItem;
+import dev.morphia.benchmarks.models.Order.Location;
+import dev.morphia.benchmarks.models.Order.Product;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.query.Operations;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static dev.morphia.query.updates.UpdateOperators.currentDate;
+import static dev.morphia.query.updates.UpdateOperators.inc;
+import static dev.morphia.query.updates.UpdateOperators.max;
+import static dev.morphia.query.updates.UpdateOperators.push;
+import static dev.morphia.query.updates.UpdateOperators.set;
+import static dev.morphia.query.updates.UpdateOperators.unset;
+
+/**
+ * Measures building update operators and encoding them in to update documents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UpdateBenchmark {
+    private MongoClient client;
+    private MorphiaDatastore datastore;
+    private EntityModel flat;
+    private EntityModel order;
+
+    @Setup
+    public void setup() {
+        client = MongoClients.create();
+        datastore = Fixtures.datastore(client);
+        flat = datastore.getMapper().getEntityModel(Flat.class);
+        order = datastore.getMapper().getEntityModel(Order.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public Document simpleUpdate() {
+        return new Operations(flat, List.of(set("name", "Malcolm Reynolds"), inc("visits")), true)
+                .toDocument(datastore);
+    }
+
+    @Benchmark
+    public Document compoundUpdate() {
+        return new Operations(flat, List.of(
+                set("email", "mal@serenity.com"),
+                inc("visits", 10),
+                max("rating", 5.0),
+                unset("active"),
+                currentDate("created")), true)
+                .toDocument(datastore);
+    }
+
+    @Benchmark
+    public Document embeddedUpdate() {
+        return new Operations(order, List.of(
+                set("customer.billing", new Address("1 Companion Way", "Sihnon", "00001", new Location(29.7604, -95.3698))),
+                set("customer.shipping.location", new Location(42.3601, -71.0589)),
+                push("items", new LineItem(new Product("SKU-1", "Product number 1", 9.99), 2))), true)
+                .toDocument(datastore);
+    }
+}
@@ -0,0 +1,30 @@
+package dev.morphia.benchmarks.models;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+
+import org.bson.types.ObjectId;
+
+/**
+ * An entity with primitive arrays.
+ */
+@Entity("arrays")
+public class Arrays {
+    @Id
+    private ObjectId id;
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+    private byte[] bytes;
+
+    public Arrays() {
+    }
+
+    public Arrays(int[] ints, long[] longs, double[] doubles, byte[] bytes) {
+        this.id = new ObjectId();
+        this.ints = ints;
+        this.longs = longs;
+        this.doubles = doubles;
+        this.bytes = bytes;
+    }
+}
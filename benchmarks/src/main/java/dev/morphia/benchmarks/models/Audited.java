@@ -0,0 +1,43 @@
+package dev.morphia.benchmarks.models;
+
+import java.time.LocalDateTime;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.PostLoad;
+import dev.morphia.annotations.PrePersist;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+/**
+ * An entity with lifecycle methods which forces the lifecycle aware encoder and decoder.
+ */
+@Entity("audited")
+public class Audited {
+    @Id
+    private ObjectId id;
+    private String name;
+    private String description;
+    private LocalDateTime lastModified;
+    private long loads;
+
+    public Audited() {
+    }
+
+    public Audited(String name, String description) {
+        this.id = new ObjectId();
+        this.name = name;
+        this.description = description;
+    }
+
+    @PrePersist
+    void prePersist(Document document) {
+        lastModified = LocalDateTime.now();
+    }
+
+    @PostLoad
+    void postLoad(Document document) {
+        loads++;
+    }
+}
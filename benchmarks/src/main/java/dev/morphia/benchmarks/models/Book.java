@@ -0,0 +1,49 @@
+package dev.morphia.benchmarks.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Reference;
+
+import org.bson.types.ObjectId;
+
+/**
+ * An entity with references to other entities. The references are lazy so decoding never needs to fetch them from the database.
+ */
+@Entity("books")
+public class Book {
+    @Id
+    private ObjectId id;
+    private String title;
+    @Reference(lazy = true)
+    private Author author;
+    @Reference(lazy = true)
+    private List<Author> contributors = new ArrayList<>();
+
+    public Book() {
+    }
+
+    public Book(String title, Author author, List<Author> contributors) {
+        this.id = new ObjectId();
+        this.title = title;
+        this.author = author;
+        this.contributors = contributors;
+    }
+
+    @Entity("authors")
+    public static class Author {
+        @Id
+        private ObjectId id;
+        private String name;
+
+        public Author() {
+        }
+
+        public Author(String name) {
+            this.id = new ObjectId();
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package dev.morphia.benchmarks.models;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+
+import org.bson.types.ObjectId;
+
+/**
+ * An entity with large collections and maps.
+ */
+@Entity("collections")
+public class Collections {
+    @Id
+    private ObjectId id;
+    private List<String> names = new ArrayList<>();
+    private List<Long> counters = new ArrayList<>();
+    private Map<String, Integer> totals = new HashMap<>();
+
+    public Collections() {
+    }
+
+    public Collections(List<String> names, List<Long> counters, Map<String, Integer> totals) {
+        this.id = new ObjectId();
+        this.names = names;
+        this.counters = counters;
+        this.totals = totals;
+    }
+}
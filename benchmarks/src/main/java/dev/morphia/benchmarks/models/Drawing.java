@@ -0,0 +1,82 @@
+package dev.morphia.benchmarks.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+
+import org.bson.types.ObjectId;
+
+/**
+ * An entity holding polymorphic embedded types which are resolved via their discriminators.
+ */
+@Entity("drawings")
+public class Drawing {
+    @Id
+    private ObjectId id;
+    private String title;
+    private List<Shape> shapes = new ArrayList<>();
+
+    public Drawing() {
+    }
+
+    public Drawing(String title, List<Shape> shapes) {
+        this.id = new ObjectId();
+        this.title = title;
+        this.shapes = shapes;
+    }
+
+    @Entity
+    public abstract static class Shape {
+        private String color;
+
+        protected Shape() {
+        }
+
+        protected Shape(String color) {
+            this.color = color;
+        }
+    }
+
+    @Entity
+    public static class Circle extends Shape {
+        private double radius;
+
+        public Circle() {
+        }
+
+        public Circle(String color, double radius) {
+            super(color);
+            this.radius = radius;
+        }
+    }
+
+    @Entity
+    public static class Square extends Shape {
+        private double side;
+
+        public Square() {
+        }
+
+        public Square(String color, double side) {
+            super(color);
+            this.side = side;
+        }
+    }
+
+    @Entity
+    public static class Triangle extends Shape {
+        private double base;
+        private double height;
+
+        public Triangle() {
+        }
+
+        public Triangle(String color, double base, double height) {
+            super(color);
+            this.base = base;
+            this.height = height;
+        }
+    }
+}
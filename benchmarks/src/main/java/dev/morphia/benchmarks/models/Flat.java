@@ -0,0 +1,38 @@
+package dev.morphia.benchmarks.models;
+
+import java.time.LocalDateTime;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+
+import org.bson.types.ObjectId;
+
+/**
+ * A flat entity with only simple properties.
+ */
+@Entity("flat")
+public class Flat {
+    @Id
+    private ObjectId id;
+    private String name;
+    private String email;
+    private int age;
+    private long visits;
+    private double rating;
+    private boolean active;
+    private LocalDateTime created;
+
+    public Flat() {
+    }
+
+    public Flat(String name, String email, int age, long visits, double rating, boolean active, LocalDateTime created) {
+        this.id = new ObjectId();
+        this.name = name;
+        this.email = email;
+        this.age = age;
+        this.visits = visits;
+        this.rating = rating;
+        this.active = active;
+        this.created = created;
+    }
+}
@@ -0,0 +1,31 @@
+package dev.morphia.benchmarks.models;
+
+import java.util.List;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Name;
+
+import org.bson.types.ObjectId;
+
+/**
+ * An entity with only final fields which must be created via its constructor.
+ */
+@Entity("immutable")
+public class Immutable {
+    @Id
+    private final ObjectId id;
+    private final String name;
+    private final int quantity;
+    private final double price;
+    private final List<String> tags;
+
+    public Immutable(@Name("id") ObjectId id, @Name("name") String name, @Name("quantity") int quantity, @Name("price") double price,
+            @Name("tags") List<String> tags) {
+        this.id = id;
+        this.name = name;
+        this.quantity = quantity;
+        this.price = price;
+        this.tags = tags;
+    }
+}
@@ -0,0 +1,107 @@
+package dev.morphia.benchmarks.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+
+import org.bson.types.ObjectId;
+
+/**
+ * An entity with several levels of embedded types.
+ */
+@Entity("orders")
+public class Order {
+    @Id
+    private ObjectId id;
+    private Customer customer;
+    private List<LineItem> items = new ArrayList<>();
+
+    public Order() {
+    }
+
+    public Order(Customer customer, List<LineItem> items) {
+        this.id = new ObjectId();
+        this.customer = customer;
+        this.items = items;
+    }
+
+    @Entity
+    public static class Customer {
+        private String name;
+        private Address billing;
+        private Address shipping;
+
+        public Customer() {
+        }
+
+        public Customer(String name, Address billing, Address shipping) {
+            this.name = name;
+            this.billing = billing;
+            this.shipping = shipping;
+        }
+    }
+
+    @Entity
+    public static class Address {
+        private String street;
+        private String city;
+        private String postalCode;
+        private Location location;
+
+        public Address() {
+        }
+
+        public Address(String street, String city, String postalCode, Location location) {
+            this.street = street;
+            this.city = city;
+            this.postalCode = postalCode;
+            this.location = location;
+        }
+    }
+
+    @Entity
+    public static class Location {
+        private double latitude;
+        private double longitude;
+
+        public Location() {
+        }
+
+        public Location(double latitude, double longitude) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+
+    @Entity
+    public static class LineItem {
+        private Product product;
+        private int quantity;
+
+        public LineItem() {
+        }
+
+        public LineItem(Product product, int quantity) {
+            this.product = product;
+            this.quantity = quantity;
+        }
+    }
+
+    @Entity
+    public static class Product {
+        private String sku;
+        private String description;
+        private double price;
+
+        public Product() {
+        }
+
+        public Product(String sku, String description, double price) {
+            this.sku = sku;
+            this.description = description;
+            this.price = price;
+        }
+    }
+}
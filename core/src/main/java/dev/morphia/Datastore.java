@@ -11,7 +11,9 @@ import com.mongodb.lang.Nullable;
 import dev.morphia.aggregation.Aggregation;
 import dev.morphia.annotations.internal.MorphiaExperimental;
 import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.changestream.Watch;
 import dev.morphia.query.Query;
+import dev.morphia.query.filters.Filter;
 import dev.morphia.transactions.MorphiaSession;
 import dev.morphia.transactions.MorphiaTransaction;
 
@@ -145,6 +147,27 @@ public interface Datastore {
      */
     <T> void insert(List<T> entities, InsertManyOptions options);
 
+    /**
+     * Releases what this datastore holds on to beyond the client, such as the change streams watching collections with cached query
+     * results. The client itself is left open. The datastore should not be used once closed.
+     *
+     * @since 3.0
+     */
+    default void close() {
+    }
+
+    /**
+     * Creates a buffer which collects entities from any number of threads and inserts them in batches in the background. This suits
+     * high volume, append only workloads such as events or time series data where a round trip per entity would be too costly.
+     *
+     * @param options the options controlling when batches are written
+     * @return the new buffer. It should be closed when no longer needed.
+     * @since 3.0
+     */
+    default InsertBuffer insertBuffer(InsertBufferOptions options) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Work as if you did an update with each field in the entity doing a $set; Only at the top level of the entity.
      *
@@ -290,6 +313,20 @@ public interface Datastore {
      */
     MorphiaSession startSession(ClientSessionOptions options);
 
+    /**
+     * Watches the collection mapped for a type for changes. Events are decoded using the entity's codec.
+     *
+     * @param type    the entity type
+     * @param filters the filters to apply to each event
+     * @param <T>     the entity type
+     * @return the new watch
+     * @see Watch
+     * @since 3.0
+     */
+    default <T> Watch<T> watch(Class<T> type, Filter... filters) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * @param transaction the transaction wrapper
      * @param <T>         the return type
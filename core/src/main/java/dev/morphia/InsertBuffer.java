@@ -0,0 +1,253 @@
+package dev.morphia;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoInterruptedException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.MorphiaDatastore.EncodedInsert;
+import dev.morphia.sofia.Sofia;
+
+import org.bson.RawBsonDocument;
+
+/**
+ * Collects entities to be inserted and writes them in batches from a background thread. Many threads may add entities concurrently.
+ * A batch is written when the number of pending entities reaches {@link InsertBufferOptions#batchSize()}, when their encoded size
+ * reaches {@link InsertBufferOptions#batchBytes()}, or when {@link InsertBufferOptions#flushInterval()} has passed, whichever comes
+ * first. Once {@link InsertBufferOptions#capacity()} entities are waiting, further inserts block until a batch has been written.
+ * <p>
+ * Each entity is encoded, and assigned its id and version, as it is added so later changes to it are not written. The outcome of each
+ * insert is reported through the future returned when the entity was added. Entities are written in the order they were added, with
+ * each run of entities of the same type in a batch sent as one insert. For ordered inserts, a failure fails the rest of its batch too.
+ * Closing the buffer writes any pending entities before returning.
+ *
+ * @see Datastore#insertBuffer(InsertBufferOptions)
+ * @since 3.0
+ */
+public class InsertBuffer implements AutoCloseable {
+    private final MorphiaDatastore datastore;
+    private final InsertBufferOptions options;
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final Semaphore permits;
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+    private final ScheduledFuture<?> scheduled;
+    private volatile boolean closed;
+
+    InsertBuffer(MorphiaDatastore datastore, InsertBufferOptions options) {
+        this.datastore = datastore;
+        this.options = new InsertBufferOptions(options);
+        permits = new Semaphore(options.capacity());
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "morphia-insert-buffer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = options.flushInterval().toMillis();
+        scheduled = flusher.scheduleWithFixedDelay(this::drain, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds an entity to be inserted. If the buffer is at capacity, this blocks until space is available.
+     *
+     * @param entity the entity to insert
+     * @param <T>    the entity type
+     * @return a future completed with the entity once it has been written or exceptionally if the write failed
+     * @throws IllegalStateException    if the buffer has been closed
+     * @throws MongoInterruptedException if interrupted while waiting for space in the buffer
+     */
+    public <T> CompletableFuture<T> insert(T entity) {
+        if (closed) {
+            throw new IllegalStateException(Sofia.insertBufferClosed());
+        }
+        Pending entry = new Pending(entity, datastore.encodeInsert(entity));
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            entry.encoded.rollback();
+            Thread.currentThread().interrupt();
+            throw new MongoInterruptedException(null, e);
+        }
+        pending.add(entry);
+        if (closed && pending.remove(entry)) {
+            entry.encoded.rollback();
+            permits.release();
+            throw new IllegalStateException(Sofia.insertBufferClosed());
+        }
+        long total = bytes.addAndGet(entry.size);
+        if (size() >= options.batchSize() || options.batchBytes() > 0 && total >= options.batchBytes()) {
+            queueFlush();
+        }
+        return (CompletableFuture<T>) (CompletableFuture<?>) entry.future;
+    }
+
+    /**
+     * Writes all pending entities without waiting for a threshold to be reached.
+     *
+     * @return a future completed once the entities pending when this was called have been written
+     */
+    public CompletableFuture<Void> flush() {
+        if (closed) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(this::drain, flusher);
+    }
+
+    /**
+     * @return the number of entities waiting to be written, including those in a batch currently being written
+     */
+    public int size() {
+        return options.capacity() - permits.availablePermits();
+    }
+
+    /**
+     * Stops accepting entities, writes any which are pending, and releases the background thread.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        scheduled.cancel(false);
+        flusher.execute(this::drain);
+        flusher.shutdown();
+        try {
+            while (!flusher.awaitTermination(1, TimeUnit.SECONDS)) {
+                // keep waiting for the final batches to be written
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void queueFlush() {
+        if (flushQueued.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushQueued.set(false);
+                drain();
+            });
+        }
+    }
+
+    private void drain() {
+        List<Pending> batch = next();
+        while (!batch.isEmpty()) {
+            try {
+                write(batch);
+            } finally {
+                permits.release(batch.size());
+            }
+            batch.forEach(Pending::complete);
+            batch = next();
+        }
+    }
+
+    private List<Pending> next() {
+        List<Pending> batch = new ArrayList<>();
+        long size = 0;
+        Pending entry;
+        while (batch.size() < options.batchSize()
+                && (options.batchBytes() == 0 || batch.isEmpty() || size < options.batchBytes())
+                && (entry = pending.poll()) != null) {
+            batch.add(entry);
+            size += entry.size;
+        }
+        bytes.addAndGet(-size);
+        return batch;
+    }
+
+    /**
+     * Records the outcome of each entry in the batch. The futures are completed by the caller once the batch's permits are released.
+     */
+    private void write(List<Pending> batch) {
+        boolean ordered = options.insertOptions().driver().isOrdered();
+        int start = 0;
+        for (int end = 1; end <= batch.size(); end++) {
+            Class<?> type = batch.get(start).entity.getClass();
+            if (end < batch.size() && batch.get(end).entity.getClass() == type) {
+                continue;
+            }
+            RuntimeException failure = insert(type, batch.subList(start, end));
+            if (failure != null && ordered) {
+                batch.subList(end, batch.size()).forEach(entry -> entry.fail(failure));
+                return;
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * @return the failure if any entity could not be written
+     */
+    @Nullable
+    private RuntimeException insert(Class<?> type, List<Pending> entries) {
+        List<RawBsonDocument> documents = new ArrayList<>(entries.size());
+        entries.forEach(entry -> documents.add(entry.encoded.document()));
+        try {
+            datastore.insertEncoded(type, documents, options.insertOptions());
+            return null;
+        } catch (MongoBulkWriteException e) {
+            Set<Integer> failed = new HashSet<>();
+            int firstFailure = entries.size();
+            for (BulkWriteError error : e.getWriteErrors()) {
+                failed.add(error.getIndex());
+                firstFailure = Math.min(firstFailure, error.getIndex());
+            }
+            boolean ordered = options.insertOptions().driver().isOrdered();
+            for (int i = 0; i < entries.size(); i++) {
+                if (failed.contains(i) || ordered && i > firstFailure) {
+                    entries.get(i).fail(e);
+                }
+            }
+            return e;
+        } catch (RuntimeException e) {
+            entries.forEach(entry -> entry.fail(e));
+            return e;
+        }
+    }
+
+    private static final class Pending {
+        private final Object entity;
+        private final EncodedInsert encoded;
+        private final long size;
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        @Nullable
+        private RuntimeException failure;
+
+        private Pending(Object entity, EncodedInsert encoded) {
+            this.entity = entity;
+            this.encoded = encoded;
+            size = encoded.document().getByteBuffer().remaining();
+        }
+
+        private void fail(RuntimeException e) {
+            encoded.rollback();
+            failure = e;
+        }
+
+        private void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(entity);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package dev.morphia;
+
+import java.time.Duration;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.sofia.Sofia;
+
+/**
+ * Options controlling when an {@link InsertBuffer} writes its pending entities. A batch is written as soon as any one of the size, byte,
+ * or time thresholds is reached. The setter methods return {@code this} so that a chaining style can be used.
+ *
+ * @since 3.0
+ */
+public class InsertBufferOptions {
+    private int batchSize = 1000;
+    private long batchBytes;
+    private Duration flushInterval = Duration.ofSeconds(1);
+    private int capacity = 10_000;
+    private InsertManyOptions insertOptions = new InsertManyOptions();
+
+    /**
+     * Creates a new options instance
+     */
+    public InsertBufferOptions() {
+    }
+
+    /**
+     * @param that the options to copy
+     * @morphia.internal
+     * @hidden
+     */
+    @MorphiaInternal
+    public InsertBufferOptions(InsertBufferOptions that) {
+        this.batchSize = that.batchSize;
+        this.batchBytes = that.batchBytes;
+        this.flushInterval = that.flushInterval;
+        this.capacity = that.capacity;
+        this.insertOptions = new InsertManyOptions(that.insertOptions);
+    }
+
+    /**
+     * Sets the number of pending entities which triggers a write. This is also the largest number of entities written in one batch.
+     * The default is 1000.
+     *
+     * @param batchSize the batch size
+     * @return this
+     */
+    public InsertBufferOptions batchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(Sofia.optionOutOfRange("batchSize", 1, batchSize));
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * @return the batch size
+     */
+    public int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the encoded size, in bytes, of the pending entities which triggers a write. Measuring this requires encoding each entity as it
+     * is buffered so it is disabled by default. A value of 0 disables the byte threshold.
+     *
+     * @param batchBytes the byte threshold
+     * @return this
+     */
+    public InsertBufferOptions batchBytes(long batchBytes) {
+        if (batchBytes < 0) {
+            throw new IllegalArgumentException(Sofia.optionOutOfRange("batchBytes", 0, batchBytes));
+        }
+        this.batchBytes = batchBytes;
+        return this;
+    }
+
+    /**
+     * @return the byte threshold or 0 if disabled
+     */
+    public long batchBytes() {
+        return batchBytes;
+    }
+
+    /**
+     * Sets the longest time an entity waits in the buffer before being written. The default is one second.
+     *
+     * @param flushInterval the interval
+     * @return this
+     */
+    public InsertBufferOptions flushInterval(Duration flushInterval) {
+        if (flushInterval.toMillis() < 1) {
+            throw new IllegalArgumentException(Sofia.optionOutOfRange("flushInterval", "1ms", flushInterval));
+        }
+        this.flushInterval = flushInterval;
+        return this;
+    }
+
+    /**
+     * @return the flush interval
+     */
+    public Duration flushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Sets the most entities which may be waiting to be written. Once reached, {@link InsertBuffer#insert(Object)} blocks until a batch
+     * has been written. The default is 10,000.
+     *
+     * @param capacity the capacity
+     * @return this
+     */
+    public InsertBufferOptions capacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(Sofia.optionOutOfRange("capacity", 1, capacity));
+        }
+        this.capacity = capacity;
+        return this;
+    }
+
+    /**
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the options used when writing each batch
+     *
+     * @param insertOptions the insert options
+     * @return this
+     */
+    public InsertBufferOptions insertOptions(InsertManyOptions insertOptions) {
+        this.insertOptions = insertOptions;
+        return this;
+    }
+
+    /**
+     * @return the insert options
+     */
+    public InsertManyOptions insertOptions() {
+        return insertOptions;
+    }
+}
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -15,11 +16,13 @@ import com.mongodb.MongoCommandException;
 import com.mongodb.MongoException;
 import com.mongodb.MongoWriteException;
 import com.mongodb.WriteConcern;
+import com.mongodb.client.DistinctIterable;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.IndexModel;
 import com.mongodb.client.model.ValidationOptions;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.InsertManyResult;
@@ -38,12 +41,15 @@ import dev.morphia.annotations.ShardOptions;
 import dev.morphia.annotations.Validation;
 import dev.morphia.annotations.internal.IndexHelper;
 import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.changestream.Watch;
 import dev.morphia.config.MorphiaConfig;
+import dev.morphia.internal.ChangeTracker;
 import dev.morphia.internal.CollectionConfigurable;
 import dev.morphia.internal.CollectionConfiguration;
 import dev.morphia.internal.ReadConfigurable;
 import dev.morphia.internal.WriteConfigurable;
 import dev.morphia.mapping.EntityModelImporter;
+import dev.morphia.mapping.IndexReport;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.MappingException;
 import dev.morphia.mapping.ShardKeyType;
@@ -59,22 +65,32 @@ import dev.morphia.mapping.codec.pojo.MorphiaCodec;
 import dev.morphia.mapping.codec.pojo.PropertyModel;
 import dev.morphia.mapping.codec.reader.DocumentReader;
 import dev.morphia.mapping.codec.writer.DocumentWriter;
+import dev.morphia.metrics.InstrumentedOperations;
+import dev.morphia.metrics.MetricsCollector;
+import dev.morphia.metrics.QueryCaptureLog;
 import dev.morphia.query.CountOptions;
 import dev.morphia.query.FindAndDeleteOptions;
 import dev.morphia.query.FindOptions;
 import dev.morphia.query.Query;
 import dev.morphia.query.QueryFactory;
 import dev.morphia.query.UpdateException;
+import dev.morphia.query.filters.Filter;
+import dev.morphia.query.internal.QueryCache;
 import dev.morphia.query.updates.UpdateOperator;
 import dev.morphia.sofia.Sofia;
 import dev.morphia.transactions.MorphiaTransaction;
 import dev.morphia.transactions.SessionDatastore;
 
+import org.bson.BsonBinaryWriter;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.bson.codecs.Codec;
+import org.bson.codecs.CollectibleCodec;
 import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
 import org.bson.codecs.configuration.CodecProvider;
 import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.io.BasicOutputBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -105,6 +121,14 @@ public class MorphiaDatastore implements Datastore {
     public List<MorphiaCodecProvider> morphiaCodecProviders = new ArrayList<>();
     private MongoDatabase database;
     private DatastoreOperations operations;
+    @Nullable
+    private final MetricsCollector metrics;
+    @Nullable
+    private final QueryCaptureLog queryCaptures;
+    @Nullable
+    private final ChangeTracker changeTracker;
+    @Nullable
+    private final QueryCache queryCache;
 
     /**
      * @param client the mongo client
@@ -118,12 +142,16 @@ public class MorphiaDatastore implements Datastore {
         this.database = mongoClient.getDatabase(config.database());
         this.mapper = new Mapper(config);
         this.queryFactory = mapper.getConfig().queryFactory();
+        this.metrics = mapper.getConfig().metrics().orElse(null);
+        this.queryCaptures = mapper.getConfig().queryCaptures().orElse(null);
+        this.changeTracker = config.trackChanges() ? new ChangeTracker() : null;
         importModels();
 
         codecRegistry = buildRegistry();
 
         this.database = database.withCodecRegistry(this.codecRegistry);
-        operations = new CollectionOperations();
+        operations = instrument(new CollectionOperations());
+        queryCache = config.queryCacheSize() > 0 ? new QueryCache(client, codecRegistry, config) : null;
 
         config.packages().forEach(packageName -> {
             Sofia.logMappingPackage(packageName);
@@ -153,6 +181,10 @@ public class MorphiaDatastore implements Datastore {
         this.database = mongoClient.getDatabase(datastore.mapper.getConfig().database());
         this.mapper = datastore.mapper.copy();
         this.queryFactory = datastore.queryFactory;
+        this.metrics = datastore.metrics;
+        this.queryCaptures = datastore.queryCaptures;
+        this.changeTracker = datastore.changeTracker;
+        this.queryCache = datastore.queryCache;
         this.operations = datastore.operations;
         codecRegistry = buildRegistry();
     }
@@ -219,6 +251,55 @@ public class MorphiaDatastore implements Datastore {
         });
     }
 
+    @Override
+    public void close() {
+        if (queryCache != null) {
+            queryCache.close();
+        }
+    }
+
+    @Override
+    public InsertBuffer insertBuffer(InsertBufferOptions options) {
+        return new InsertBuffer(this, options);
+    }
+
+    /**
+     * Prepares an entity to be written by {@link #insertEncoded(Class, List, InsertManyOptions)}. The entity's id and version are
+     * assigned as they would be by an insert and the entity is encoded with any lifecycle methods applied.
+     *
+     * @param entity the entity
+     * @param <T>    the entity type
+     * @return the encoded entity
+     */
+    <T> EncodedInsert encodeInsert(T entity) {
+        VersionBumpInfo info = updateVersioning(entity);
+        Codec<T> codec = (Codec<T>) codecRegistry.get(entity.getClass());
+        if (codec instanceof CollectibleCodec) {
+            ((CollectibleCodec<T>) codec).generateIdIfAbsentFromDocument(entity);
+        }
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            codec.encode(writer, entity, EncoderContext.builder().isEncodingCollectibleDocument(true).build());
+        } catch (RuntimeException e) {
+            info.rollbackVersion();
+            throw e;
+        }
+        return new EncodedInsert(new RawBsonDocument(buffer.toByteArray()), info::rollbackVersion);
+    }
+
+    /**
+     * Inserts entities previously encoded by {@link #encodeInsert(Object)}.
+     *
+     * @param type      the entity type
+     * @param documents the encoded entities
+     * @param options   the options to apply
+     */
+    void insertEncoded(Class<?> type, List<RawBsonDocument> documents, InsertManyOptions options) {
+        MongoCollection<RawBsonDocument> collection = configureCollection(options,
+                getCollection(type).withDocumentClass(RawBsonDocument.class));
+        operations.insertMany(collection, documents, options);
+    }
+
     @Override
     public Aggregation<Document> aggregate(String source) {
         return new AggregationImpl(this, getDatabase().getCollection(source));
@@ -267,6 +348,10 @@ public class MorphiaDatastore implements Datastore {
             throw new MappingException(Sofia.deleteWithClass(entity.getClass().getName()));
         }
         Object id = mapper.getId(entity);
+        ChangeTracker tracker = changeTracker();
+        if (tracker != null) {
+            tracker.forget(entity);
+        }
         return id != null
                 ? find(entity.getClass())
                         .filter(eq("_id", id))
@@ -296,12 +381,34 @@ public class MorphiaDatastore implements Datastore {
         if (mapper.getMappedEntities().isEmpty()) {
             LOG.warn(Sofia.noMappedClasses());
         }
+        synchronizeIndexes(true);
+    }
+
+    /**
+     * Compares the indexes declared on the mapped entities with those in the database without creating any.
+     *
+     * @return the differences found
+     * @since 3.0
+     */
+    public IndexReport checkIndexes() {
+        return synchronizeIndexes(false);
+    }
+
+    private IndexReport synchronizeIndexes(boolean apply) {
         final IndexHelper indexHelper = new IndexHelper(mapper);
+        Map<String, MongoCollection<?>> collections = new LinkedHashMap<>();
+        Map<String, List<IndexModel>> indexes = new LinkedHashMap<>();
         for (EntityModel model : mapper.getMappedEntities()) {
             if (model.getIdProperty() != null) {
-                indexHelper.createIndex(getCollection(model.getType()), model);
+                List<IndexModel> declared = indexHelper.indexModels(model);
+                if (!declared.isEmpty()) {
+                    collections.computeIfAbsent(model.getCollectionName(), name -> getCollection(model.getType()));
+                    indexes.computeIfAbsent(model.getCollectionName(), name -> new ArrayList<>())
+                            .addAll(declared);
+                }
             }
         }
+        return indexHelper.synchronize(collections, indexes, apply);
     }
 
     public <T> void ensureIndexes(Class<T> type) {
@@ -390,7 +497,7 @@ public class MorphiaDatastore implements Datastore {
 
             UpdateResult updateResult = operations.replaceOne(collection, entity, filter, options);
 
-            if (updateResult.getModifiedCount() != 1) {
+            if (updateResult.wasAcknowledged() && updateResult.getModifiedCount() != 1) {
                 if (info.versioned()) {
                     info.rollbackVersion();
                     throw new VersionMismatchException(entity.getClass(), id);
@@ -650,10 +757,15 @@ public class MorphiaDatastore implements Datastore {
     @Nullable
     protected <T> T doTransaction(SessionDatastore morphiaSession, MorphiaTransaction<T> body) {
         try (morphiaSession) {
-            return morphiaSession.getSession().withTransaction(() -> body.execute(morphiaSession));
+            return morphiaSession.withTransaction(() -> body.execute(morphiaSession));
         }
     }
 
+    @Override
+    public <T> Watch<T> watch(Class<T> type, Filter... filters) {
+        return new Watch<>(this, type, filters);
+    }
+
     @Override
     public <T> T withTransaction(MorphiaTransaction<T> body) {
         return doTransaction(startSession(), body);
@@ -706,10 +818,76 @@ public class MorphiaDatastore implements Datastore {
      * @return this
      */
     protected MorphiaDatastore operations(DatastoreOperations operations) {
-        this.operations = operations;
+        this.operations = instrument(operations);
         return this;
     }
 
+    /**
+     * @return the configured metrics collector or null if metrics are disabled
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @Nullable
+    @MorphiaInternal
+    public MetricsCollector metrics() {
+        return metrics;
+    }
+
+    /**
+     * Sends any writes this datastore is holding back. Operations which read from a collection without going through this datastore's
+     * operations call this first so that they see those writes.
+     *
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @MorphiaInternal
+    public void flushWrites() {
+    }
+
+    /**
+     * @return the change tracker to use for the current operation or null if changes are not tracked
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @Nullable
+    @MorphiaInternal
+    public ChangeTracker changeTracker() {
+        return changeTracker;
+    }
+
+    /**
+     * @return the query cache or null if query results are not cached by this datastore
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @Nullable
+    @MorphiaInternal
+    public QueryCache queryCache() {
+        return queryCache;
+    }
+
+    /**
+     * @return the configured query capture log or null if queries are not captured
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @Nullable
+    @MorphiaInternal
+    public QueryCaptureLog queryCaptures() {
+        return queryCaptures;
+    }
+
+    private DatastoreOperations instrument(DatastoreOperations operations) {
+        return metrics != null && !(operations instanceof InstrumentedOperations)
+                ? new InstrumentedOperations(operations, metrics, mapper)
+                : operations;
+    }
+
     private <T> void save(MongoCollection collection, T entity, InsertOneOptions options) {
         collection = configureCollection(options, collection);
 
@@ -717,27 +895,41 @@ public class MorphiaDatastore implements Datastore {
         PropertyModel idProperty = entityModel.getIdProperty();
         Object id = idProperty != null ? idProperty.getValue(entity) : null;
         VersionBumpInfo info = updateVersioning(entity);
+        ChangeTracker tracker = changeTracker();
 
         try {
             if (id == null || info.versioned() && info.newVersion() == 1) {
                 operations.insertOne(collection, entity, options);
             } else {
-                ReplaceOptions updateOptions = new ReplaceOptions()
-                        .bypassDocumentValidation(options.bypassDocumentValidation())
-                        .upsert(!info.versioned);
                 Document filter = new Document("_id", id);
                 info.filter(filter);
                 entityModel.getShardKeys().forEach((property) -> {
                     filter.put(property.getMappedName(), property.getValue(entity));
                 });
 
-                UpdateResult updateResult = operations.replaceOne(collection, entity, filter, updateOptions);
+                ReplaceOptions updateOptions = new ReplaceOptions()
+                        .bypassDocumentValidation(options.bypassDocumentValidation())
+                        .upsert(!info.versioned);
+                UpdateResult updateResult;
+                if (tracker != null && options.collection() == null && tracker.isTracked(entity)) {
+                    byte[] encoded = encodeSave(entity);
+                    if (saveChanges(tracker, collection, entity, encoded, filter, info, options)) {
+                        return;
+                    }
+                    updateResult = operations.replaceOne(collection.withDocumentClass(RawBsonDocument.class),
+                            new RawBsonDocument(encoded), filter, updateOptions);
+                } else {
+                    updateResult = operations.replaceOne(collection, entity, filter, updateOptions);
+                }
 
-                if (info.versioned() && updateResult.getModifiedCount() != 1) {
+                if (info.versioned() && updateResult.wasAcknowledged() && updateResult.getModifiedCount() != 1) {
                     info.rollbackVersion();
                     throw new VersionMismatchException(entity.getClass(), id);
                 }
             }
+            if (tracker != null && options.collection() == null) {
+                tracker.track(entity, ((MorphiaCodec<T>) codecRegistry.get(entity.getClass())).encodeSnapshot(entity));
+            }
         } catch (MongoWriteException e) {
             if (info.versioned()) {
                 info.rollbackVersion();
@@ -746,6 +938,56 @@ public class MorphiaDatastore implements Datastore {
         }
     }
 
+    /**
+     * Encodes an entity being saved with any lifecycle methods applied. The same document is used to find the changes to a tracked entity
+     * and, should they not apply, to replace it in full so that the lifecycle methods only run once.
+     */
+    private <T> byte[] encodeSave(T entity) {
+        Codec<T> codec = (Codec<T>) codecRegistry.get(entity.getClass());
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            codec.encode(writer, entity, EncoderContext.builder().isEncodingCollectibleDocument(true).build());
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Writes only the fields of a tracked entity which have changed since it was loaded or last saved.
+     *
+     * @return false if the document no longer exists and should be written in full
+     */
+    private <T> boolean saveChanges(ChangeTracker tracker, MongoCollection collection, T entity, byte[] encoded,
+            Document filter, VersionBumpInfo info, InsertOneOptions options) {
+        PropertyModel versionProperty = mapper.getEntityModel(entity.getClass()).getVersionProperty();
+        Set<String> ignored = versionProperty != null ? Set.of("_id", versionProperty.getMappedName()) : Set.of("_id");
+        ChangeTracker.Changes changes = tracker.changes(entity, encoded, ignored);
+        if (changes == null) {
+            return false;
+        }
+        if (changes.isEmpty()) {
+            info.rollbackVersion();
+            return true;
+        }
+        if (versionProperty != null) {
+            changes.set(versionProperty.getMappedName());
+        }
+
+        UpdateResult result = operations.updateOne(collection, filter, changes.toUpdate(), new UpdateOptions()
+                .bypassDocumentValidation(options.bypassDocumentValidation()));
+        if (!result.wasAcknowledged()) {
+            return true;
+        }
+        if (result.getMatchedCount() != 1) {
+            if (info.versioned()) {
+                info.rollbackVersion();
+                throw new VersionMismatchException(entity.getClass(), filter.get("_id"));
+            }
+            return false;
+        }
+        tracker.track(entity, changes);
+        return true;
+    }
+
     /**
      * Enables any document validation defined on the class
      *
@@ -895,6 +1137,22 @@ public class MorphiaDatastore implements Datastore {
          */
         public abstract <T> DeleteResult deleteOne(MongoCollection<T> collection, Document query, DeleteOptions options);
 
+        /**
+         * Finds the distinct values of the specified field among the documents matching the query.
+         *
+         * @param collection the collection to use
+         * @param field      the field name
+         * @param query      the query to use
+         * @param type       the type of the results
+         * @return the results
+         * @param <T> the entity type
+         * @param <V> the value type
+         * @since 3.0
+         */
+        public <T, V> DistinctIterable<V> distinct(MongoCollection<T> collection, String field, Document query, Class<V> type) {
+            return collection.distinct(field, query, type);
+        }
+
         /**
          * Finds all documents in the collection.
          *
@@ -1040,6 +1298,11 @@ public class MorphiaDatastore implements Datastore {
             return collection.deleteOne(queryDocument, options);
         }
 
+        @Override
+        public <T, V> DistinctIterable<V> distinct(MongoCollection<T> collection, String field, Document query, Class<V> type) {
+            return collection.distinct(field, query, type);
+        }
+
         @Override
         public <E> FindIterable<E> find(MongoCollection<E> collection, Document query) {
             return collection.find(query);
@@ -1102,6 +1365,31 @@ public class MorphiaDatastore implements Datastore {
         }
     }
 
+    /**
+     * An entity encoded for insertion and the means to undo the version assigned to it should the insert fail
+     *
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    static final class EncodedInsert {
+        private final RawBsonDocument document;
+        private final Runnable rollback;
+
+        private EncodedInsert(RawBsonDocument document, Runnable rollback) {
+            this.document = document;
+            this.rollback = rollback;
+        }
+
+        RawBsonDocument document() {
+            return document;
+        }
+
+        void rollback() {
+            rollback.run();
+        }
+    }
+
     @MorphiaInternal
     private static class VersionBumpInfo {
         private final Long oldVersion;
@@ -1,5 +1,7 @@
 package dev.morphia.aggregation;
 
+import java.util.List;
+
 import dev.morphia.aggregation.expressions.impls.DocumentExpression;
 import dev.morphia.aggregation.expressions.impls.Expression;
 import dev.morphia.aggregation.stages.AddFields;
@@ -29,6 +31,7 @@ import dev.morphia.aggregation.stages.Unset;
 import dev.morphia.aggregation.stages.Unwind;
 import dev.morphia.annotations.internal.MorphiaInternal;
 import dev.morphia.query.MorphiaCursor;
+import dev.morphia.query.QueryPlan;
 import dev.morphia.query.filters.Filter;
 
 /**
@@ -273,6 +276,52 @@ public interface Aggregation<T> {
      */
     <M> void merge(Merge<M> merge, AggregationOptions options);
 
+    /**
+     * Writes the results of the aggregation pipeline to a specified collection, aggregating only the source documents which have changed
+     * since the last run with the same watermark. The pipeline is prefixed with a $match selecting those documents and the results are
+     * merged into the target as configured on the {@code Merge}.
+     *
+     * @param merge     the merge definition
+     * @param watermark the watermark tracking the changes already aggregated
+     * @param <M>       the output collection type
+     * @aggregation.stage $merge
+     * @mongodb.server.release 4.2
+     * @since 3.0
+     */
+    default <M> void merge(Merge<M> merge, Watermark watermark) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes the results of the aggregation pipeline to a specified collection, aggregating only the source documents which have changed
+     * since the last run with the same watermark. The pipeline is prefixed with a $match selecting those documents and the results are
+     * merged into the target as configured on the {@code Merge}.
+     *
+     * @param merge     the merge definition
+     * @param watermark the watermark tracking the changes already aggregated
+     * @param options   the options to apply
+     * @param <M>       the output collection type
+     * @aggregation.stage $merge
+     * @mongodb.server.release 4.2
+     * @since 3.0
+     */
+    default <M> void merge(Merge<M> merge, Watermark watermark, AggregationOptions options) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Describes how the client side optimizer rewrites this pipeline, such as merging adjacent {@code $match} stages or moving a
+     * {@code $match} ahead of a {@code $lookup}. The pipeline is only rewritten when
+     * {@link dev.morphia.config.MorphiaConfig#optimizeAggregations()} is enabled but the rewrites are described either way so that they
+     * can be checked before enabling it.
+     *
+     * @return descriptions of the rewrites in the order they are made. empty if the pipeline can not be improved.
+     * @since 3.0
+     */
+    default List<String> optimizations() {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Writes the results of the aggregation pipeline to a specified collection. The $out operator must be the last stage in the pipeline.
      *
@@ -292,6 +341,33 @@ public interface Aggregation<T> {
      */
     <O> void out(Out<O> out, AggregationOptions options);
 
+    /**
+     * Runs this pipeline with execution statistics and summarizes the plan the server chose to read from the source collection. The plan
+     * is checked against the indexes declared on the source entity to point out collection scans, the declared indexes they could have
+     * used, and in memory sorts.
+     *
+     * @return the plan
+     * @see dev.morphia.query.QueryPlan#assertIndexed()
+     * @since 3.0
+     */
+    default QueryPlan plan() {
+        return plan(new AggregationOptions());
+    }
+
+    /**
+     * Runs this pipeline with execution statistics and summarizes the plan the server chose to read from the source collection. The plan
+     * is checked against the indexes declared on the source entity to point out collection scans, the declared indexes they could have
+     * used, and in memory sorts.
+     *
+     * @param options the options to apply
+     * @return the plan
+     * @see dev.morphia.query.QueryPlan#assertIndexed()
+     * @since 3.0
+     */
+    default QueryPlan plan(AggregationOptions options) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Returns plan cache information for a collection. The stage returns a document for each plan cache entry.
      *
@@ -301,6 +377,19 @@ public interface Aggregation<T> {
      */
     Aggregation<T> planCacheStats();
 
+    /**
+     * Compiles this aggregation in to a reusable template. Any {@link dev.morphia.query.Parameter} values used in the stages are left as
+     * placeholders to be bound when the prepared aggregation is executed. Stages are encoded once when the aggregation is prepared rather
+     * than on every execution.
+     *
+     * @return the prepared aggregation
+     * @see dev.morphia.query.Parameter#param(String)
+     * @since 3.0
+     */
+    default PreparedAggregation<T> prepare() {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Passes along the documents with the requested fields to the next stage in the pipeline. The specified fields can be existing fields
      * from the input documents or newly computed fields.
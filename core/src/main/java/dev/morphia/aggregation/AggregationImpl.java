@@ -2,13 +2,20 @@ package dev.morphia.aggregation;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.function.Consumer;
 
+import com.mongodb.ExplainVerbosity;
 import com.mongodb.ServerAddress;
 import com.mongodb.ServerCursor;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
 import com.mongodb.lang.Nullable;
 
 import dev.morphia.MorphiaDatastore;
@@ -50,21 +57,40 @@ import dev.morphia.aggregation.stages.Stage;
 import dev.morphia.aggregation.stages.UnionWith;
 import dev.morphia.aggregation.stages.Unset;
 import dev.morphia.aggregation.stages.Unwind;
+import dev.morphia.annotations.internal.IndexHelper;
 import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.changestream.ResumeTokenStore;
+import dev.morphia.internal.PathTarget;
+import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.pojo.EntityModel;
 import dev.morphia.mapping.codec.reader.DocumentReader;
+import dev.morphia.mapping.codec.writer.BinaryDocumentWriter;
 import dev.morphia.mapping.codec.writer.DocumentWriter;
+import dev.morphia.metrics.TimedCursor;
 import dev.morphia.query.MorphiaCursor;
+import dev.morphia.query.QueryPlan;
+import dev.morphia.query.filters.ElemMatchFilter;
 import dev.morphia.query.filters.Filter;
+import dev.morphia.query.filters.Filters;
+import dev.morphia.query.filters.LogicalFilter;
+import dev.morphia.sofia.Sofia;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonSerializationException;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
 import org.bson.Document;
 import org.bson.codecs.Codec;
 import org.bson.codecs.DecoderContext;
+import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static dev.morphia.metrics.OperationType.AGGREGATE;
+
 /**
  * @param <T> the starting type of the aggregation
  * @hidden
@@ -79,6 +105,7 @@ public class AggregationImpl<T> implements Aggregation<T> {
     private final Class<?> source;
     private final MongoCollection<T> collection;
     private final List<Stage> stages = new ArrayList<>();
+    private final List<Bson> prepared;
 
     /**
      * Creates an instance.
@@ -94,6 +121,7 @@ public class AggregationImpl<T> implements Aggregation<T> {
         this.datastore = datastore;
         this.collection = collection;
         this.source = null;
+        this.prepared = List.of();
     }
 
     /**
@@ -111,6 +139,23 @@ public class AggregationImpl<T> implements Aggregation<T> {
         this.datastore = datastore;
         this.source = source;
         this.collection = collection;
+        this.prepared = List.of();
+    }
+
+    /**
+     * Creates an instance starting with stages already encoded by a prepared aggregation.
+     *
+     * @param template the aggregation the stages were prepared from
+     * @param prepared the encoded stages
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    AggregationImpl(AggregationImpl<T> template, List<Bson> prepared) {
+        this.datastore = template.datastore;
+        this.source = template.source;
+        this.collection = template.collection;
+        this.prepared = prepared;
     }
 
     @Override
@@ -150,27 +195,33 @@ public class AggregationImpl<T> implements Aggregation<T> {
 
     @Override
     public <R> MorphiaCursor<R> execute(Class<R> resultType) {
+        datastore.flushWrites();
         MongoCursor<R> cursor;
-        List<Document> pipeline = pipeline();
+        List<Bson> pipeline = encodedPipeline();
         if (LOG.isDebugEnabled()) {
             LOG.debug("pipeline = " + pipeline);
         }
+        long start = System.nanoTime();
         if (datastore.getMapper().isMappable(resultType) && !resultType.equals(this.collection.getDocumentClass())) {
             MongoCollection<Document> collection = this.collection.withDocumentClass(Document.class);
-            MongoCursor<Document> results = collection.aggregate(pipeline).iterator();
+            MongoCursor<Document> results = TimedCursor.open(datastore.metrics(), this.collection.getDocumentClass(), collection,
+                    AGGREGATE, start, () -> collection.aggregate(pipeline).iterator());
             EntityModel entityModel = datastore.getMapper().getEntityModel(this.collection.getDocumentClass());
             cursor = new MappingCursor<>(results, datastore.getCodecRegistry().get(resultType),
                     entityModel.getDiscriminatorKey());
         } else {
-            cursor = collection.aggregate(pipeline, resultType).iterator();
+            cursor = TimedCursor.open(datastore.metrics(), collection.getDocumentClass(), collection, AGGREGATE, start,
+                    () -> collection.aggregate(pipeline, resultType).iterator());
         }
         return new MorphiaCursor<>(cursor);
     }
 
     @Override
     public <R> MorphiaCursor<R> execute(Class<R> resultType, AggregationOptions options) {
-        return new MorphiaCursor<>(options.apply(pipeline(), datastore.getDatabase(), collection, resultType)
-                .iterator());
+        datastore.flushWrites();
+        long start = System.nanoTime();
+        return new MorphiaCursor<>(TimedCursor.open(datastore.metrics(), collection.getDocumentClass(), collection, AGGREGATE, start,
+                () -> options.apply(encodedPipeline(), datastore.getDatabase(), collection, resultType).iterator()));
     }
 
     @Override
@@ -215,7 +266,7 @@ public class AggregationImpl<T> implements Aggregation<T> {
 
     @Override
     public Aggregation<T> match(Filter... filters) {
-        if (stages.isEmpty()) {
+        if (stages.isEmpty() && prepared.isEmpty()) {
             Arrays.stream(filters)
                     .filter(f -> f.getName().equals("$eq"))
                     .forEach(f -> f.entityType(source));
@@ -226,32 +277,71 @@ public class AggregationImpl<T> implements Aggregation<T> {
     @Override
     public <M> void merge(Merge<M> merge) {
         addStage(merge);
-        collection.aggregate(pipeline())
+        datastore.flushWrites();
+        collection.aggregate(encodedPipeline())
                 .toCollection();
     }
 
     @Override
     public <M> void merge(Merge<M> merge, AggregationOptions options) {
         addStage(merge);
+        datastore.flushWrites();
         Class<?> type = merge.getType();
         type = type != null ? type : Document.class;
-        options.apply(pipeline(), datastore.getDatabase(), collection, type)
+        options.apply(encodedPipeline(), datastore.getDatabase(), collection, type)
                 .toCollection();
     }
 
+    @Override
+    public <M> void merge(Merge<M> merge, Watermark watermark) {
+        addStage(merge);
+        datastore.flushWrites();
+        incremental(watermark, pipeline -> collection.aggregate(pipeline).toCollection());
+    }
+
+    @Override
+    public <M> void merge(Merge<M> merge, Watermark watermark, AggregationOptions options) {
+        addStage(merge);
+        datastore.flushWrites();
+        Class<?> type = merge.getType() != null ? merge.getType() : Document.class;
+        incremental(watermark, pipeline -> options.apply(pipeline, datastore.getDatabase(), collection, type).toCollection());
+    }
+
+    @Override
+    public List<String> optimizations() {
+        return new PipelineOptimizer(stages).rewrites();
+    }
+
     @Override
     public <O> void out(Out<O> out) {
         addStage(out);
-        collection.aggregate(pipeline())
+        datastore.flushWrites();
+        collection.aggregate(encodedPipeline())
                 .toCollection();
     }
 
     @Override
     public <O> void out(Out<O> out, AggregationOptions options) {
         addStage(out);
+        datastore.flushWrites();
         Class<?> type = out.type();
         type = type != null ? type : Document.class;
-        options.apply(pipeline(), datastore.getDatabase(), collection, type).toCollection();
+        options.apply(encodedPipeline(), datastore.getDatabase(), collection, type).toCollection();
+    }
+
+    @Override
+    public QueryPlan plan(AggregationOptions options) {
+        datastore.flushWrites();
+        List<Bson> pipeline = encodedPipeline();
+        Document explain = options.apply(pipeline, datastore.getDatabase(), collection, Document.class)
+                .explain(Document.class, ExplainVerbosity.EXECUTION_STATS);
+        Document first = pipeline.isEmpty() ? null : documents(pipeline.subList(0, 1)).get(0);
+        Mapper mapper = datastore.getMapper();
+        Class<T> type = collection.getDocumentClass();
+        List<IndexModel> declared = mapper.isMappable(type)
+                ? new IndexHelper(mapper).indexModels(mapper.getEntityModel(type))
+                : List.of();
+        return new QueryPlan(explain, first != null ? first.get("$match", Document.class) : null, declared);
     }
 
     @Override
@@ -259,6 +349,11 @@ public class AggregationImpl<T> implements Aggregation<T> {
         return addStage(PlanCacheStats.planCacheStats());
     }
 
+    @Override
+    public PreparedAggregation<T> prepare() {
+        return new PreparedAggregation<>(datastore, this, prepared, encodedStages());
+    }
+
     @Override
     public Aggregation<T> project(Projection projection) {
         return addStage(projection);
@@ -359,9 +454,83 @@ public class AggregationImpl<T> implements Aggregation<T> {
     @MorphiaInternal
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public List<Document> pipeline() {
-        return stages.stream()
+        List<Document> pipeline = documents(prepared);
+        encodedStages().stream()
                 .map(stage -> DocumentWriter.encode(stage, datastore.getMapper(), datastore.getCodecRegistry()))
-                .collect(Collectors.toList());
+                .forEach(pipeline::add);
+        return pipeline;
+    }
+
+    /**
+     * Encodes the stages directly to their binary form so the driver can send them without walking an intermediate Document tree.
+     *
+     * @return the encoded pipeline
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public List<Bson> encodedPipeline() {
+        List<Bson> pipeline = new ArrayList<>(prepared.size() + stages.size());
+        pipeline.addAll(prepared);
+        for (Stage stage : encodedStages()) {
+            pipeline.add(encode(stage));
+        }
+        return pipeline;
+    }
+
+    /**
+     * Encodes a stage to its binary form unless it repeats a field name in the same document. {@link DocumentWriter} merges repeated
+     * names in to an {@code $and} clause which can not be done once the bytes are written. Filters are checked up front since they
+     * commonly repeat names. Any other stage whose codec writes a name twice is rejected by the binary writer and encoded again.
+     */
+    private Bson encode(Stage stage) {
+        if (!repeatsNames(stage)) {
+            try {
+                return BinaryDocumentWriter.encode(stage, datastore.getCodecRegistry());
+            } catch (BsonSerializationException e) {
+                // fall through to the DocumentWriter
+            }
+        }
+        return DocumentWriter.encode(stage, datastore.getMapper(), datastore.getCodecRegistry());
+    }
+
+    private static boolean repeatsNames(Stage stage) {
+        if (stage instanceof Match) {
+            return repeatsNames(Arrays.asList(((Match) stage).getFilters()));
+        } else if (stage instanceof GraphLookup) {
+            Filter[] restriction = ((GraphLookup) stage).getRestriction();
+            return restriction != null && repeatsNames(Arrays.asList(restriction));
+        } else if (stage instanceof Lookup) {
+            List<Stage> pipeline = ((Lookup) stage).getPipeline();
+            return pipeline != null && pipeline.stream().anyMatch(AggregationImpl::repeatsNames);
+        } else if (stage instanceof UnionWith) {
+            return ((UnionWith) stage).getStages().stream().anyMatch(AggregationImpl::repeatsNames);
+        } else if (stage instanceof Facet) {
+            return ((Facet) stage).getFields().values().stream()
+                    .anyMatch(stages -> stages.stream().anyMatch(AggregationImpl::repeatsNames));
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean repeatsNames(List<Filter> filters) {
+        LinkedHashSet<String> names = new LinkedHashSet<>();
+        for (Filter filter : filters) {
+            if (!names.add(filter.getField() != null ? filter.getField() : filter.getName())) {
+                return true;
+            }
+            if (filter instanceof LogicalFilter) {
+                for (Filter nested : ((LogicalFilter) filter).filters()) {
+                    if (repeatsNames(List.of(nested))) {
+                        return true;
+                    }
+                }
+            } else if (filter instanceof ElemMatchFilter && filter.getValue() != null
+                    && repeatsNames((List<Filter>) filter.getValue())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -371,6 +540,173 @@ public class AggregationImpl<T> implements Aggregation<T> {
         return this;
     }
 
+    /**
+     * Returns the stages to encode, rewritten by the pipeline optimizer if it is enabled.
+     */
+    private List<Stage> encodedStages() {
+        if (!datastore.getMapper().getConfig().optimizeAggregations()) {
+            return stages;
+        }
+        PipelineOptimizer optimizer = new PipelineOptimizer(stages);
+        if (!optimizer.rewrites().isEmpty()) {
+            Sofia.logOptimizedPipeline(collection.getNamespace().getFullName(), optimizer.rewrites());
+        }
+        return optimizer.stages();
+    }
+
+    /**
+     * Converts encoded stages back to documents. Documents are copied and anything else is decoded.
+     */
+    List<Document> documents(List<?> encoded) {
+        Codec<Document> codec = datastore.getCodecRegistry().get(Document.class);
+        List<Document> documents = new ArrayList<>(encoded.size());
+        for (Object stage : encoded) {
+            if (stage instanceof Document) {
+                documents.add(new Document((Document) stage));
+            } else {
+                BsonDocument document = ((Bson) stage).toBsonDocument(Document.class, datastore.getCodecRegistry());
+                documents.add(codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build()));
+            }
+        }
+        return documents;
+    }
+
+    private void incremental(Watermark watermark, Consumer<List<Bson>> run) {
+        String field = watermark.field();
+        if (field != null) {
+            mergeSince(watermark, field, run);
+        } else {
+            mergeChanges(watermark, run);
+        }
+    }
+
+    /**
+     * Aggregates the documents which sort, by field value and then by id, after the previous run's high mark and no later than the current
+     * one. The current high mark is read before the aggregation runs so that documents written while it runs are left for the next run.
+     * The id breaks ties between documents sharing the high mark's value.
+     */
+    private void mergeSince(Watermark watermark, String field, Consumer<List<Bson>> run) {
+        WatermarkStore store = Objects.requireNonNull(watermark.marks());
+        Mapper mapper = datastore.getMapper();
+        String path = source != null && mapper.isMappable(source)
+                ? new PathTarget(mapper, mapper.getEntityModel(source), field, true).translatedPath()
+                : field;
+        boolean byId = path.equals("_id");
+        BsonDocument highest = collection.withDocumentClass(BsonDocument.class)
+                .find()
+                .projection(new Document(path, 1))
+                .sort(byId ? new Document(path, -1) : new Document(path, -1).append("_id", -1))
+                .limit(1)
+                .first();
+        BsonValue high = highest != null ? valueAt(highest, path) : null;
+        if (high == null || high.isNull()) {
+            return;
+        }
+        BsonValue highId = highest.get("_id");
+        BsonDocument saved = store.load(watermark.name());
+        BsonValue low = saved != null ? saved.get("value") : null;
+        BsonValue lowId = saved != null ? saved.get("_id") : null;
+        if (high.equals(low) && (byId || highId.equals(lowId))) {
+            return;
+        }
+        Filter upper = byId
+                ? Filters.lte(path, high)
+                : Filters.or(Filters.lt(path, high), Filters.and(Filters.eq(path, high), Filters.lte("_id", highId)));
+        if (low == null) {
+            run.accept(prefixed(upper));
+        } else if (byId || lowId == null) {
+            run.accept(prefixed(Filters.gt(path, low), upper));
+        } else {
+            run.accept(prefixed(Filters.and(
+                    Filters.or(Filters.gt(path, low), Filters.and(Filters.eq(path, low), Filters.gt("_id", lowId))),
+                    upper)));
+        }
+        store.save(watermark.name(), new BsonDocument("value", high).append("_id", highId));
+    }
+
+    /**
+     * Aggregates the documents named by the change events since the saved resume token, in batches. Only the events which happened
+     * before the run started are read so that a busy collection can not keep the run from finishing.
+     */
+    private void mergeChanges(Watermark watermark, Consumer<List<Bson>> run) {
+        ResumeTokenStore store = Objects.requireNonNull(watermark.tokens());
+        BsonDocument token = store.load(watermark.name());
+        ChangeStreamIterable<BsonDocument> stream = collection.watch(List.of(
+                new Document("$match", new Document("operationType", new Document("$in", List.of("insert", "update", "replace")))),
+                new Document("$project", new Document("operationType", 1).append("documentKey", 1).append("clusterTime", 1))),
+                BsonDocument.class);
+        if (token == null) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<BsonDocument>> cursor = stream.cursor()) {
+                BsonDocument start = cursor.getResumeToken();
+                run.accept(encodedPipeline());
+                if (start != null) {
+                    store.save(watermark.name(), start);
+                }
+            }
+            return;
+        }
+
+        BsonTimestamp until = clusterTime();
+        try (MongoChangeStreamCursor<ChangeStreamDocument<BsonDocument>> cursor = stream.resumeAfter(token).cursor()) {
+            LinkedHashSet<BsonValue> ids = new LinkedHashSet<>();
+            BsonDocument position = null;
+            ChangeStreamDocument<BsonDocument> event;
+            boolean caughtUp = true;
+            while ((event = cursor.tryNext()) != null) {
+                BsonTimestamp time = event.getClusterTime();
+                if (until != null && time != null && time.compareTo(until) > 0) {
+                    caughtUp = false;
+                    break;
+                }
+                ids.add(Objects.requireNonNull(event.getDocumentKey()).get("_id"));
+                position = event.getResumeToken();
+                if (ids.size() >= watermark.batchSize()) {
+                    run.accept(prefixed(Filters.in("_id", ids)));
+                    store.save(watermark.name(), position);
+                    ids.clear();
+                }
+            }
+            if (!ids.isEmpty()) {
+                run.accept(prefixed(Filters.in("_id", ids)));
+            }
+            BsonDocument latest = caughtUp ? cursor.getResumeToken() : position;
+            if (latest != null) {
+                store.save(watermark.name(), latest);
+            }
+        }
+    }
+
+    @Nullable
+    private BsonTimestamp clusterTime() {
+        Document response = datastore.getDatabase().runCommand(new Document("ping", 1));
+        Document clusterTime = response.get("$clusterTime", Document.class);
+        return clusterTime != null ? clusterTime.get("clusterTime", BsonTimestamp.class) : null;
+    }
+
+    private List<Bson> prefixed(Filter... filters) {
+        for (Filter filter : filters) {
+            filter.isValidating(false);
+        }
+        Match match = Match.match(filters);
+        match.aggregation(this);
+        List<Bson> pipeline = new ArrayList<>(stages.size() + 1);
+        pipeline.add(encode(match));
+        pipeline.addAll(encodedPipeline());
+        return pipeline;
+    }
+
+    @Nullable
+    private static BsonValue valueAt(BsonDocument document, String path) {
+        BsonValue value = document;
+        for (String segment : path.split("\\.")) {
+            if (!(value instanceof BsonDocument)) {
+                return null;
+            }
+            value = ((BsonDocument) value).get(segment);
+        }
+        return value;
+    }
+
     private static class MappingCursor<R> implements MongoCursor<R> {
         private final MongoCursor<Document> results;
         private final Codec<R> codec;
@@ -18,6 +18,10 @@ import dev.morphia.internal.ReadConfigurable;
 import dev.morphia.internal.WriteConfigurable;
 
 import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import static dev.morphia.internal.MorphiaInternals.DriverVersion.v4_6_0;
+import static dev.morphia.internal.MorphiaInternals.tryInvoke;
 
 /**
  * Defines options to be applied to an aggregation pipeline.
@@ -35,6 +39,7 @@ public class AggregationOptions implements ReadConfigurable<AggregationOptions>,
     private ReadConcern readConcern;
     private WriteConcern writeConcern;
     private Document hint;
+    private Document variables;
 
     /**
      * Enables writing to temporary files.
@@ -61,7 +66,7 @@ public class AggregationOptions implements ReadConfigurable<AggregationOptions>,
      * @morphia.internal
      */
     @MorphiaInternal
-    <S, T> AggregateIterable<S> apply(List<Document> documents,
+    <S, T> AggregateIterable<S> apply(List<? extends Bson> documents,
             MongoDatabase database, MongoCollection<T> collection, Class<S> resultType) {
         MongoCollection<T> bound = prepare(collection, database);
         if (readConcern != null) {
@@ -85,6 +90,9 @@ public class AggregationOptions implements ReadConfigurable<AggregationOptions>,
         if (hint != null) {
             aggregate.hint(hint);
         }
+        if (variables != null) {
+            tryInvoke(v4_6_0, () -> aggregate.let(variables));
+        }
 
         return aggregate;
     }
@@ -175,6 +183,20 @@ public class AggregationOptions implements ReadConfigurable<AggregationOptions>,
         return this;
     }
 
+    /**
+     * Add top-level variables to the aggregation. Stages may refer to them as {@code $$name} in expressions. A null value means no
+     * variables are set.
+     *
+     * @param variables the variables or null
+     * @return this
+     * @mongodb.server.release 5.0
+     * @since 3.0
+     */
+    public AggregationOptions let(@Nullable Document variables) {
+        this.variables = variables != null ? new Document(variables) : null;
+        return this;
+    }
+
     /**
      * Specifies a time limit in milliseconds for processing operations on a cursor. If you do not specify a value for maxTimeMS,
      * operations will not time out. A value of 0 explicitly specifies the default unbounded behavior.
@@ -237,8 +259,9 @@ public class AggregationOptions implements ReadConfigurable<AggregationOptions>,
     @Override
     public String toString() {
         return ("AggregationOptions{allowDiskUse=%s, batchSize=%d, bypassDocumentValidation=%s, collation=%s, maxTimeMS=%d, " +
-                "readPreference=%s, readConcern=%s, writeConcern=%s, hint=%s}").formatted(allowDiskUse, batchSize,
-                        bypassDocumentValidation, collation, maxTimeMS, readPreference, readConcern, writeConcern, hint);
+                "readPreference=%s, readConcern=%s, writeConcern=%s, hint=%s, let=%s}").formatted(allowDiskUse,
+                        batchSize, bypassDocumentValidation, collation, maxTimeMS, readPreference, readConcern, writeConcern, hint,
+                        variables);
     }
 
     /**
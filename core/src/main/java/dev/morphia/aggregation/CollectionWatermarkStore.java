@@ -0,0 +1,42 @@
+package dev.morphia.aggregation;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.lang.Nullable;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+
+/**
+ * Keeps watermarks in a MongoDB collection, one document per watermark name, so that incremental aggregations continue where they left
+ * off after a restart.
+ *
+ * @since 3.0
+ */
+public class CollectionWatermarkStore implements WatermarkStore {
+    private final MongoCollection<BsonDocument> collection;
+
+    /**
+     * @param collection the collection to store the watermarks in
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public CollectionWatermarkStore(MongoCollection<?> collection) {
+        this.collection = collection.withDocumentClass(BsonDocument.class);
+    }
+
+    @Override
+    @Nullable
+    public BsonDocument load(String name) {
+        BsonDocument document = collection.find(new BsonDocument("_id", new BsonString(name))).first();
+        return document != null ? document.getDocument("mark", null) : null;
+    }
+
+    @Override
+    public void save(String name, BsonDocument mark) {
+        collection.replaceOne(new BsonDocument("_id", new BsonString(name)),
+                new BsonDocument("_id", new BsonString(name)).append("mark", mark),
+                new ReplaceOptions().upsert(true));
+    }
+}
@@ -0,0 +1,29 @@
+package dev.morphia.aggregation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mongodb.lang.Nullable;
+
+import org.bson.BsonDocument;
+
+/**
+ * Keeps watermarks in memory. This allows incremental aggregations to be run repeatedly within the same process but does not survive a
+ * restart.
+ *
+ * @since 3.0
+ */
+public class InMemoryWatermarkStore implements WatermarkStore {
+    private final Map<String, BsonDocument> marks = new ConcurrentHashMap<>();
+
+    @Override
+    @Nullable
+    public BsonDocument load(String name) {
+        return marks.get(name);
+    }
+
+    @Override
+    public void save(String name, BsonDocument mark) {
+        marks.put(name, mark);
+    }
+}
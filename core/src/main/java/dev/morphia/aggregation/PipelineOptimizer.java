@@ -0,0 +1,244 @@
+package dev.morphia.aggregation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.aggregation.expressions.impls.Expression;
+import dev.morphia.aggregation.expressions.impls.PipelineField;
+import dev.morphia.aggregation.expressions.impls.ValueExpression;
+import dev.morphia.aggregation.stages.AddFields;
+import dev.morphia.aggregation.stages.Limit;
+import dev.morphia.aggregation.stages.Lookup;
+import dev.morphia.aggregation.stages.Match;
+import dev.morphia.aggregation.stages.Projection;
+import dev.morphia.aggregation.stages.Set;
+import dev.morphia.aggregation.stages.Stage;
+import dev.morphia.aggregation.stages.Unset;
+import dev.morphia.aggregation.stages.Unwind;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.query.filters.Filter;
+import dev.morphia.query.filters.LogicalFilter;
+
+import static java.lang.String.format;
+
+/**
+ * Rewrites a pipeline in to an equivalent one which does less work. Only rewrites which can not change the results are made:
+ * <ul>
+ * <li>adjacent {@code $match} stages are merged</li>
+ * <li>{@code $match} filters are moved ahead of {@code $lookup}, {@code $unwind}, {@code $addFields}, and {@code $set} stages which do not
+ * produce the fields they test. Filters whose fields can not be known, such as {@code $expr}, are never moved.</li>
+ * <li>{@code $limit} stages are moved ahead of stages which emit exactly one document for each input document in the same order,
+ * bringing them next to any preceding {@code $sort} so the server can keep only the top documents while sorting</li>
+ * <li>adjacent {@code $limit} stages are merged</li>
+ * <li>an inclusion {@code $project} is dropped when the inclusion {@code $project} following it keeps a subset of its fields</li>
+ * </ul>
+ * The stages given are never modified. Rewritten stages are new instances sharing the original filters.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+final class PipelineOptimizer {
+    private final List<Stage> stages;
+    private final List<String> rewrites = new ArrayList<>();
+
+    PipelineOptimizer(List<Stage> stages) {
+        this.stages = new ArrayList<>(stages);
+        int passes = this.stages.size() * this.stages.size() + 1;
+        boolean rewritten = true;
+        while (rewritten && passes-- > 0) {
+            rewritten = rewrite();
+        }
+    }
+
+    /**
+     * @return the optimized stages
+     */
+    List<Stage> stages() {
+        return stages;
+    }
+
+    /**
+     * @return descriptions of the rewrites made, in the order they were made
+     */
+    List<String> rewrites() {
+        return rewrites;
+    }
+
+    private boolean rewrite() {
+        for (int i = 1; i < stages.size(); i++) {
+            Stage previous = stages.get(i - 1);
+            Stage current = stages.get(i);
+            if (current instanceof Match && rewriteMatch(i, previous, (Match) current)) {
+                return true;
+            }
+            if (current instanceof Limit && rewriteLimit(i, previous, (Limit) current)) {
+                return true;
+            }
+            if (current instanceof Projection && previous instanceof Projection
+                    && covers((Projection) previous, (Projection) current)) {
+                stages.remove(i - 1);
+                rewrites.add("dropped a $project made redundant by the $project following it");
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean rewriteMatch(int index, Stage previous, Match match) {
+        if (previous instanceof Match) {
+            List<Filter> filters = new ArrayList<>(Arrays.asList(((Match) previous).getFilters()));
+            filters.addAll(Arrays.asList(match.getFilters()));
+            stages.set(index - 1, Match.match(filters.toArray(new Filter[0])));
+            stages.remove(index);
+            rewrites.add("merged adjacent $match stages");
+            return true;
+        }
+        List<String> produced = produced(previous);
+        if (produced == null) {
+            return false;
+        }
+        List<Filter> moved = new ArrayList<>();
+        List<Filter> kept = new ArrayList<>();
+        for (Filter filter : match.getFilters()) {
+            (independent(filter, produced) ? moved : kept).add(filter);
+        }
+        if (moved.isEmpty()) {
+            return false;
+        }
+        stages.set(index - 1, Match.match(moved.toArray(new Filter[0])));
+        stages.set(index, previous);
+        if (!kept.isEmpty()) {
+            stages.add(index + 1, Match.match(kept.toArray(new Filter[0])));
+            rewrites.add(format("moved part of a $match ahead of %s", previous.stageName()));
+        } else {
+            rewrites.add(format("moved a $match ahead of %s", previous.stageName()));
+        }
+        return true;
+    }
+
+    private boolean rewriteLimit(int index, Stage previous, Limit limit) {
+        if (previous instanceof Limit) {
+            stages.set(index - 1, Limit.limit(Math.min(((Limit) previous).limit(), limit.limit())));
+            stages.remove(index);
+            rewrites.add("merged adjacent $limit stages");
+            return true;
+        }
+        if (previous instanceof Lookup || previous instanceof AddFields || previous instanceof Set || previous instanceof Projection
+                || previous instanceof Unset) {
+            stages.set(index - 1, limit);
+            stages.set(index, previous);
+            rewrites.add(format("moved a $limit ahead of %s", previous.stageName()));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Lists the fields a stage adds or changes while leaving every other field of each document alone.
+     *
+     * @return the fields or null if a $match can not be moved ahead of the stage
+     */
+    @Nullable
+    private static List<String> produced(Stage stage) {
+        List<String> fields = new ArrayList<>();
+        if (stage instanceof Lookup) {
+            String as = ((Lookup) stage).getAs();
+            if (as == null) {
+                return null;
+            }
+            fields.add(as);
+        } else if (stage instanceof Unwind) {
+            Unwind unwind = (Unwind) stage;
+            Expression path = unwind.getPath();
+            if (!(path instanceof ValueExpression) || !(((ValueExpression) path).object() instanceof String)) {
+                return null;
+            }
+            fields.add(((String) ((ValueExpression) path).object()).substring(1));
+            if (unwind.getIncludeArrayIndex() != null) {
+                fields.add(unwind.getIncludeArrayIndex());
+            }
+        } else if (stage instanceof AddFields) {
+            ((AddFields) stage).getDocument().fields().fields().forEach(field -> fields.add(field.name()));
+        } else if (stage instanceof Set) {
+            ((Set) stage).getDocument().fields().fields().forEach(field -> fields.add(field.name()));
+        } else {
+            return null;
+        }
+        return fields;
+    }
+
+    private static boolean independent(Filter filter, List<String> produced) {
+        if (filter instanceof LogicalFilter) {
+            for (Filter nested : ((LogicalFilter) filter).filters()) {
+                if (!independent(nested, produced)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        String field = filter.getField();
+        if (field == null) {
+            return false;
+        }
+        for (String name : produced) {
+            if (overlaps(field, name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean overlaps(String first, String second) {
+        return first.equals(second) || first.startsWith(second + ".") || second.startsWith(first + ".");
+    }
+
+    /**
+     * Checks whether the second projection keeps only fields kept by the first so that the first can be dropped. Both must be plain
+     * inclusions. If the first drops the _id, the second must too.
+     */
+    private static boolean covers(Projection first, Projection second) {
+        LinkedHashSet<String> kept = new LinkedHashSet<>();
+        Boolean firstId = inclusions(first, kept);
+        LinkedHashSet<String> keeps = new LinkedHashSet<>();
+        Boolean secondId = inclusions(second, keeps);
+        if (firstId == null || secondId == null || (!firstId && secondId)) {
+            return false;
+        }
+        for (String field : keeps) {
+            if (!field.equals("_id") && kept.stream().noneMatch(k -> field.equals(k) || field.startsWith(k + "."))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects the fields included by a projection.
+     *
+     * @return whether the _id is kept or null if the projection is not a plain inclusion
+     */
+    @Nullable
+    private static Boolean inclusions(Projection projection, LinkedHashSet<String> fields) {
+        boolean keepsId = true;
+        for (PipelineField field : projection.getFields()) {
+            Object value = field.value() instanceof ValueExpression ? ((ValueExpression) field.value()).object() : null;
+            boolean included = Boolean.TRUE.equals(value) || value instanceof Number && ((Number) value).doubleValue() == 1;
+            boolean excluded = Boolean.FALSE.equals(value) || value instanceof Number && ((Number) value).doubleValue() == 0;
+            if (field.name().equals("_id") && excluded) {
+                keepsId = false;
+            } else if (included) {
+                fields.add(field.name());
+            } else {
+                return null;
+            }
+        }
+        fields.remove("_id");
+        return fields.isEmpty() ? null : keepsId;
+    }
+}
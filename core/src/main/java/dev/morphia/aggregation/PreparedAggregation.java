@@ -0,0 +1,135 @@
+package dev.morphia.aggregation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.aggregation.stages.Match;
+import dev.morphia.aggregation.stages.Stage;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.codec.writer.DocumentWriter;
+import dev.morphia.query.Parameter;
+import dev.morphia.query.internal.ParameterBinder;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.conversions.Bson;
+
+/**
+ * An aggregation pipeline compiled once in to a template. Stages are encoded when the aggregation is prepared and executing it only needs
+ * to bind the values for its parameters. Stages without parameters are kept in their binary form and sent as is on every execution.
+ * Binding values returns a new aggregation and leaves the prepared aggregation unchanged so it may be shared between threads. A parameter
+ * name may be used more than once but only for the same property.
+ *
+ * <pre>
+ * PreparedAggregation&lt;Order&gt; totals = datastore.aggregate(Order.class)
+ *     .match(gte("date", param("from")), lt("date", param("to")))
+ *     .group(group(id(field("status"))).field("total", sum(field("amount"))))
+ *     .prepare();
+ *
+ * List&lt;Total&gt; today = totals.bind(Map.of("from", midnight, "to", now)).execute(Total.class).toList();
+ * </pre>
+ * <p>
+ * Parameters are bound on the client and so may be used anywhere a value can, on any server version. Values which are only used in
+ * expressions may instead be referenced as {@code $$name} variables and given with {@link AggregationOptions#let(Document)} in which case
+ * the pipeline is sent unchanged.
+ *
+ * @param <T> the source type
+ * @see Parameter
+ * @since 3.0
+ */
+public class PreparedAggregation<T> {
+    private final AggregationImpl<T> aggregation;
+    private final MorphiaDatastore datastore;
+    private final List<Object> template = new ArrayList<>();
+    private final Map<String, Parameter> parameters = new LinkedHashMap<>();
+
+    /**
+     * @param datastore   the datastore
+     * @param aggregation the source aggregation
+     * @param prepared    any stages already bound
+     * @param stages      the stages to compile
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    PreparedAggregation(MorphiaDatastore datastore, AggregationImpl<T> aggregation, List<Bson> prepared, List<Stage> stages) {
+        this.datastore = datastore;
+        this.aggregation = aggregation;
+        template.addAll(prepared);
+        Codec<Document> codec = datastore.getCodecRegistry().get(Document.class);
+        for (Stage stage : stages) {
+            Document encoded = DocumentWriter.encode(stage, datastore.getMapper(), datastore.getCodecRegistry());
+            Map<String, Parameter> found = new LinkedHashMap<>();
+            if (stage instanceof Match) {
+                ParameterBinder.collect(Arrays.asList(((Match) stage).getFilters()), found);
+            }
+            Object compiled = ParameterBinder.compile(encoded, found);
+            if (found.isEmpty()) {
+                template.add(new RawBsonDocument(encoded, codec));
+            } else {
+                found.values().forEach(parameter -> ParameterBinder.register(parameter, parameters));
+                template.add(compiled);
+            }
+        }
+    }
+
+    /**
+     * @return the names of the parameters defined on this aggregation
+     */
+    public Set<String> parameters() {
+        return Collections.unmodifiableSet(parameters.keySet());
+    }
+
+    /**
+     * Binds a value to the single parameter of this aggregation
+     *
+     * @param name  the parameter name
+     * @param value the value
+     * @return the executable aggregation
+     */
+    public Aggregation<T> bind(String name, @Nullable Object value) {
+        return bind(Collections.singletonMap(name, value));
+    }
+
+    /**
+     * Binds values to the parameters of this aggregation. Every parameter must be given a value. Further stages, such as a {@code $merge},
+     * may be added to the returned aggregation without affecting this one.
+     *
+     * @param values the parameter values keyed by parameter name
+     * @return the executable aggregation
+     */
+    public Aggregation<T> bind(Map<String, ?> values) {
+        ParameterBinder.check(parameters.keySet(), values, true);
+        List<Bson> bound = new ArrayList<>(template.size());
+        for (Object stage : template) {
+            bound.add(stage instanceof Document
+                    ? (Document) ParameterBinder.bind(datastore, stage, values)
+                    : (Bson) stage);
+        }
+        return new AggregationImpl<>(aggregation, bound);
+    }
+
+    /**
+     * @return a copy of the template stages for this aggregation
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public List<Document> toDocuments() {
+        return aggregation.documents(template);
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedAggregation{template=" + template + "}";
+    }
+}
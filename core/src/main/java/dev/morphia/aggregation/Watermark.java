@@ -0,0 +1,153 @@
+package dev.morphia.aggregation;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.changestream.ResumeTokenStore;
+import dev.morphia.sofia.Sofia;
+
+/**
+ * Records how far an incremental aggregation has read its source so that each run only aggregates the documents changed since the last
+ * one. The results of each run are merged into the target collection according to the {@link dev.morphia.aggregation.stages.Merge}'s
+ * {@code whenMatched} and {@code whenNotMatched} settings, which should therefore combine partial results correctly. Deleted documents
+ * are not seen by any kind of watermark.
+ * <p>
+ * A document updated after it was first aggregated is aggregated again by {@link #field(WatermarkStore, String, String) field} and
+ * {@link #changeStream(ResumeTokenStore, String) change stream} watermarks without its earlier contribution being removed. Pipelines
+ * whose results accumulate values from several source documents, such as a {@code $group} summing a field, would count such documents
+ * twice and should only be used with sources whose documents are never updated. Pipelines producing one result per source document,
+ * merged with {@code whenMatched} replacing the previous result, are safe with updates.
+ * <p>
+ * The watermark is saved under its name in the given store once a run's results have been merged. Should a run fail before then, the
+ * next run aggregates the same documents again.
+ *
+ * @see Aggregation#merge(dev.morphia.aggregation.stages.Merge, Watermark)
+ * @since 3.0
+ */
+public final class Watermark {
+    @Nullable
+    private final WatermarkStore marks;
+    @Nullable
+    private final ResumeTokenStore tokens;
+    private final String name;
+    @Nullable
+    private final String field;
+    private int batchSize = 10_000;
+
+    private Watermark(@Nullable WatermarkStore marks, @Nullable ResumeTokenStore tokens, String name, @Nullable String field) {
+        this.marks = marks;
+        this.tokens = tokens;
+        this.name = name;
+        this.field = field;
+    }
+
+    /**
+     * Tracks changes by a field whose values only ever increase, such as a last modified timestamp. Each run aggregates the documents
+     * which sort after the last document seen by the previous run, ordering by the field and then by {@code _id}, up to the last
+     * document present when the run starts. A document written later with the same value as the previous run's highest one is only seen
+     * if its {@code _id} is also greater, as with {@code ObjectId}s generated at insert. Otherwise the field's values must be strictly
+     * increasing. The field should be indexed together with {@code _id}, e.g. {@code {field: 1, _id: 1}}.
+     *
+     * @param store the store to save the watermark in
+     * @param name  the name to save the watermark under
+     * @param field the field to track
+     * @return the watermark
+     */
+    public static Watermark field(WatermarkStore store, String name, String field) {
+        return new Watermark(store, null, name, field);
+    }
+
+    /**
+     * Tracks inserts by the {@code ObjectId} of each document. Since {@code ObjectId}s grow over time, each run aggregates the documents
+     * inserted since the previous run. Updates to existing documents are not seen.
+     *
+     * @param store the store to save the watermark in
+     * @param name  the name to save the watermark under
+     * @return the watermark
+     */
+    public static Watermark objectId(WatermarkStore store, String name) {
+        return new Watermark(store, null, name, "_id");
+    }
+
+    /**
+     * Tracks inserts, updates, and replacements using a change stream on the source collection. Each run reads the events since the
+     * previous run and aggregates the documents they name. The first run aggregates the whole collection. Since change streams read from
+     * the oplog, runs must be frequent enough that the saved position has not rolled off of it.
+     *
+     * @param store the store to save the resume token in
+     * @param name  the name to save the resume token under
+     * @return the watermark
+     * @mongodb.server.release 4.2
+     */
+    public static Watermark changeStream(ResumeTokenStore store, String name) {
+        return new Watermark(null, store, name, null);
+    }
+
+    /**
+     * Sets the largest number of changed documents aggregated at once when using a change stream. Larger runs are split into several
+     * pipelines. The default is 10,000.
+     *
+     * @param batchSize the maximum number of documents per pipeline
+     * @return this
+     */
+    public Watermark batchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(Sofia.optionOutOfRange("batchSize", 1, batchSize));
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * @return the store for field watermarks or null if a change stream is used
+     * @hidden
+     * @morphia.internal
+     */
+    @Nullable
+    @MorphiaInternal
+    public WatermarkStore marks() {
+        return marks;
+    }
+
+    /**
+     * @return the store for change stream resume tokens or null if a field is used
+     * @hidden
+     * @morphia.internal
+     */
+    @Nullable
+    @MorphiaInternal
+    public ResumeTokenStore tokens() {
+        return tokens;
+    }
+
+    /**
+     * @return the name
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return the tracked field or null if a change stream is used
+     * @hidden
+     * @morphia.internal
+     */
+    @Nullable
+    @MorphiaInternal
+    public String field() {
+        return field;
+    }
+
+    /**
+     * @return the batch size
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public int batchSize() {
+        return batchSize;
+    }
+}
@@ -0,0 +1,28 @@
+package dev.morphia.aggregation;
+
+import com.mongodb.lang.Nullable;
+
+import org.bson.BsonDocument;
+
+/**
+ * Remembers the highest value, and the id of the document holding it, read by each run of a field based incremental aggregation so that
+ * the next run can continue from there. Marks are saved only after the run's results have been merged.
+ *
+ * @see Watermark#field(WatermarkStore, String, String)
+ * @see Watermark#objectId(WatermarkStore, String)
+ * @since 3.0
+ */
+public interface WatermarkStore {
+    /**
+     * @param name the watermark name
+     * @return the last mark saved under the name or null if there is none
+     */
+    @Nullable
+    BsonDocument load(String name);
+
+    /**
+     * @param name the watermark name
+     * @param mark the mark
+     */
+    void save(String name, BsonDocument mark);
+}
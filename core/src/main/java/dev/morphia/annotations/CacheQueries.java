@@ -0,0 +1,28 @@
+package dev.morphia.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the results of queries against this entity. Repeated queries with the same filters and options are answered from memory until
+ * the entity's collection changes. Changes are observed through a change stream on the collection so results are never older than the
+ * stream's lag. If the change stream can not be opened, as on a standalone server, queries are not cached. Individual queries can opt in
+ * or out with {@link dev.morphia.query.FindOptions#cache(Boolean)}.
+ * <p>
+ * The cache is only used once {@link dev.morphia.config.MorphiaConfig#queryCacheSize()} is set. Queries answered from the cache never
+ * reach the server so they are not recorded by the metrics collector or the query capture log.
+ *
+ * @see dev.morphia.config.MorphiaConfig#queryCacheSize()
+ * @see dev.morphia.config.MorphiaConfig#queryCacheTtl()
+ * @since 3.0
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE })
+public @interface CacheQueries {
+}
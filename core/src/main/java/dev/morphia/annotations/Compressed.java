@@ -0,0 +1,39 @@
+package dev.morphia.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import dev.morphia.mapping.codec.Compressor;
+import dev.morphia.mapping.codec.DeflateCompressor;
+
+/**
+ * Stores the value of a property compressed. Values whose encoded size is at least {@link #threshold()} bytes are compressed and
+ * written as binary data of subtype {@code 0xC7}; smaller values are written as usual. Values are decompressed transparently when loaded
+ * regardless of the current threshold or algorithm. Compressed values can not be queried against or indexed.
+ *
+ * @see Compressor
+ * @since 3.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface Compressed {
+    /**
+     * @return the name of the {@link Compressor} to use
+     */
+    String algorithm() default DeflateCompressor.NAME;
+
+    /**
+     * @return the minimum encoded size, in bytes, of a value before it is compressed
+     */
+    int threshold() default 1024;
+
+    /**
+     * @return the maximum encoded size, in bytes, of a value. Larger values are rejected when saved and decompressing a value stops with
+     *         an error once it exceeds this size.
+     */
+    int maxSize() default 16 * 1024 * 1024;
+}
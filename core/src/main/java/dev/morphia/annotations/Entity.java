@@ -22,6 +22,16 @@ public @interface Entity {
      */
     CappedAt cap() default @CappedAt(value = -1, count = -1);
 
+    /**
+     * If true, properties without an explicit name are stored under short names derived from their names rather than under their
+     * names. Documents stored under the uncompacted names can still be loaded.
+     *
+     * @return true if compact property names should be used
+     * @see dev.morphia.mapping.NamingStrategy#compact()
+     * @since 3.0
+     */
+    boolean compactNames() default false;
+
     /**
      * @return The default write concern to use when dealing with this entity
      */
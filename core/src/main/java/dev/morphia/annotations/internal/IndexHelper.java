@@ -3,12 +3,24 @@ package dev.morphia.annotations.internal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexModel;
 import com.mongodb.lang.Nullable;
 
 import dev.morphia.annotations.Collation;
@@ -19,6 +31,9 @@ import dev.morphia.annotations.Indexed;
 import dev.morphia.annotations.Indexes;
 import dev.morphia.annotations.Text;
 import dev.morphia.internal.PathTarget;
+import dev.morphia.mapping.IndexDrift;
+import dev.morphia.mapping.IndexDrift.Kind;
+import dev.morphia.mapping.IndexReport;
 import dev.morphia.mapping.IndexType;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.MappingException;
@@ -27,7 +42,12 @@ import dev.morphia.sofia.Sofia;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
 import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,6 +68,11 @@ import static java.util.Collections.emptyList;
 public final class IndexHelper {
     private static final Logger LOG = LoggerFactory.getLogger(IndexHelper.class);
 
+    /**
+     * Shared by every helper so synchronizing indexes never runs more than one thread per processor and idle threads exit.
+     */
+    private static final ThreadPoolExecutor EXECUTOR = executor();
+
     private final Mapper mapper;
 
     /**
@@ -61,6 +86,19 @@ public final class IndexHelper {
         this.mapper = mapper;
     }
 
+    private static ThreadPoolExecutor executor() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "morphia-indexes-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     /**
      * @param entityModel
      * @param index
@@ -186,11 +224,264 @@ public final class IndexHelper {
      */
     @MorphiaInternal
     public void createIndex(MongoCollection<?> collection, EntityModel model) {
+        List<IndexModel> indexes = indexModels(model);
+        if (!indexes.isEmpty()) {
+            synchronize(collection, indexes, true);
+        }
+    }
+
+    /**
+     * @param model the model
+     * @return the indexes declared for the model
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public List<IndexModel> indexModels(EntityModel model) {
+        List<IndexModel> indexes = new ArrayList<>();
         if (!model.isInterface() && !model.isAbstract()) {
             for (Index index : collectIndexes(model, Collections.emptyList())) {
-                createIndex(collection, model, index);
+                com.mongodb.client.model.IndexOptions indexOptions = convert(index.options());
+                calculateWeights(index, indexOptions);
+                indexes.add(new IndexModel(calculateKeys(model, index), indexOptions));
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Compares the declared indexes of each collection with those which exist. Collections are compared in parallel and, when applying,
+     * any missing or changed indexes of a collection are sent in a single {@code createIndexes} command. Changed indexes are sent as
+     * well so the server reports the conflict just as it would had the index been created directly. Undeclared indexes are never
+     * dropped.
+     *
+     * @param collections the collections by name
+     * @param indexes     the declared indexes by collection name
+     * @param apply       true if missing or changed indexes should be created
+     * @return the differences found
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public IndexReport synchronize(Map<String, MongoCollection<?>> collections, Map<String, List<IndexModel>> indexes, boolean apply) {
+        List<String> names = new ArrayList<>(indexes.keySet());
+        if (names.size() < 2) {
+            return names.isEmpty()
+                    ? new IndexReport(emptyList(), 0)
+                    : synchronize(collections.get(names.get(0)), indexes.get(names.get(0)), apply);
+        }
+        try {
+            List<Future<IndexReport>> futures = new ArrayList<>();
+            for (String name : names) {
+                futures.add(EXECUTOR.submit(() -> synchronize(collections.get(name), indexes.get(name), apply)));
+            }
+            List<IndexDrift> drift = new ArrayList<>();
+            int unchanged = 0;
+            for (Future<IndexReport> future : futures) {
+                IndexReport report = future.get();
+                drift.addAll(report.drift());
+                unchanged += report.unchanged();
+            }
+            return new IndexReport(drift, unchanged);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MappingException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MappingException(cause.getMessage(), cause);
+        }
+    }
+
+    private IndexReport synchronize(MongoCollection<?> collection, List<IndexModel> declared, boolean apply) {
+        String collectionName = collection.getNamespace().getCollectionName();
+        Map<String, IndexModel> expected = new LinkedHashMap<>();
+        for (IndexModel index : declared) {
+            expected.putIfAbsent(indexName(index), index);
+        }
+        Map<String, Document> existing = new LinkedHashMap<>();
+        for (Document index : collection.listIndexes(Document.class)) {
+            existing.put(index.getString("name"), index);
+        }
+
+        List<IndexDrift> drift = new ArrayList<>();
+        List<IndexModel> create = new ArrayList<>();
+        int unchanged = 0;
+        for (Entry<String, IndexModel> entry : expected.entrySet()) {
+            Document actual = existing.remove(entry.getKey());
+            Document spec = spec(entry.getKey(), entry.getValue());
+            if (actual == null) {
+                drift.add(new IndexDrift(collectionName, entry.getKey(), Kind.MISSING, spec, null));
+                create.add(entry.getValue());
+            } else if (!matches(spec, actual)) {
+                drift.add(new IndexDrift(collectionName, entry.getKey(), Kind.CHANGED, spec, actual));
+                create.add(entry.getValue());
+            } else {
+                unchanged++;
+            }
+        }
+        existing.remove("_id_");
+        existing.forEach((name, actual) -> drift.add(new IndexDrift(collectionName, name, Kind.UNDECLARED, null, actual)));
+
+        if (apply && !create.isEmpty()) {
+            LOG.debug(Sofia.creatingIndexes(create.size(), collectionName));
+            collection.createIndexes(create);
+        }
+        return new IndexReport(drift, unchanged);
+    }
+
+    /**
+     * Names an index as the server would if no name is given
+     *
+     * @param index the index
+     * @return the index name
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public static String indexName(IndexModel index) {
+        String name = index.getOptions().getName();
+        if (name != null) {
+            return name;
+        }
+        StringJoiner joiner = new StringJoiner("_");
+        ((Document) index.getKeys()).forEach((key, value) -> {
+            joiner.add(key);
+            joiner.add(value instanceof Number ? String.valueOf(((Number) value).intValue()) : String.valueOf(value).replace(' ', '_'));
+        });
+        return joiner.toString();
+    }
+
+    private static Document spec(String name, IndexModel index) {
+        com.mongodb.client.model.IndexOptions options = index.getOptions();
+        Document spec = new Document("key", index.getKeys())
+                .append("name", name);
+        option(spec, "unique", options.isUnique() ? true : null);
+        option(spec, "sparse", options.isSparse() ? true : null);
+        option(spec, "hidden", options.isHidden() ? true : null);
+        option(spec, "expireAfterSeconds", options.getExpireAfter(TimeUnit.SECONDS));
+        option(spec, "partialFilterExpression", options.getPartialFilterExpression());
+        option(spec, "collation", options.getCollation() != null ? options.getCollation().asDocument() : null);
+        option(spec, "weights", options.getWeights());
+        option(spec, "default_language", options.getDefaultLanguage());
+        option(spec, "language_override", options.getLanguageOverride());
+        option(spec, "textIndexVersion", options.getTextVersion());
+        option(spec, "2dsphereIndexVersion", options.getSphereVersion());
+        option(spec, "bits", options.getBits());
+        option(spec, "min", options.getMin());
+        option(spec, "max", options.getMax());
+        option(spec, "wildcardProjection", options.getWildcardProjection());
+        option(spec, "storageEngine", options.getStorageEngine());
+        return spec;
+    }
+
+    private static void option(Document spec, String name, @Nullable Object value) {
+        if (value instanceof Bson && !(value instanceof Document)) {
+            BsonDocument document = ((Bson) value).toBsonDocument(Document.class, MongoClientSettings.getDefaultCodecRegistry());
+            value = new DocumentCodec().decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+        }
+        if (value != null) {
+            spec.append(name, value);
+        }
+    }
+
+    /**
+     * Compares every option of the declared index with the existing one. Options the server fills in with defaults, such as the text
+     * index language or the collation's version, are only compared when declared or against the server's default.
+     */
+    private static boolean matches(Document spec, Document actual) {
+        Document keys = spec.get("key", Document.class);
+        Document expected = new Document(spec);
+        Document existing = new Document(actual);
+        for (String ignored : List.of("key", "name", "v", "ns", "background")) {
+            expected.remove(ignored);
+            existing.remove(ignored);
+        }
+        boolean text = keys.containsValue(IndexType.TEXT.toIndexValue());
+        if (text) {
+            expected.putIfAbsent("default_language", "english");
+            expected.putIfAbsent("language_override", "language");
+            expected.put("weights", weights(keys, expected.get("weights", Document.class)));
+        }
+        for (String version : List.of("textIndexVersion", "2dsphereIndexVersion")) {
+            if (!expected.containsKey(version)) {
+                existing.remove(version);
+            }
+        }
+        Document collation = expected.get("collation", Document.class);
+        Document actualCollation = existing.get("collation", Document.class);
+        if (collation != null && actualCollation != null) {
+            Document declared = new Document();
+            collation.keySet().forEach(key -> declared.put(key, actualCollation.get(key)));
+            existing.put("collation", declared);
+        }
+        return sameKeys(text ? textKeys(keys) : keys, actual.get("key", Document.class))
+                && same(expected, existing);
+    }
+
+    /**
+     * The server stores the text fields of an index as {@code _fts} and {@code _ftsx} and lists them with their weights instead.
+     */
+    private static Document textKeys(Document keys) {
+        Document stored = new Document();
+        keys.forEach((key, value) -> {
+            if (!IndexType.TEXT.toIndexValue().equals(value)) {
+                stored.put(key, value);
+            } else if (!stored.containsKey("_fts")) {
+                stored.put("_fts", "text");
+                stored.put("_ftsx", 1);
+            }
+        });
+        return stored;
+    }
+
+    private static Document weights(Document keys, @Nullable Document declared) {
+        Document weights = new Document();
+        keys.forEach((key, value) -> {
+            if (IndexType.TEXT.toIndexValue().equals(value)) {
+                weights.put(key, declared != null && declared.containsKey(key) ? declared.get(key) : 1);
+            }
+        });
+        return weights;
+    }
+
+    private static boolean sameKeys(Document expected, Document actual) {
+        return new ArrayList<>(expected.keySet()).equals(new ArrayList<>(actual.keySet())) && same(expected, actual);
+    }
+
+    private static boolean same(@Nullable Object expected, @Nullable Object actual) {
+        if (expected instanceof Number && actual instanceof Number) {
+            return ((Number) expected).doubleValue() == ((Number) actual).doubleValue();
+        } else if (expected instanceof Document && actual instanceof Document) {
+            Document expectedDocument = (Document) expected;
+            Document actualDocument = (Document) actual;
+            if (!expectedDocument.keySet().equals(actualDocument.keySet())) {
+                return false;
+            }
+            for (Entry<String, Object> entry : expectedDocument.entrySet()) {
+                if (!same(entry.getValue(), actualDocument.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (expected instanceof List && actual instanceof List) {
+            List<?> expectedList = (List<?>) expected;
+            List<?> actualList = (List<?>) actual;
+            if (expectedList.size() != actualList.size()) {
+                return false;
+            }
+            for (int i = 0; i < expectedList.size(); i++) {
+                if (!same(expectedList.get(i), actualList.get(i))) {
+                    return false;
+                }
             }
+            return true;
         }
+        return Objects.equals(expected, actual);
     }
 
     /**
@@ -0,0 +1,31 @@
+package dev.morphia.changestream;
+
+import java.util.List;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+
+/**
+ * Receives the events read by a change stream subscription. Events are delivered in order, in batches of those which were available
+ * together, and the next batch is not delivered until the listener has returned.
+ *
+ * @param <T> the entity type
+ * @since 3.0
+ */
+@FunctionalInterface
+public interface ChangeStreamListener<T> {
+    /**
+     * Handles a batch of events. If this throws, the subscription stops without recording these events as handled so a subscription
+     * resumed from the same {@link ResumeTokenStore} will see them again.
+     *
+     * @param changes the events
+     */
+    void onChanges(List<ChangeStreamDocument<T>> changes);
+
+    /**
+     * Called once if the subscription stops because of an error, either from the change stream or from {@link #onChanges(List)}.
+     *
+     * @param error the error
+     */
+    default void onError(Throwable error) {
+    }
+}
@@ -0,0 +1,141 @@
+package dev.morphia.changestream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.lang.Nullable;
+
+import org.bson.BsonDocument;
+
+/**
+ * A running change stream subscription. Events are read on a dedicated thread and passed to the listener in batches. After each batch
+ * has been handled, the stream's resume token is saved to the configured {@link ResumeTokenStore}, if any.
+ *
+ * @param <T> the entity type
+ * @see Watch#subscribe(WatchOptions, ChangeStreamListener)
+ * @since 3.0
+ */
+public class ChangeStreamSubscription<T> implements AutoCloseable {
+    private final ChangeStreamIterable<T> iterable;
+    private final ChangeStreamListener<T> listener;
+    @Nullable
+    private final ResumeTokenStore store;
+    @Nullable
+    private final String name;
+    @Nullable
+    private final Executor executor;
+    private final int maxDeliverySize;
+    private final Thread thread;
+    @Nullable
+    private volatile Thread delivering;
+    private volatile boolean running = true;
+    @Nullable
+    private volatile Throwable failure;
+
+    ChangeStreamSubscription(Class<T> type, ChangeStreamIterable<T> iterable, WatchOptions options, ChangeStreamListener<T> listener) {
+        this.iterable = iterable;
+        this.listener = listener;
+        store = options.resumeTokenStore();
+        name = options.name();
+        executor = options.executor();
+        maxDeliverySize = options.maxDeliverySize();
+        thread = new Thread(this::run, "morphia-change-stream-" + (name != null ? name : type.getSimpleName()));
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * @return true until the subscription is closed or stops because of an error
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return the error which stopped the subscription or null if there has been none
+     */
+    @Nullable
+    public Throwable failure() {
+        return failure;
+    }
+
+    /**
+     * Stops the subscription. This waits for any batch being delivered to be handled and for the stream to be closed unless called from
+     * the listener itself, in which case the subscription stops once the listener returns.
+     */
+    @Override
+    public void close() {
+        running = false;
+        Thread current = Thread.currentThread();
+        if (current != thread && current != delivering) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        try (MongoChangeStreamCursor<ChangeStreamDocument<T>> cursor = iterable.cursor()) {
+            BsonDocument saved = null;
+            while (running) {
+                List<ChangeStreamDocument<T>> batch = next(cursor);
+                if (!batch.isEmpty()) {
+                    deliver(batch);
+                }
+                BsonDocument token = cursor.getResumeToken();
+                if (store != null && name != null && token != null && !token.equals(saved)) {
+                    store.save(name, token);
+                    saved = token;
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            if (running) {
+                running = false;
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                failure = cause;
+                listener.onError(cause);
+            }
+        }
+    }
+
+    /**
+     * Waits for the next event and then takes whatever else has already arrived with it, up to the delivery limit.
+     */
+    private List<ChangeStreamDocument<T>> next(MongoChangeStreamCursor<ChangeStreamDocument<T>> cursor) {
+        List<ChangeStreamDocument<T>> batch = new ArrayList<>();
+        ChangeStreamDocument<T> next = cursor.tryNext();
+        if (next != null) {
+            batch.add(next);
+            while (batch.size() < maxDeliverySize && cursor.available() > 0) {
+                batch.add(cursor.next());
+            }
+        }
+        return batch;
+    }
+
+    private void deliver(List<ChangeStreamDocument<T>> batch) {
+        if (executor == null) {
+            listener.onChanges(batch);
+        } else {
+            CompletableFuture.runAsync(() -> {
+                delivering = Thread.currentThread();
+                try {
+                    listener.onChanges(batch);
+                } finally {
+                    delivering = null;
+                }
+            }, executor).join();
+        }
+    }
+}
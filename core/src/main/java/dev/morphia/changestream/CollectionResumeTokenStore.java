@@ -0,0 +1,42 @@
+package dev.morphia.changestream;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.lang.Nullable;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+
+/**
+ * Keeps resume tokens in a MongoDB collection, one document per subscription name, so that subscriptions can continue where they left
+ * off after a restart.
+ *
+ * @since 3.0
+ */
+public class CollectionResumeTokenStore implements ResumeTokenStore {
+    private final MongoCollection<BsonDocument> collection;
+
+    /**
+     * @param collection the collection to store the tokens in
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public CollectionResumeTokenStore(MongoCollection<?> collection) {
+        this.collection = collection.withDocumentClass(BsonDocument.class);
+    }
+
+    @Override
+    @Nullable
+    public BsonDocument load(String name) {
+        BsonDocument document = collection.find(new BsonDocument("_id", new BsonString(name))).first();
+        return document != null ? document.getDocument("token", null) : null;
+    }
+
+    @Override
+    public void save(String name, BsonDocument token) {
+        collection.replaceOne(new BsonDocument("_id", new BsonString(name)),
+                new BsonDocument("_id", new BsonString(name)).append("token", token),
+                new ReplaceOptions().upsert(true));
+    }
+}
@@ -0,0 +1,29 @@
+package dev.morphia.changestream;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mongodb.lang.Nullable;
+
+import org.bson.BsonDocument;
+
+/**
+ * Keeps resume tokens in memory. This allows a subscription to be stopped and started again within the same process but does not
+ * survive a restart.
+ *
+ * @since 3.0
+ */
+public class InMemoryResumeTokenStore implements ResumeTokenStore {
+    private final Map<String, BsonDocument> tokens = new ConcurrentHashMap<>();
+
+    @Override
+    @Nullable
+    public BsonDocument load(String name) {
+        return tokens.get(name);
+    }
+
+    @Override
+    public void save(String name, BsonDocument token) {
+        tokens.put(name, token);
+    }
+}
@@ -0,0 +1,29 @@
+package dev.morphia.changestream;
+
+import com.mongodb.lang.Nullable;
+
+import org.bson.BsonDocument;
+
+/**
+ * Remembers how far a change stream subscription has read so that a restarted subscription can continue where it left off. Tokens are
+ * saved only after the listener has handled the events preceding them. Incremental aggregations using a
+ * {@link dev.morphia.aggregation.Watermark#changeStream(ResumeTokenStore, String) change stream watermark} keep their positions in one too.
+ *
+ * @see WatchOptions#resumeTokens(ResumeTokenStore, String)
+ * @see dev.morphia.aggregation.Watermark
+ * @since 3.0
+ */
+public interface ResumeTokenStore {
+    /**
+     * @param name the subscription name
+     * @return the last token saved under the name or null if there is none
+     */
+    @Nullable
+    BsonDocument load(String name);
+
+    /**
+     * @param name  the subscription name
+     * @param token the resume token
+     */
+    void save(String name, BsonDocument token);
+}
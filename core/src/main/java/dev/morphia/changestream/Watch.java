@@ -0,0 +1,210 @@
+package dev.morphia.changestream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.codec.writer.DocumentWriter;
+import dev.morphia.query.filters.Filter;
+import dev.morphia.sofia.Sofia;
+
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.EncoderContext;
+
+import static com.mongodb.client.model.changestream.OperationType.INSERT;
+import static com.mongodb.client.model.changestream.OperationType.REPLACE;
+import static com.mongodb.client.model.changestream.OperationType.UPDATE;
+import static dev.morphia.mapping.codec.CodecHelper.document;
+
+/**
+ * Watches the collection mapped for an entity type. Events are decoded with the entity's codec so the full document and pre-image of
+ * each event are entities rather than documents.
+ * <p>
+ * Filters which only refer to {@code _id} are matched against each event's document key and so apply to every kind of event. Any other
+ * filter is matched against each event's full document which only insert, replace, and, with {@link WatchOptions#fullDocument}, update
+ * events carry. Such filters must be used with {@link WatchOptions#operationTypes} limited to those events so that no events are silently
+ * dropped.
+ *
+ * @param <T> the entity type
+ * @see dev.morphia.Datastore#watch(Class, Filter...)
+ * @since 3.0
+ */
+public class Watch<T> {
+    private static final String FULL_DOCUMENT = "fullDocument.";
+    private static final String DOCUMENT_KEY = "documentKey.";
+    private static final List<OperationType> FULL_DOCUMENT_EVENTS = List.of(INSERT, REPLACE, UPDATE);
+    private static final List<String> UNSUPPORTED = List.of("$expr", "$where", "$text");
+
+    private final MorphiaDatastore datastore;
+    private final Class<T> type;
+    private final Filter[] filters;
+
+    /**
+     * @param datastore the datastore
+     * @param type      the entity type
+     * @param filters   the filters to apply to each event
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public Watch(MorphiaDatastore datastore, Class<T> type, Filter... filters) {
+        this.datastore = datastore;
+        this.type = type;
+        this.filters = filters.clone();
+    }
+
+    /**
+     * Opens the change stream
+     *
+     * @return the cursor
+     */
+    public MongoChangeStreamCursor<ChangeStreamDocument<T>> iterator() {
+        return iterator(new WatchOptions());
+    }
+
+    /**
+     * Opens the change stream
+     *
+     * @param options the options to apply
+     * @return the cursor
+     */
+    public MongoChangeStreamCursor<ChangeStreamDocument<T>> iterator(WatchOptions options) {
+        return prepare(options).cursor();
+    }
+
+    /**
+     * Delivers events to a listener from a background thread until the returned subscription is closed
+     *
+     * @param listener the listener
+     * @return the subscription
+     */
+    public ChangeStreamSubscription<T> subscribe(ChangeStreamListener<T> listener) {
+        return subscribe(new WatchOptions(), listener);
+    }
+
+    /**
+     * Delivers events to a listener from a background thread until the returned subscription is closed
+     *
+     * @param options  the options to apply
+     * @param listener the listener
+     * @return the subscription
+     */
+    public ChangeStreamSubscription<T> subscribe(WatchOptions options, ChangeStreamListener<T> listener) {
+        ChangeStreamIterable<T> iterable = prepare(options);
+        if (options.maxAwaitTime() == null) {
+            iterable.maxAwaitTime(1, TimeUnit.SECONDS);
+        }
+        ChangeStreamSubscription<T> subscription = new ChangeStreamSubscription<>(type, iterable, options, listener);
+        subscription.start();
+        return subscription;
+    }
+
+    private List<Document> pipeline(WatchOptions options) {
+        Document match = new Document();
+        if (filters.length != 0) {
+            match.putAll(filter(options));
+        }
+        List<OperationType> operationTypes = options.operationTypes();
+        if (!operationTypes.isEmpty()) {
+            match.put("operationType", new Document("$in", operationTypes.stream()
+                    .map(OperationType::getValue)
+                    .collect(Collectors.toList())));
+        }
+        return match.isEmpty() ? List.of() : List.of(new Document("$match", match));
+    }
+
+    private Document filter(WatchOptions options) {
+        Document query = query();
+        if (keyOnly(query)) {
+            return rewrite(query, DOCUMENT_KEY);
+        }
+        List<OperationType> types = options.operationTypes();
+        FullDocument fullDocument = options.fullDocument();
+        boolean updates = fullDocument != null && fullDocument != FullDocument.DEFAULT;
+        if (types.isEmpty() || !FULL_DOCUMENT_EVENTS.containsAll(types) || types.contains(UPDATE) && !updates) {
+            throw new IllegalArgumentException(Sofia.watchFilterNeedsFullDocument(FULL_DOCUMENT_EVENTS.stream()
+                    .map(OperationType::getValue)
+                    .collect(Collectors.joining(", "))));
+        }
+        Mapper mapper = datastore.getMapper();
+        mapper.updateQueryWithDiscriminators(mapper.getEntityModel(type), query);
+        return rewrite(query, FULL_DOCUMENT);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Document query() {
+        DocumentWriter writer = new DocumentWriter(datastore.getMapper().getConfig());
+        document(writer, () -> {
+            EncoderContext context = EncoderContext.builder().build();
+            for (Filter filter : filters) {
+                Codec codec = datastore.getCodecRegistry().get(filter.getClass());
+                codec.encode(writer, filter.entityType(type).isValidating(true), context);
+            }
+        });
+        return writer.getDocument();
+    }
+
+    private ChangeStreamIterable<T> prepare(WatchOptions options) {
+        return options.apply(datastore.getCollection(type).watch(pipeline(options), type));
+    }
+
+    /**
+     * @return true if the query only refers to the id and so can be matched against the document key of any event
+     */
+    private static boolean keyOnly(Document query) {
+        boolean keyOnly = true;
+        for (Entry<String, Object> entry : query.entrySet()) {
+            String key = entry.getKey();
+            if (UNSUPPORTED.contains(key)) {
+                throw new IllegalArgumentException(Sofia.watchFilterUnsupported(key));
+            }
+            if (isLogical(key, entry.getValue())) {
+                for (Object clause : (List<?>) entry.getValue()) {
+                    keyOnly &= clause instanceof Document && keyOnly((Document) clause);
+                }
+            } else if (!key.startsWith("$")) {
+                keyOnly &= key.equals("_id") || key.startsWith("_id.");
+            }
+        }
+        return keyOnly;
+    }
+
+    /**
+     * Rewrites a query against the entity's collection to match a document within change events
+     */
+    private static Document rewrite(Document query, String prefix) {
+        Document rewritten = new Document();
+        for (Entry<String, Object> entry : query.entrySet()) {
+            String key = entry.getKey();
+            Object value = entry.getValue();
+            if (isLogical(key, value)) {
+                List<Object> clauses = new ArrayList<>();
+                for (Object clause : (List<?>) value) {
+                    clauses.add(clause instanceof Document ? rewrite((Document) clause, prefix) : clause);
+                }
+                rewritten.put(key, clauses);
+            } else if (key.startsWith("$")) {
+                rewritten.put(key, value);
+            } else {
+                rewritten.put(prefix + key, value);
+            }
+        }
+        return rewritten;
+    }
+
+    private static boolean isLogical(String key, Object value) {
+        return (key.equals("$and") || key.equals("$or") || key.equals("$nor")) && value instanceof List;
+    }
+}
@@ -0,0 +1,306 @@
+package dev.morphia.changestream;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.sofia.Sofia;
+
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+
+/**
+ * Options to apply when watching a collection for changes. The setter methods return {@code this} so that a chaining style can be used.
+ *
+ * @see Watch
+ * @since 3.0
+ */
+public class WatchOptions {
+    @Nullable
+    private FullDocument fullDocument;
+    @Nullable
+    private FullDocumentBeforeChange fullDocumentBeforeChange;
+    private List<OperationType> operationTypes = List.of();
+    @Nullable
+    private Integer batchSize;
+    @Nullable
+    private Duration maxAwaitTime;
+    @Nullable
+    private Collation collation;
+    @Nullable
+    private BsonTimestamp startAtOperationTime;
+    @Nullable
+    private BsonDocument resumeAfter;
+    @Nullable
+    private ResumeTokenStore resumeTokenStore;
+    @Nullable
+    private String name;
+    @Nullable
+    private Executor executor;
+    private int maxDeliverySize = 1000;
+
+    /**
+     * Creates a new options instance
+     */
+    public WatchOptions() {
+    }
+
+    /**
+     * Sets whether update events should include the current version of the document. Filters passed to
+     * {@link dev.morphia.Datastore#watch(Class, dev.morphia.query.filters.Filter...)} on fields other than {@code _id} apply to the full
+     * document so this must be set to watch for updates with such filters.
+     *
+     * @param fullDocument the full document option
+     * @return this
+     * @see ChangeStreamIterable#fullDocument(FullDocument)
+     */
+    public WatchOptions fullDocument(FullDocument fullDocument) {
+        this.fullDocument = fullDocument;
+        return this;
+    }
+
+    /**
+     * Sets whether update, replace, and delete events should include the document as it was before the change. This requires
+     * {@code changeStreamPreAndPostImages} to be enabled on the collection.
+     *
+     * @param fullDocumentBeforeChange the pre-image option
+     * @return this
+     * @mongodb.server.release 6.0
+     * @see ChangeStreamIterable#fullDocumentBeforeChange(FullDocumentBeforeChange)
+     */
+    public WatchOptions fullDocumentBeforeChange(FullDocumentBeforeChange fullDocumentBeforeChange) {
+        this.fullDocumentBeforeChange = fullDocumentBeforeChange;
+        return this;
+    }
+
+    /**
+     * Limits the events to the given operation types. Filters on fields other than {@code _id} require this to be limited to insert,
+     * replace, and update events.
+     *
+     * @param operationTypes the operation types
+     * @return this
+     */
+    public WatchOptions operationTypes(OperationType... operationTypes) {
+        this.operationTypes = List.of(operationTypes);
+        return this;
+    }
+
+    /**
+     * @param batchSize the number of events the server should return per batch
+     * @return this
+     * @see ChangeStreamIterable#batchSize(int)
+     */
+    public WatchOptions batchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Sets how long the server waits for new events before returning an empty batch. For subscriptions, this also bounds how long
+     * {@link ChangeStreamSubscription#close()} waits for the subscription to stop. Subscriptions default to one second.
+     *
+     * @param maxAwaitTime the maximum time to wait
+     * @return this
+     * @see ChangeStreamIterable#maxAwaitTime(long, TimeUnit)
+     */
+    public WatchOptions maxAwaitTime(Duration maxAwaitTime) {
+        this.maxAwaitTime = maxAwaitTime;
+        return this;
+    }
+
+    /**
+     * @param collation the collation to use when matching events
+     * @return this
+     * @see ChangeStreamIterable#collation(Collation)
+     */
+    public WatchOptions collation(Collation collation) {
+        this.collation = collation;
+        return this;
+    }
+
+    /**
+     * Starts the stream at the given cluster time rather than now. This is ignored if a resume token is available.
+     *
+     * @param startAtOperationTime the cluster time
+     * @return this
+     * @see ChangeStreamIterable#startAtOperationTime(BsonTimestamp)
+     */
+    public WatchOptions startAtOperationTime(BsonTimestamp startAtOperationTime) {
+        this.startAtOperationTime = startAtOperationTime;
+        return this;
+    }
+
+    /**
+     * Resumes the stream after the event with the given token. A token found in the configured {@link ResumeTokenStore} takes precedence.
+     *
+     * @param resumeAfter the resume token
+     * @return this
+     * @see ChangeStreamIterable#resumeAfter(BsonDocument)
+     */
+    public WatchOptions resumeAfter(BsonDocument resumeAfter) {
+        this.resumeAfter = resumeAfter;
+        return this;
+    }
+
+    /**
+     * Sets where a subscription records its position. A subscription started with the same store and name resumes after the last batch
+     * its listener handled.
+     *
+     * @param store the token store
+     * @param name  the name to store the tokens under
+     * @return this
+     */
+    public WatchOptions resumeTokens(ResumeTokenStore store, String name) {
+        this.resumeTokenStore = store;
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * Sets the executor on which a subscription's listener is called. By default, the listener is called on the subscription's own
+     * thread. Either way, batches are delivered one at a time and in order.
+     *
+     * @param executor the executor
+     * @return this
+     */
+    public WatchOptions executor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Sets the largest number of events passed to a subscription's listener at once. The default is 1000.
+     *
+     * @param maxDeliverySize the maximum number of events per delivery
+     * @return this
+     */
+    public WatchOptions maxDeliverySize(int maxDeliverySize) {
+        if (maxDeliverySize < 1) {
+            throw new IllegalArgumentException(Sofia.optionOutOfRange("maxDeliverySize", 1, maxDeliverySize));
+        }
+        this.maxDeliverySize = maxDeliverySize;
+        return this;
+    }
+
+    /**
+     * @return the full document option
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    @Nullable
+    public FullDocument fullDocument() {
+        return fullDocument;
+    }
+
+    /**
+     * @return the operation types to limit events to
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public List<OperationType> operationTypes() {
+        return operationTypes;
+    }
+
+    /**
+     * @return the token store
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    @Nullable
+    public ResumeTokenStore resumeTokenStore() {
+        return resumeTokenStore;
+    }
+
+    /**
+     * @return the name the tokens are stored under
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    @Nullable
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return the executor
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    @Nullable
+    public Executor executor() {
+        return executor;
+    }
+
+    /**
+     * @return the maximum number of events per delivery
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public int maxDeliverySize() {
+        return maxDeliverySize;
+    }
+
+    /**
+     * @return the configured maximum await time
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    @Nullable
+    public Duration maxAwaitTime() {
+        return maxAwaitTime;
+    }
+
+    /**
+     * Applies these options to a driver change stream
+     *
+     * @param iterable the change stream
+     * @param <T>      the document type
+     * @return the updated change stream
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public <T> ChangeStreamIterable<T> apply(ChangeStreamIterable<T> iterable) {
+        if (fullDocument != null) {
+            iterable.fullDocument(fullDocument);
+        }
+        if (fullDocumentBeforeChange != null) {
+            iterable.fullDocumentBeforeChange(fullDocumentBeforeChange);
+        }
+        if (batchSize != null) {
+            iterable.batchSize(batchSize);
+        }
+        if (maxAwaitTime != null) {
+            iterable.maxAwaitTime(maxAwaitTime.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        if (collation != null) {
+            iterable.collation(collation);
+        }
+        BsonDocument token = resumeTokenStore != null && name != null ? resumeTokenStore.load(name) : null;
+        if (token == null) {
+            token = resumeAfter;
+        }
+        if (token != null) {
+            iterable.resumeAfter(token);
+        } else if (startAtOperationTime != null) {
+            iterable.startAtOperationTime(startAtOperationTime);
+        }
+        return iterable;
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Defines the types used to watch mapped collections for changes.
+ */
+@NonNullApi
+package dev.morphia.changestream;
+
+import com.mongodb.lang.NonNullApi;
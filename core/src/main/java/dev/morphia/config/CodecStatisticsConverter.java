@@ -0,0 +1,16 @@
+package dev.morphia.config;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.metrics.CodecStatistics;
+
+/**
+ * @hidden
+ * @morphia.internal
+ */
+@MorphiaInternal
+public class CodecStatisticsConverter extends ClassNameConverter<CodecStatistics> {
+    @Override
+    public CodecStatistics convert(String value) {
+        return (CodecStatistics) super.convert(value);
+    }
+}
@@ -1,5 +1,6 @@
 package dev.morphia.config;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -10,6 +11,9 @@ import dev.morphia.mapping.DateStorage;
 import dev.morphia.mapping.DiscriminatorFunction;
 import dev.morphia.mapping.NamingStrategy;
 import dev.morphia.mapping.PropertyDiscovery;
+import dev.morphia.metrics.CodecStatistics;
+import dev.morphia.metrics.MetricsCollector;
+import dev.morphia.metrics.QueryCaptureLog;
 import dev.morphia.query.DefaultQueryFactory;
 import dev.morphia.query.QueryFactory;
 
@@ -21,6 +25,7 @@ import static dev.morphia.mapping.NamingStrategy.camelCase;
 import static dev.morphia.mapping.NamingStrategy.identity;
 import static dev.morphia.mapping.PropertyDiscovery.FIELDS;
 import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
 
 /**
  * @since 2.4
@@ -31,20 +36,30 @@ public class ManualMorphiaConfig implements MorphiaConfig {
     Boolean applyCaps;
     Boolean applyDocumentValidations;
     Boolean applyIndexes;
+    Boolean batchTransactionWrites;
     String database;
     Optional<CodecProvider> codecProvider;
+    Optional<CodecStatistics> codecStatistics;
     NamingStrategy collectionNaming;
     DateStorage dateStorage;
     DiscriminatorFunction discriminator;
     String discriminatorKey;
     Boolean enablePolymorphicQueries;
     Boolean ignoreFinals;
+    Boolean mappingSnapshot;
+    Optional<MetricsCollector> metrics;
+    Boolean optimizeAggregations;
     List<String> packages;
+    Boolean parallelMapping;
     PropertyDiscovery propertyDiscovery;
     NamingStrategy propertyNaming;
+    Long queryCacheSize;
+    Duration queryCacheTtl;
+    Optional<QueryCaptureLog> queryCaptures;
     QueryFactory queryFactory;
     Boolean storeEmpties;
     Boolean storeNulls;
+    Boolean trackChanges;
 
     /**
      * @hidden
@@ -59,7 +74,9 @@ public class ManualMorphiaConfig implements MorphiaConfig {
         applyCaps = base.applyCaps();
         applyDocumentValidations = base.applyDocumentValidations();
         applyIndexes = base.applyIndexes();
+        batchTransactionWrites = base.batchTransactionWrites();
         codecProvider = base.codecProvider();
+        codecStatistics = base.codecStatistics();
         collectionNaming = base.collectionNaming();
         database = base.database();
         dateStorage = base.dateStorage();
@@ -67,12 +84,20 @@ public class ManualMorphiaConfig implements MorphiaConfig {
         discriminatorKey = base.discriminatorKey();
         enablePolymorphicQueries = base.enablePolymorphicQueries();
         ignoreFinals = base.ignoreFinals();
+        mappingSnapshot = base.mappingSnapshot();
+        metrics = base.metrics();
+        optimizeAggregations = base.optimizeAggregations();
         packages = new ArrayList<>(base.packages());
+        parallelMapping = base.parallelMapping();
         propertyDiscovery = base.propertyDiscovery();
         propertyNaming = base.propertyNaming();
+        queryCacheSize = base.queryCacheSize();
+        queryCacheTtl = base.queryCacheTtl();
+        queryCaptures = base.queryCaptures();
         queryFactory = base.queryFactory();
         storeEmpties = base.storeEmpties();
         storeNulls = base.storeNulls();
+        trackChanges = base.trackChanges();
     }
 
     /**
@@ -104,11 +129,21 @@ public class ManualMorphiaConfig implements MorphiaConfig {
         return orDefault(applyIndexes, FALSE);
     }
 
+    @Override
+    public Boolean batchTransactionWrites() {
+        return orDefault(batchTransactionWrites, FALSE);
+    }
+
     @Override
     public Optional<CodecProvider> codecProvider() {
         return orDefault(codecProvider, Optional.empty());
     }
 
+    @Override
+    public Optional<CodecStatistics> codecStatistics() {
+        return orDefault(codecStatistics, Optional.empty());
+    }
+
     @Override
     public NamingStrategy collectionNaming() {
         return orDefault(collectionNaming, camelCase());
@@ -144,11 +179,31 @@ public class ManualMorphiaConfig implements MorphiaConfig {
         return orDefault(ignoreFinals, FALSE);
     }
 
+    @Override
+    public Boolean mappingSnapshot() {
+        return orDefault(mappingSnapshot, FALSE);
+    }
+
+    @Override
+    public Optional<MetricsCollector> metrics() {
+        return orDefault(metrics, Optional.empty());
+    }
+
+    @Override
+    public Boolean optimizeAggregations() {
+        return orDefault(optimizeAggregations, FALSE);
+    }
+
     @Override
     public List<String> packages() {
         return orDefault(packages, List.of());
     }
 
+    @Override
+    public Boolean parallelMapping() {
+        return orDefault(parallelMapping, FALSE);
+    }
+
     @Override
     public PropertyDiscovery propertyDiscovery() {
         return orDefault(propertyDiscovery, FIELDS);
@@ -159,6 +214,21 @@ public class ManualMorphiaConfig implements MorphiaConfig {
         return orDefault(propertyNaming, identity());
     }
 
+    @Override
+    public Long queryCacheSize() {
+        return orDefault(queryCacheSize, 0L);
+    }
+
+    @Override
+    public Duration queryCacheTtl() {
+        return orDefault(queryCacheTtl, Duration.ofMinutes(10));
+    }
+
+    @Override
+    public Optional<QueryCaptureLog> queryCaptures() {
+        return orDefault(queryCaptures, Optional.empty());
+    }
+
     @Override
     public QueryFactory queryFactory() {
         return orDefault(queryFactory, new DefaultQueryFactory());
@@ -174,15 +244,23 @@ public class ManualMorphiaConfig implements MorphiaConfig {
         return orDefault(storeNulls, FALSE);
     }
 
+    @Override
+    public Boolean trackChanges() {
+        return orDefault(trackChanges, FALSE);
+    }
+
     @Override
     public String toString() {
-        return ("MorphiaConfig{applyCaps=%s, applyDocumentValidations=%s, applyIndexes=%s, database='%s', codecProvider=%s, " +
-                "collectionNaming=%s, dateStorage=%s, discriminator=%s, discriminatorKey='%s', enablePolymorphicQueries=%s, " +
-                "ignoreFinals=%s, packages=%s, propertyDiscovery=%s, propertyNaming=%s, queryFactory=%s, " +
-                "storeEmpties=%s, storeNulls=%s}").formatted(
-                        applyCaps(), applyDocumentValidations(), applyIndexes(), database(), codecProvider(), collectionNaming(),
-                        dateStorage(), discriminator(), discriminatorKey(), enablePolymorphicQueries(), ignoreFinals(), packages(),
-                        propertyDiscovery(), propertyNaming(), queryFactory(), storeEmpties(), storeNulls());
+        return ("MorphiaConfig{applyCaps=%s, applyDocumentValidations=%s, applyIndexes=%s, batchTransactionWrites=%s, database='%s', " +
+                "codecProvider=%s, codecStatistics=%s, collectionNaming=%s, dateStorage=%s, discriminator=%s, discriminatorKey='%s', " +
+                "enablePolymorphicQueries=%s, ignoreFinals=%s, mappingSnapshot=%s, metrics=%s, optimizeAggregations=%s, packages=%s, " +
+                "parallelMapping=%s, propertyDiscovery=%s, propertyNaming=%s, queryCacheSize=%s, queryCacheTtl=%s, queryCaptures=%s, " +
+                "queryFactory=%s, storeEmpties=%s, storeNulls=%s, trackChanges=%s}").formatted(
+                        applyCaps(), applyDocumentValidations(), applyIndexes(), batchTransactionWrites(), database(), codecProvider(),
+                        codecStatistics(), collectionNaming(), dateStorage(), discriminator(), discriminatorKey(),
+                        enablePolymorphicQueries(), ignoreFinals(), mappingSnapshot(), metrics(), optimizeAggregations(), packages(),
+                        parallelMapping(), propertyDiscovery(), propertyNaming(), queryCacheSize(), queryCacheTtl(), queryCaptures(),
+                        queryFactory(), storeEmpties(), storeNulls(), trackChanges());
     }
 
     protected <T> T orDefault(@Nullable T localValue, T defaultValue) {
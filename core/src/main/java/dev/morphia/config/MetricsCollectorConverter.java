@@ -0,0 +1,16 @@
+package dev.morphia.config;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.metrics.MetricsCollector;
+
+/**
+ * @hidden
+ * @morphia.internal
+ */
+@MorphiaInternal
+public class MetricsCollectorConverter extends ClassNameConverter<MetricsCollector> {
+    @Override
+    public MetricsCollector convert(String value) {
+        return (MetricsCollector) super.convert(value);
+    }
+}
@@ -1,5 +1,6 @@
 package dev.morphia.config;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,9 @@ import dev.morphia.mapping.DiscriminatorFunction;
 import dev.morphia.mapping.MappingException;
 import dev.morphia.mapping.NamingStrategy;
 import dev.morphia.mapping.PropertyDiscovery;
+import dev.morphia.metrics.CodecStatistics;
+import dev.morphia.metrics.MetricsCollector;
+import dev.morphia.metrics.QueryCaptureLog;
 import dev.morphia.query.QueryFactory;
 import dev.morphia.sofia.Sofia;
 
@@ -164,6 +168,30 @@ public interface MorphiaConfig {
         return newConfig;
     }
 
+    /**
+     * If true, inserts and saves made within a transaction are queued and sent as ordered bulk writes, one per collection, rather than
+     * one at a time. Queued writes are sent before any read or update made through the session and before the transaction commits.
+     *
+     * @return true if writes within a transaction should be batched
+     * @since 3.0
+     */
+    @WithDefault("false")
+    Boolean batchTransactionWrites();
+
+    /**
+     * Updates this configuration with a new value and returns a new instance. The original instance is unchanged.
+     *
+     * @param value the new value
+     * @return a new instance with the updated configuration
+     * @since 3.0
+     */
+    default MorphiaConfig batchTransactionWrites(Boolean value) {
+        var newConfig = new ManualMorphiaConfig(this);
+
+        newConfig.batchTransactionWrites = value;
+        return newConfig;
+    }
+
     /**
      * Specifies a {@code CodecProvider} to supply user defined codecs that Morphia should use.
      *
@@ -190,6 +218,31 @@ public interface MorphiaConfig {
         return newConfig;
     }
 
+    /**
+     * Specifies a {@code CodecStatistics} to record the time spent encoding and decoding each mapped type. No statistics are recorded by
+     * default.
+     *
+     * @return the user configured CodecStatistics
+     * @see CodecStatistics
+     * @since 3.0
+     */
+    @WithConverter(CodecStatisticsConverter.class)
+    Optional<CodecStatistics> codecStatistics();
+
+    /**
+     * Updates this configuration with a new value and returns a new instance. The original instance is unchanged.
+     *
+     * @param value the new value
+     * @return a new instance with the updated configuration
+     * @since 3.0
+     */
+    default MorphiaConfig codecStatistics(CodecStatistics value) {
+        var newConfig = new ManualMorphiaConfig(this);
+
+        newConfig.codecStatistics = Optional.of(value);
+        return newConfig;
+    }
+
     /**
      * Sets the naming strategy to be used when generating collection names for entities if name is not explicitly given in the {@code
      * Entity} annotation
@@ -333,6 +386,58 @@ public interface MorphiaConfig {
         return newConfig;
     }
 
+    /**
+     * Instructs Morphia to use a mapping snapshot found on the classpath. Entities whose classes, and the classes they refer to, are
+     * unchanged since the snapshot was taken have their properties restored from the snapshot rather than discovered. Restored entities
+     * are still validated.
+     *
+     * @return true if Morphia should use a mapping snapshot
+     * @see dev.morphia.mapping.MappingSnapshot
+     * @since 3.0
+     */
+    @WithDefault("false")
+    Boolean mappingSnapshot();
+
+    /**
+     * Updates this configuration with a new value and returns a new instance. The original instance is unchanged.
+     *
+     * @param value the new value
+     * @return a new instance with the updated configuration
+     * @since 3.0
+     */
+    default MorphiaConfig mappingSnapshot(Boolean value) {
+        var newConfig = new ManualMorphiaConfig(this);
+
+        newConfig.mappingSnapshot = value;
+        return newConfig;
+    }
+
+    /**
+     * Specifies a {@code MetricsCollector} to receive the timings of the operations Morphia performs against the database. No metrics are
+     * recorded by default.
+     *
+     * @return the user configured MetricsCollector
+     * @see MetricsCollector
+     * @see dev.morphia.metrics.InMemoryMetrics
+     * @since 3.0
+     */
+    @WithConverter(MetricsCollectorConverter.class)
+    Optional<MetricsCollector> metrics();
+
+    /**
+     * Updates this configuration with a new value and returns a new instance. The original instance is unchanged.
+     *
+     * @param value the new value
+     * @return a new instance with the updated configuration
+     * @since 3.0
+     */
+    default MorphiaConfig metrics(MetricsCollector value) {
+        var newConfig = new ManualMorphiaConfig(this);
+
+        newConfig.metrics = Optional.of(value);
+        return newConfig;
+    }
+
     /**
      * Creates a new configuration based on the current one but updated to reflect the legacy configuration. This configuration is not
      * changed.
@@ -353,6 +458,33 @@ public interface MorphiaConfig {
 
     }
 
+    /**
+     * Instructs Morphia to reorder and combine aggregation stages before sending a pipeline to the server. Adjacent {@code $match} stages
+     * are merged, {@code $match} stages are moved ahead of {@code $lookup}, {@code $unwind}, and {@code $addFields} stages which do not
+     * compute the fields they filter on, {@code $limit} stages are moved ahead of stages which neither filter nor reorder documents, and
+     * projections made redundant by the projection which follows them are dropped. The results of the pipeline are unchanged.
+     *
+     * @return true if aggregation pipelines should be optimized
+     * @see dev.morphia.aggregation.Aggregation#optimizations()
+     * @since 3.0
+     */
+    @WithDefault("false")
+    Boolean optimizeAggregations();
+
+    /**
+     * Updates this configuration with a new value and returns a new instance. The original instance is unchanged.
+     *
+     * @param value the new value
+     * @return a new instance with the updated configuration
+     * @since 3.0
+     */
+    default MorphiaConfig optimizeAggregations(Boolean value) {
+        var newConfig = new ManualMorphiaConfig(this);
+
+        newConfig.optimizeAggregations = value;
+        return newConfig;
+    }
+
     /**
      * A comma delimited list of packages that Morphia should map. If subpackages of a specific package should also be mapped, simply add
      * a '*' to the end of the package name. e.g., 'com.foo.bar.*'
@@ -376,6 +508,30 @@ public interface MorphiaConfig {
         return newConfig;
     }
 
+    /**
+     * Instructs Morphia to map entities concurrently using all available processors. Each entity is still mapped only once and the
+     * resulting models are the same as when mapping sequentially.
+     *
+     * @return true if Morphia should map entities in parallel
+     * @since 3.0
+     */
+    @WithDefault("false")
+    Boolean parallelMapping();
+
+    /**
+     * Updates this configuration with a new value and returns a new instance. The original instance is unchanged.
+     *
+     * @param value the new value
+     * @return a new instance with the updated configuration
+     * @since 3.0
+     */
+    default MorphiaConfig parallelMapping(Boolean value) {
+        var newConfig = new ManualMorphiaConfig(this);
+
+        newConfig.parallelMapping = value;
+        return newConfig;
+    }
+
     /**
      * Determines how properties are discovered. The traditional value is by scanning for fields which involves a bit more reflective
      * work. Alternately, scanning can check for get/set method pairs to determine which class properties should be mapped.
@@ -413,7 +569,7 @@ public interface MorphiaConfig {
      */
     @WithDefault("identity")
     @WithConverter(NamingStrategyConverter.class)
-    @PossibleValues({ "camelCase", "identity", "kebabCase", "lowerCase", "snakeCase", "fqcn" })
+    @PossibleValues({ "camelCase", "compact", "identity", "kebabCase", "lowerCase", "snakeCase", "fqcn" })
     NamingStrategy propertyNaming();
 
     /**
@@ -430,6 +586,82 @@ public interface MorphiaConfig {
         return newConfig;
     }
 
+    /**
+     * Specifies the most memory, in bytes, the query cache may use for the encoded results it holds. Once full, the least recently used
+     * results are dropped. Results larger than this are not cached. The cache is disabled unless this is set to a positive value.
+     *
+     * @return the query cache size
+     * @see dev.morphia.annotations.CacheQueries
+     * @see dev.morphia.Datastore#close()
+     * @since 3.0
+     */
+    @WithDefault("0")
+    Long queryCacheSize();
+
+    /**
+     * Updates this configuration with a new value and returns a new instance. The original instance is unchanged.
+     *
+     * @param value the new value
+     * @return a new instance with the updated configuration
+     * @since 3.0
+     */
+    default MorphiaConfig queryCacheSize(Long value) {
+        var newConfig = new ManualMorphiaConfig(this);
+
+        newConfig.queryCacheSize = value;
+        return newConfig;
+    }
+
+    /**
+     * Specifies how long cached query results are kept. Cached results are dropped as soon as their collection changes so this is only a
+     * bound on how long results are kept should those changes not be seen, e.g., because the change stream can not be opened.
+     *
+     * @return the query cache time to live
+     * @see dev.morphia.annotations.CacheQueries
+     * @since 3.0
+     */
+    @WithDefault("PT10M")
+    Duration queryCacheTtl();
+
+    /**
+     * Updates this configuration with a new value and returns a new instance. The original instance is unchanged.
+     *
+     * @param value the new value
+     * @return a new instance with the updated configuration
+     * @since 3.0
+     */
+    default MorphiaConfig queryCacheTtl(Duration value) {
+        var newConfig = new ManualMorphiaConfig(this);
+
+        newConfig.queryCacheTtl = value;
+        return newConfig;
+    }
+
+    /**
+     * Specifies a {@code QueryCaptureLog} to keep the most recent slow queries as Morphia encoded them. No queries are captured by
+     * default.
+     *
+     * @return the user configured QueryCaptureLog
+     * @see QueryCaptureLog
+     * @since 3.0
+     */
+    @WithConverter(QueryCaptureLogConverter.class)
+    Optional<QueryCaptureLog> queryCaptures();
+
+    /**
+     * Updates this configuration with a new value and returns a new instance. The original instance is unchanged.
+     *
+     * @param value the new value
+     * @return a new instance with the updated configuration
+     * @since 3.0
+     */
+    default MorphiaConfig queryCaptures(QueryCaptureLog value) {
+        var newConfig = new ManualMorphiaConfig(this);
+
+        newConfig.queryCaptures = Optional.of(value);
+        return newConfig;
+    }
+
     /**
      * Specifies the query factory to use. Typically, there is no need to set this value.
      *
@@ -497,6 +729,32 @@ public interface MorphiaConfig {
         return newConfig;
     }
 
+    /**
+     * Instructs Morphia to remember the state of each entity it loads so that saving the entity again only writes the fields which have
+     * changed, or skips the write entirely if nothing has changed. Tracking an entity means encoding it again as it is loaded and keeping
+     * the encoded form in memory for as long as the entity is reachable so leave this disabled unless entities are routinely loaded and
+     * saved back.
+     *
+     * @return true if Morphia should track changes to loaded entities
+     * @since 3.0
+     */
+    @WithDefault("false")
+    Boolean trackChanges();
+
+    /**
+     * Updates this configuration with a new value and returns a new instance. The original instance is unchanged.
+     *
+     * @param value the new value
+     * @return a new instance with the updated configuration
+     * @since 3.0
+     */
+    default MorphiaConfig trackChanges(Boolean value) {
+        var newConfig = new ManualMorphiaConfig(this);
+
+        newConfig.trackChanges = value;
+        return newConfig;
+    }
+
     /**
      * Converts this instance in to the format needed for a configuration file
      *
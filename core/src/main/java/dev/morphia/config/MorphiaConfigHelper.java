@@ -2,6 +2,7 @@ package dev.morphia.config;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.time.Duration;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -130,6 +131,8 @@ public class MorphiaConfigHelper {
             return ((Class<?>) value).getName();
         } else if (value instanceof Boolean) {
             return value.toString().toLowerCase();
+        } else if (value instanceof Number || value instanceof Duration) {
+            return value.toString();
         } else if (value instanceof List) {
             var list = (List<?>) value;
             if (list.isEmpty()) {
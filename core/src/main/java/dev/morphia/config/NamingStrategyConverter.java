@@ -7,6 +7,7 @@ import dev.morphia.mapping.NamingStrategy;
 import org.eclipse.microprofile.config.spi.Converter;
 
 import static dev.morphia.mapping.NamingStrategy.camelCase;
+import static dev.morphia.mapping.NamingStrategy.compact;
 import static dev.morphia.mapping.NamingStrategy.identity;
 import static dev.morphia.mapping.NamingStrategy.kebabCase;
 import static dev.morphia.mapping.NamingStrategy.lowerCase;
@@ -24,6 +25,8 @@ public class NamingStrategyConverter implements Converter<NamingStrategy> {
             switch (value) {
                 case "camelCase":
                     return camelCase();
+                case "compact":
+                    return compact();
                 case "identity":
                     return identity();
                 case "kebabCase":
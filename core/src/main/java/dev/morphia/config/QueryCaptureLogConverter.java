@@ -0,0 +1,16 @@
+package dev.morphia.config;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.metrics.QueryCaptureLog;
+
+/**
+ * @hidden
+ * @morphia.internal
+ */
+@MorphiaInternal
+public class QueryCaptureLogConverter extends ClassNameConverter<QueryCaptureLog> {
+    @Override
+    public QueryCaptureLog convert(String value) {
+        return (QueryCaptureLog) super.convert(value);
+    }
+}
@@ -0,0 +1,373 @@
+package dev.morphia.internal;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+
+/**
+ * Remembers the encoded state of entities loaded from the database so that saving them again only needs to write what has changed.
+ * The encoded document is kept along with where each field, and each field of an embedded document, lies within it so that fields can be
+ * compared byte for byte. Entities are tracked by identity and are forgotten once they are garbage collected.
+ * <p>
+ * Changes made within a transaction are recorded in a {@link #transaction() transaction tracker} and only become visible here once the
+ * transaction commits.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class ChangeTracker {
+    private static final String ROOT = "";
+
+    private static final Snapshot FORGOTTEN = new Snapshot(null);
+
+    private final Map<Key, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+    @Nullable
+    private final ChangeTracker parent;
+
+    /**
+     * Creates a new tracker
+     */
+    public ChangeTracker() {
+        this(null);
+    }
+
+    private ChangeTracker(@Nullable ChangeTracker parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Creates a tracker for the writes of a transaction. Entities not tracked by the transaction are looked up in this tracker while
+     * anything tracked or forgotten by the transaction is kept apart until {@link #commit()} is called. If the transaction is aborted,
+     * the returned tracker should simply be dropped.
+     *
+     * @return the new tracker
+     */
+    public ChangeTracker transaction() {
+        return new ChangeTracker(this);
+    }
+
+    /**
+     * Applies everything tracked or forgotten by this transaction tracker to the tracker it was created from.
+     */
+    public void commit() {
+        if (parent == null) {
+            return;
+        }
+        expunge();
+        snapshots.forEach((key, snapshot) -> {
+            Object entity = key.get();
+            if (entity == null) {
+                return;
+            }
+            if (snapshot == FORGOTTEN) {
+                parent.forget(entity);
+            } else {
+                parent.track(entity, snapshot);
+            }
+        });
+        snapshots.clear();
+    }
+
+    /**
+     * Records the current state of an entity
+     *
+     * @param entity   the entity
+     * @param document the encoded entity
+     */
+    public void track(Object entity, byte[] document) {
+        track(entity, new Snapshot(document));
+    }
+
+    /**
+     * Records the state of an entity after its changes have been written
+     *
+     * @param entity  the entity
+     * @param changes the changes written
+     */
+    public void track(Object entity, Changes changes) {
+        track(entity, changes.snapshot);
+    }
+
+    /**
+     * Stops tracking an entity
+     *
+     * @param entity the entity
+     */
+    public void forget(Object entity) {
+        if (parent == null) {
+            snapshots.remove(new Key(entity, null));
+        } else {
+            track(entity, FORGOTTEN);
+        }
+    }
+
+    /**
+     * @param entity the entity
+     * @return true if the entity is tracked
+     */
+    public boolean isTracked(Object entity) {
+        return snapshot(entity) != null;
+    }
+
+    /**
+     * @return the number of entities currently tracked
+     */
+    public int size() {
+        expunge();
+        return snapshots.size();
+    }
+
+    /**
+     * Compares the current state of an entity with its state when last tracked.
+     *
+     * @param entity   the entity
+     * @param document the encoded entity
+     * @param ignored  the top level fields to leave out of the comparison
+     * @return the changes or null if the entity is not tracked or has top level field names which can not be used in an update
+     */
+    @Nullable
+    public Changes changes(Object entity, byte[] document, Set<String> ignored) {
+        Snapshot previous = snapshot(entity);
+        if (previous == null) {
+            return null;
+        }
+        Changes changes = new Changes(new Snapshot(document), new RawBsonDocument(document));
+        if (!changes.snapshot.updatable() || !previous.updatable()) {
+            return null;
+        }
+        for (String path : changes.snapshot.children.get(ROOT)) {
+            if (!ignored.contains(path)) {
+                changes.compare(previous, path);
+            }
+        }
+        for (String path : previous.children.get(ROOT)) {
+            if (!ignored.contains(path) && !changes.snapshot.fields.containsKey(path)) {
+                changes.unset.put(path, "");
+            }
+        }
+        return changes;
+    }
+
+    @Nullable
+    private Snapshot snapshot(Object entity) {
+        Snapshot snapshot = snapshots.get(new Key(entity, null));
+        if (snapshot == null && parent != null) {
+            return parent.snapshot(entity);
+        }
+        return snapshot != FORGOTTEN ? snapshot : null;
+    }
+
+    private void track(Object entity, Snapshot snapshot) {
+        expunge();
+        snapshots.put(new Key(entity, queue), snapshot);
+    }
+
+    private void expunge() {
+        Object key;
+        while ((key = queue.poll()) != null) {
+            snapshots.remove(key);
+        }
+    }
+
+    private static boolean isSegment(String name) {
+        return !name.isEmpty() && name.indexOf('.') == -1 && name.charAt(0) != '$';
+    }
+
+    /**
+     * The fields of an entity which have changed since it was last tracked
+     */
+    public static final class Changes {
+        private final Snapshot snapshot;
+        private final RawBsonDocument document;
+        private final Document set = new Document();
+        private final Document unset = new Document();
+
+        private Changes(Snapshot snapshot, RawBsonDocument document) {
+            this.snapshot = snapshot;
+            this.document = document;
+        }
+
+        /**
+         * @return true if nothing has changed
+         */
+        public boolean isEmpty() {
+            return set.isEmpty() && unset.isEmpty();
+        }
+
+        /**
+         * Adds a field to be set regardless of whether it has changed
+         *
+         * @param name the top level field name
+         * @return this
+         */
+        public Changes set(String name) {
+            set.put(name, document.get(name));
+            return this;
+        }
+
+        /**
+         * @return the update document applying these changes
+         */
+        public Document toUpdate() {
+            Document update = new Document();
+            if (!set.isEmpty()) {
+                update.put("$set", set);
+            }
+            if (!unset.isEmpty()) {
+                update.put("$unset", unset);
+            }
+            return update;
+        }
+
+        @Override
+        public String toString() {
+            return toUpdate().toJson();
+        }
+
+        private void compare(Snapshot previous, String path) {
+            if (snapshot.sameAs(previous, path)) {
+                return;
+            }
+            List<String> children = snapshot.children.get(path);
+            List<String> previousChildren = previous.children.get(path);
+            if (children != null && previousChildren != null) {
+                children.forEach(child -> compare(previous, child));
+                previousChildren.stream()
+                        .filter(child -> !snapshot.fields.containsKey(child))
+                        .forEach(child -> unset.put(child, ""));
+            } else {
+                set.put(path, value(path));
+            }
+        }
+
+        private BsonValue value(String path) {
+            BsonValue value = document;
+            for (String segment : path.split("\\.")) {
+                value = value.asDocument().get(segment);
+            }
+            return value;
+        }
+    }
+
+    private static final class Snapshot {
+        private final byte[] bytes;
+        private final Map<String, Field> fields = new HashMap<>();
+        private final Map<String, List<String>> children = new HashMap<>();
+
+        private Snapshot(@Nullable byte[] document) {
+            bytes = document != null ? document : new byte[0];
+            if (document != null) {
+                try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(document))) {
+                    reader.readStartDocument();
+                    read(reader, ROOT);
+                }
+            }
+        }
+
+        /**
+         * Records where the raw bytes of each field lie. Embedded documents are descended in to if all their field names can be used in a
+         * path.
+         */
+        private boolean read(BsonBinaryReader reader, String path) {
+            List<String> names = new ArrayList<>();
+            boolean segments = true;
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                String name = reader.readName();
+                String child = path.isEmpty() ? name : path + "." + name;
+                BsonType type = reader.getCurrentBsonType();
+                int start = reader.getBsonInput().getPosition();
+                if (type == BsonType.DOCUMENT && isSegment(name)) {
+                    reader.readStartDocument();
+                    if (!read(reader, child)) {
+                        children.remove(child);
+                    }
+                    reader.readEndDocument();
+                } else {
+                    reader.skipValue();
+                }
+                segments &= isSegment(name);
+                names.add(child);
+                fields.put(child, new Field(type, start, reader.getBsonInput().getPosition()));
+            }
+            if (segments || path.isEmpty()) {
+                children.put(path, names);
+            }
+            return segments;
+        }
+
+        /**
+         * @return true if every top level field can be named in a $set or $unset
+         */
+        private boolean updatable() {
+            return children.get(ROOT).stream().allMatch(ChangeTracker::isSegment);
+        }
+
+        /**
+         * @return true if the field has the same type and bytes in both snapshots
+         */
+        private boolean sameAs(Snapshot other, String path) {
+            Field field = fields.get(path);
+            Field previous = other.fields.get(path);
+            return previous != null && field.type == previous.type
+                    && Arrays.equals(bytes, field.start, field.end, other.bytes, previous.start, previous.end);
+        }
+    }
+
+    private static final class Field {
+        private final BsonType type;
+        private final int start;
+        private final int end;
+
+        private Field(BsonType type, int start, int end) {
+            this.type = type;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static final class Key extends WeakReference<Object> {
+        private final int hash;
+
+        private Key(Object referent, @Nullable ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Object referent = get();
+            return referent != null && referent == ((Key) o).get();
+        }
+    }
+}
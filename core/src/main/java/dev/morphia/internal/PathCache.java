@@ -0,0 +1,168 @@
+package dev.morphia.internal;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+
+/**
+ * Caches the results of resolving paths against an entity model. Positional segments (e.g., array indexes) are normalized so that
+ * {@code items.3.name} and {@code items.12.name} share a single resolved template.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class PathCache {
+    /**
+     * Upper bound on cached entries to guard against unbounded growth from dynamic paths such as map keys. Once reached, the cache is
+     * cleared and refilled with the paths in use from then on.
+     */
+    static final int MAX_ENTRIES = 10_000;
+
+    private final Map<Key, Resolution> resolutions = new ConcurrentHashMap<>();
+
+    /**
+     * Drops all cached resolutions. Called whenever the set of mapped types changes since that can change how a path resolves.
+     */
+    public void clear() {
+        resolutions.clear();
+    }
+
+    /**
+     * @return the number of cached resolutions
+     */
+    public int size() {
+        return resolutions.size();
+    }
+
+    @Nullable
+    Resolution get(EntityModel root, String template, boolean validate) {
+        return resolutions.get(new Key(root, template, validate));
+    }
+
+    void put(EntityModel root, String template, boolean validate, Resolution resolution) {
+        if (resolutions.size() >= MAX_ENTRIES) {
+            resolutions.clear();
+        }
+        resolutions.putIfAbsent(new Key(root, template, validate), resolution);
+    }
+
+    /**
+     * Replaces every positional segment in the path with "0". All positional segments resolve identically so this lets paths which
+     * differ only by index share an entry.
+     *
+     * @param path the path to normalize
+     * @return the normalized path or the original if there were no positional segments
+     */
+    static String normalize(String path) {
+        StringBuilder builder = null;
+        int start = 0;
+        int length = path.length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || path.charAt(i) == '.') {
+                if (i > start && isNumeric(path, start, i)) {
+                    if (builder == null) {
+                        builder = new StringBuilder(length);
+                        builder.append(path, 0, start);
+                    }
+                    builder.append('0');
+                } else if (builder != null) {
+                    builder.append(path, start, i);
+                }
+                if (builder != null && i < length) {
+                    builder.append('.');
+                }
+                start = i + 1;
+            }
+        }
+        return builder == null ? path : builder.toString();
+    }
+
+    static boolean isNumeric(String value) {
+        return !value.isEmpty() && isNumeric(value, 0, value.length());
+    }
+
+    private static boolean isNumeric(String value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * An immutable resolution of a path
+     */
+    static final class Resolution {
+        private final List<String> segments;
+        @Nullable
+        private final PropertyModel target;
+        private final boolean positional;
+        private final String translated;
+
+        Resolution(List<String> segments, @Nullable PropertyModel target, boolean positional) {
+            this.segments = List.copyOf(segments);
+            this.target = target;
+            this.positional = positional;
+            this.translated = String.join(".", segments);
+        }
+
+        List<String> segments() {
+            return segments;
+        }
+
+        @Nullable
+        PropertyModel target() {
+            return target;
+        }
+
+        boolean positional() {
+            return positional;
+        }
+
+        String translated() {
+            return translated;
+        }
+    }
+
+    private static final class Key {
+        private final EntityModel root;
+        private final String template;
+        private final boolean validate;
+        private final int hash;
+
+        private Key(EntityModel root, String template, boolean validate) {
+            this.root = root;
+            this.template = template;
+            this.validate = validate;
+            hash = Objects.hash(System.identityHashCode(root), template, validate);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return root == key.root && validate == key.validate && template.equals(key.template);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -16,13 +16,14 @@
 
 package dev.morphia.internal;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.StringJoiner;
 
 import com.mongodb.lang.Nullable;
 
 import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.internal.PathCache.Resolution;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.NotMappableException;
 import dev.morphia.mapping.codec.pojo.EntityModel;
@@ -32,8 +33,6 @@ import dev.morphia.sofia.Sofia;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
-import static java.util.Arrays.asList;
-
 /**
  * @hidden
  * @morphia.internal
@@ -41,7 +40,9 @@ import static java.util.Arrays.asList;
  */
 @MorphiaInternal
 public class PathTarget {
-    private final List<String> segments;
+    private final String path;
+    private List<String> segments;
+    private String translated;
     private final boolean validateNames;
     private int position;
     private final Mapper mapper;
@@ -71,7 +72,7 @@ public class PathTarget {
      */
     @SuppressFBWarnings("EI_EXPOSE_REP2")
     public PathTarget(Mapper mapper, @Nullable EntityModel root, String path, boolean validateNames) {
-        segments = asList(path.split("\\."));
+        this.path = path;
         this.root = root;
         this.mapper = mapper;
         this.validateNames = validateNames;
@@ -124,9 +125,10 @@ public class PathTarget {
         if (!resolved) {
             resolve();
         }
-        StringJoiner joiner = new StringJoiner(".");
-        segments.forEach(joiner::add);
-        return joiner.toString();
+        if (translated == null) {
+            translated = String.join(".", segments());
+        }
+        return translated;
     }
 
     /**
@@ -144,7 +146,7 @@ public class PathTarget {
 
     @Override
     public String toString() {
-        return String.format("PathTarget{root=%s, segments=%s, target=%s}", root.getType().getSimpleName(), segments, target);
+        return String.format("PathTarget{root=%s, segments=%s, target=%s}", root.getType().getSimpleName(), segments(), target);
     }
 
     private boolean hasNext() {
@@ -156,7 +158,45 @@ public class PathTarget {
         throw new ValidationException(Sofia.invalidPathTarget(translatedPath(), root.getType().getName(), pathElement));
     }
 
+    private List<String> segments() {
+        if (segments == null) {
+            segments = new ArrayList<>(List.of(path.split("\\.")));
+        }
+        return segments;
+    }
+
     private void resolve() {
+        if (root == null) {
+            resolveSegments();
+            return;
+        }
+        PathCache cache = mapper.getPathCache();
+        String template = PathCache.normalize(path);
+        Resolution resolution = cache.get(root, template, validateNames);
+        if (resolution == null) {
+            resolveSegments();
+            resolution = new Resolution(segments, target, !template.equals(path));
+            cache.put(root, template, validateNames, resolution);
+        } else {
+            target = resolution.target();
+            if (resolution.positional()) {
+                List<String> translatedSegments = resolution.segments();
+                segments();
+                for (int i = 0; i < segments.size(); i++) {
+                    if (!PathCache.isNumeric(segments.get(i))) {
+                        segments.set(i, translatedSegments.get(i));
+                    }
+                }
+            } else {
+                segments = resolution.segments();
+                translated = resolution.translated();
+            }
+            resolved = true;
+        }
+    }
+
+    private void resolveSegments() {
+        segments();
         context = this.root;
         position = 0;
         PropertyModel property = null;
@@ -164,7 +204,7 @@ public class PathTarget {
             String segment = next();
 
             // array operator
-            if ("$".equals(segment) || (segment.startsWith("$[") && segment.endsWith("]")) || segment.matches("[0-9]+")) {
+            if ("$".equals(segment) || (segment.startsWith("$[") && segment.endsWith("]")) || PathCache.isNumeric(segment)) {
                 if (!hasNext()) {
                     break;
                 }
@@ -0,0 +1,126 @@
+package dev.morphia.mapping;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.sofia.Sofia;
+
+/**
+ * Reads the entity indexes written by {@link EntityIndexProcessor} so that entity classes can be found without scanning the classpath.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public final class EntityIndex {
+    /**
+     * The location of the index resources
+     */
+    public static final String LOCATION = "META-INF/morphia/entities";
+
+    private EntityIndex() {
+    }
+
+    /**
+     * Finds the indexed entities in a package. A package name ending in {@code .*} includes all subpackages. The index is only used
+     * when every classpath location containing the package has one. Otherwise, some of the package's entities might be missing from
+     * it and the package must be scanned instead.
+     *
+     * @param loader      the loader to search
+     * @param packageName the package to find
+     * @return the binary names of the indexed entities in the package or null if the index does not cover the package
+     */
+    @Nullable
+    public static List<String> find(ClassLoader loader, String packageName) {
+        boolean recursive = packageName.endsWith(".*");
+        String base = recursive ? packageName.substring(0, packageName.length() - 2) : packageName;
+        if (!covers(loader, base)) {
+            return null;
+        }
+        TreeSet<String> found = new TreeSet<>();
+        for (String name : read(loader)) {
+            int dot = name.lastIndexOf('.');
+            String entityPackage = dot == -1 ? "" : name.substring(0, dot);
+            if (entityPackage.equals(base)
+                    || recursive && (base.isEmpty() || entityPackage.startsWith(base + "."))) {
+                found.add(name);
+            }
+        }
+        return found.isEmpty() ? null : new ArrayList<>(found);
+    }
+
+    /**
+     * Checks that each classpath root holding the package also holds an index. Roots whose package directory can not be listed, such as
+     * jars built without directory entries, are treated as not covered.
+     */
+    private static boolean covers(ClassLoader loader, String packageName) {
+        try {
+            Set<String> indexes = new HashSet<>();
+            Enumeration<URL> resources = loader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                indexes.add(resources.nextElement().toExternalForm());
+            }
+            if (indexes.isEmpty()) {
+                return false;
+            }
+            String path = packageName.replace('.', '/');
+            Enumeration<URL> locations = loader.getResources(path);
+            boolean found = false;
+            while (locations.hasMoreElements()) {
+                found = true;
+                String location = locations.nextElement().toExternalForm();
+                if (location.endsWith("/")) {
+                    location = location.substring(0, location.length() - 1);
+                }
+                String root = path.isEmpty() ? location : location.substring(0, location.length() - path.length() - 1);
+                if (!indexes.contains(root + "/" + LOCATION)) {
+                    Sofia.logEntityIndexIncomplete(packageName, root);
+                    return false;
+                }
+            }
+            return found;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param loader the loader to search
+     * @return the binary names of every entity indexed on the loader
+     */
+    public static List<String> read(ClassLoader loader) {
+        List<String> names = new ArrayList<>();
+        try {
+            Enumeration<URL> resources = loader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(resources.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        line = line.trim();
+                        if (!line.isEmpty() && !line.startsWith("#")) {
+                            names.add(line);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return names;
+    }
+}
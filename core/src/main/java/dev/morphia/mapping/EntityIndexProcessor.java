@@ -0,0 +1,127 @@
+package dev.morphia.mapping;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.ExternalEntity;
+
+/**
+ * An annotation processor which records every type annotated, directly or through a supertype, with {@link Entity} or
+ * {@link ExternalEntity} in {@value EntityIndex#LOCATION}. When this index is present, Morphia uses it to find the entities in the
+ * configured packages instead of scanning the classpath at startup. Packages found in classpath locations without an index are still
+ * scanned. The processor is not registered as a service so it only runs when configured explicitly, e.g. with {@code -processor}.
+ *
+ * @since 3.0
+ */
+@SupportedAnnotationTypes("*")
+public class EntityIndexProcessor extends AbstractProcessor {
+    private static final List<String> ANNOTATIONS = List.of(Entity.class.getName(), ExternalEntity.class.getName());
+
+    private final Set<String> entities = new TreeSet<>();
+    private boolean loaded;
+    private boolean existing;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!loaded) {
+            loaded = true;
+            loadExisting();
+        }
+        for (Element element : roundEnv.getRootElements()) {
+            collect(element);
+        }
+        if (roundEnv.processingOver() && (existing || !entities.isEmpty())) {
+            write();
+        }
+        return false;
+    }
+
+    private void collect(Element element) {
+        if (element instanceof TypeElement) {
+            TypeElement type = (TypeElement) element;
+            if (isEntity(type)) {
+                entities.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+            }
+            for (Element enclosed : type.getEnclosedElements()) {
+                collect(enclosed);
+            }
+        }
+    }
+
+    private boolean isEntity(TypeElement type) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            Element annotation = mirror.getAnnotationType().asElement();
+            if (ANNOTATIONS.contains(((TypeElement) annotation).getQualifiedName().toString())) {
+                return true;
+            }
+        }
+        for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type.asType())) {
+            if (supertype instanceof DeclaredType && isEntity((TypeElement) ((DeclaredType) supertype).asElement())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Keeps the entries from a previous compilation whose types still exist and are still entities so that incremental builds, which
+     * only process changed sources, do not lose them.
+     */
+    private void loadExisting() {
+        try {
+            FileObject resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", EntityIndex.LOCATION);
+            try (BufferedReader reader = new BufferedReader(resource.openReader(true))) {
+                existing = true;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#")) {
+                        TypeElement type = processingEnv.getElementUtils().getTypeElement(line.replace('$', '.'));
+                        if (type != null && isEntity(type)) {
+                            entities.add(line);
+                        }
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException ignored) {
+            // no previous index
+        }
+    }
+
+    private void write() {
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", EntityIndex.LOCATION);
+            try (Writer writer = resource.openWriter()) {
+                for (String entity : entities) {
+                    writer.write(entity);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR, "Could not write " + EntityIndex.LOCATION + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package dev.morphia.mapping;
+
+import java.util.StringJoiner;
+
+import com.mongodb.lang.Nullable;
+
+import org.bson.Document;
+
+/**
+ * A difference between the indexes declared on the mapped entities and those which exist in the database.
+ *
+ * @see IndexReport
+ * @since 3.0
+ */
+public final class IndexDrift {
+    /**
+     * The kinds of differences found
+     */
+    public enum Kind {
+        /**
+         * A declared index does not exist
+         */
+        MISSING,
+        /**
+         * An index exists with the declared name but with different keys or options
+         */
+        CHANGED,
+        /**
+         * An index exists which is not declared on any mapped entity
+         */
+        UNDECLARED
+    }
+
+    private final String collection;
+    private final String name;
+    private final Kind kind;
+    @Nullable
+    private final Document expected;
+    @Nullable
+    private final Document actual;
+
+    /**
+     * @param collection the collection name
+     * @param name       the index name
+     * @param kind       the kind of difference
+     * @param expected   the declared index if any
+     * @param actual     the existing index if any
+     */
+    public IndexDrift(String collection, String name, Kind kind, @Nullable Document expected, @Nullable Document actual) {
+        this.collection = collection;
+        this.name = name;
+        this.kind = kind;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    /**
+     * @return the collection name
+     */
+    public String collection() {
+        return collection;
+    }
+
+    /**
+     * @return the index name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return the kind of difference
+     */
+    public Kind kind() {
+        return kind;
+    }
+
+    /**
+     * @return the declared index or null if the index is not declared
+     */
+    @Nullable
+    public Document expected() {
+        return expected;
+    }
+
+    /**
+     * @return the existing index or null if the index does not exist
+     */
+    @Nullable
+    public Document actual() {
+        return actual;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", IndexDrift.class.getSimpleName() + "[", "]")
+                .add("collection='" + collection + "'")
+                .add("name='" + name + "'")
+                .add("kind=" + kind)
+                .add("expected=" + expected)
+                .add("actual=" + actual)
+                .toString();
+    }
+}
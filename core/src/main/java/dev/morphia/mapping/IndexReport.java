@@ -0,0 +1,66 @@
+package dev.morphia.mapping;
+
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+import dev.morphia.mapping.IndexDrift.Kind;
+
+/**
+ * The outcome of comparing the indexes declared on the mapped entities with those which exist in the database.
+ *
+ * @see dev.morphia.MorphiaDatastore#checkIndexes()
+ * @since 3.0
+ */
+public final class IndexReport {
+    private final List<IndexDrift> drift;
+    private final int unchanged;
+
+    /**
+     * @param drift     the differences found
+     * @param unchanged the number of declared indexes which already exist as declared
+     */
+    public IndexReport(List<IndexDrift> drift, int unchanged) {
+        this.drift = List.copyOf(drift);
+        this.unchanged = unchanged;
+    }
+
+    /**
+     * @return the differences found
+     */
+    public List<IndexDrift> drift() {
+        return drift;
+    }
+
+    /**
+     * @param kind the kind of difference
+     * @return the differences of the given kind
+     */
+    public List<IndexDrift> drift(Kind kind) {
+        return drift.stream()
+                .filter(d -> d.kind() == kind)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the number of declared indexes which already exist as declared
+     */
+    public int unchanged() {
+        return unchanged;
+    }
+
+    /**
+     * @return true if every declared index exists as declared. Undeclared indexes are not considered.
+     */
+    public boolean isInSync() {
+        return drift.stream().allMatch(d -> d.kind() == Kind.UNDECLARED);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", IndexReport.class.getSimpleName() + "[", "]")
+                .add("unchanged=" + unchanged)
+                .add("drift=" + drift)
+                .toString();
+    }
+}
@@ -3,6 +3,7 @@ package dev.morphia.mapping;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -10,6 +11,9 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.stream.Collectors;
 
 import com.mongodb.WriteConcern;
@@ -24,6 +28,7 @@ import dev.morphia.annotations.PreLoad;
 import dev.morphia.annotations.PrePersist;
 import dev.morphia.annotations.internal.MorphiaInternal;
 import dev.morphia.config.MorphiaConfig;
+import dev.morphia.internal.PathCache;
 import dev.morphia.mapping.codec.pojo.EntityModel;
 import dev.morphia.mapping.codec.pojo.PropertyModel;
 import dev.morphia.mapping.codec.references.MorphiaProxy;
@@ -71,6 +76,11 @@ public class Mapper {
     private final MorphiaConfig config;
     private final DiscriminatorLookup discriminatorLookup;
     private final ClassLoader contextClassLoader;
+    private final PathCache pathCache = new PathCache();
+    @Nullable
+    private final MappingSnapshot snapshot;
+    private final Map<String, Object> modelLocks = new ConcurrentHashMap<>();
+    private final ThreadLocal<List<EntityModel>> pendingValidation = new ThreadLocal<>();
 
     /**
      * Creates a Mapper with the given options.
@@ -84,6 +94,7 @@ public class Mapper {
         this.config = config;
         contextClassLoader = Thread.currentThread().getContextClassLoader();
         discriminatorLookup = new DiscriminatorLookup();
+        snapshot = config.mappingSnapshot() ? MappingSnapshot.load(contextClassLoader, config) : null;
     }
 
     /**
@@ -96,6 +107,7 @@ public class Mapper {
         config = other.config;
         contextClassLoader = other.contextClassLoader;
         discriminatorLookup = new DiscriminatorLookup();
+        snapshot = other.snapshot;
         other.mappedEntities.values().forEach(entity -> {
             clone(entity);
         });
@@ -268,11 +280,54 @@ public class Mapper {
     public EntityModel mapEntity(@Nullable Class type) {
         if (isMappable(type)) {
             EntityModel model = mappedEntities.get(type.getName());
-            return model != null ? model : register(new EntityModel(this, type));
+            return model != null ? model : createModel(type);
         }
         return null;
     }
 
+    /**
+     * Creates and registers the model for a type unless another thread already has. Only the type being created is locked so unrelated
+     * types can be mapped concurrently. Validation is deferred until the outermost creation on a thread completes so that no locks are
+     * held while validation maps any referenced types.
+     */
+    private EntityModel createModel(Class<?> type) {
+        List<EntityModel> pending = pendingValidation.get();
+        boolean outermost = pending == null;
+        if (outermost) {
+            pending = new ArrayList<>();
+            pendingValidation.set(pending);
+        }
+        EntityModel model;
+        try {
+            synchronized (modelLocks.computeIfAbsent(type.getName(), name -> new Object())) {
+                model = mappedEntities.get(type.getName());
+                if (model == null) {
+                    model = documentNewModel(new EntityModel(this, type));
+                    pending.add(model);
+                }
+            }
+        } finally {
+            if (outermost) {
+                pendingValidation.remove();
+            }
+        }
+        if (outermost) {
+            pending.forEach(this::validate);
+        }
+        return model;
+    }
+
+    /**
+     * @return the cache of resolved property paths
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @MorphiaInternal
+    public PathCache getPathCache() {
+        return pathCache;
+    }
+
     /**
      * Gets the ID value for an entity
      *
@@ -414,10 +469,7 @@ public class Mapper {
                 throw new MappingException(Sofia.mappingAnnotationNeeded(type.getName()));
             }
         }
-        return classes.stream()
-                .map(this::getEntityModel)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        return mapAll(new ArrayList<>(classes));
     }
 
     /**
@@ -431,11 +483,7 @@ public class Mapper {
     @Deprecated(since = "2.4.0", forRemoval = true)
     public synchronized void map(String packageName) {
         try {
-            List<Class> classes = getClasses(contextClassLoader, packageName);
-            classes
-                    .forEach(type -> {
-                        mapEntity(type);
-                    });
+            mapAll(getClasses(contextClassLoader, packageName));
         } catch (ClassNotFoundException e) {
             throw new MappingException("Could not get map classes from package " + packageName, e);
         }
@@ -452,13 +500,7 @@ public class Mapper {
     public synchronized void mapPackage(String packageName) {
         Sofia.logConfiguredOperation("Mapper#mapPackage");
         try {
-            getClasses(contextClassLoader, packageName)
-                    .forEach(type -> {
-                        try {
-                            getEntityModel(type);
-                        } catch (NotMappableException ignored) {
-                        }
-                    });
+            mapAll(getClasses(contextClassLoader, packageName));
         } catch (ClassNotFoundException e) {
             throw new MappingException("Could not get map classes from package " + packageName, e);
         }
@@ -512,15 +554,77 @@ public class Mapper {
     @MorphiaInternal
     public EntityModel register(EntityModel entityModel) {
         documentNewModel(entityModel);
+        validate(entityModel);
+        return entityModel;
+    }
+
+    private void validate(EntityModel entityModel) {
         if (!entityModel.isInterface()) {
             new MappingValidator()
                     .validate(this, entityModel);
+        }
+    }
 
+    /**
+     * Maps the mappable types given either sequentially or, if configured, in parallel. When mapping in parallel, subtypes are added to
+     * their parents in whichever order the types are mapped so they are sorted afterwards to keep the models deterministic.
+     */
+    private List<EntityModel> mapAll(List<Class> classes) {
+        if (!config.parallelMapping() || classes.size() < 2) {
+            return classes.stream()
+                    .map(this::mapEntity)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
         }
-        return entityModel;
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        }, null, false);
+        try {
+            List<EntityModel> models = pool.submit(() -> classes.parallelStream()
+                    .map(this::mapEntity)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()))
+                    .get();
+            for (EntityModel model : mappedEntities.values()) {
+                List<EntityModel> subtypes = new ArrayList<>(model.subtypes);
+                subtypes.sort(Comparator.comparing(subtype -> subtype.getType().getName()));
+                model.subtypes.clear();
+                model.subtypes.addAll(subtypes);
+            }
+            return models;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MappingException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MappingException(cause.getMessage(), cause);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @param type the entity type
+     * @return the snapshot of the type if one was loaded and the type is unchanged since it was taken
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @Nullable
+    @MorphiaInternal
+    public MappingSnapshot.Entry snapshotEntry(Class<?> type) {
+        return snapshot != null ? snapshot.entry(type) : null;
     }
 
     private EntityModel documentNewModel(EntityModel entityModel) {
+        pathCache.clear();
         discriminatorLookup.addModel(entityModel);
         mappedEntities.put(entityModel.getType().getName(), entityModel);
         mappedEntitiesByCollection.computeIfAbsent(entityModel.getCollectionName(), s -> new CopyOnWriteArraySet<>())
@@ -532,6 +636,19 @@ public class Mapper {
             throws ClassNotFoundException {
         final Set<Class> classes = new HashSet<>();
 
+        List<String> indexed = EntityIndex.find(loader, packageName);
+        if (indexed != null) {
+            Sofia.logIndexedEntities(indexed.size(), packageName);
+            for (String name : indexed) {
+                try {
+                    classes.add(Class.forName(name, true, loader));
+                } catch (ClassNotFoundException | LinkageError e) {
+                    Sofia.logIndexedEntityNotLoaded(name, e.getMessage());
+                }
+            }
+            return new ArrayList<>(classes);
+        }
+
         ClassGraph classGraph = new ClassGraph()
                 .addClassLoader(loader)
                 .enableAllInfo();
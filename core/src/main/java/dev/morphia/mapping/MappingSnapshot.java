@@ -0,0 +1,380 @@
+package dev.morphia.mapping;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.ExternalEntity;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.config.MorphiaConfig;
+import dev.morphia.mapping.codec.FieldAccessor;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+import dev.morphia.mapping.conventions.ConfigureProperties;
+import dev.morphia.mapping.conventions.FieldDiscovery;
+import dev.morphia.mapping.conventions.MorphiaConvention;
+import dev.morphia.mapping.conventions.MorphiaDefaultsConvention;
+import dev.morphia.sofia.Sofia;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+
+/**
+ * The resolved mapping of a set of entities which can be written at build time and loaded at startup. When a snapshot is found at
+ * {@value #LOCATION} and was taken with the same mapping configuration, each entity whose class files are unchanged is mapped from the
+ * snapshot: its properties and their mapped names are restored rather than discovered. The class files checked include those of the
+ * entity's supertypes and of every type reachable through their fields. Restored entities are still validated. Entities which have
+ * changed, which are not in the snapshot, or whose properties are not all fields, are mapped as usual.
+ * <p>
+ * Snapshots are written by running this class with the output directory of the build, typically {@code target/classes}, as its argument.
+ * The configuration is loaded from {@code META-INF/morphia-config.properties} unless another resource is given as the second argument.
+ *
+ * @see MorphiaConfig#mappingSnapshot()
+ * @since 3.0
+ */
+public final class MappingSnapshot {
+    /**
+     * The location of the snapshot resource
+     */
+    public static final String LOCATION = "META-INF/morphia/mapping-snapshot";
+
+    private static final List<String> PROBES = List.of("id", "name", "firstName", "URLValue", "snake_case", "value2");
+
+    private final Document configuration;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    private MappingSnapshot(Document configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Maps the configured packages and writes their snapshot.
+     *
+     * @param args the output directory and, optionally, the configuration resource to load
+     * @throws IOException if the snapshot can not be written
+     */
+    @SuppressWarnings("removal")
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: MappingSnapshot <output directory> [configuration resource]");
+        }
+        MorphiaConfig config = (args.length > 1 ? MorphiaConfig.load(args[1]) : MorphiaConfig.load())
+                .mappingSnapshot(false);
+        Mapper mapper = new Mapper(config);
+        config.packages().forEach(mapper::map);
+
+        Path path = Path.of(args[0]).resolve(LOCATION);
+        Files.createDirectories(path.getParent());
+        try (OutputStream output = Files.newOutputStream(path)) {
+            of(mapper).write(output);
+        }
+    }
+
+    /**
+     * Creates a snapshot of the entities currently mapped.
+     *
+     * @param mapper the mapper to snapshot
+     * @return the snapshot
+     */
+    public static MappingSnapshot of(Mapper mapper) {
+        MorphiaConfig config = mapper.getConfig();
+        MappingSnapshot snapshot = new MappingSnapshot(configuration(config));
+        for (EntityModel model : mapper.getMappedEntities()) {
+            if (model.getAnnotation(ExternalEntity.class) != null) {
+                continue;
+            }
+            List<Property> properties = new ArrayList<>();
+            for (PropertyModel property : model.getProperties()) {
+                Class<?> declaring = property.getAccessor() instanceof FieldAccessor ? declaringClass(model, property.getName()) : null;
+                if (declaring == null) {
+                    properties = null;
+                    break;
+                }
+                properties.add(new Property(declaring.getName(), property.getName(), property.getMappedName()));
+            }
+            Long hash = hash(model.getType());
+            if (properties != null && hash != null) {
+                snapshot.entries.put(model.getType().getName(), new Entry(model.getType().getName(), hash, properties));
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Loads the snapshot on the classpath if it was taken with the given configuration.
+     *
+     * @param loader the loader to search
+     * @param config the current configuration
+     * @return the snapshot or null if there is no usable snapshot
+     * @hidden
+     * @morphia.internal
+     */
+    @Nullable
+    @MorphiaInternal
+    public static MappingSnapshot load(ClassLoader loader, MorphiaConfig config) {
+        try (InputStream input = loader.getResourceAsStream(LOCATION)) {
+            if (input == null) {
+                return null;
+            }
+            MappingSnapshot snapshot = read(input);
+            if (!snapshot.configuration.equals(configuration(config))) {
+                Sofia.logSnapshotMismatch();
+                return null;
+            }
+            Sofia.logSnapshotLoaded(snapshot.entries.size());
+            return snapshot;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a snapshot.
+     *
+     * @param input the stream to read
+     * @return the snapshot
+     * @throws IOException if the snapshot can not be read
+     */
+    public static MappingSnapshot read(InputStream input) throws IOException {
+        Document document = new RawBsonDocument(input.readAllBytes()).decode(new DocumentCodec());
+        MappingSnapshot snapshot = new MappingSnapshot(document.get("configuration", Document.class));
+        for (Document entity : document.getList("entities", Document.class)) {
+            List<Property> properties = new ArrayList<>();
+            for (Document property : entity.getList("properties", Document.class)) {
+                properties.add(new Property(property.getString("declaringClass"), property.getString("name"),
+                        property.getString("mappedName")));
+            }
+            Entry entry = new Entry(entity.getString("type"), entity.getLong("hash"), properties);
+            snapshot.entries.put(entry.type, entry);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Writes this snapshot.
+     *
+     * @param output the stream to write to
+     * @throws IOException if the snapshot can not be written
+     */
+    public void write(OutputStream output) throws IOException {
+        List<Document> entities = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            List<Document> properties = new ArrayList<>();
+            for (Property property : entry.properties) {
+                properties.add(new Document("declaringClass", property.declaringClass)
+                        .append("name", property.name)
+                        .append("mappedName", property.mappedName));
+            }
+            entities.add(new Document("type", entry.type)
+                    .append("hash", entry.hash)
+                    .append("properties", properties));
+        }
+        ByteBuffer buffer = new RawBsonDocument(new Document("configuration", configuration).append("entities", entities),
+                new DocumentCodec()).getByteBuffer().asNIO();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        output.write(bytes);
+    }
+
+    /**
+     * @return the names of the entities in this snapshot
+     */
+    public Set<String> entities() {
+        return entries.keySet();
+    }
+
+    /**
+     * @param type the entity type
+     * @return the snapshot of the type or null if it is not in the snapshot or has changed since
+     * @hidden
+     * @morphia.internal
+     */
+    @Nullable
+    @MorphiaInternal
+    public Entry entry(Class<?> type) {
+        Entry entry = entries.get(type.getName());
+        return entry != null && entry.matches(type) ? entry : null;
+    }
+
+    /**
+     * Describes the configuration the restored properties depend on. Since a naming strategy can be configured by more than its class,
+     * the names it produces for a fixed set of property names are recorded as well. Discriminators and collection names are not restored
+     * so their configuration is not included.
+     */
+    private static Document configuration(MorphiaConfig config) {
+        List<String> conventions = new ArrayList<>();
+        ServiceLoader.load(MorphiaConvention.class)
+                .forEach(convention -> conventions.add(convention.getClass().getName()));
+        NamingStrategy naming = config.propertyNaming();
+        List<String> names = new ArrayList<>();
+        PROBES.forEach(name -> names.add(naming.apply(name)));
+        return new Document("propertyNaming", naming.getClass().getName())
+                .append("propertyNames", names)
+                .append("conventions", conventions);
+    }
+
+    @Nullable
+    private static Class<?> declaringClass(EntityModel model, String name) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        types.add(model.getType());
+        types.addAll(model.classHierarchy());
+        for (Class<?> type : types) {
+            try {
+                type.getDeclaredField(name);
+                return type;
+            } catch (NoSuchFieldException ignored) {
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Hashes the class files of a type and every type reachable from it through supertypes and the declared types of fields, including
+     * type arguments, so that changes to embedded or referenced types are detected as well. JDK types are not included.
+     */
+    @Nullable
+    private static Long hash(Class<?> type) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        reachable(type, types);
+        List<Class<?>> sorted = new ArrayList<>(types);
+        sorted.sort(Comparator.comparing(Class::getName));
+        CRC32C crc = new CRC32C();
+        for (Class<?> current : sorted) {
+            ClassLoader loader = current.getClassLoader();
+            try (InputStream input = loader.getResourceAsStream(current.getName().replace('.', '/') + ".class")) {
+                if (input == null) {
+                    return null;
+                }
+                crc.update(current.getName().getBytes());
+                crc.update(input.readAllBytes());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static void reachable(@Nullable Class<?> type, Set<Class<?>> types) {
+        if (type == null) {
+            return;
+        }
+        if (type.isArray()) {
+            reachable(type.getComponentType(), types);
+        } else if (!type.isPrimitive() && type.getClassLoader() != null && !type.getName().startsWith("java.") && types.add(type)) {
+            reachable(type.getSuperclass(), types);
+            for (Class<?> anInterface : type.getInterfaces()) {
+                reachable(anInterface, types);
+            }
+            for (Field field : type.getDeclaredFields()) {
+                reachable(field.getGenericType(), types);
+            }
+        }
+    }
+
+    private static void reachable(Type type, Set<Class<?>> types) {
+        if (type instanceof Class) {
+            reachable((Class<?>) type, types);
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            reachable(parameterized.getRawType(), types);
+            for (Type argument : parameterized.getActualTypeArguments()) {
+                reachable(argument, types);
+            }
+        } else if (type instanceof GenericArrayType) {
+            reachable(((GenericArrayType) type).getGenericComponentType(), types);
+        } else if (type instanceof WildcardType) {
+            WildcardType wildcard = (WildcardType) type;
+            for (Type bound : wildcard.getUpperBounds()) {
+                reachable(bound, types);
+            }
+            for (Type bound : wildcard.getLowerBounds()) {
+                reachable(bound, types);
+            }
+        }
+    }
+
+    /**
+     * The snapshot of a single entity. Applying it restores the properties of the entity in place of discovering them. The defaults,
+     * such as the discriminator, are applied as usual.
+     *
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public static final class Entry implements MorphiaConvention {
+        private final String type;
+        private final long hash;
+        private final List<Property> properties;
+        private volatile Boolean matches;
+
+        private Entry(String type, long hash, List<Property> properties) {
+            this.type = type;
+            this.hash = hash;
+            this.properties = properties;
+        }
+
+        @Override
+        public void apply(Mapper mapper, EntityModel model) {
+            new MorphiaDefaultsConvention().apply(mapper, model);
+
+            Map<String, Class<?>> types = new LinkedHashMap<>();
+            types.put(model.getType().getName(), model.getType());
+            model.classHierarchy().forEach(c -> types.put(c.getName(), c));
+            for (Property property : properties) {
+                Class<?> declaring = types.get(property.declaringClass);
+                if (declaring == null) {
+                    throw new MappingException(Sofia.snapshotMismatchedProperty(type, property.name));
+                }
+                try {
+                    Field field = declaring.getDeclaredField(property.name);
+                    model.addProperty(FieldDiscovery.property(model, declaring, field).mappedName(property.mappedName));
+                } catch (NoSuchFieldException e) {
+                    throw new MappingException(Sofia.snapshotMismatchedProperty(type, property.name));
+                }
+            }
+
+            new ConfigureProperties().apply(mapper, model);
+        }
+
+        private boolean matches(Class<?> type) {
+            if (matches == null) {
+                Long current = hash(type);
+                matches = current != null && current == hash;
+            }
+            return matches;
+        }
+    }
+
+    private static final class Property {
+        private final String declaringClass;
+        private final String name;
+        private final String mappedName;
+
+        private Property(String declaringClass, String name, String mappedName) {
+            this.declaringClass = declaringClass;
+            this.name = name;
+            this.mappedName = mappedName;
+        }
+    }
+}
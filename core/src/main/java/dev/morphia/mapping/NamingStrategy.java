@@ -1,6 +1,7 @@
 package dev.morphia.mapping;
 
 import dev.morphia.mapping.strategy.CamelCase;
+import dev.morphia.mapping.strategy.Compact;
 import dev.morphia.mapping.strategy.Identity;
 import dev.morphia.mapping.strategy.KebabCase;
 import dev.morphia.mapping.strategy.LowerCase;
@@ -50,6 +51,16 @@ public abstract class NamingStrategy {
         return new CamelCase();
     }
 
+    /**
+     * Defines a naming strategy that returns a short name derived from a hash of the value passed
+     *
+     * @return the new value.
+     * @since 3.0
+     */
+    public static NamingStrategy compact() {
+        return new Compact();
+    }
+
     /**
      * Defines a naming strategy that returns kebab case of the value passed
      *
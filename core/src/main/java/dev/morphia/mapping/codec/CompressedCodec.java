@@ -0,0 +1,155 @@
+package dev.morphia.mapping.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import dev.morphia.annotations.Compressed;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.MappingException;
+import dev.morphia.sofia.Sofia;
+
+import org.bson.BsonBinary;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonReader;
+import org.bson.BsonReaderMark;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.BsonValueCodec;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+/**
+ * Wraps the codec of a property annotated with {@link Compressed}. A compressed value is stored as binary data of subtype
+ * {@code 0xC7} made up of a header, a fixed marker followed by the name of the algorithm used, and then the compressed BSON encoding
+ * of the value. Binary values of any other subtype, or without the marker, and all other values are passed through to the wrapped codec.
+ *
+ * @param <T> the property type
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class CompressedCodec<T> implements Codec<T> {
+    /**
+     * The binary subtype, {@code 0xC7} from the user defined range, used for compressed values
+     */
+    public static final byte SUBTYPE = (byte) 0xC7;
+
+    private static final byte[] MARKER = { 'M', 'Z', 'I', 'P', 1 };
+    private static final String VALUE = "v";
+    private static final BsonValueCodec VALUE_CODEC = new BsonValueCodec();
+
+    private final Codec<T> codec;
+    private final Compressor compressor;
+    private final byte[] name;
+    private final int threshold;
+    private final int maxSize;
+    private final Map<String, Compressor> compressors;
+
+    /**
+     * Creates a codec
+     *
+     * @param codec      the codec to wrap
+     * @param compressed the compression settings
+     */
+    public CompressedCodec(Codec<T> codec, Compressed compressed) {
+        this.codec = codec;
+        this.threshold = compressed.threshold();
+        this.maxSize = compressed.maxSize();
+        this.compressors = compressors();
+        Compressor compressor = compressors.get(compressed.algorithm());
+        if (compressor == null) {
+            throw new MappingException(Sofia.unknownCompressor(compressed.algorithm(), compressors.keySet()));
+        }
+        this.compressor = compressor;
+        this.name = compressor.getName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > 255) {
+            throw new MappingException(Sofia.compressorNameTooLong(compressor.getName()));
+        }
+    }
+
+    @Override
+    public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter binary = new BsonBinaryWriter(buffer)) {
+            binary.writeStartDocument();
+            binary.writeName(VALUE);
+            encoderContext.encodeWithChildContext(codec, binary, value);
+            binary.writeEndDocument();
+        }
+        if (buffer.getPosition() < threshold) {
+            BsonDocument encoded = new RawBsonDocument(buffer.getInternalBuffer(), 0, buffer.getPosition())
+                    .decode(new BsonDocumentCodec());
+            encoderContext.encodeWithChildContext(VALUE_CODEC, writer, encoded.get(VALUE));
+            return;
+        }
+        if (buffer.getPosition() > maxSize) {
+            throw new MappingException(Sofia.compressedValueTooLarge(compressor.getName(), maxSize));
+        }
+
+        byte[] compressed = compressor.compress(buffer.toByteArray());
+        ByteBuffer data = ByteBuffer.allocate(MARKER.length + 1 + name.length + compressed.length)
+                .put(MARKER)
+                .put((byte) name.length)
+                .put(name)
+                .put(compressed);
+        writer.writeBinaryData(new BsonBinary(SUBTYPE, data.array()));
+    }
+
+    @Override
+    public T decode(BsonReader reader, DecoderContext decoderContext) {
+        if (reader.getCurrentBsonType() == BsonType.BINARY && reader.peekBinarySubType() == SUBTYPE) {
+            BsonReaderMark mark = reader.getMark();
+            byte[] data = reader.readBinaryData().getData();
+            if (data.length > MARKER.length && Arrays.equals(data, 0, MARKER.length, MARKER, 0, MARKER.length)) {
+                return decompress(data, decoderContext);
+            }
+            mark.reset();
+        }
+        return decoderContext.decodeWithChildContext(codec, reader);
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return codec.getEncoderClass();
+    }
+
+    private T decompress(byte[] data, DecoderContext decoderContext) {
+        int start = MARKER.length + 1;
+        int length = data[MARKER.length] & 0xFF;
+        if (start + length > data.length) {
+            throw new MappingException(Sofia.corruptCompressedValue(compressor.getName()));
+        }
+        String name = new String(data, start, length, StandardCharsets.UTF_8);
+        Compressor compressor = compressors.get(name);
+        if (compressor == null) {
+            throw new MappingException(Sofia.unknownCompressor(name, compressors.keySet()));
+        }
+        byte[] compressed = Arrays.copyOfRange(data, start + length, data.length);
+
+        try (BsonBinaryReader binary = new BsonBinaryReader(ByteBuffer.wrap(compressor.decompress(compressed, maxSize)))) {
+            binary.readStartDocument();
+            binary.readBsonType();
+            binary.readName();
+            return decoderContext.decodeWithChildContext(codec, binary);
+        }
+    }
+
+    private static Map<String, Compressor> compressors() {
+        Map<String, Compressor> compressors = new LinkedHashMap<>();
+        compressors.put(DeflateCompressor.NAME, new DeflateCompressor());
+        ServiceLoader.load(Compressor.class)
+                .forEach(compressor -> compressors.put(compressor.getName(), compressor));
+        return compressors;
+    }
+}
@@ -0,0 +1,37 @@
+package dev.morphia.mapping.codec;
+
+import dev.morphia.annotations.Compressed;
+
+/**
+ * Compresses the values of properties annotated with {@link Compressed}. Implementations other than the built in
+ * {@link DeflateCompressor} are discovered via the {@link java.util.ServiceLoader} and selected by {@link #getName()}. Implementations
+ * must be thread safe.
+ *
+ * @since 3.0
+ */
+public interface Compressor {
+    /**
+     * @return the name of this algorithm. This name is stored with each compressed value and so must not change once values have been
+     *         written.
+     */
+    String getName();
+
+    /**
+     * Compresses the given bytes.
+     *
+     * @param bytes the bytes to compress
+     * @return the compressed bytes
+     */
+    byte[] compress(byte[] bytes);
+
+    /**
+     * Decompresses the given bytes. Implementations must stop and fail rather than produce more than {@code maxSize} bytes so that a
+     * corrupt or hostile value can not exhaust the heap.
+     *
+     * @param bytes   the bytes to decompress
+     * @param maxSize the largest number of bytes the original value may have
+     * @return the original bytes
+     * @throws dev.morphia.mapping.MappingException if the value can not be decompressed or is larger than {@code maxSize}
+     */
+    byte[] decompress(byte[] bytes, int maxSize);
+}
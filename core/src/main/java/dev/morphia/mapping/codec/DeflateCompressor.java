@@ -0,0 +1,87 @@
+package dev.morphia.mapping.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import dev.morphia.mapping.MappingException;
+import dev.morphia.sofia.Sofia;
+
+/**
+ * Compresses values using {@link Deflater}.
+ *
+ * @since 3.0
+ */
+public class DeflateCompressor implements Compressor {
+    /**
+     * The name of this algorithm
+     */
+    public static final String NAME = "deflate";
+
+    private final int level;
+
+    /**
+     * Creates a compressor using the default compression level
+     */
+    public DeflateCompressor() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Creates a compressor
+     *
+     * @param level the compression level to use
+     * @see Deflater#setLevel(int)
+     */
+    public DeflateCompressor(int level) {
+        this.level = level;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] compress(byte[] bytes) {
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public byte[] decompress(byte[] bytes, int maxSize) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            ByteArrayOutputStream output = new ByteArrayOutputStream((int) Math.min(maxSize, bytes.length * 4L));
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new MappingException(Sofia.corruptCompressedValue(NAME));
+                }
+                if (output.size() + count > maxSize) {
+                    throw new MappingException(Sofia.compressedValueTooLarge(NAME, maxSize));
+                }
+                output.write(buffer, 0, count);
+            }
+            return output.toByteArray();
+        } catch (DataFormatException e) {
+            throw new MappingException(Sofia.corruptCompressedValue(NAME), e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -39,6 +39,7 @@ public class MorphiaTypesCodecProvider implements CodecProvider {
         addCodec(new ByteWrapperArrayCodec());
         addCodec(new BitSetCodec());
         addCodec(new FieldsCodec(datastore));
+        addCodec(new ParameterCodec());
 
         List.of(boolean.class, Boolean.class,
                 char.class, Character.class,
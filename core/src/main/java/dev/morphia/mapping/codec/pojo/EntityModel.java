@@ -18,6 +18,7 @@ import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.mongodb.lang.NonNull;
 import com.mongodb.lang.Nullable;
@@ -38,6 +39,7 @@ import dev.morphia.mapping.InstanceCreatorFactory;
 import dev.morphia.mapping.InstanceCreatorFactoryImpl;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.MappingException;
+import dev.morphia.mapping.MappingSnapshot;
 import dev.morphia.mapping.codec.MorphiaInstanceCreator;
 import dev.morphia.mapping.conventions.ConfigureProperties;
 import dev.morphia.mapping.conventions.FieldDiscovery;
@@ -91,6 +93,7 @@ public class EntityModel {
     private PropertyModel versionProperty;
     private final List<EntityListener<?>> listeners = new ArrayList<>();
     private final Set<Class<?>> classes = new LinkedHashSet<>();
+    private boolean compactNames;
 
     public EntityModel(Mapper mapper, Class<?> type) {
         if (!Modifier.isStatic(type.getModifiers()) && type.isMemberClass()) {
@@ -201,6 +204,17 @@ public class EntityModel {
         return classes;
     }
 
+    /**
+     * @return true if this type or one of its super types sets {@link Entity#compactNames()}
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @MorphiaInternal
+    public boolean compactNames() {
+        return compactNames;
+    }
+
     public void discriminator(String discriminator) {
         this.discriminator = discriminator;
     }
@@ -499,10 +513,14 @@ public class EntityModel {
             buildHierarchy();
             propagateTypes();
 
-            List<MorphiaConvention> conventions = new ArrayList<>(of(
-                    new MorphiaDefaultsConvention(),
-                    mapper.getConfig().propertyDiscovery() == FIELDS ? new FieldDiscovery() : new MethodDiscovery(),
-                    new ConfigureProperties()));
+            boolean fields = mapper.getConfig().propertyDiscovery() == FIELDS;
+            MappingSnapshot.Entry snapshot = fields ? mapper.snapshotEntry(type) : null;
+            List<MorphiaConvention> conventions = snapshot != null
+                    ? new ArrayList<>(of(snapshot))
+                    : new ArrayList<>(of(
+                            new MorphiaDefaultsConvention(),
+                            fields ? new FieldDiscovery() : new MethodDiscovery(),
+                            new ConfigureProperties()));
 
             ServiceLoader.load(MorphiaConvention.class)
                     .forEach(conventions::add);
@@ -563,6 +581,9 @@ public class EntityModel {
 
             classes.addAll(findParentClasses(type.getSuperclass()));
             classes.forEach(c -> interfaces.addAll(findInterfaces(c)));
+            compactNames = Stream.concat(Stream.of(type), classes.stream())
+                    .map(c -> c.getAnnotation(Entity.class))
+                    .anyMatch(entity -> entity != null && entity.compactNames());
 
             interfaces.stream()
                     .map(mapper::mapEntity)
@@ -2,13 +2,20 @@ package dev.morphia.mapping.codec.pojo;
 
 import java.util.List;
 
+import com.mongodb.lang.Nullable;
+
 import dev.morphia.MorphiaDatastore;
+import dev.morphia.annotations.Compressed;
 import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.internal.ChangeTracker;
 import dev.morphia.mapping.DiscriminatorLookup;
 import dev.morphia.mapping.MappingException;
+import dev.morphia.mapping.codec.CompressedCodec;
 import dev.morphia.mapping.codec.PropertyCodecRegistryImpl;
+import dev.morphia.metrics.CodecStatistics.Recorder;
 import dev.morphia.sofia.Sofia;
 
+import org.bson.BsonBinaryWriter;
 import org.bson.BsonReader;
 import org.bson.BsonValue;
 import org.bson.BsonWriter;
@@ -19,6 +26,7 @@ import org.bson.codecs.EncoderContext;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.pojo.PropertyCodecProvider;
 import org.bson.codecs.pojo.PropertyCodecRegistry;
+import org.bson.io.BasicOutputBuffer;
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +56,9 @@ public class MorphiaCodec<T> implements CollectibleCodec<T> {
     private EntityEncoder<T> encoder;
     private EntityDecoder<T> decoder;
     private MorphiaDatastore datastore;
+    @Nullable
+    private final Recorder statistics;
+    private final boolean trackChanges;
 
     /**
      * Creates a new codec
@@ -68,17 +79,62 @@ public class MorphiaCodec<T> implements CollectibleCodec<T> {
         this.registry = fromRegistries(fromCodecs(this), registry);
         this.propertyCodecRegistry = new PropertyCodecRegistryImpl(this, registry, propertyCodecProviders);
         idProperty = model.getIdProperty();
+        trackChanges = idProperty != null && datastore.getMapper().getConfig().trackChanges();
+        statistics = datastore.getMapper().getConfig().codecStatistics()
+                .map(codecStatistics -> codecStatistics.recorder(model))
+                .orElse(null);
         specializePropertyCodecs();
     }
 
     @Override
     public T decode(BsonReader reader, DecoderContext decoderContext) {
-        return getDecoder().decode(reader, decoderContext);
+        EntityDecoder<T> decoder = getDecoder();
+        // calls which only dispatch to the codec for the concrete type are left to that codec to record
+        boolean concrete = decoderContext.hasCheckedDiscriminator() || decoder instanceof LifecycleDecoder;
+        T entity;
+        if (statistics == null || !concrete) {
+            entity = decoder.decode(reader, decoderContext);
+        } else {
+            long allocated = statistics.allocated();
+            long start = System.nanoTime();
+            entity = decoder.decode(reader, decoderContext);
+            statistics.decoded(start, allocated);
+        }
+        if (trackChanges && concrete) {
+            ChangeTracker changeTracker = datastore.changeTracker();
+            if (changeTracker != null) {
+                changeTracker.track(entity, encodeSnapshot(entity));
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * Encodes an entity without calling any lifecycle methods or interceptors.
+     *
+     * @param entity the entity to encode
+     * @return the encoded entity
+     * @since 3.0
+     */
+    public byte[] encodeSnapshot(T entity) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            new EntityEncoder<>(this).encode(writer, entity, EncoderContext.builder().build());
+        }
+        return buffer.toByteArray();
     }
 
     @Override
     public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
-        getEncoder().encode(writer, value, encoderContext);
+        EntityEncoder<T> encoder = getEncoder();
+        if (statistics == null || !encoder.areEquivalentTypes(value.getClass(), getEncoderClass())) {
+            encoder.encode(writer, value, encoderContext);
+            return;
+        }
+        long allocated = statistics.allocated();
+        long start = System.nanoTime();
+        encoder.encode(writer, value, encoderContext);
+        statistics.encoded(start, allocated);
     }
 
     @Override
@@ -193,6 +249,10 @@ public class MorphiaCodec<T> implements CollectibleCodec<T> {
             Codec codec = specializeCodec != null ? specializeCodec
                     : propertyCodecRegistry.get(propertyModel.getTypeData());
             if (codec != null) {
+                Compressed compressed = propertyModel.getAnnotation(Compressed.class);
+                if (compressed != null && !(codec instanceof CompressedCodec)) {
+                    codec = new CompressedCodec<>(codec, compressed);
+                }
                 propertyModel.codec(codec);
             }
         }
@@ -0,0 +1,92 @@
+package dev.morphia.mapping.codec.writer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.sofia.Sofia;
+
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonSerializationException;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.io.BasicOutputBuffer;
+
+/**
+ * Writes values straight to their binary form rather than building an intermediate Document tree. The resulting {@link RawBsonDocument}
+ * is passed to the driver as is and so is never walked again before being sent to the server.
+ * <p>
+ * {@link DocumentWriter} merges repeated field names in to an {@code $and} clause. Since that can not be done once the bytes are
+ * written, any document repeating a field name is rejected. Callers should use a {@link DocumentWriter} for values which might repeat
+ * names.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class BinaryDocumentWriter extends BsonBinaryWriter {
+    private final BasicOutputBuffer buffer;
+    private final Deque<Set<String>> names = new ArrayDeque<>();
+
+    /**
+     * Creates a new writer
+     */
+    public BinaryDocumentWriter() {
+        this(new BasicOutputBuffer());
+    }
+
+    private BinaryDocumentWriter(BasicOutputBuffer buffer) {
+        super(buffer);
+        this.buffer = buffer;
+    }
+
+    /**
+     * Encodes a value to its binary form.
+     *
+     * @param value         the value to encode
+     * @param codecRegistry the registry to use
+     * @return the encoded value
+     * @throws BsonSerializationException if the value repeats a field name in the same document
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static RawBsonDocument encode(Object value, CodecRegistry codecRegistry) {
+        EncoderContext encoderContext = EncoderContext.builder().build();
+        try (BinaryDocumentWriter writer = new BinaryDocumentWriter()) {
+            ((Codec) codecRegistry.get(value.getClass())).encode(writer, value, encoderContext);
+            return writer.getDocument();
+        }
+    }
+
+    /**
+     * @return the document written
+     */
+    public RawBsonDocument getDocument() {
+        return new RawBsonDocument(buffer.toByteArray());
+    }
+
+    @Override
+    public void writeStartDocument() {
+        super.writeStartDocument();
+        names.push(new HashSet<>());
+    }
+
+    @Override
+    public void writeEndDocument() {
+        super.writeEndDocument();
+        names.pop();
+    }
+
+    @Override
+    public void writeName(String name) {
+        Set<String> current = names.peek();
+        if (current != null && !current.add(name)) {
+            throw new BsonSerializationException(Sofia.repeatedFieldName(name));
+        }
+        super.writeName(name);
+    }
+}
@@ -1,5 +1,7 @@
 package dev.morphia.mapping.conventions;
 
+import com.mongodb.lang.Nullable;
+
 import dev.morphia.annotations.AlsoLoad;
 import dev.morphia.annotations.Id;
 import dev.morphia.annotations.IdField;
@@ -8,10 +10,12 @@ import dev.morphia.annotations.Version;
 import dev.morphia.annotations.internal.MorphiaInternal;
 import dev.morphia.config.MorphiaConfig;
 import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.NamingStrategy;
 import dev.morphia.mapping.codec.MorphiaPropertySerialization;
 import dev.morphia.mapping.codec.pojo.EntityModel;
 import dev.morphia.mapping.codec.pojo.PropertyModel;
 import dev.morphia.mapping.codec.pojo.TypeData;
+import dev.morphia.mapping.strategy.Compact;
 
 /**
  * A set of conventions to apply to Morphia entities
@@ -50,6 +54,10 @@ public class ConfigureProperties implements MorphiaConvention {
             if (alsoLoad != null) {
                 propertyModel.alternateNames(alsoLoad.value());
             }
+            String uncompacted = uncompactedName(config, model, propertyModel);
+            if (uncompacted != null) {
+                propertyModel.alternateNames(uncompacted);
+            }
 
             if (propertyModel.getAnnotation(Id.class) != null) {
                 model.setIdProperty(propertyModel);
@@ -61,4 +69,20 @@ public class ConfigureProperties implements MorphiaConvention {
             propertyModel.serialization(new MorphiaPropertySerialization(config, propertyModel));
         }
     }
+
+    /**
+     * Finds the name a compacted property would have been stored under without compaction so existing documents can still be loaded.
+     */
+    @Nullable
+    private static String uncompactedName(MorphiaConfig config, EntityModel model, PropertyModel propertyModel) {
+        boolean global = config.propertyNaming() instanceof Compact;
+        String name = propertyModel.getName();
+        if (!global && !model.compactNames()
+                || propertyModel.hasAnnotation(Id.class)
+                || !propertyModel.getMappedName().equals(NamingStrategy.compact().apply(name))) {
+            return null;
+        }
+        String uncompacted = global ? name : config.propertyNaming().apply(name);
+        return propertyModel.getLoadNames().contains(uncompacted) ? null : uncompacted;
+    }
 }
@@ -19,6 +19,7 @@ import dev.morphia.annotations.internal.MorphiaInternal;
 import dev.morphia.config.MorphiaConfig;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.MappingException;
+import dev.morphia.mapping.NamingStrategy;
 import dev.morphia.mapping.codec.ArrayFieldAccessor;
 import dev.morphia.mapping.codec.FieldAccessor;
 import dev.morphia.mapping.codec.pojo.EntityModel;
@@ -43,23 +44,37 @@ public class FieldDiscovery implements MorphiaConvention {
             for (Class<?> type : list) {
                 for (Field field : type.getDeclaredFields()) {
                     if (!isStatic(field.getModifiers()) && !isTransient(field)) {
-                        TypeData<?> typeData = model.getTypeData(type, TypeData.get(field), field.getGenericType());
-                        ExternalEntity externalEntity = type.getAnnotation(ExternalEntity.class);
-                        Class<?> target = externalEntity != null ? externalEntity.target() : null;
-                        PropertyModel propertyModel = new PropertyModel(model);
-                        model.addProperty(propertyModel
-                                .name(field.getName())
-                                .typeData(typeData)
-                                .annotations(List.of(field.getDeclaredAnnotations()))
-                                .isFinal(Modifier.isFinal(field.getModifiers()))
-                                .accessor(getAccessor(getTargetField(model, target, field), typeData))
-                                .mappedName(discoverMappedName(mapper, propertyModel)));
+                        PropertyModel propertyModel = property(model, type, field);
+                        model.addProperty(propertyModel.mappedName(discoverMappedName(mapper, propertyModel)));
                     }
                 }
             }
         }
     }
 
+    /**
+     * Creates the model for a field without its mapped name
+     *
+     * @param model the entity model
+     * @param type  the type declaring the field
+     * @param field the field
+     * @return the new property model
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public static PropertyModel property(EntityModel model, Class<?> type, Field field) {
+        TypeData<?> typeData = model.getTypeData(type, TypeData.get(field), field.getGenericType());
+        ExternalEntity externalEntity = type.getAnnotation(ExternalEntity.class);
+        Class<?> target = externalEntity != null ? externalEntity.target() : null;
+        return new PropertyModel(model)
+                .name(field.getName())
+                .typeData(typeData)
+                .annotations(List.of(field.getDeclaredAnnotations()))
+                .isFinal(Modifier.isFinal(field.getModifiers()))
+                .accessor(getAccessor(getTargetField(model, target, field), typeData));
+    }
+
     static boolean isTransient(Field field) {
         return field.getDeclaredAnnotation(Transient.class) != null
                 || field.getDeclaredAnnotation(java.beans.Transient.class) != null
@@ -84,13 +99,17 @@ public class FieldDiscovery implements MorphiaConvention {
         } else if (version != null && !version.value().equals(Mapper.IGNORED_FIELDNAME)) {
             mappedName = version.value();
         } else {
-            mappedName = config.propertyNaming().apply(model.getName());
+            mappedName = propertyNaming(config, model.getEntityModel()).apply(model.getName());
         }
         return mappedName;
     }
 
+    static NamingStrategy propertyNaming(MorphiaConfig config, EntityModel model) {
+        return model.compactNames() ? NamingStrategy.compact() : config.propertyNaming();
+    }
+
     @NonNull
-    private Field getTargetField(EntityModel model, @Nullable Class<?> target, @NonNull Field field) {
+    private static Field getTargetField(EntityModel model, @Nullable Class<?> target, @NonNull Field field) {
         try {
             return target == null
                     ? field
@@ -101,7 +120,7 @@ public class FieldDiscovery implements MorphiaConvention {
         }
     }
 
-    private PropertyAccessor<? super Object> getAccessor(Field field, TypeData<?> typeData) {
+    private static PropertyAccessor<? super Object> getAccessor(Field field, TypeData<?> typeData) {
         return field.getType().isArray() && !field.getType().getComponentType().equals(byte.class)
                 ? new ArrayFieldAccessor(typeData, field)
                 : new FieldAccessor(field);
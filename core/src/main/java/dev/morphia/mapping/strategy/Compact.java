@@ -0,0 +1,31 @@
+package dev.morphia.mapping.strategy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import dev.morphia.mapping.NamingStrategy;
+
+/**
+ * Maps each name to a stable four character name made up of its first letter followed by three characters derived from a hash of the
+ * full name. The result depends only on the name so it does not change as other properties are added or removed.
+ *
+ * @since 3.0
+ */
+public class Compact extends NamingStrategy {
+    private static final int RANGE = 36 * 36 * 36;
+
+    @Override
+    public String apply(String value) {
+        CRC32 crc = new CRC32();
+        crc.update(value.getBytes(StandardCharsets.UTF_8));
+        String hash = Integer.toString((int) (crc.getValue() % RANGE), 36);
+
+        char first = value.isEmpty() ? '_' : value.charAt(0);
+        StringBuilder name = new StringBuilder(4)
+                .append(Character.isLetter(first) ? Character.toLowerCase(first) : '_');
+        for (int i = hash.length(); i < 3; i++) {
+            name.append('0');
+        }
+        return name.append(hash).toString();
+    }
+}
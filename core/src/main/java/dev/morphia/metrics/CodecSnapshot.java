@@ -0,0 +1,91 @@
+package dev.morphia.metrics;
+
+import java.util.StringJoiner;
+
+/**
+ * A point in time view of the encoding and decoding statistics for a mapped type.
+ *
+ * @see CodecStatistics#snapshot()
+ * @since 3.0
+ */
+public final class CodecSnapshot {
+    private final Class<?> type;
+    private final long decodes;
+    private final long decodeNanos;
+    private final long decodeBytes;
+    private final long encodes;
+    private final long encodeNanos;
+    private final long encodeBytes;
+
+    CodecSnapshot(Class<?> type, long decodes, long decodeNanos, long decodeBytes, long encodes, long encodeNanos, long encodeBytes) {
+        this.type = type;
+        this.decodes = decodes;
+        this.decodeNanos = decodeNanos;
+        this.decodeBytes = decodeBytes;
+        this.encodes = encodes;
+        this.encodeNanos = encodeNanos;
+        this.encodeBytes = encodeBytes;
+    }
+
+    /**
+     * @return the mapped type
+     */
+    public Class<?> type() {
+        return type;
+    }
+
+    /**
+     * @return the number of instances decoded
+     */
+    public long decodes() {
+        return decodes;
+    }
+
+    /**
+     * @return the total time spent decoding in nanoseconds
+     */
+    public long decodeNanos() {
+        return decodeNanos;
+    }
+
+    /**
+     * @return the total bytes allocated while decoding or 0 if allocations are not tracked
+     */
+    public long decodeBytes() {
+        return decodeBytes;
+    }
+
+    /**
+     * @return the number of instances encoded
+     */
+    public long encodes() {
+        return encodes;
+    }
+
+    /**
+     * @return the total time spent encoding in nanoseconds
+     */
+    public long encodeNanos() {
+        return encodeNanos;
+    }
+
+    /**
+     * @return the total bytes allocated while encoding or 0 if allocations are not tracked
+     */
+    public long encodeBytes() {
+        return encodeBytes;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", CodecSnapshot.class.getSimpleName() + "[", "]")
+                .add("type=" + type.getName())
+                .add("decodes=" + decodes)
+                .add("decodeNanos=" + decodeNanos)
+                .add("decodeBytes=" + decodeBytes)
+                .add("encodes=" + encodes)
+                .add("encodeNanos=" + encodeNanos)
+                .add("encodeBytes=" + encodeBytes)
+                .toString();
+    }
+}
@@ -0,0 +1,173 @@
+package dev.morphia.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+
+/**
+ * Records how often and how long Morphia spends encoding and decoding each mapped type. This helps separate the time spent mapping
+ * entities from the time spent in the driver and on the network. Optionally, the bytes allocated by the encoding thread can be tracked
+ * as well on JVMs which support it.
+ * <p>
+ * Timings are inclusive so the values for a type include the time spent on any embedded types it holds. When not configured, the codecs
+ * skip all instrumentation.
+ *
+ * <pre>
+ * CodecStatistics statistics = new CodecStatistics(true);
+ * Datastore datastore = Morphia.createDatastore(client, MorphiaConfig.load().codecStatistics(statistics));
+ * ...
+ * statistics.snapshot().forEach(System.out::println);
+ * </pre>
+ *
+ * @see dev.morphia.config.MorphiaConfig#codecStatistics()
+ * @since 3.0
+ */
+public class CodecStatistics {
+    private final Map<Class<?>, Recorder> recorders = new ConcurrentHashMap<>();
+    @Nullable
+    private final com.sun.management.ThreadMXBean threads;
+
+    /**
+     * Creates statistics which only track counts and timings
+     */
+    public CodecStatistics() {
+        this(false);
+    }
+
+    /**
+     * @param trackAllocations true if the bytes allocated while encoding and decoding should be tracked as well. This is ignored if the
+     *                         JVM does not support measuring thread allocations.
+     */
+    public CodecStatistics(boolean trackAllocations) {
+        threads = trackAllocations ? allocationTracker() : null;
+    }
+
+    /**
+     * @return true if allocations are being tracked
+     */
+    public boolean tracksAllocations() {
+        return threads != null;
+    }
+
+    /**
+     * Discards all recorded values
+     */
+    public void reset() {
+        recorders.values().forEach(Recorder::reset);
+    }
+
+    /**
+     * @return the current values for every type encoded or decoded so far
+     */
+    public List<CodecSnapshot> snapshot() {
+        List<CodecSnapshot> snapshots = new ArrayList<>();
+        recorders.forEach((type, recorder) -> {
+            CodecSnapshot snapshot = recorder.snapshot(type);
+            if (snapshot.decodes() != 0 || snapshot.encodes() != 0) {
+                snapshots.add(snapshot);
+            }
+        });
+        return snapshots;
+    }
+
+    /**
+     * @param model the model to record
+     * @return the recorder for the model
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public Recorder recorder(EntityModel model) {
+        return recorders.computeIfAbsent(model.getType(), type -> new Recorder(threads));
+    }
+
+    @Nullable
+    private static com.sun.management.ThreadMXBean allocationTracker() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported()) {
+                if (!threads.isThreadAllocatedMemoryEnabled()) {
+                    threads.setThreadAllocatedMemoryEnabled(true);
+                }
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Accumulates the values for a single type
+     *
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public static final class Recorder {
+        @Nullable
+        private final com.sun.management.ThreadMXBean threads;
+        private final LongAdder decodes = new LongAdder();
+        private final LongAdder decodeNanos = new LongAdder();
+        private final LongAdder decodeBytes = new LongAdder();
+        private final LongAdder encodes = new LongAdder();
+        private final LongAdder encodeNanos = new LongAdder();
+        private final LongAdder encodeBytes = new LongAdder();
+
+        private Recorder(@Nullable com.sun.management.ThreadMXBean threads) {
+            this.threads = threads;
+        }
+
+        /**
+         * @return the bytes allocated by the current thread so far or 0 if allocations are not tracked
+         */
+        public long allocated() {
+            return threads != null ? threads.getCurrentThreadAllocatedBytes() : 0;
+        }
+
+        /**
+         * Records a decode
+         *
+         * @param start     the {@link System#nanoTime()} value when decoding started
+         * @param allocated the {@link #allocated()} value when decoding started
+         */
+        public void decoded(long start, long allocated) {
+            decodeNanos.add(System.nanoTime() - start);
+            decodeBytes.add(allocated() - allocated);
+            decodes.increment();
+        }
+
+        /**
+         * Records an encode
+         *
+         * @param start     the {@link System#nanoTime()} value when encoding started
+         * @param allocated the {@link #allocated()} value when encoding started
+         */
+        public void encoded(long start, long allocated) {
+            encodeNanos.add(System.nanoTime() - start);
+            encodeBytes.add(allocated() - allocated);
+            encodes.increment();
+        }
+
+        private void reset() {
+            decodes.reset();
+            decodeNanos.reset();
+            decodeBytes.reset();
+            encodes.reset();
+            encodeNanos.reset();
+            encodeBytes.reset();
+        }
+
+        private CodecSnapshot snapshot(Class<?> type) {
+            return new CodecSnapshot(type, decodes.sum(), decodeNanos.sum(), decodeBytes.sum(), encodes.sum(), encodeNanos.sum(),
+                    encodeBytes.sum());
+        }
+    }
+}
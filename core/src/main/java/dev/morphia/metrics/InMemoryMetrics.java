@@ -0,0 +1,103 @@
+package dev.morphia.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link MetricsCollector} which aggregates timings in memory. Latencies are kept in power of two histograms so recording an
+ * operation only updates a few counters and allocates nothing once a collection has been seen.
+ *
+ * <pre>
+ * InMemoryMetrics metrics = new InMemoryMetrics();
+ * Datastore datastore = Morphia.createDatastore(client, MorphiaConfig.load().metrics(metrics));
+ * ...
+ * metrics.snapshot().forEach(System.out::println);
+ * </pre>
+ *
+ * @since 3.0
+ */
+public class InMemoryMetrics implements MetricsCollector {
+    private static final OperationType[] OPERATIONS = OperationType.values();
+
+    private final Map<Class<?>, Map<String, Recorder[]>> recorders = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(Class<?> entity, String collection, OperationType operation, long nanos, long documents, boolean failed) {
+        recorders(entity, collection)[operation.ordinal()].record(nanos, documents, failed);
+    }
+
+    /**
+     * Discards all recorded values
+     */
+    public void reset() {
+        recorders.clear();
+    }
+
+    /**
+     * @return the current values for every entity, collection, and operation recorded so far
+     */
+    public List<OperationSnapshot> snapshot() {
+        List<OperationSnapshot> snapshots = new ArrayList<>();
+        recorders.forEach((entity, collections) -> collections.forEach((collection, operations) -> {
+            for (OperationType operation : OPERATIONS) {
+                Recorder recorder = operations[operation.ordinal()];
+                if (recorder.count.sum() != 0) {
+                    snapshots.add(recorder.snapshot(entity, collection, operation));
+                }
+            }
+        }));
+        return snapshots;
+    }
+
+    private Recorder[] recorders(Class<?> entity, String collection) {
+        Map<String, Recorder[]> collections = recorders.get(entity);
+        if (collections == null) {
+            collections = recorders.computeIfAbsent(entity, e -> new ConcurrentHashMap<>());
+        }
+        Recorder[] operations = collections.get(collection);
+        if (operations == null) {
+            operations = collections.computeIfAbsent(collection, c -> {
+                Recorder[] list = new Recorder[OPERATIONS.length];
+                for (int i = 0; i < list.length; i++) {
+                    list[i] = new Recorder();
+                }
+                return list;
+            });
+        }
+        return operations;
+    }
+
+    private static class Recorder {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder documents = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray histogram = new AtomicLongArray(OperationSnapshot.BUCKETS);
+
+        void record(long nanos, long documents, boolean failed) {
+            count.increment();
+            if (failed) {
+                failures.increment();
+            }
+            this.documents.add(documents);
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            histogram.incrementAndGet(OperationSnapshot.bucket(nanos));
+        }
+
+        OperationSnapshot snapshot(Class<?> entity, String collection, OperationType operation) {
+            long[] buckets = new long[histogram.length()];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = histogram.get(i);
+            }
+            return new OperationSnapshot(entity, collection, operation, count.sum(), failures.sum(), documents.sum(), totalNanos.sum(),
+                    maxNanos.get(), buckets);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package dev.morphia.metrics;
+
+import java.util.List;
+
+import com.mongodb.client.DistinctIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.InsertManyResult;
+import com.mongodb.client.result.InsertOneResult;
+import com.mongodb.client.result.UpdateResult;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.DeleteOptions;
+import dev.morphia.InsertManyOptions;
+import dev.morphia.InsertOneOptions;
+import dev.morphia.ModifyOptions;
+import dev.morphia.MorphiaDatastore.DatastoreOperations;
+import dev.morphia.ReplaceOptions;
+import dev.morphia.UpdateOptions;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.query.CountOptions;
+import dev.morphia.query.FindAndDeleteOptions;
+
+import org.bson.Document;
+
+import static dev.morphia.metrics.OperationType.COUNT;
+import static dev.morphia.metrics.OperationType.DELETE_MANY;
+import static dev.morphia.metrics.OperationType.DELETE_ONE;
+import static dev.morphia.metrics.OperationType.FIND_ONE_AND_DELETE;
+import static dev.morphia.metrics.OperationType.FIND_ONE_AND_UPDATE;
+import static dev.morphia.metrics.OperationType.INSERT_MANY;
+import static dev.morphia.metrics.OperationType.INSERT_ONE;
+import static dev.morphia.metrics.OperationType.REPLACE_ONE;
+import static dev.morphia.metrics.OperationType.UPDATE_MANY;
+import static dev.morphia.metrics.OperationType.UPDATE_ONE;
+
+/**
+ * Wraps another set of operations and reports the timing of each to a {@link MetricsCollector}. Operations returning iterables are
+ * passed through as is. Their cursors are timed with a {@link TimedCursor} by the caller once the query is executed.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class InstrumentedOperations extends DatastoreOperations {
+    private final DatastoreOperations delegate;
+    private final MetricsCollector metrics;
+    private final Mapper mapper;
+
+    /**
+     * @param delegate the operations to wrap
+     * @param metrics  the collector to report to
+     * @param mapper   the mapper used to find the entity mapped to a collection
+     */
+    public InstrumentedOperations(DatastoreOperations delegate, MetricsCollector metrics, Mapper mapper) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.mapper = mapper;
+    }
+
+    /**
+     * @return the wrapped operations
+     */
+    public DatastoreOperations delegate() {
+        return delegate;
+    }
+
+    @Override
+    public <T> long countDocuments(MongoCollection<T> collection, Document query, CountOptions options) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            long count = delegate.countDocuments(collection, query, options);
+            failed = false;
+            return count;
+        } finally {
+            record(collection, COUNT, start, 0, failed);
+        }
+    }
+
+    @Override
+    public <T> DeleteResult deleteMany(MongoCollection<T> collection, Document query, DeleteOptions options) {
+        long start = System.nanoTime();
+        DeleteResult result = null;
+        try {
+            result = delegate.deleteMany(collection, query, options);
+            return result;
+        } finally {
+            record(collection, DELETE_MANY, start, deleted(result), result == null);
+        }
+    }
+
+    @Override
+    public <T> DeleteResult deleteOne(MongoCollection<T> collection, Document query, DeleteOptions options) {
+        long start = System.nanoTime();
+        DeleteResult result = null;
+        try {
+            result = delegate.deleteOne(collection, query, options);
+            return result;
+        } finally {
+            record(collection, DELETE_ONE, start, deleted(result), result == null);
+        }
+    }
+
+    @Override
+    public <T, V> DistinctIterable<V> distinct(MongoCollection<T> collection, String field, Document query, Class<V> type) {
+        return delegate.distinct(collection, field, query, type);
+    }
+
+    @Override
+    public <T> FindIterable<T> find(MongoCollection<T> collection, Document query) {
+        return delegate.find(collection, query);
+    }
+
+    @Override
+    public <T> T findOneAndDelete(MongoCollection<T> collection, Document query, FindAndDeleteOptions options) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        T result = null;
+        try {
+            result = delegate.findOneAndDelete(collection, query, options);
+            failed = false;
+            return result;
+        } finally {
+            record(collection, FIND_ONE_AND_DELETE, start, result != null ? 1 : 0, failed);
+        }
+    }
+
+    @Override
+    public <T> T findOneAndUpdate(MongoCollection<T> collection, Document query, Document update, ModifyOptions options) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        T result = null;
+        try {
+            result = delegate.findOneAndUpdate(collection, query, update, options);
+            failed = false;
+            return result;
+        } finally {
+            record(collection, FIND_ONE_AND_UPDATE, start, result != null ? 1 : 0, failed);
+        }
+    }
+
+    @Override
+    public <T> InsertManyResult insertMany(MongoCollection<T> collection, List<T> list, InsertManyOptions options) {
+        long start = System.nanoTime();
+        InsertManyResult result = null;
+        try {
+            result = delegate.insertMany(collection, list, options);
+            return result;
+        } finally {
+            record(collection, INSERT_MANY, start, result != null ? list.size() : 0, result == null);
+        }
+    }
+
+    @Override
+    public <T> InsertOneResult insertOne(MongoCollection<T> collection, T entity, InsertOneOptions options) {
+        long start = System.nanoTime();
+        InsertOneResult result = null;
+        try {
+            result = delegate.insertOne(collection, entity, options);
+            return result;
+        } finally {
+            record(collection, INSERT_ONE, start, result != null ? 1 : 0, result == null);
+        }
+    }
+
+    @Override
+    public <T> UpdateResult replaceOne(MongoCollection<T> collection, T entity, Document filter, ReplaceOptions options) {
+        long start = System.nanoTime();
+        UpdateResult result = null;
+        try {
+            result = delegate.replaceOne(collection, entity, filter, options);
+            return result;
+        } finally {
+            record(collection, REPLACE_ONE, start, modified(result), result == null);
+        }
+    }
+
+    @Override
+    public Document runCommand(Document command) {
+        return delegate.runCommand(command);
+    }
+
+    @Override
+    public <T> UpdateResult updateMany(MongoCollection<T> collection, Document query, Document updates, UpdateOptions options) {
+        long start = System.nanoTime();
+        UpdateResult result = null;
+        try {
+            result = delegate.updateMany(collection, query, updates, options);
+            return result;
+        } finally {
+            record(collection, UPDATE_MANY, start, modified(result), result == null);
+        }
+    }
+
+    @Override
+    public <T> UpdateResult updateMany(MongoCollection<T> collection, Document query, List<Document> updates,
+            UpdateOptions options) {
+        long start = System.nanoTime();
+        UpdateResult result = null;
+        try {
+            result = delegate.updateMany(collection, query, updates, options);
+            return result;
+        } finally {
+            record(collection, UPDATE_MANY, start, modified(result), result == null);
+        }
+    }
+
+    @Override
+    public <T> UpdateResult updateOne(MongoCollection<T> collection, Document query, Document updates, UpdateOptions options) {
+        long start = System.nanoTime();
+        UpdateResult result = null;
+        try {
+            result = delegate.updateOne(collection, query, updates, options);
+            return result;
+        } finally {
+            record(collection, UPDATE_ONE, start, modified(result), result == null);
+        }
+    }
+
+    @Override
+    public <T> UpdateResult updateOne(MongoCollection<T> collection, Document query, List<Document> updates,
+            UpdateOptions options) {
+        long start = System.nanoTime();
+        UpdateResult result = null;
+        try {
+            result = delegate.updateOne(collection, query, updates, options);
+            return result;
+        } finally {
+            record(collection, UPDATE_ONE, start, modified(result), result == null);
+        }
+    }
+
+    private static long deleted(@Nullable DeleteResult result) {
+        return result != null && result.wasAcknowledged() ? result.getDeletedCount() : 0;
+    }
+
+    private static long modified(@Nullable UpdateResult result) {
+        return result != null && result.wasAcknowledged() ? result.getModifiedCount() : 0;
+    }
+
+    private void record(MongoCollection<?> collection, OperationType operation, long start, long documents, boolean failed) {
+        String name = collection.getNamespace().getCollectionName();
+        metrics.record(entity(collection, name), name, operation, System.nanoTime() - start, documents, failed);
+    }
+
+    /**
+     * Finds the entity behind a collection. Collections read as raw documents are tagged with the entity mapped to their name instead.
+     */
+    private Class<?> entity(MongoCollection<?> collection, String name) {
+        Class<?> type = collection.getDocumentClass();
+        if (!mapper.isMappable(type)) {
+            for (EntityModel model : mapper.getMappedEntities()) {
+                if (model.getCollectionName().equals(name)) {
+                    return model.getType();
+                }
+            }
+        }
+        return type;
+    }
+}
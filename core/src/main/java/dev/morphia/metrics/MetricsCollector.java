@@ -0,0 +1,29 @@
+package dev.morphia.metrics;
+
+/**
+ * Receives timings for the operations Morphia performs against the database. Implementations are called on the thread executing the
+ * operation so they should be fast, thread safe, and avoid allocating where possible.
+ * <p>
+ * Operations returning cursors (finds, distincts, and aggregations) are recorded once the cursor is exhausted or closed so the timing
+ * includes fetching every batch. A cursor which could not be opened is recorded as a failed operation.
+ * <p>
+ * The number of bytes sent and received is not recorded. Register a {@link com.mongodb.event.CommandListener} with the driver to
+ * follow those.
+ *
+ * @see dev.morphia.config.MorphiaConfig#metrics()
+ * @see InMemoryMetrics
+ * @since 3.0
+ */
+public interface MetricsCollector {
+    /**
+     * Records a completed operation
+     *
+     * @param entity     the type mapped to the collection used
+     * @param collection the collection name
+     * @param operation  the type of operation
+     * @param nanos      the elapsed time in nanoseconds
+     * @param documents  the number of documents returned or modified by the operation
+     * @param failed     true if the operation ended with an exception
+     */
+    void record(Class<?> entity, String collection, OperationType operation, long nanos, long documents, boolean failed);
+}
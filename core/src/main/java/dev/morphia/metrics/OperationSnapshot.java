@@ -0,0 +1,140 @@
+package dev.morphia.metrics;
+
+import java.util.StringJoiner;
+
+/**
+ * A point in time view of the values recorded for one type of operation against a collection.
+ *
+ * @see InMemoryMetrics#snapshot()
+ * @since 3.0
+ */
+public final class OperationSnapshot {
+    static final int BUCKETS = 64;
+
+    private final Class<?> entity;
+    private final String collection;
+    private final OperationType operation;
+    private final long count;
+    private final long failures;
+    private final long documents;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] histogram;
+
+    OperationSnapshot(Class<?> entity, String collection, OperationType operation, long count, long failures, long documents,
+            long totalNanos, long maxNanos, long[] histogram) {
+        this.entity = entity;
+        this.collection = collection;
+        this.operation = operation;
+        this.count = count;
+        this.failures = failures;
+        this.documents = documents;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.histogram = histogram;
+    }
+
+    /**
+     * Bucket {@code i} holds the durations in the range [2^(i-1), 2^i) nanoseconds.
+     */
+    static int bucket(long nanos) {
+        return nanos <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * @return the type mapped to the collection
+     */
+    public Class<?> entity() {
+        return entity;
+    }
+
+    /**
+     * @return the collection name
+     */
+    public String collection() {
+        return collection;
+    }
+
+    /**
+     * @return the operation type
+     */
+    public OperationType operation() {
+        return operation;
+    }
+
+    /**
+     * @return the number of operations recorded
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return the number of operations which failed
+     */
+    public long failures() {
+        return failures;
+    }
+
+    /**
+     * @return the total number of documents returned or modified
+     */
+    public long documents() {
+        return documents;
+    }
+
+    /**
+     * @return the total time spent in nanoseconds
+     */
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return the longest operation in nanoseconds
+     */
+    public long maxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * @return the mean duration in nanoseconds
+     */
+    public long meanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * Estimates a latency percentile from the histogram. The result is the upper bound of the bucket containing the percentile so it
+     * will be at most twice the actual value.
+     *
+     * @param percentile the percentile to find, e.g. 0.99
+     * @return the estimated duration in nanoseconds
+     */
+    public long percentile(double percentile) {
+        long target = (long) Math.ceil(count * percentile);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= target && seen != 0) {
+                return Math.min(maxNanos, i == 0 ? 0 : i >= 63 ? Long.MAX_VALUE : (1L << i) - 1);
+            }
+        }
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", OperationSnapshot.class.getSimpleName() + "[", "]")
+                .add("entity=" + entity.getName())
+                .add("collection='" + collection + "'")
+                .add("operation=" + operation)
+                .add("count=" + count)
+                .add("failures=" + failures)
+                .add("documents=" + documents)
+                .add("meanNanos=" + meanNanos())
+                .add("p99Nanos=" + percentile(0.99))
+                .add("maxNanos=" + maxNanos)
+                .toString();
+    }
+}
@@ -0,0 +1,22 @@
+package dev.morphia.metrics;
+
+/**
+ * The types of operations recorded by a {@link MetricsCollector}.
+ *
+ * @since 3.0
+ */
+public enum OperationType {
+    AGGREGATE,
+    COUNT,
+    DELETE_MANY,
+    DELETE_ONE,
+    DISTINCT,
+    FIND,
+    FIND_ONE_AND_DELETE,
+    FIND_ONE_AND_UPDATE,
+    INSERT_MANY,
+    INSERT_ONE,
+    REPLACE_ONE,
+    UPDATE_MANY,
+    UPDATE_ONE
+}
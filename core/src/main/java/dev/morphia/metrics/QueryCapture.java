@@ -0,0 +1,137 @@
+package dev.morphia.metrics;
+
+import java.time.Instant;
+import java.util.StringJoiner;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.query.FindOptions;
+
+import org.bson.Document;
+
+/**
+ * A find operation as Morphia encoded and sent it. Captures are taken on the client so, unlike server side profiling, they cost no extra
+ * round trips and are safe to use with concurrent queries.
+ *
+ * @see FindOptions#logQuery()
+ * @see QueryCaptureLog
+ * @since 3.0
+ */
+public final class QueryCapture {
+    private final Class<?> entity;
+    private final String collection;
+    private final Document filter;
+    @Nullable
+    private final Document projection;
+    @Nullable
+    private final Document sort;
+    private final FindOptions options;
+    private final Instant timestamp;
+    private final long prepareNanos;
+    private final long executionNanos;
+
+    /**
+     * @param entity         the entity type queried
+     * @param collection     the collection queried
+     * @param filter         the encoded filter
+     * @param projection     the encoded projection if any
+     * @param sort           the encoded sort if any
+     * @param options        the options used
+     * @param prepareNanos   the time spent preparing the query on the client
+     * @param executionNanos the time spent issuing the query and fetching the first batch
+     */
+    public QueryCapture(Class<?> entity, String collection, Document filter, @Nullable Document projection, @Nullable Document sort,
+            FindOptions options, long prepareNanos, long executionNanos) {
+        this.entity = entity;
+        this.collection = collection;
+        this.filter = filter;
+        this.projection = projection;
+        this.sort = sort;
+        this.options = options.copy();
+        this.timestamp = Instant.now();
+        this.prepareNanos = prepareNanos;
+        this.executionNanos = executionNanos;
+    }
+
+    /**
+     * @return the entity type queried
+     */
+    public Class<?> entity() {
+        return entity;
+    }
+
+    /**
+     * @return the collection queried
+     */
+    public String collection() {
+        return collection;
+    }
+
+    /**
+     * @return the encoded filter
+     */
+    public Document filter() {
+        return filter;
+    }
+
+    /**
+     * @return the encoded projection or null if none was used
+     */
+    @Nullable
+    public Document projection() {
+        return projection;
+    }
+
+    /**
+     * @return the encoded sort or null if none was used
+     */
+    @Nullable
+    public Document sort() {
+        return sort;
+    }
+
+    /**
+     * @return a copy of the options used
+     */
+    public FindOptions options() {
+        return options;
+    }
+
+    /**
+     * @return when the query was executed
+     */
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the time spent preparing the query on the client before it was issued. This covers encoding the filter, unless it was
+     * already encoded by an earlier execution of the same query, mapping the projection and sort, and applying the options.
+     *
+     * @return the time spent preparing the query in nanoseconds
+     */
+    public long prepareNanos() {
+        return prepareNanos;
+    }
+
+    /**
+     * @return the time spent issuing the query and fetching the first batch of results in nanoseconds
+     */
+    public long executionNanos() {
+        return executionNanos;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", QueryCapture.class.getSimpleName() + "[", "]")
+                .add("entity=" + entity.getName())
+                .add("collection='" + collection + "'")
+                .add("filter=" + filter)
+                .add("projection=" + projection)
+                .add("sort=" + sort)
+                .add("timestamp=" + timestamp)
+                .add("prepareNanos=" + prepareNanos)
+                .add("executionNanos=" + executionNanos)
+                .toString();
+    }
+}
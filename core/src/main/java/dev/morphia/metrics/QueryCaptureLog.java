@@ -0,0 +1,124 @@
+package dev.morphia.metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+
+import static com.mongodb.assertions.Assertions.isTrueArgument;
+
+/**
+ * Keeps the most recent slow queries in a bounded ring buffer for diagnostics. A query is captured if issuing it and fetching its first
+ * batch takes at least the configured threshold and it is selected by the sample rate. Once the buffer is full, the oldest captures are
+ * overwritten.
+ *
+ * <pre>
+ * QueryCaptureLog captures = new QueryCaptureLog(100, Duration.ofMillis(50), 0.1);
+ * Datastore datastore = Morphia.createDatastore(client, MorphiaConfig.load().queryCaptures(captures));
+ * ...
+ * captures.recent().forEach(System.out::println);
+ * </pre>
+ *
+ * @see dev.morphia.config.MorphiaConfig#queryCaptures()
+ * @since 3.0
+ */
+public class QueryCaptureLog {
+    private final AtomicReferenceArray<QueryCapture> captures;
+    private final AtomicLong count = new AtomicLong();
+    private final long thresholdNanos;
+    private final double sampleRate;
+
+    /**
+     * Creates a log keeping the last 100 queries taking at least 100ms
+     */
+    public QueryCaptureLog() {
+        this(100, Duration.ofMillis(100), 1.0);
+    }
+
+    /**
+     * @param capacity   the number of captures to keep
+     * @param threshold  the minimum execution time for a query to be captured. {@link Duration#ZERO} captures every query.
+     * @param sampleRate the fraction of qualifying queries to capture between 0 and 1
+     */
+    public QueryCaptureLog(int capacity, Duration threshold, double sampleRate) {
+        isTrueArgument("capacity > 0", capacity > 0);
+        isTrueArgument("threshold >= 0", !threshold.isNegative());
+        isTrueArgument("0 <= sampleRate <= 1", sampleRate >= 0 && sampleRate <= 1);
+        this.captures = new AtomicReferenceArray<>(capacity);
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @return the number of captures kept
+     */
+    public int capacity() {
+        return captures.length();
+    }
+
+    /**
+     * @return the minimum execution time for a query to be captured
+     */
+    public Duration threshold() {
+        return Duration.ofNanos(thresholdNanos);
+    }
+
+    /**
+     * @return the fraction of qualifying queries captured
+     */
+    public double sampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * @param executionNanos the execution time of a query
+     * @return true if a query with the given execution time should be captured
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public boolean accepts(long executionNanos) {
+        return executionNanos >= thresholdNanos
+                && (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * @param capture the capture to add
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public void add(QueryCapture capture) {
+        captures.set((int) (count.getAndIncrement() % captures.length()), capture);
+    }
+
+    /**
+     * Discards all captures
+     */
+    public void clear() {
+        count.set(0);
+        for (int i = 0; i < captures.length(); i++) {
+            captures.set(i, null);
+        }
+    }
+
+    /**
+     * @return the captures currently held, oldest first
+     */
+    public List<QueryCapture> recent() {
+        long end = count.get();
+        long start = Math.max(0, end - captures.length());
+        List<QueryCapture> recent = new ArrayList<>();
+        for (long i = start; i < end; i++) {
+            QueryCapture capture = captures.get((int) (i % captures.length()));
+            if (capture != null) {
+                recent.add(capture);
+            }
+        }
+        return recent;
+    }
+}
@@ -0,0 +1,146 @@
+package dev.morphia.metrics;
+
+import java.util.function.Supplier;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+
+/**
+ * Times a cursor from when its query was issued until it is exhausted or closed, whichever comes first, and reports the elapsed
+ * time and number of documents read to a {@link MetricsCollector}.
+ *
+ * @param <T> the result type
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class TimedCursor<T> implements MongoCursor<T> {
+    private final MongoCursor<T> cursor;
+    private final MetricsCollector metrics;
+    private final Class<?> entity;
+    private final String collection;
+    private final OperationType operation;
+    private final long start;
+    private long documents;
+    private boolean recorded;
+
+    /**
+     * @param cursor     the cursor to time
+     * @param metrics    the collector to report to
+     * @param entity     the entity type mapped to the collection
+     * @param collection the collection queried
+     * @param operation  the operation type
+     * @param start      the {@link System#nanoTime()} value from when the query was issued
+     */
+    public TimedCursor(MongoCursor<T> cursor, MetricsCollector metrics, Class<?> entity, MongoCollection<?> collection,
+            OperationType operation, long start) {
+        this.cursor = cursor;
+        this.metrics = metrics;
+        this.entity = entity;
+        this.collection = collection.getNamespace().getCollectionName();
+        this.operation = operation;
+        this.start = start;
+    }
+
+    /**
+     * Opens a cursor and wraps it if metrics are enabled. A failure to open the cursor is recorded as a failed operation.
+     *
+     * @param metrics    the collector to report to. may be null if metrics are disabled.
+     * @param entity     the entity type mapped to the collection. this is not necessarily the collection's document class since
+     *                   results may be read as raw documents.
+     * @param collection the collection queried
+     * @param operation  the operation type
+     * @param start      the {@link System#nanoTime()} value from when the query was issued
+     * @param opener     opens the cursor to time
+     * @param <T>        the result type
+     * @return the timed cursor or the original if metrics are disabled
+     */
+    public static <T> MongoCursor<T> open(@Nullable MetricsCollector metrics, Class<?> entity, MongoCollection<?> collection,
+            OperationType operation, long start, Supplier<MongoCursor<T>> opener) {
+        if (metrics == null) {
+            return opener.get();
+        }
+        MongoCursor<T> cursor;
+        try {
+            cursor = opener.get();
+        } catch (RuntimeException e) {
+            metrics.record(entity, collection.getNamespace().getCollectionName(), operation, System.nanoTime() - start, 0, true);
+            throw e;
+        }
+        return new TimedCursor<>(cursor, metrics, entity, collection, operation, start);
+    }
+
+    @Override
+    public void close() {
+        try {
+            cursor.close();
+        } finally {
+            record(false);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            boolean hasNext = cursor.hasNext();
+            if (!hasNext) {
+                record(false);
+            }
+            return hasNext;
+        } catch (RuntimeException e) {
+            record(true);
+            throw e;
+        }
+    }
+
+    @Override
+    public T next() {
+        try {
+            T next = cursor.next();
+            documents++;
+            return next;
+        } catch (RuntimeException e) {
+            record(true);
+            throw e;
+        }
+    }
+
+    @Override
+    public int available() {
+        return cursor.available();
+    }
+
+    @Override
+    @Nullable
+    public T tryNext() {
+        T next = cursor.tryNext();
+        if (next != null) {
+            documents++;
+        }
+        return next;
+    }
+
+    @Override
+    @Nullable
+    public ServerCursor getServerCursor() {
+        return cursor.getServerCursor();
+    }
+
+    @Override
+    public ServerAddress getServerAddress() {
+        return cursor.getServerAddress();
+    }
+
+    private void record(boolean failed) {
+        if (!recorded) {
+            recorded = true;
+            metrics.record(entity, collection, operation, System.nanoTime() - start, documents, failed);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Defines the operation metrics SPI and a built-in in-memory implementation.
+ */
+@NonNullApi
+package dev.morphia.metrics;
+
+import com.mongodb.lang.NonNullApi;
@@ -27,6 +27,7 @@ import com.mongodb.ReadPreference;
 import com.mongodb.assertions.Assertions;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.model.Collation;
+import com.mongodb.lang.Nullable;
 
 import dev.morphia.annotations.internal.MorphiaInternal;
 import dev.morphia.internal.CollectionConfigurable;
@@ -35,12 +36,10 @@ import dev.morphia.internal.ReadConfigurable;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.NotMappableException;
 import dev.morphia.mapping.codec.pojo.EntityModel;
-import dev.morphia.sofia.Sofia;
 
 import org.bson.BsonString;
 import org.bson.BsonValue;
 import org.bson.Document;
-import org.bson.types.ObjectId;
 
 import static dev.morphia.internal.MorphiaInternals.DriverVersion.v4_1_0;
 import static dev.morphia.internal.MorphiaInternals.DriverVersion.v4_6_0;
@@ -58,6 +57,7 @@ import static dev.morphia.internal.MorphiaInternals.tryInvoke;
 public final class FindOptions implements ReadConfigurable<FindOptions>, CollectionConfigurable<FindOptions> {
     private Boolean allowDiskUse;
     private int batchSize;
+    private Boolean cache;
     private int limit;
     private long maxTimeMS;
     private long maxAwaitTimeMS;
@@ -79,7 +79,7 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
     private ReadConcern readConcern;
     private ReadPreference readPreference;
     private Projection projection;
-    private String queryLogId;
+    private boolean logQuery;
     private String collection;
 
     /**
@@ -106,11 +106,9 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
      */
     @MorphiaInternal
     public <T> FindIterable<T> apply(FindIterable<T> iterable, Mapper mapper, Class<?> type) {
-        if (isLogQuery()) {
-            logQuery(); //  reset to a new ID
-        }
-        if (projection != null) {
-            iterable.projection(projection.map(mapper, type));
+        Document mappedProjection = mappedProjection(mapper, type);
+        if (mappedProjection != null) {
+            iterable.projection(mappedProjection);
         }
 
         tryInvoke(v4_1_0, () -> iterable.allowDiskUse(allowDiskUse));
@@ -133,20 +131,9 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
         iterable.returnKey(returnKey);
         iterable.showRecordId(showRecordId);
         iterable.skip(skip);
-        if (sort != null) {
-            Document mapped = new Document();
-            EntityModel model = null;
-            try {
-                model = mapper.getEntityModel(type);
-            } catch (NotMappableException ignored) {
-            }
-
-            for (Entry<String, Object> entry : sort.entrySet()) {
-                Object value = entry.getValue();
-                boolean metaScore = value instanceof Document && ((Document) value).get("$meta") != null;
-                mapped.put(new PathTarget(mapper, model, entry.getKey(), model != null && !metaScore).translatedPath(), value);
-            }
-            iterable.sort(mapped);
+        Document mappedSort = mappedSort(mapper, type);
+        if (mappedSort != null) {
+            iterable.sort(mappedSort);
         }
         tryInvoke(v4_6_0, () -> iterable.let(variables));
         return iterable;
@@ -163,6 +150,65 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
         return this;
     }
 
+    /**
+     * Sets whether the results of this query are cached. By default, results are cached only for entities annotated with
+     * {@link dev.morphia.annotations.CacheQueries}. Setting this to true caches the results regardless while false always reads from
+     * the database. Queries using {@link #logQuery()} always read from the database.
+     *
+     * @param cache true to cache the results, false to bypass the cache, or null to follow the entity's configuration
+     * @return this
+     * @see dev.morphia.annotations.CacheQueries
+     * @since 3.0
+     */
+    public FindOptions cache(@Nullable Boolean cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * @return whether the results of this query are cached or null if the entity's configuration applies
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @Nullable
+    @MorphiaInternal
+    public Boolean cache() {
+        return cache;
+    }
+
+    /**
+     * Describes the options which affect which results are returned. Two queries with the same filter and equal keys return the same
+     * results so the key identifies those results in the query cache.
+     *
+     * @param mapper the mapper to use
+     * @param type   the result type
+     * @return the key or null if the results can not be cached, as with tailable cursors
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @Nullable
+    @MorphiaInternal
+    public Document cacheKey(Mapper mapper, Class<?> type) {
+        if (cursorType != null && cursorType != CursorType.NonTailable) {
+            return null;
+        }
+        return new Document("projection", mappedProjection(mapper, type))
+                .append("sort", mappedSort(mapper, type))
+                .append("skip", skip)
+                .append("limit", limit)
+                .append("collation", collation != null ? collation.asDocument() : null)
+                .append("hint", hint != null ? hint : hintString)
+                .append("max", max)
+                .append("min", min)
+                .append("returnKey", returnKey)
+                .append("showRecordId", showRecordId)
+                .append("let", variables)
+                .append("readConcern", readConcern != null ? readConcern.asDocument() : null)
+                .append("readPreference", readPreference != null ? readPreference.toDocument() : null);
+    }
+
     /**
      * Sets the collation to use
      *
@@ -234,6 +280,7 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
     public FindOptions copy(FindOptions original) {
         this.allowDiskUse = original.allowDiskUse;
         this.batchSize = original.batchSize;
+        this.cache = original.cache;
         this.collection = original.collection;
         this.limit = original.limit;
         this.maxTimeMS = original.maxTimeMS;
@@ -255,7 +302,7 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
         this.readConcern = original.readConcern;
         this.readPreference = original.readPreference;
         this.projection = original.projection;
-        this.queryLogId = original.queryLogId;
+        this.logQuery = original.logQuery;
 
         return this;
     }
@@ -278,9 +325,9 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
     @MorphiaInternal
     @Override
     public int hashCode() {
-        return Objects.hash(allowDiskUse, batchSize, limit, maxTimeMS, maxAwaitTimeMS, skip, sort, cursorType, noCursorTimeout, oplogReplay,
-                partial, collation, comment, hint, hintString, max, min, returnKey, showRecordId, readConcern, readPreference, projection,
-                queryLogId);
+        return Objects.hash(allowDiskUse, batchSize, cache, limit, maxTimeMS, maxAwaitTimeMS, skip, sort, cursorType, noCursorTimeout,
+                oplogReplay, partial, collation, comment, hint, hintString, max, min, returnKey, showRecordId, readConcern, readPreference,
+                projection, logQuery);
     }
 
     /**
@@ -297,7 +344,8 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
             return false;
         }
         FindOptions that = (FindOptions) o;
-        return batchSize == that.batchSize && limit == that.limit && maxTimeMS == that.maxTimeMS && maxAwaitTimeMS == that.maxAwaitTimeMS
+        return batchSize == that.batchSize && Objects.equals(cache, that.cache) && limit == that.limit && maxTimeMS == that.maxTimeMS
+                && maxAwaitTimeMS == that.maxAwaitTimeMS
                 && skip == that.skip && noCursorTimeout == that.noCursorTimeout && oplogReplay == that.oplogReplay
                 && partial == that.partial
                 && returnKey == that.returnKey && showRecordId == that.showRecordId && Objects.equals(allowDiskUse, that.allowDiskUse)
@@ -305,7 +353,7 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
                 && Objects.equals(comment, that.comment) && Objects.equals(hint, that.hint) && Objects.equals(hintString, that.hintString)
                 && Objects.equals(max, that.max) && Objects.equals(min, that.min) && Objects.equals(readConcern, that.readConcern)
                 && Objects.equals(readPreference, that.readPreference) && Objects.equals(projection, that.projection)
-                && Objects.equals(queryLogId, that.queryLogId);
+                && logQuery == that.logQuery;
     }
 
     /**
@@ -350,7 +398,7 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
      */
     @MorphiaInternal
     public boolean isLogQuery() {
-        return queryLogId != null;
+        return logQuery;
     }
 
     /**
@@ -369,16 +417,6 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
         return this;
     }
 
-    /**
-     * @return the query log id used for retrieving the logged query
-     * @hidden
-     * @morphia.internal
-     */
-    @MorphiaInternal
-    public String queryLogId() {
-        return queryLogId;
-    }
-
     /**
      * Sets the limit
      *
@@ -391,16 +429,60 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
     }
 
     /**
-     * This is an experimental method. It's implementation and presence are subject to change.
+     * Captures the query as encoded by Morphia when it is executed. The capture can then be retrieved via {@link Query#getLoggedQuery()}
+     * or {@link Query#getQueryCapture()}. No server side profiling is involved.
      *
      * @return this
+     * @see dev.morphia.metrics.QueryCapture
      */
     public FindOptions logQuery() {
-        queryLogId = new ObjectId().toString();
-        comment(Sofia.loggedQuery(queryLogId));
+        logQuery = true;
         return this;
     }
 
+    /**
+     * @param mapper the mapper to use
+     * @param type   the result type
+     * @return the projection document mapped against the type or null if no projection is set
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @Nullable
+    @MorphiaInternal
+    public Document mappedProjection(Mapper mapper, Class<?> type) {
+        return projection != null ? projection.map(mapper, type) : null;
+    }
+
+    /**
+     * @param mapper the mapper to use
+     * @param type   the result type
+     * @return the sort document mapped against the type or null if no sort is set
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @Nullable
+    @MorphiaInternal
+    public Document mappedSort(Mapper mapper, Class<?> type) {
+        if (sort == null) {
+            return null;
+        }
+        Document mapped = new Document();
+        EntityModel model = null;
+        try {
+            model = mapper.getEntityModel(type);
+        } catch (NotMappableException ignored) {
+        }
+
+        for (Entry<String, Object> entry : sort.entrySet()) {
+            Object value = entry.getValue();
+            boolean metaScore = value instanceof Document && ((Document) value).get("$meta") != null;
+            mapped.put(new PathTarget(mapper, model, entry.getKey(), model != null && !metaScore).translatedPath(), value);
+        }
+        return mapped;
+    }
+
     /**
      * Sets the max index value
      *
@@ -572,6 +654,7 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
         return new StringJoiner(", ", FindOptions.class.getSimpleName() + "[", "]")
                 .add("allowDiskUse=" + allowDiskUse)
                 .add("batchSize=" + batchSize)
+                .add("cache=" + cache)
                 .add("limit=" + limit)
                 .add("maxTimeMS=" + maxTimeMS)
                 .add("maxAwaitTimeMS=" + maxAwaitTimeMS)
@@ -589,7 +672,7 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
                 .add("returnKey=" + returnKey)
                 .add("showRecordId=" + showRecordId)
                 .add("readPreference=" + readPreference)
-                .add("queryLogId='" + queryLogId + "'")
+                .add("logQuery=" + logQuery)
                 .add("projection=" + projection)
                 .toString();
     }
@@ -10,6 +10,7 @@ import com.mongodb.ExplainVerbosity;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.IndexModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 import com.mongodb.lang.NonNull;
@@ -21,22 +22,39 @@ import dev.morphia.ModifyOptions;
 import dev.morphia.MorphiaDatastore;
 import dev.morphia.UpdateOptions;
 import dev.morphia.aggregation.stages.Stage;
+import dev.morphia.annotations.CacheQueries;
+import dev.morphia.annotations.internal.IndexHelper;
 import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.internal.PathTarget;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
 import dev.morphia.mapping.codec.writer.DocumentWriter;
+import dev.morphia.metrics.QueryCapture;
+import dev.morphia.metrics.QueryCaptureLog;
+import dev.morphia.metrics.TimedCursor;
 import dev.morphia.query.filters.Filter;
+import dev.morphia.query.internal.MappedCursor;
+import dev.morphia.query.internal.QueryCache;
 import dev.morphia.query.updates.UpdateOperator;
 import dev.morphia.sofia.Sofia;
 
+import org.bson.BsonBinaryReader;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonValue;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
 import org.bson.codecs.EncoderContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static dev.morphia.mapping.codec.CodecHelper.coalesce;
 import static dev.morphia.mapping.codec.CodecHelper.document;
+import static dev.morphia.metrics.OperationType.DISTINCT;
+import static dev.morphia.metrics.OperationType.FIND;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
@@ -54,13 +72,16 @@ public class MorphiaQuery<T> implements Query<T> {
     private final Mapper mapper;
     private final List<Filter> filters = new ArrayList<>();
     private final Document seedQuery;
+    private final boolean prepared;
     private String collectionName;
     private MongoCollection<T> collection;
 
     private ValidationException invalid;
 
     private boolean validate = true;
-    private FindOptions lastOptions;
+    @Nullable
+    private QueryCapture lastCapture;
+    private Document queryDocument;
 
     /**
      * @param datastore      the datastore
@@ -72,6 +93,7 @@ public class MorphiaQuery<T> implements Query<T> {
         this.datastore = (MorphiaDatastore) datastore;
         mapper = this.datastore.getMapper();
         seedQuery = null;
+        prepared = false;
         this.collectionName = collectionName;
         if (collectionName != null) {
             collection = datastore.getDatabase().getCollection(collectionName, type);
@@ -90,11 +112,37 @@ public class MorphiaQuery<T> implements Query<T> {
         this.type = type;
         this.datastore = (MorphiaDatastore) datastore;
         this.seedQuery = query;
+        prepared = false;
         mapper = this.datastore.getMapper();
         collection = datastore.getCollection(type);
         collectionName = collection.getNamespace().getCollectionName();
     }
 
+    /**
+     * Creates a query from an already encoded query document. Discriminators have already been added to the document.
+     *
+     * @param source the query whose configuration to copy
+     * @param query  the encoded query
+     */
+    MorphiaQuery(MorphiaQuery<T> source, Document query) {
+        this.type = source.type;
+        this.datastore = source.datastore;
+        this.mapper = source.mapper;
+        this.seedQuery = query;
+        this.prepared = true;
+        this.collectionName = source.collectionName;
+        this.collection = source.collection;
+        this.validate = source.validate;
+    }
+
+    @Override
+    public boolean exists(FindOptions options) {
+        try (MongoCursor<RawBsonDocument> cursor = prepareCursor(options.copy().limit(1),
+                collection.withDocumentClass(RawBsonDocument.class), new Document("_id", 1))) {
+            return cursor.hasNext();
+        }
+    }
+
     @Override
     public Query<T> filter(Filter... additional) {
         for (Filter filter : additional) {
@@ -102,9 +150,15 @@ public class MorphiaQuery<T> implements Query<T> {
                     .entityType(getEntityClass())
                     .isValidating(validate));
         }
+        queryDocument = null;
         return this;
     }
 
+    @Override
+    public PreparedQuery<T> prepare() {
+        return new PreparedQuery<>(datastore, this, getQueryDocument(), filters);
+    }
+
     @Override
     public long count() {
         return count(new CountOptions());
@@ -126,15 +180,31 @@ public class MorphiaQuery<T> implements Query<T> {
         }
     }
 
+    @Override
+    public <V> MorphiaCursor<V> distinct(String field, Class<V> valueType) {
+        EntityModel model = mapper.isMappable(type) ? mapper.getEntityModel(type) : null;
+        String path = new PathTarget(mapper, model, field, validate).translatedPath();
+        Codec<V> codec = datastore.getCodecRegistry().get(valueType);
+
+        long start = System.nanoTime();
+        MongoCursor<BsonValue> cursor = TimedCursor.open(datastore.metrics(), type, collection, DISTINCT, start,
+                () -> datastore.operations()
+                        .distinct(collection, path, getQueryDocument(), BsonValue.class)
+                        .iterator());
+        return new MorphiaCursor<>(new MappedCursor<>(cursor, value -> decode(codec, value)));
+    }
+
     @Override
     public Query<T> disableValidation() {
         validate = false;
+        queryDocument = null;
         return this;
     }
 
     @Override
     public Query<T> enableValidation() {
         validate = true;
+        queryDocument = null;
         return this;
     }
 
@@ -145,27 +215,27 @@ public class MorphiaQuery<T> implements Query<T> {
                 : iterable(options, collection).explain(verbosity);
     }
 
+    @Override
+    public QueryPlan plan(FindOptions options) {
+        FindIterable<Document> iterable = options.apply(iterable(options, collection.withDocumentClass(Document.class)), mapper, type);
+        Document explain = iterable.explain(Document.class, ExplainVerbosity.EXECUTION_STATS);
+        List<IndexModel> declared = mapper.isMappable(type)
+                ? new IndexHelper(mapper).indexModels(mapper.getEntityModel(type))
+                : List.of();
+        return new QueryPlan(explain, toDocument(), declared);
+    }
+
     @Override
     public String getLoggedQuery() {
-        if (lastOptions != null && lastOptions.isLogQuery()) {
-            String json = "{}";
-            Document filter = new Document("command.comment", Sofia.loggedQuery(lastOptions.queryLogId()));
-            Document first = datastore.getDatabase()
-                    .getCollection("system.profile")
-                    .find(filter, Document.class)
-                    .projection(new Document("command.filter", 1))
-                    .first();
-            if (first != null) {
-                Document command = (Document) first.get("command");
-                filter = (Document) command.get("filter");
-                if (filter != null) {
-                    json = filter.toJson(datastore.getCodecRegistry().get(Document.class));
-                }
-            }
-            return json;
-        } else {
+        return getQueryCapture().filter().toJson(datastore.getCodecRegistry().get(Document.class));
+    }
+
+    @Override
+    public QueryCapture getQueryCapture() {
+        if (lastCapture == null) {
             throw new IllegalStateException(Sofia.queryNotLogged());
         }
+        return lastCapture;
     }
 
     @Override
@@ -200,13 +270,44 @@ public class MorphiaQuery<T> implements Query<T> {
                 toDocument(), value.toDocument(datastore), options);
     }
 
+    @Override
+    public T modify(ModifyOptions options, PreparedUpdate<T> update) {
+        return datastore.operations().findOneAndUpdate(datastore.configureCollection(options, collection),
+                toDocument(), update.toDocument(), options);
+    }
+
+    @Override
+    public PreparedUpdate<T> prepareUpdate(UpdateOperator first, UpdateOperator... updates) {
+        EntityModel entityModel = mapper.getEntityModel(getEntityClass());
+        return new PreparedUpdate<>(datastore, new Operations(entityModel, coalesce(first, updates), validate).toDocument(datastore));
+    }
+
     @MorphiaInternal
     public boolean isValidate() {
         return validate;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <I> MorphiaCursor<I> ids(Class<I> idType, FindOptions options) {
+        PropertyModel idProperty = mapper.isMappable(type) ? mapper.getEntityModel(type).getIdProperty() : null;
+        Codec<?> codec = idProperty != null && idType.isAssignableFrom(idProperty.getType())
+                ? idProperty.specializeCodec(datastore)
+                : null;
+        Codec<I> idCodec = codec != null ? (Codec<I>) codec : datastore.getCodecRegistry().get(idType);
+
+        MongoCursor<RawBsonDocument> cursor = prepareCursor(options, collection.withDocumentClass(RawBsonDocument.class),
+                new Document("_id", 1));
+        return new MorphiaCursor<>(new MappedCursor<>(cursor, document -> decode(idCodec, document.get("_id"))));
+    }
+
     @Override
     public MorphiaCursor<T> iterator(FindOptions options) {
+        QueryCache cache = datastore.queryCache();
+        Document cacheKey = cache != null && !options.isLogQuery() && isCached(options) ? options.cacheKey(mapper, type) : null;
+        if (cache != null && cacheKey != null) {
+            return new MorphiaCursor<>(cached(cache, options, cacheKey));
+        }
         return new MorphiaCursor<>(prepareCursor(options, collection));
     }
 
@@ -231,6 +332,18 @@ public class MorphiaQuery<T> implements Query<T> {
         Document updateOperations = new Operations(entityModel, coalesce(first, updates), isValidate())
                 .toDocument(datastore);
 
+        return update(options, entityModel, updateOperations);
+    }
+
+    @Override
+    public UpdateResult update(UpdateOptions options, PreparedUpdate<T> update) {
+        if (invalid != null) {
+            throw invalid;
+        }
+        return update(options, mapper.getEntityModel(getEntityClass()), update.toDocument());
+    }
+
+    private UpdateResult update(UpdateOptions options, EntityModel entityModel, Document updateOperations) {
         final Document queryObject = toDocument();
         if (options.isUpsert()) {
             if (entityModel.useDiscriminator()) {
@@ -297,6 +410,34 @@ public class MorphiaQuery<T> implements Query<T> {
         return collectionName;
     }
 
+    private boolean isCached(FindOptions options) {
+        Boolean cache = options.cache();
+        if (cache != null) {
+            return cache;
+        }
+        return mapper.isMappable(type) && mapper.getEntityModel(type).getAnnotation(CacheQueries.class) != null;
+    }
+
+    /**
+     * Reads the results from the cache if they are there and otherwise from the database, caching them once read. Either way, results
+     * are decoded as they are read so that each caller gets its own instances. Since a cache hit never reaches the server, it is neither
+     * timed by the metrics collector nor captured.
+     */
+    private MongoCursor<T> cached(QueryCache cache, FindOptions options, Document cacheKey) {
+        MongoCollection<T> configured = datastore.configureCollection(options, collection);
+        String key = cache.key(configured.getNamespace(), type, toDocument(), cacheKey);
+        MongoCursor<RawBsonDocument> results = cache.find(key);
+        if (results != null) {
+            lastCapture = null;
+        } else {
+            results = cache.record(configured.getNamespace(), key,
+                    prepareCursor(options, collection.withDocumentClass(RawBsonDocument.class)));
+        }
+        Codec<T> codec = configured.getCodecRegistry().get(type);
+        return new MappedCursor<>(results, document -> codec.decode(new BsonBinaryReader(document.getByteBuffer().asNIO()),
+                DecoderContext.builder().build()));
+    }
+
     @NonNull
     private <E> FindIterable<E> iterable(FindOptions findOptions, MongoCollection<E> collection) {
         final Document query = toDocument();
@@ -312,40 +453,96 @@ public class MorphiaQuery<T> implements Query<T> {
 
     @SuppressWarnings("ConstantConditions")
     private <E> MongoCursor<E> prepareCursor(FindOptions options, MongoCollection<E> collection) {
-        Document oldProfile = null;
-        lastOptions = options;
-        if (options.isLogQuery()) {
-            oldProfile = datastore.getDatabase().runCommand(new Document("profile", 2).append("slowms", 0));
+        return prepareCursor(options, collection, null);
+    }
+
+    private <E> MongoCursor<E> prepareCursor(FindOptions options, MongoCollection<E> collection, @Nullable Document projection) {
+        lastCapture = null;
+        long prepareStart = System.nanoTime();
+        FindIterable<E> iterable = options.apply(iterable(options, collection), mapper, type);
+        if (projection != null) {
+            iterable.projection(projection);
         }
-        try {
-            return options
-                    .apply(iterable(options, collection), mapper, type)
-                    .iterator();
-        } finally {
+        long start = System.nanoTime();
+        MongoCursor<E> cursor = TimedCursor.open(datastore.metrics(), type, this.collection, FIND, start, iterable::iterator);
+        capture(options, projection, start - prepareStart, System.nanoTime() - start);
+        return cursor;
+    }
+
+    private void capture(FindOptions options, @Nullable Document projection, long prepareNanos, long executionNanos) {
+        QueryCaptureLog captures = datastore.queryCaptures();
+        boolean sampled = captures != null && captures.accepts(executionNanos);
+        if (options.isLogQuery() || sampled) {
+            QueryCapture capture = new QueryCapture(type, getCollectionName(), toDocument(),
+                    projection != null ? projection : options.mappedProjection(mapper, type), options.mappedSort(mapper, type), options,
+                    prepareNanos, executionNanos);
             if (options.isLogQuery()) {
-                datastore.getDatabase().runCommand(new Document("profile", oldProfile.get("was"))
-                        .append("slowms", oldProfile.get("slowms"))
-                        .append("sampleRate", oldProfile.get("sampleRate")));
+                lastCapture = capture;
+            }
+            if (sampled) {
+                captures.add(capture);
             }
+        }
+    }
 
+    @Nullable
+    private static <V> V decode(Codec<V> codec, @Nullable BsonValue value) {
+        if (value == null || value.isNull()) {
+            return null;
         }
+        BsonDocumentReader reader = new BsonDocumentReader(new BsonDocument("value", value));
+        reader.readStartDocument();
+        reader.readName();
+        return codec.decode(reader, DecoderContext.builder().build());
     }
 
     private Document getQueryDocument() {
         if (invalid != null) {
             throw invalid;
         }
+        if (queryDocument == null) {
+            queryDocument = encodeQuery();
+        }
+        // callers are free to modify the returned document so hand out a copy rather than the cached instance
+        return (Document) copy(queryDocument);
+    }
+
+    @Nullable
+    private static Object copy(@Nullable Object value) {
+        if (value instanceof Document) {
+            Document copy = new Document();
+            ((Document) value).forEach((key, nested) -> copy.put(key, copy(nested)));
+            return copy;
+        } else if (value instanceof List) {
+            List<Object> copy = new ArrayList<>();
+            for (Object nested : (List<?>) value) {
+                copy.add(copy(nested));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    private Document encodeQuery() {
         try {
-            DocumentWriter writer = new DocumentWriter(mapper.getConfig(), seedQuery);
-            document(writer, () -> {
-                EncoderContext context = EncoderContext.builder().build();
-                for (Filter filter : filters) {
-                    Codec codec = datastore.getCodecRegistry().get(filter.getClass());
-                    codec.encode(writer, filter, context);
+            Document query;
+            if (filters.isEmpty() && seedQuery != null) {
+                query = (Document) copy(seedQuery);
+                if (prepared) {
+                    return query;
                 }
-            });
+            } else {
+                DocumentWriter writer = new DocumentWriter(mapper.getConfig(), seedQuery);
+                document(writer, () -> {
+                    EncoderContext context = EncoderContext.builder().build();
+                    for (Filter filter : filters) {
+                        Codec codec = datastore.getCodecRegistry().get(filter.getClass());
+                        codec.encode(writer, filter, context);
+                    }
+                });
+                query = writer.getDocument();
+            }
 
-            Document query = writer.getDocument();
             if (mapper.isMappable(getEntityClass())) {
                 mapper.updateQueryWithDiscriminators(mapper.getEntityModel(getEntityClass()), query);
             }
@@ -52,6 +52,10 @@ public class OperationTarget {
             return value;
         }
         PropertyModel mappedField = this.target.target();
+        if (value instanceof Parameter) {
+            // placeholders are encoded when values are bound so just record what they target
+            return new Document(target.translatedPath(), ((Parameter) value).target(mappedField));
+        }
 
         PropertyModel model = mappedField != null
                 ? mappedField.getEntityModel()
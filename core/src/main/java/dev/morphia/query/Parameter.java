@@ -0,0 +1,107 @@
+package dev.morphia.query;
+
+import java.util.Objects;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.codec.pojo.PropertyHandler;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+
+import org.bson.codecs.Codec;
+
+/**
+ * Defines a named placeholder for a value to be bound when a prepared query is executed.
+ *
+ * @see Query#prepare()
+ * @see PreparedQuery
+ * @since 3.0
+ */
+public final class Parameter {
+    /**
+     * The key used to mark a parameter in an encoded template.
+     *
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public static final String MARKER = "$morphia.parameter";
+
+    private final String name;
+    @Nullable
+    private final PropertyModel property;
+
+    private Parameter(String name, @Nullable PropertyModel property) {
+        this.name = name;
+        this.property = property;
+    }
+
+    /**
+     * Creates a new named parameter
+     *
+     * @param name the name of the parameter
+     * @return the new parameter
+     */
+    public static Parameter param(String name) {
+        return new Parameter(Objects.requireNonNull(name), null);
+    }
+
+    /**
+     * @return the name of this parameter
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Creates a copy of this parameter targeting the given property so that bound values can be encoded the same way an inline value
+     * would be. Parameters are immutable so the same instance may be safely used in any number of queries.
+     *
+     * @param property the target property. might be null if the path could not be resolved.
+     * @return the targeted parameter
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public Parameter target(@Nullable PropertyModel property) {
+        return new Parameter(name, property);
+    }
+
+    /**
+     * @return the property targeted by this parameter, if any
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    @Nullable
+    public PropertyModel property() {
+        return property;
+    }
+
+    /**
+     * Prepares a bound value for inclusion in the query document
+     *
+     * @param datastore the datastore
+     * @param value     the bound value
+     * @return the value to use in the query document
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    @Nullable
+    public Object encode(MorphiaDatastore datastore, @Nullable Object value) {
+        if (value != null && property != null) {
+            Codec<?> codec = property.specializeCodec(datastore);
+            if (codec instanceof PropertyHandler) {
+                return ((PropertyHandler) codec).encode(value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "param(" + name + ")";
+    }
+}
@@ -0,0 +1,101 @@
+package dev.morphia.query;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.query.filters.Filter;
+import dev.morphia.query.internal.ParameterBinder;
+
+import org.bson.Document;
+
+/**
+ * A query compiled once in to a template document. Executing a prepared query only needs to bind the values for its parameters rather
+ * than resolving paths and encoding every filter again. Binding values returns a new query and leaves the prepared query unchanged so a
+ * prepared query may be shared between threads. Changes made to the source query after it was prepared are not seen.
+ *
+ * <pre>
+ * PreparedQuery&lt;User&gt; byStatus = datastore.find(User.class)
+ *     .filter(eq("status", param("status")))
+ *     .prepare();
+ *
+ * List&lt;User&gt; active = byStatus.bind("status", Status.ACTIVE).iterator().toList();
+ * </pre>
+ *
+ * @param <T> the query type
+ * @see Parameter
+ * @since 3.0
+ */
+public class PreparedQuery<T> {
+    private final MorphiaDatastore datastore;
+    private final MorphiaQuery<T> query;
+    private final Document template;
+    private final Map<String, Parameter> parameters;
+
+    /**
+     * @param datastore the datastore
+     * @param query     the source query
+     * @param template  the encoded query with parameter placeholders
+     * @param filters   the filters used to build the template
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    PreparedQuery(MorphiaDatastore datastore, MorphiaQuery<T> query, Document template, List<Filter> filters) {
+        this.datastore = datastore;
+        this.query = new MorphiaQuery<>(query, template);
+        this.parameters = new LinkedHashMap<>();
+        ParameterBinder.collect(filters, parameters);
+        this.template = (Document) ParameterBinder.compile(template, parameters);
+    }
+
+    /**
+     * @return the names of the parameters defined on this query
+     */
+    public Set<String> parameters() {
+        return Collections.unmodifiableSet(parameters.keySet());
+    }
+
+    /**
+     * Binds a value to the single parameter of this query
+     *
+     * @param name  the parameter name
+     * @param value the value
+     * @return the executable query
+     */
+    public Query<T> bind(String name, @Nullable Object value) {
+        return bind(Collections.singletonMap(name, value));
+    }
+
+    /**
+     * Binds values to the parameters of this query. Every parameter must be given a value.
+     *
+     * @param values the parameter values keyed by parameter name
+     * @return the executable query
+     */
+    public Query<T> bind(Map<String, ?> values) {
+        ParameterBinder.check(parameters.keySet(), values, true);
+        return new MorphiaQuery<>(query, (Document) ParameterBinder.bind(datastore, template, values));
+    }
+
+    /**
+     * @return a copy of the template document for this query
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public Document toDocument() {
+        return new Document(template);
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedQuery{template=" + template + "}";
+    }
+}
@@ -0,0 +1,111 @@
+package dev.morphia.query;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.query.internal.ParameterBinder;
+
+import org.bson.Document;
+
+/**
+ * A set of update operators compiled once in to a template document. Executing a prepared update only needs to bind the values for
+ * its parameters rather than resolving paths and encoding every operator again. Binding values returns a new instance and leaves this
+ * one unchanged so a prepared update may be shared between threads. A parameter name may be used more than once but only for the same
+ * property.
+ *
+ * <pre>
+ * PreparedUpdate&lt;User&gt; rename = datastore.find(User.class)
+ *     .prepareUpdate(set("name", param("name")), inc("edits", param("count")));
+ *
+ * datastore.find(User.class)
+ *     .filter(eq("_id", id))
+ *     .update(rename.bind(Map.of("name", "Jayne", "count", 1)));
+ * </pre>
+ *
+ * @param <T> the entity type
+ * @see Parameter
+ * @since 3.0
+ */
+public class PreparedUpdate<T> {
+    private final MorphiaDatastore datastore;
+    private final Document template;
+    private final Map<String, Parameter> parameters;
+    private final Map<String, Object> values;
+
+    /**
+     * @param datastore the datastore
+     * @param template  the encoded update operators with parameter placeholders
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    PreparedUpdate(MorphiaDatastore datastore, Document template) {
+        this.datastore = datastore;
+        this.parameters = new LinkedHashMap<>();
+        this.template = (Document) ParameterBinder.compile(template, parameters);
+        this.values = Collections.emptyMap();
+    }
+
+    private PreparedUpdate(PreparedUpdate<T> source, Map<String, Object> values) {
+        this.datastore = source.datastore;
+        this.template = source.template;
+        this.parameters = source.parameters;
+        this.values = values;
+    }
+
+    /**
+     * @return the names of the parameters defined on this update
+     */
+    public Set<String> parameters() {
+        return Collections.unmodifiableSet(parameters.keySet());
+    }
+
+    /**
+     * Binds a value to a parameter of this update
+     *
+     * @param name  the parameter name
+     * @param value the value
+     * @return a new prepared update with the value bound
+     */
+    public PreparedUpdate<T> bind(String name, @Nullable Object value) {
+        return bind(Collections.singletonMap(name, value));
+    }
+
+    /**
+     * Binds values to the parameters of this update. Values may be bound incrementally but every parameter must have a value before
+     * the update is executed.
+     *
+     * @param values the parameter values keyed by parameter name
+     * @return a new prepared update with the values bound
+     */
+    public PreparedUpdate<T> bind(Map<String, ?> values) {
+        ParameterBinder.check(parameters.keySet(), values, false);
+        Map<String, Object> merged = new HashMap<>(this.values);
+        merged.putAll(values);
+        return new PreparedUpdate<>(this, merged);
+    }
+
+    /**
+     * @return the update document with all parameter values bound
+     * @throws QueryException if any parameter has not been bound
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public Document toDocument() {
+        ParameterBinder.check(parameters.keySet(), values, true);
+        return (Document) ParameterBinder.bind(datastore, template, values);
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedUpdate{template=" + template + ", values=" + values + "}";
+    }
+}
@@ -15,6 +15,7 @@ import dev.morphia.DeleteOptions;
 import dev.morphia.ModifyOptions;
 import dev.morphia.UpdateOptions;
 import dev.morphia.aggregation.stages.Stage;
+import dev.morphia.metrics.QueryCapture;
 import dev.morphia.query.filters.Filter;
 import dev.morphia.query.updates.UpdateOperator;
 
@@ -67,6 +68,20 @@ public interface Query<T> extends Iterable<T> {
      */
     DeleteResult delete(DeleteOptions options);
 
+    /**
+     * Finds the distinct values of a field among the documents matching this query. Values are streamed from the server and decoded
+     * directly to the requested type.
+     *
+     * @param field the field to inspect. the name will be mapped using the entity's mapping information.
+     * @param type  the type of the values
+     * @param <V>   the value type
+     * @return the distinct values
+     * @since 3.0
+     */
+    default <V> MorphiaCursor<V> distinct(String field, Class<V> type) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Turns off validation (for all calls made after)
      *
@@ -81,6 +96,30 @@ public interface Query<T> extends Iterable<T> {
      */
     Query<T> enableValidation();
 
+    /**
+     * Checks whether any document matches this query. Only the ID of a single document is fetched so the check can be answered from
+     * an index.
+     *
+     * @return true if at least one document matches
+     * @since 3.0
+     */
+    default boolean exists() {
+        return exists(new FindOptions());
+    }
+
+    /**
+     * Checks whether any document matches this query. Only the ID of a single document is fetched so the check can be answered from
+     * an index.
+     *
+     * @param options the options to apply to the find operation, such as a collation or read preference. Any projection and limit are
+     *                replaced.
+     * @return true if at least one document matches
+     * @since 3.0
+     */
+    default boolean exists(FindOptions options) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Provides information on the query plan. The query plan is the plan the server uses to find the matches for a query. This information
      * may be useful when optimizing a query.
@@ -118,11 +157,48 @@ public interface Query<T> extends Iterable<T> {
     Map<String, Object> explain(FindOptions options, @Nullable ExplainVerbosity verbosity);
 
     /**
-     * @return The query logged during the previous execution of this query
+     * Runs this query with execution statistics and summarizes the plan the server chose. The plan is checked against the indexes
+     * declared on the entity to point out collection scans, the declared indexes they could have used, and in memory sorts.
+     *
+     * @return the plan
+     * @mongodb.driver.manual reference/operator/meta/explain/ explain
+     * @see QueryPlan#assertIndexed()
+     * @since 3.0
+     */
+    default QueryPlan plan() {
+        return plan(new FindOptions());
+    }
+
+    /**
+     * Runs this query with execution statistics and summarizes the plan the server chose. The plan is checked against the indexes
+     * declared on the entity to point out collection scans, the declared indexes they could have used, and in memory sorts.
+     *
+     * @param options the options to apply to the query
+     * @return the plan
+     * @mongodb.driver.manual reference/operator/meta/explain/ explain
+     * @see QueryPlan#assertIndexed()
+     * @since 3.0
+     */
+    default QueryPlan plan(FindOptions options) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return The filter logged during the previous execution of this query as JSON
+     * @throws IllegalStateException if the previous execution did not use {@link FindOptions#logQuery()}
      * @since 2.3
      */
     String getLoggedQuery();
 
+    /**
+     * @return The query captured during the previous execution of this query
+     * @throws IllegalStateException if the previous execution did not use {@link FindOptions#logQuery()}
+     * @since 3.0
+     */
+    default QueryCapture getQueryCapture() {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Deletes an entity from the database and returns it.
      *
@@ -133,6 +209,33 @@ public interface Query<T> extends Iterable<T> {
         return findAndDelete(new FindAndDeleteOptions());
     }
 
+    /**
+     * Finds the IDs of the documents matching this query. Only the ID field is fetched and each ID is decoded without creating the
+     * entity itself.
+     *
+     * @param type the type of the ID
+     * @param <I>  the ID type
+     * @return the IDs
+     * @since 3.0
+     */
+    default <I> MorphiaCursor<I> ids(Class<I> type) {
+        return ids(type, new FindOptions());
+    }
+
+    /**
+     * Finds the IDs of the documents matching this query. Only the ID field is fetched and each ID is decoded without creating the
+     * entity itself.
+     *
+     * @param type    the type of the ID
+     * @param options the options to apply to the find operation. Any projection is replaced.
+     * @param <I>     the ID type
+     * @return the IDs
+     * @since 3.0
+     */
+    default <I> MorphiaCursor<I> ids(Class<I> type, FindOptions options) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Execute the query and get the results.
      *
@@ -199,6 +302,48 @@ public interface Query<T> extends Iterable<T> {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Create a modify operation based on this query using a prepared update
+     *
+     * @param options the options to apply
+     * @param update  the prepared update with all its parameters bound
+     * @return the modify operation
+     * @see #prepareUpdate(UpdateOperator, UpdateOperator...)
+     * @since 3.0
+     */
+    @Nullable
+    default T modify(ModifyOptions options, PreparedUpdate<T> update) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Compiles this query in to a reusable template. Any {@link Parameter} values used in filters are left as placeholders to be bound
+     * when the prepared query is executed. Paths and values are resolved and encoded once when the query is prepared rather than on
+     * every execution.
+     *
+     * @return the prepared query
+     * @see Parameter#param(String)
+     * @since 3.0
+     */
+    default PreparedQuery<T> prepare() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Compiles a set of update operators in to a reusable update template. Any {@link Parameter} values used in the operators are left
+     * as placeholders to be bound before the update is executed. Paths and values are resolved and encoded once when the update is
+     * prepared rather than on every execution.
+     *
+     * @param first   the first and required update operator
+     * @param updates lists the set of updates to apply
+     * @return the prepared update
+     * @see Parameter#param(String)
+     * @since 3.0
+     */
+    default PreparedUpdate<T> prepareUpdate(UpdateOperator first, UpdateOperator... updates) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Execute the query and get the results.
      *
@@ -252,6 +397,31 @@ public interface Query<T> extends Iterable<T> {
      */
     UpdateResult update(UpdateOptions options, UpdateOperator first, UpdateOperator... updates);
 
+    /**
+     * Creates an update operation based on this query using a prepared update
+     *
+     * @param update the prepared update with all its parameters bound
+     * @return the update operation
+     * @see #prepareUpdate(UpdateOperator, UpdateOperator...)
+     * @since 3.0
+     */
+    default UpdateResult update(PreparedUpdate<T> update) {
+        return update(new UpdateOptions(), update);
+    }
+
+    /**
+     * Creates an update operation based on this query using a prepared update
+     *
+     * @param options the options to apply
+     * @param update  the prepared update with all its parameters bound
+     * @return the update operation
+     * @see #prepareUpdate(UpdateOperator, UpdateOperator...)
+     * @since 3.0
+     */
+    default UpdateResult update(UpdateOptions options, PreparedUpdate<T> update) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Creates an update operation based on this query
      *
@@ -0,0 +1,363 @@
+package dev.morphia.query;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.StringJoiner;
+
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.IndexHelper;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.IndexType;
+import dev.morphia.sofia.Sofia;
+
+import org.bson.Document;
+
+/**
+ * A summary of the plan the server chose to run a query or aggregation, read from its {@code explain} output. The plan is mapped back to
+ * the indexes declared on the entity through {@code @Indexes} and {@code @Indexed} so that collection scans, and the declared indexes
+ * they could have used instead, stand out. For aggregations, only the part of the pipeline which reads from the collection has a plan
+ * and on sharded clusters the plan of the first shard is summarized.
+ * <p>
+ * The {@code assert} methods throw an {@link AssertionError} describing the plan when it does not meet expectations so that a query
+ * losing its index fails a test run:
+ *
+ * <pre>
+ * datastore.find(User.class)
+ *     .filter(eq("email", email))
+ *     .plan()
+ *     .assertIndexed()
+ *     .assertNoInMemorySort();
+ * </pre>
+ *
+ * @see Query#plan(FindOptions)
+ * @see dev.morphia.aggregation.Aggregation#plan(dev.morphia.aggregation.AggregationOptions)
+ * @since 3.0
+ */
+public final class QueryPlan {
+    private final Document explain;
+    private final String namespace;
+    private final List<String> stages = new ArrayList<>();
+    private final LinkedHashSet<String> indexesUsed = new LinkedHashSet<>();
+    private final List<String> declaredIndexes = new ArrayList<>();
+    private final List<String> missedIndexes = new ArrayList<>();
+    private final List<String> problems = new ArrayList<>();
+    private boolean inMemorySort;
+    @Nullable
+    private Long keysExamined;
+    @Nullable
+    private Long docsExamined;
+    @Nullable
+    private Long returned;
+
+    /**
+     * @param explain  the explain output
+     * @param filter   the filter used to read from the collection, if any
+     * @param declared the indexes declared on the entity
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public QueryPlan(Document explain, @Nullable Document filter, List<IndexModel> declared) {
+        this.explain = explain;
+        Document planned = find(explain);
+        Document queryPlanner = planned != null ? planned.get("queryPlanner", Document.class) : null;
+        namespace = queryPlanner != null ? queryPlanner.get("namespace", "") : "";
+        if (queryPlanner != null) {
+            walk(queryPlanner.get("winningPlan"));
+        }
+        Document stats = planned != null ? planned.get("executionStats", Document.class) : null;
+        if (stats != null) {
+            keysExamined = number(stats.get("totalKeysExamined"));
+            docsExamined = number(stats.get("totalDocsExamined"));
+            returned = number(stats.get("nReturned"));
+        }
+        if (explain.get("stages") instanceof List) {
+            for (Object stage : (List<?>) explain.get("stages")) {
+                if (stage instanceof Document && ((Document) stage).containsKey("$sort")) {
+                    inMemorySort = true;
+                }
+            }
+        }
+
+        LinkedHashSet<String> filtered = new LinkedHashSet<>();
+        if (filter != null) {
+            fields(filter, filtered);
+        }
+        List<String> candidates = new ArrayList<>();
+        List<String> leading = new ArrayList<>();
+        for (IndexModel index : declared) {
+            String name = IndexHelper.indexName(index);
+            declaredIndexes.add(name);
+            Document keys = (Document) index.getKeys();
+            String first = keys.isEmpty() ? null : keys.keySet().iterator().next();
+            if (first != null && filtered.contains(first) && !keys.containsValue(IndexType.TEXT.toIndexValue())) {
+                candidates.add(name);
+                leading.add(first);
+            }
+        }
+        if (isCollectionScan()) {
+            problems.add(Sofia.queryPlanCollectionScan(namespace));
+            for (int i = 0; i < candidates.size(); i++) {
+                missedIndexes.add(candidates.get(i));
+                problems.add(Sofia.queryPlanMissedIndex(namespace, leading.get(i), candidates.get(i)));
+            }
+        }
+        if (inMemorySort) {
+            problems.add(Sofia.queryPlanInMemorySort(namespace));
+        }
+    }
+
+    /**
+     * @return the raw explain output
+     */
+    public Document explain() {
+        return explain;
+    }
+
+    /**
+     * @return the namespace read from
+     */
+    public String namespace() {
+        return namespace;
+    }
+
+    /**
+     * @return the names of the stages of the winning plan, starting from the root
+     */
+    public List<String> stages() {
+        return List.copyOf(stages);
+    }
+
+    /**
+     * @return the names of the indexes used by the winning plan
+     */
+    public List<String> indexesUsed() {
+        return List.copyOf(indexesUsed);
+    }
+
+    /**
+     * @return the names of the indexes declared on the entity
+     */
+    public List<String> declaredIndexes() {
+        return List.copyOf(declaredIndexes);
+    }
+
+    /**
+     * @return the names of the declared indexes which the winning plan does not use
+     */
+    public List<String> unusedIndexes() {
+        List<String> unused = new ArrayList<>(declaredIndexes);
+        unused.removeAll(indexesUsed);
+        return unused;
+    }
+
+    /**
+     * Lists the declared indexes which lead with a field the query filters on when the winning plan scans the whole collection instead.
+     * This usually means the indexes do not exist in the database. Plans using any other index are not reported.
+     *
+     * @return the index names
+     */
+    public List<String> missedIndexes() {
+        return List.copyOf(missedIndexes);
+    }
+
+    /**
+     * @return true if the winning plan scans the whole collection
+     */
+    public boolean isCollectionScan() {
+        return stages.contains("COLLSCAN");
+    }
+
+    /**
+     * @return true if the results are sorted in memory rather than read in order from an index
+     */
+    public boolean hasInMemorySort() {
+        return inMemorySort;
+    }
+
+    /**
+     * @return the number of index keys examined or null if the execution statistics are not available
+     */
+    @Nullable
+    public Long keysExamined() {
+        return keysExamined;
+    }
+
+    /**
+     * @return the number of documents examined or null if the execution statistics are not available
+     */
+    @Nullable
+    public Long docsExamined() {
+        return docsExamined;
+    }
+
+    /**
+     * @return the number of documents returned or null if the execution statistics are not available
+     */
+    @Nullable
+    public Long returned() {
+        return returned;
+    }
+
+    /**
+     * @return descriptions of any collection scans, missed indexes, and in memory sorts found in the plan
+     */
+    public List<String> problems() {
+        return List.copyOf(problems);
+    }
+
+    /**
+     * Fails if the winning plan scans the whole collection. Plans using any index pass, whether or not it is one of the declared indexes
+     * leading with a filtered field; use {@link #assertUsesIndex(String)} to require a particular index.
+     *
+     * @return this
+     * @throws AssertionError if the plan is not indexed
+     */
+    public QueryPlan assertIndexed() {
+        if (isCollectionScan()) {
+            throw new AssertionError(describe(problems));
+        }
+        return this;
+    }
+
+    /**
+     * Fails if the winning plan does not use the named index
+     *
+     * @param name the index name
+     * @return this
+     * @throws AssertionError if the index is not used
+     */
+    public QueryPlan assertUsesIndex(String name) {
+        if (!indexesUsed.contains(name)) {
+            throw new AssertionError(describe(List.of(Sofia.queryPlanUnusedIndex(namespace, name))));
+        }
+        return this;
+    }
+
+    /**
+     * Fails if the results are sorted in memory
+     *
+     * @return this
+     * @throws AssertionError if the results are sorted in memory
+     */
+    public QueryPlan assertNoInMemorySort() {
+        if (inMemorySort) {
+            throw new AssertionError(describe(List.of(Sofia.queryPlanInMemorySort(namespace))));
+        }
+        return this;
+    }
+
+    /**
+     * Fails if more documents were examined than the given number for each document returned. A ratio of 1 means only the documents
+     * returned were read from the collection. Also fails if the explain output carries no execution statistics.
+     *
+     * @param ratio the largest number of documents which may be examined for each document returned
+     * @return this
+     * @throws AssertionError if too many documents were examined or the statistics are not available
+     */
+    public QueryPlan assertExaminedAtMost(double ratio) {
+        if (docsExamined == null || returned == null) {
+            throw new AssertionError(describe(List.of(Sofia.queryPlanNoStatistics(namespace))));
+        }
+        long examined = docsExamined;
+        long count = returned;
+        if (examined > ratio * Math.max(count, 1)) {
+            throw new AssertionError(describe(List.of(Sofia.queryPlanExamined(namespace, examined, count))));
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", QueryPlan.class.getSimpleName() + "[", "]")
+                .add("namespace=" + namespace)
+                .add("stages=" + stages)
+                .add("indexesUsed=" + indexesUsed)
+                .add("keysExamined=" + keysExamined)
+                .add("docsExamined=" + docsExamined)
+                .add("returned=" + returned)
+                .add("inMemorySort=" + inMemorySort)
+                .add("missedIndexes=" + missedIndexes)
+                .toString();
+    }
+
+    private String describe(List<String> failures) {
+        return String.join(" ", failures) + " " + this;
+    }
+
+    /**
+     * Finds the document holding the query planner output. Aggregations nest it within their first stage and sharded clusters within each
+     * shard.
+     */
+    @Nullable
+    private static Document find(Object node) {
+        if (node instanceof Document) {
+            Document document = (Document) node;
+            if (document.get("queryPlanner") instanceof Document) {
+                return document;
+            }
+            for (Object value : document.values()) {
+                Document found = find(value);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (node instanceof List) {
+            for (Object value : (List<?>) node) {
+                Document found = find(value);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void walk(@Nullable Object node) {
+        if (node instanceof Document) {
+            Document document = (Document) node;
+            if (document.get("stage") instanceof String) {
+                String stage = document.getString("stage");
+                stages.add(stage);
+                if (stage.equals("SORT")) {
+                    inMemorySort = true;
+                }
+            }
+            if (document.get("indexName") instanceof String) {
+                indexesUsed.add(document.getString("indexName"));
+            }
+            for (Entry<String, Object> entry : document.entrySet()) {
+                if (!entry.getKey().equals("rejectedPlans")) {
+                    walk(entry.getValue());
+                }
+            }
+        } else if (node instanceof List) {
+            ((List<?>) node).forEach(this::walk);
+        }
+    }
+
+    private static void fields(Map<String, Object> filter, LinkedHashSet<String> fields) {
+        for (Entry<String, Object> entry : filter.entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith("$")) {
+                fields.add(key);
+            } else if (entry.getValue() instanceof List) {
+                for (Object clause : (List<?>) entry.getValue()) {
+                    if (clause instanceof Document) {
+                        fields((Document) clause, fields);
+                    }
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private static Long number(@Nullable Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+}
@@ -9,6 +9,7 @@ import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.pojo.PropertyHandler;
 import dev.morphia.mapping.codec.pojo.PropertyModel;
 import dev.morphia.query.OperationTarget;
+import dev.morphia.query.Parameter;
 
 import org.bson.BsonWriter;
 import org.bson.Document;
@@ -157,11 +158,15 @@ public class Filter {
     public Object getValue(MorphiaDatastore datastore) {
         if (!mapped) {
             PathTarget target = pathTarget(datastore.getMapper());
-            OperationTarget operationTarget = new OperationTarget(pathTarget, value);
-            this.value = operationTarget.getValue();
-            PropertyModel property = target.target();
-            if (property != null && property.specializeCodec(datastore) instanceof PropertyHandler) {
-                this.value = ((Document) operationTarget.encode(datastore)).get(field);
+            if (value instanceof Parameter) {
+                this.value = ((Parameter) value).target(target.target());
+            } else {
+                OperationTarget operationTarget = new OperationTarget(pathTarget, value);
+                this.value = operationTarget.getValue();
+                PropertyModel property = target.target();
+                if (property != null && property.specializeCodec(datastore) instanceof PropertyHandler) {
+                    this.value = ((Document) operationTarget.encode(datastore)).get(field);
+                }
             }
             mapped = true;
         }
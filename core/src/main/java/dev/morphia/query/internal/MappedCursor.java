@@ -0,0 +1,72 @@
+package dev.morphia.query.internal;
+
+import java.util.function.Function;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+
+/**
+ * Converts the results of another cursor as they are read.
+ *
+ * @param <S> the source type
+ * @param <R> the result type
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class MappedCursor<S, R> implements MongoCursor<R> {
+    private final MongoCursor<S> results;
+    private final Function<S, R> mapper;
+
+    /**
+     * @param results the source cursor
+     * @param mapper  the conversion to apply to each result
+     */
+    public MappedCursor(MongoCursor<S> results, Function<S, R> mapper) {
+        this.results = results;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void close() {
+        results.close();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return results.hasNext();
+    }
+
+    @Override
+    public R next() {
+        return mapper.apply(results.next());
+    }
+
+    @Override
+    public int available() {
+        return results.available();
+    }
+
+    @Override
+    @Nullable
+    public R tryNext() {
+        S next = results.tryNext();
+        return next != null ? mapper.apply(next) : null;
+    }
+
+    @Override
+    @Nullable
+    public ServerCursor getServerCursor() {
+        return results.getServerCursor();
+    }
+
+    @Override
+    public ServerAddress getServerAddress() {
+        return results.getServerAddress();
+    }
+}
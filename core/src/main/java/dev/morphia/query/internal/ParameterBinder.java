@@ -0,0 +1,164 @@
+package dev.morphia.query.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+import dev.morphia.query.Parameter;
+import dev.morphia.query.QueryException;
+import dev.morphia.query.filters.Filter;
+import dev.morphia.sofia.Sofia;
+
+import org.bson.Document;
+
+/**
+ * Shared support for compiling templates containing {@link Parameter} placeholders and binding values in to them.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public final class ParameterBinder {
+    private ParameterBinder() {
+    }
+
+    /**
+     * Replaces any encoded placeholders in the template with their Parameter instances so binding is a simple substitution.
+     *
+     * @param node       the template node
+     * @param parameters the known parameters. any newly discovered parameters are added.
+     * @return the compiled node
+     */
+    @Nullable
+    public static Object compile(@Nullable Object node, Map<String, Parameter> parameters) {
+        if (node instanceof Parameter) {
+            return register((Parameter) node, parameters);
+        } else if (node instanceof Document) {
+            Document document = (Document) node;
+            if (document.size() == 1 && document.get(Parameter.MARKER) instanceof String) {
+                return parameters.computeIfAbsent(document.getString(Parameter.MARKER), Parameter::param);
+            }
+            Document compiled = new Document();
+            for (Entry<String, Object> entry : document.entrySet()) {
+                compiled.put(entry.getKey(), compile(entry.getValue(), parameters));
+            }
+            return compiled;
+        } else if (node instanceof List) {
+            List<Object> compiled = new ArrayList<>();
+            for (Object o : (List<?>) node) {
+                compiled.add(compile(o, parameters));
+            }
+            return compiled;
+        }
+        return node;
+    }
+
+    /**
+     * Collects the parameters used as filter values, including those of nested logical filters. These carry the property they target
+     * once the filters have been encoded and so should be collected before the template is compiled.
+     *
+     * @param filters    the filters
+     * @param parameters the known parameters. any newly discovered parameters are added.
+     */
+    public static void collect(List<Filter> filters, Map<String, Parameter> parameters) {
+        for (Filter filter : filters) {
+            Object value = filter.getValue();
+            if (value instanceof Parameter) {
+                register((Parameter) value, parameters);
+            } else if (value instanceof List) {
+                List<Filter> nested = new ArrayList<>();
+                for (Object o : (List<?>) value) {
+                    if (o instanceof Filter) {
+                        nested.add((Filter) o);
+                    }
+                }
+                collect(nested, parameters);
+            }
+        }
+    }
+
+    /**
+     * Adds a parameter to those known. A name may be used more than once but only for the same property so that every use encodes
+     * its value the same way.
+     *
+     * @param parameter  the parameter
+     * @param parameters the known parameters
+     * @return the known parameter for the name
+     * @throws QueryException if the name is already used for a different property
+     */
+    public static Parameter register(Parameter parameter, Map<String, Parameter> parameters) {
+        Parameter known = parameters.putIfAbsent(parameter.name(), parameter);
+        if (known == null) {
+            return parameter;
+        }
+        if (!Objects.equals(known.property(), parameter.property())) {
+            throw new QueryException(Sofia.conflictingParameter(parameter.name(), describe(known), describe(parameter)));
+        }
+        return known;
+    }
+
+    /**
+     * Validates that the values given match the parameters defined.
+     *
+     * @param parameters the parameter names
+     * @param values     the values to bind
+     * @param complete   true if every parameter must have a value
+     */
+    public static void check(Set<String> parameters, Map<String, ?> values, boolean complete) {
+        for (String name : values.keySet()) {
+            if (!parameters.contains(name)) {
+                throw new QueryException(Sofia.unknownParameter(name, parameters));
+            }
+        }
+        if (complete) {
+            for (String name : parameters) {
+                if (!values.containsKey(name)) {
+                    throw new QueryException(Sofia.unboundParameter(name));
+                }
+            }
+        }
+    }
+
+    private static String describe(Parameter parameter) {
+        PropertyModel property = parameter.property();
+        return property != null ? property.getEntityModel().getName() + "#" + property.getName() : "an unmapped value";
+    }
+
+    /**
+     * Creates a copy of a compiled template with the parameters replaced by their bound values.
+     *
+     * @param datastore the datastore
+     * @param node      the compiled template node
+     * @param values    the values to bind
+     * @return the bound node
+     */
+    @Nullable
+    public static Object bind(MorphiaDatastore datastore, @Nullable Object node, Map<String, ?> values) {
+        if (node instanceof Parameter) {
+            Parameter parameter = (Parameter) node;
+            return parameter.encode(datastore, values.get(parameter.name()));
+        } else if (node instanceof Document) {
+            Document bound = new Document();
+            for (Entry<String, Object> entry : ((Document) node).entrySet()) {
+                bound.put(entry.getKey(), bind(datastore, entry.getValue(), values));
+            }
+            return bound;
+        } else if (node instanceof List) {
+            List<Object> bound = new ArrayList<>();
+            for (Object o : (List<?>) node) {
+                bound.add(bind(datastore, o, values));
+            }
+            return bound;
+        }
+        return node;
+    }
+}
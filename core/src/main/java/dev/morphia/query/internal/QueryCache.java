@@ -0,0 +1,464 @@
+package dev.morphia.query.internal;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.config.MorphiaConfig;
+import dev.morphia.sofia.Sofia;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.configuration.CodecRegistry;
+
+/**
+ * Holds the results of recent queries until the collection they were read from changes. Each collection with cached results is watched
+ * by a change stream on a background thread and any change to the collection drops all of its results. Results are held in their
+ * encoded form, bounded by {@link MorphiaConfig#queryCacheSize()}, and dropped after {@link MorphiaConfig#queryCacheTtl()} regardless.
+ * <p>
+ * Results read while a collection changes are never cached: each watcher counts the changes it has seen and results are only kept if
+ * that count is the same when they have been read as it was when the query was sent.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class QueryCache {
+    private static final long RETRY_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private final MongoClient client;
+    private final DocumentCodec keyCodec;
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Watcher> watchers = new ConcurrentHashMap<>();
+    private final Map<String, Long> unwatchable = new ConcurrentHashMap<>();
+    private final AtomicLong changes = new AtomicLong();
+    private long bytes;
+    private volatile boolean closed;
+
+    /**
+     * @param client   the client to watch collections with
+     * @param registry the registry to encode query keys with
+     * @param config   the configuration
+     */
+    public QueryCache(MongoClient client, CodecRegistry registry, MorphiaConfig config) {
+        this.client = client;
+        keyCodec = new DocumentCodec(registry);
+        maxBytes = config.queryCacheSize();
+        ttlNanos = config.queryCacheTtl().toNanos();
+    }
+
+    /**
+     * Creates the key under which the results of a query are cached.
+     *
+     * @param namespace the collection queried
+     * @param type      the result type
+     * @param query     the encoded query
+     * @param options   the options which affect the results
+     * @return the key
+     * @see dev.morphia.query.FindOptions#cacheKey(dev.morphia.mapping.Mapper, Class)
+     */
+    public String key(MongoNamespace namespace, Class<?> type, Document query, Document options) {
+        return new Document("ns", namespace.getFullName())
+                .append("type", type.getName())
+                .append("filter", query)
+                .append("options", options)
+                .toJson(keyCodec);
+    }
+
+    /**
+     * @param key the query key
+     * @return a cursor over the cached results or null if none are cached
+     */
+    @Nullable
+    public MongoCursor<RawBsonDocument> find(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.created > ttlNanos) {
+                remove(key);
+                return null;
+            }
+            return new ListCursor(entry.documents, entry.address);
+        }
+    }
+
+    /**
+     * Wraps the cursor of a query which missed the cache so that its results are cached once they have all been read.
+     *
+     * @param namespace the collection queried
+     * @param key       the query key
+     * @param cursor    the query results
+     * @return the wrapped cursor or the original if changes to the collection can not be watched
+     */
+    public MongoCursor<RawBsonDocument> record(MongoNamespace namespace, String key, MongoCursor<RawBsonDocument> cursor) {
+        long seen = changesSeen(namespace.getFullName());
+        return seen < 0 ? cursor : new RecordingCursor(cursor, namespace.getFullName(), key, seen);
+    }
+
+    /**
+     * Drops all cached results. Collections are no longer watched until they are queried again.
+     */
+    public void clear() {
+        watchers.values().forEach(Watcher::stop);
+        watchers.clear();
+        synchronized (entries) {
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    /**
+     * @return the number of cached results
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Stops watching all collections and drops all cached results
+     */
+    public void close() {
+        closed = true;
+        clear();
+    }
+
+    /**
+     * Returns the number of changes seen on the collection, starting to watch it if needed. Results are only worth caching once the
+     * collection is watched since otherwise they could not be dropped when it changes.
+     */
+    private long changesSeen(String namespace) {
+        if (closed) {
+            return -1;
+        }
+        Long retryAt = unwatchable.get(namespace);
+        if (retryAt != null) {
+            if (System.nanoTime() - retryAt < 0) {
+                return -1;
+            }
+            unwatchable.remove(namespace);
+        }
+        try {
+            Watcher watcher = watchers.get(namespace);
+            if (watcher == null) {
+                watcher = watch(namespace);
+            }
+            long seen = watcher.seen;
+            if (!watcher.running) {
+                watchers.remove(namespace, watcher);
+                return -1;
+            }
+            return seen;
+        } catch (RuntimeException e) {
+            unwatchable.put(namespace, System.nanoTime() + RETRY_NANOS);
+            Sofia.logQueryCacheUnwatched(namespace, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Opens the change stream outside of the map so that other collections are not held up by it. Should another thread have started
+     * watching the same collection meanwhile, its watcher is used and this one stopped.
+     */
+    private Watcher watch(String namespace) {
+        Watcher watcher = new Watcher(namespace);
+        Watcher existing = watchers.putIfAbsent(namespace, watcher);
+        if (existing != null) {
+            watcher.discard();
+            return existing;
+        }
+        if (closed) {
+            watchers.remove(namespace, watcher);
+            watcher.discard();
+        } else {
+            watcher.start();
+        }
+        return watcher;
+    }
+
+    private void store(String namespace, String key, long seen, List<RawBsonDocument> documents, ServerAddress address, long size) {
+        synchronized (entries) {
+            Watcher watcher = watchers.get(namespace);
+            if (closed || watcher == null || !watcher.running || watcher.seen != seen) {
+                return;
+            }
+            remove(key);
+            Entry entry = new Entry(namespace, documents, address, size + key.length() * 2L);
+            entries.put(key, entry);
+            bytes += entry.size;
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().size;
+                eldest.remove();
+            }
+        }
+    }
+
+    private void invalidate(String namespace) {
+        synchronized (entries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.namespace.equals(namespace)) {
+                    bytes -= entry.size;
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.size;
+        }
+    }
+
+    private static final class Entry {
+        private final String namespace;
+        private final List<RawBsonDocument> documents;
+        private final ServerAddress address;
+        private final long size;
+        private final long created = System.nanoTime();
+
+        private Entry(String namespace, List<RawBsonDocument> documents, ServerAddress address, long size) {
+            this.namespace = namespace;
+            this.documents = documents;
+            this.address = address;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Drops a collection's cached results whenever it changes. Only the event type is read from the stream since any change drops all
+     * the collection's results. If the stream fails, all of the results are dropped and the collection is watched again by the next
+     * query which misses the cache.
+     */
+    private final class Watcher implements Runnable {
+        private final String namespace;
+        private final MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+        private volatile long seen = changes.incrementAndGet();
+        private volatile boolean running = true;
+
+        private Watcher(String namespace) {
+            this.namespace = namespace;
+            MongoNamespace parsed = new MongoNamespace(namespace);
+            cursor = client.getDatabase(parsed.getDatabaseName())
+                    .getCollection(parsed.getCollectionName())
+                    .watch(List.of(Aggregates.project(Projections.include("operationType"))))
+                    .maxAwaitTime(1, TimeUnit.SECONDS)
+                    .cursor();
+        }
+
+        private void start() {
+            Thread thread = new Thread(this, "morphia-query-cache-" + new MongoNamespace(namespace).getCollectionName());
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null && running) {
+                        changed();
+                        if (change.getOperationTypeString() != null && change.getOperationTypeString().equals("invalidate")) {
+                            break;
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (running && !closed) {
+                    Sofia.logQueryCacheUnwatched(namespace, e.getMessage());
+                }
+            } finally {
+                boolean watched = watchers.remove(namespace, this);
+                running = false;
+                if (watched) {
+                    changed();
+                }
+                cursor.close();
+            }
+        }
+
+        private void changed() {
+            seen = changes.incrementAndGet();
+            invalidate(namespace);
+        }
+
+        private void stop() {
+            running = false;
+        }
+
+        /**
+         * Closes the stream of a watcher which was never started
+         */
+        private void discard() {
+            running = false;
+            cursor.close();
+        }
+    }
+
+    /**
+     * Keeps the documents read from a query and caches them once the query has been read to the end. Results too large to cache are
+     * let go as soon as that is known.
+     */
+    private final class RecordingCursor implements MongoCursor<RawBsonDocument> {
+        private final MongoCursor<RawBsonDocument> cursor;
+        private final String namespace;
+        private final String key;
+        private final long seen;
+        @Nullable
+        private List<RawBsonDocument> documents = new ArrayList<>();
+        private long size;
+
+        private RecordingCursor(MongoCursor<RawBsonDocument> cursor, String namespace, String key, long seen) {
+            this.cursor = cursor;
+            this.namespace = namespace;
+            this.key = key;
+            this.seen = seen;
+        }
+
+        @Override
+        public void close() {
+            if (cursor.getServerCursor() == null && cursor.available() == 0) {
+                complete();
+            }
+            documents = null;
+            cursor.close();
+        }
+
+        @Override
+        public boolean hasNext() {
+            boolean hasNext = cursor.hasNext();
+            if (!hasNext) {
+                complete();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public RawBsonDocument next() {
+            return keep(cursor.next());
+        }
+
+        @Override
+        public int available() {
+            return cursor.available();
+        }
+
+        @Override
+        @Nullable
+        public RawBsonDocument tryNext() {
+            RawBsonDocument next = cursor.tryNext();
+            return next != null ? keep(next) : null;
+        }
+
+        @Override
+        @Nullable
+        public ServerCursor getServerCursor() {
+            return cursor.getServerCursor();
+        }
+
+        @Override
+        public ServerAddress getServerAddress() {
+            return cursor.getServerAddress();
+        }
+
+        private RawBsonDocument keep(RawBsonDocument document) {
+            List<RawBsonDocument> kept = documents;
+            if (kept != null) {
+                size += document.getByteBuffer().remaining();
+                if (size > maxBytes) {
+                    documents = null;
+                } else {
+                    kept.add(document);
+                }
+            }
+            return document;
+        }
+
+        private void complete() {
+            List<RawBsonDocument> kept = documents;
+            if (kept != null) {
+                documents = null;
+                store(namespace, key, seen, kept, cursor.getServerAddress(), size);
+            }
+        }
+    }
+
+    private static final class ListCursor implements MongoCursor<RawBsonDocument> {
+        private final List<RawBsonDocument> documents;
+        private final ServerAddress address;
+        private int position;
+
+        private ListCursor(List<RawBsonDocument> documents, ServerAddress address) {
+            this.documents = documents;
+            this.address = address;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < documents.size();
+        }
+
+        @Override
+        public RawBsonDocument next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return documents.get(position++);
+        }
+
+        @Override
+        public int available() {
+            return documents.size() - position;
+        }
+
+        @Override
+        @Nullable
+        public RawBsonDocument tryNext() {
+            return hasNext() ? documents.get(position++) : null;
+        }
+
+        @Override
+        @Nullable
+        public ServerCursor getServerCursor() {
+            return null;
+        }
+
+        @Override
+        public ServerAddress getServerAddress() {
+            return address;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
+import dev.morphia.query.Parameter;
 import dev.morphia.query.Query;
 import dev.morphia.query.filters.Filter;
 import dev.morphia.sofia.Sofia;
@@ -126,6 +127,20 @@ public final class UpdateOperators {
         return new UpdateOperator("$inc", field, value);
     }
 
+    /**
+     * Increments the value of the field by the amount bound to the parameter.
+     *
+     * @param field the field to increment
+     * @param value the parameter holding the number to increment by
+     * @return the update operator
+     * @update.operator $inc
+     * @see Query#prepareUpdate(UpdateOperator, UpdateOperator...)
+     * @since 3.0
+     */
+    public static UpdateOperator inc(String field, Parameter value) {
+        return new UpdateOperator("$inc", field, value);
+    }
+
     /**
      * Only updates the field if the specified value is greater than the existing field value.
      *
@@ -138,6 +153,20 @@ public final class UpdateOperators {
         return new UpdateOperator("$max", field, value);
     }
 
+    /**
+     * Only updates the field if the value bound to the parameter is greater than the existing field value.
+     *
+     * @param field the field to update
+     * @param value the parameter holding the max value to apply
+     * @return the update operator
+     * @update.operator $max
+     * @see Query#prepareUpdate(UpdateOperator, UpdateOperator...)
+     * @since 3.0
+     */
+    public static UpdateOperator max(String field, Parameter value) {
+        return new UpdateOperator("$max", field, value);
+    }
+
     /**
      * Only updates the field if the specified value is greater than the existing field value.
      *
@@ -176,6 +205,20 @@ public final class UpdateOperators {
         return new UpdateOperator("$min", field, value);
     }
 
+    /**
+     * Only updates the field if the value bound to the parameter is less than the existing field value.
+     *
+     * @param field the field to update
+     * @param value the parameter holding the min value to apply
+     * @return the update operator
+     * @update.operator $min
+     * @see Query#prepareUpdate(UpdateOperator, UpdateOperator...)
+     * @since 3.0
+     */
+    public static UpdateOperator min(String field, Parameter value) {
+        return new UpdateOperator("$min", field, value);
+    }
+
     /**
      * Only updates the field if the specified value is less than the existing field value.
      *
@@ -214,6 +257,20 @@ public final class UpdateOperators {
         return new UpdateOperator("$mul", field, value);
     }
 
+    /**
+     * Multiplies the value of the field by the amount bound to the parameter.
+     *
+     * @param field the field to multiply
+     * @param value the parameter holding the number to multiply by
+     * @return the update operator
+     * @update.operator $mul
+     * @see Query#prepareUpdate(UpdateOperator, UpdateOperator...)
+     * @since 3.0
+     */
+    public static UpdateOperator mul(String field, Parameter value) {
+        return new UpdateOperator("$mul", field, value);
+    }
+
     /**
      * The $bit operator performs a bitwise update of a field. The operator supports bitwise and, bitwise or, and bitwise xor (i.e.
      * exclusive or) operations.
@@ -8,4 +8,9 @@ import dev.morphia.Datastore;
  * Wraps a ClientSession reference for convenient use of MongoDB's multidocument transaction support.
  */
 public interface MorphiaSession extends Datastore, ClientSession {
+    /**
+     * Closes the session. The datastore the session was started from is left open.
+     */
+    @Override
+    void close();
 }
@@ -1,11 +1,13 @@
 package dev.morphia.transactions;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import com.mongodb.ClientSessionOptions;
 import com.mongodb.ServerAddress;
 import com.mongodb.TransactionOptions;
 import com.mongodb.client.ClientSession;
+import com.mongodb.client.DistinctIterable;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.TransactionBody;
@@ -25,8 +27,10 @@ import dev.morphia.MorphiaDatastore;
 import dev.morphia.ReplaceOptions;
 import dev.morphia.UpdateOptions;
 import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.internal.ChangeTracker;
 import dev.morphia.query.CountOptions;
 import dev.morphia.query.FindAndDeleteOptions;
+import dev.morphia.query.internal.QueryCache;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
@@ -43,6 +47,10 @@ import org.bson.Document;
 public class SessionDatastore extends MorphiaDatastore implements MorphiaSession {
 
     private final ClientSession session;
+    @Nullable
+    private final TransactionWriteQueue writes;
+    @Nullable
+    private ChangeTracker transactionTracker;
 
     /**
      * Creates a new session.
@@ -53,8 +61,14 @@ public class SessionDatastore extends MorphiaDatastore implements MorphiaSession
     @SuppressFBWarnings("EI_EXPOSE_REP2")
     public SessionDatastore(MorphiaDatastore datastore, ClientSession session) {
         super(datastore);
-        operations(new TransactionalOperations());
         this.session = session;
+        if (getMapper().getConfig().batchTransactionWrites()) {
+            writes = new TransactionWriteQueue(session, getMapper());
+            operations(new BatchingOperations(writes));
+        } else {
+            writes = null;
+            operations(new TransactionalOperations());
+        }
     }
 
     @Override
@@ -85,27 +99,35 @@ public class SessionDatastore extends MorphiaDatastore implements MorphiaSession
 
     @Override
     public void startTransaction() {
+        discardWrites();
         session.startTransaction();
+        trackTransaction();
     }
 
     @Override
     public void startTransaction(TransactionOptions transactionOptions) {
+        discardWrites();
         session.startTransaction(transactionOptions);
+        trackTransaction();
     }
 
     @Override
     public void commitTransaction() {
+        flushWrites();
         session.commitTransaction();
+        commitTracked();
     }
 
     @Override
     public void abortTransaction() {
+        discardWrites();
+        transactionTracker = null;
         session.abortTransaction();
     }
 
     @Override
     public <T> T withTransaction(TransactionBody<T> transactionBody) {
-        return session.withTransaction(transactionBody);
+        return committed(() -> session.withTransaction(batched(transactionBody)));
     }
 
     @Override
@@ -115,7 +137,93 @@ public class SessionDatastore extends MorphiaDatastore implements MorphiaSession
 
     @Override
     public <T> T withTransaction(TransactionBody<T> transactionBody, TransactionOptions options) {
-        return session.withTransaction(transactionBody, options);
+        return committed(() -> session.withTransaction(batched(transactionBody), options));
+    }
+
+    /**
+     * Reads made through a session bypass the query cache since they may be part of a transaction or rely on the session's causal
+     * consistency, neither of which cached results honor.
+     *
+     * @return null
+     */
+    @Override
+    @Nullable
+    public QueryCache queryCache() {
+        return null;
+    }
+
+    /**
+     * Changes to entities saved or loaded within a transaction are tracked apart from the datastore's so that an aborted transaction
+     * leaves the datastore's view of what has been written untouched.
+     *
+     * @return the change tracker for the current transaction, if any, or the datastore's
+     * @hidden
+     * @morphia.internal
+     */
+    @Override
+    @Nullable
+    @MorphiaInternal
+    public ChangeTracker changeTracker() {
+        return transactionTracker != null ? transactionTracker : super.changeTracker();
+    }
+
+    /**
+     * Sends any writes queued in the current transaction.
+     *
+     * @see dev.morphia.config.MorphiaConfig#batchTransactionWrites()
+     * @since 3.0
+     */
+    @Override
+    public void flushWrites() {
+        if (writes != null) {
+            writes.flush();
+        }
+    }
+
+    private void discardWrites() {
+        if (writes != null) {
+            writes.clear();
+        }
+    }
+
+    private void trackTransaction() {
+        ChangeTracker tracker = super.changeTracker();
+        transactionTracker = tracker != null ? tracker.transaction() : null;
+    }
+
+    private void commitTracked() {
+        if (transactionTracker != null) {
+            transactionTracker.commit();
+            transactionTracker = null;
+        }
+    }
+
+    private <T> T committed(Supplier<T> transaction) {
+        try {
+            T result = transaction.get();
+            commitTracked();
+            return result;
+        } finally {
+            transactionTracker = null;
+        }
+    }
+
+    /**
+     * Wraps a transaction body so that each attempt starts with no queued writes or tracked changes and sends its writes before the
+     * transaction commits.
+     */
+    private <T> TransactionBody<T> batched(TransactionBody<T> body) {
+        TransactionWriteQueue queue = writes;
+        return () -> {
+            trackTransaction();
+            if (queue == null) {
+                return body.execute();
+            }
+            queue.clear();
+            T result = body.execute();
+            queue.flush();
+            return result;
+        };
     }
 
     /**
@@ -203,6 +311,11 @@ public class SessionDatastore extends MorphiaDatastore implements MorphiaSession
             return collection.deleteOne(session, queryDocument, options);
         }
 
+        @Override
+        public <T, V> DistinctIterable<V> distinct(MongoCollection<T> collection, String field, Document query, Class<V> type) {
+            return collection.distinct(session, field, query, type);
+        }
+
         @Override
         public <E> FindIterable<E> find(MongoCollection<E> collection, Document query) {
             return collection.find(session, query);
@@ -265,6 +378,118 @@ public class SessionDatastore extends MorphiaDatastore implements MorphiaSession
         }
     }
 
+    /**
+     * Queues inserts and replacements made within a transaction. Every other operation first sends the queued writes so that it sees,
+     * or is ordered after, everything written before it.
+     */
+    private class BatchingOperations extends TransactionalOperations {
+        private final TransactionWriteQueue queue;
+
+        BatchingOperations(TransactionWriteQueue queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public <T> long countDocuments(MongoCollection<T> collection, Document query, CountOptions options) {
+            flushWrites();
+            return super.countDocuments(collection, query, options);
+        }
+
+        @Override
+        public <T> DeleteResult deleteMany(MongoCollection<T> collection, Document queryDocument, DeleteOptions options) {
+            flushWrites();
+            return super.deleteMany(collection, queryDocument, options);
+        }
+
+        @Override
+        public <T> DeleteResult deleteOne(MongoCollection<T> collection, Document queryDocument, DeleteOptions options) {
+            flushWrites();
+            return super.deleteOne(collection, queryDocument, options);
+        }
+
+        @Override
+        public <T, V> DistinctIterable<V> distinct(MongoCollection<T> collection, String field, Document query, Class<V> type) {
+            flushWrites();
+            return super.distinct(collection, field, query, type);
+        }
+
+        @Override
+        public <E> FindIterable<E> find(MongoCollection<E> collection, Document query) {
+            flushWrites();
+            return super.find(collection, query);
+        }
+
+        @Override
+        public <T> T findOneAndDelete(MongoCollection<T> mongoCollection, Document queryDocument, FindAndDeleteOptions options) {
+            flushWrites();
+            return super.findOneAndDelete(mongoCollection, queryDocument, options);
+        }
+
+        @Override
+        public <T> T findOneAndUpdate(MongoCollection<T> collection, Document query, Document update, ModifyOptions options) {
+            flushWrites();
+            return super.findOneAndUpdate(collection, query, update, options);
+        }
+
+        @Override
+        public <T> InsertManyResult insertMany(MongoCollection<T> collection, List<T> list, InsertManyOptions options) {
+            if (!session.hasActiveTransaction()) {
+                return super.insertMany(collection, list, options);
+            }
+            return queue.insert(collection, list, options.bypassDocumentValidation());
+        }
+
+        @Override
+        public <T> InsertOneResult insertOne(MongoCollection<T> collection, T entity, InsertOneOptions options) {
+            if (!session.hasActiveTransaction()) {
+                return super.insertOne(collection, entity, options);
+            }
+            return queue.insert(collection, entity, options.bypassDocumentValidation());
+        }
+
+        @Override
+        public <T> UpdateResult replaceOne(MongoCollection<T> collection, T entity, Document filter, ReplaceOptions options) {
+            if (!session.hasActiveTransaction()) {
+                return super.replaceOne(collection, entity, filter, options);
+            }
+            return queue.replace(collection, entity, filter, options);
+        }
+
+        @Override
+        public Document runCommand(Document command) {
+            flushWrites();
+            return super.runCommand(command);
+        }
+
+        @Override
+        public <T> UpdateResult updateMany(MongoCollection<T> collection, Document query, Document updates,
+                UpdateOptions options) {
+            flushWrites();
+            return super.updateMany(collection, query, updates, options);
+        }
+
+        @Override
+        public <T> UpdateResult updateMany(MongoCollection<T> collection, Document query, List<Document> updates,
+                UpdateOptions options) {
+            flushWrites();
+            return super.updateMany(collection, query, updates, options);
+        }
+
+        @Override
+        public <T> UpdateResult updateOne(MongoCollection<T> collection, Document query, Document updates,
+                UpdateOptions options) {
+            flushWrites();
+            return super.updateOne(collection, query, updates, options);
+        }
+
+        @Override
+        public <T> UpdateResult updateOne(MongoCollection<T> collection, Document query, List<Document> updates,
+                UpdateOptions options) {
+            flushWrites();
+            return super.updateOne(collection, query, updates, options);
+        }
+    }
+
     @Override
     public void setSnapshotTimestamp(BsonTimestamp bsonTimestamp) {
         session.setSnapshotTimestamp(bsonTimestamp);
@@ -277,6 +502,8 @@ public class SessionDatastore extends MorphiaDatastore implements MorphiaSession
 
     @Override
     public void close() {
+        discardWrites();
+        transactionTracker = null;
         session.close();
     }
 }
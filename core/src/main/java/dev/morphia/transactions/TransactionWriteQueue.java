@@ -0,0 +1,282 @@
+package dev.morphia.transactions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.WriteError;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.InsertManyResult;
+import com.mongodb.client.result.InsertOneResult;
+import com.mongodb.client.result.UpdateResult;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.VersionMismatchException;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.MappingException;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+import static dev.morphia.sofia.Sofia.noDocumentsUpdated;
+
+/**
+ * Holds the inserts and replacements made within a transaction until they are needed. Consecutive writes to the same collection are
+ * sent as a single ordered bulk write so writes reach the server in the order they were made. Since a bulk write does not report which
+ * replacements matched nothing, the documents to be replaced are read first so that version mismatches and missing documents are
+ * reported as they would have been had each write been sent on its own. As nothing is known about a write until then, each queued
+ * write reports an unacknowledged result.
+ */
+final class TransactionWriteQueue {
+    private final ClientSession session;
+    private final Mapper mapper;
+    private final List<Batch> batches = new ArrayList<>();
+
+    TransactionWriteQueue(ClientSession session, Mapper mapper) {
+        this.session = session;
+        this.mapper = mapper;
+    }
+
+    <T> InsertOneResult insert(MongoCollection<T> collection, T entity, @Nullable Boolean bypassDocumentValidation) {
+        batch(collection, bypassDocumentValidation).add(new InsertOneModel<>(encode(collection, entity)), entity);
+        return InsertOneResult.unacknowledged();
+    }
+
+    <T> InsertManyResult insert(MongoCollection<T> collection, List<T> entities, @Nullable Boolean bypassDocumentValidation) {
+        Batch batch = batch(collection, bypassDocumentValidation);
+        for (T entity : entities) {
+            batch.add(new InsertOneModel<>(encode(collection, entity)), entity);
+        }
+        return InsertManyResult.unacknowledged();
+    }
+
+    <T> UpdateResult replace(MongoCollection<T> collection, T entity, Document filter, ReplaceOptions options) {
+        batch(collection, options.getBypassDocumentValidation())
+                .add(new ReplaceOneModel<>(filter, encode(collection, entity), options), entity, filter);
+        return UpdateResult.unacknowledged();
+    }
+
+    boolean isEmpty() {
+        return batches.isEmpty();
+    }
+
+    void clear() {
+        batches.clear();
+    }
+
+    /**
+     * Sends all queued writes. If any write fails, the remaining writes are discarded since the transaction can no longer commit.
+     */
+    void flush() {
+        if (batches.isEmpty()) {
+            return;
+        }
+        List<Batch> pending = new ArrayList<>(batches);
+        batches.clear();
+        for (Batch batch : pending) {
+            batch.write();
+        }
+    }
+
+    /**
+     * Writes are only added to the most recent batch so that a write is never sent ahead of one made before it.
+     */
+    private Batch batch(MongoCollection<?> collection, @Nullable Boolean bypassDocumentValidation) {
+        Target target = new Target(collection.getNamespace().getFullName(), bypassDocumentValidation);
+        Batch last = batches.isEmpty() ? null : batches.get(batches.size() - 1);
+        if (last == null || !last.target.equals(target)) {
+            last = new Batch(target, collection.withDocumentClass(RawBsonDocument.class));
+            batches.add(last);
+        }
+        return last;
+    }
+
+    /**
+     * Encodes the entity as it is now so that later changes to it are not written by this operation. Ids are normally assigned by the
+     * driver as a document is written so they are assigned here, too, so that the entity has its id as soon as the insert call returns.
+     */
+    private <T> RawBsonDocument encode(MongoCollection<T> collection, T entity) {
+        Codec<T> codec = (Codec<T>) collection.getCodecRegistry().get(entity.getClass());
+        if (codec instanceof CollectibleCodec) {
+            ((CollectibleCodec<T>) codec).generateIdIfAbsentFromDocument(entity);
+        }
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            codec.encode(writer, entity, EncoderContext.builder().isEncodingCollectibleDocument(true).build());
+        }
+        return new RawBsonDocument(buffer.toByteArray());
+    }
+
+    private final class Batch {
+        private final Target target;
+        private final MongoCollection<RawBsonDocument> collection;
+        private final BulkWriteOptions options;
+        private final List<WriteModel<RawBsonDocument>> models = new ArrayList<>();
+        private final List<Write> writes = new ArrayList<>();
+
+        private Batch(Target target, MongoCollection<RawBsonDocument> collection) {
+            this.target = target;
+            this.collection = collection;
+            options = new BulkWriteOptions()
+                    .ordered(true)
+                    .bypassDocumentValidation(target.bypassDocumentValidation);
+        }
+
+        private void add(InsertOneModel<RawBsonDocument> model, Object entity) {
+            models.add(model);
+            writes.add(new Write(entity, model.getDocument(), null, true));
+        }
+
+        private void add(ReplaceOneModel<RawBsonDocument> model, Object entity, Document filter) {
+            models.add(model);
+            writes.add(new Write(entity, model.getReplacement(), filter, model.getReplaceOptions().isUpsert()));
+        }
+
+        private void write() {
+            verify();
+            try {
+                collection.bulkWrite(session, models, options);
+            } catch (MongoBulkWriteException e) {
+                if (e.getWriteErrors().isEmpty()) {
+                    throw e;
+                }
+                BulkWriteError error = e.getWriteErrors().get(0);
+                writes.get(error.getIndex()).rollbackVersion();
+                throw new MongoWriteException(new WriteError(error.getCode(), error.getMessage(), error.getDetails()),
+                        e.getServerAddress());
+            }
+        }
+
+        /**
+         * A replacement which matches no document would go unnoticed in a bulk write. So the documents to be replaced are read first
+         * and each write is played against them in order to find any replacement which would not match.
+         */
+        private void verify() {
+            List<BsonValue> ids = writes.stream()
+                    .filter(write -> !write.always)
+                    .map(Write::id)
+                    .distinct()
+                    .collect(Collectors.toList());
+            if (ids.isEmpty()) {
+                return;
+            }
+            Map<BsonValue, BsonDocument> current = new HashMap<>();
+            collection.withDocumentClass(BsonDocument.class)
+                    .find(session, new Document("_id", new Document("$in", ids)))
+                    .forEach(document -> current.put(document.get("_id"), document));
+            for (Write write : writes) {
+                if (!write.always && !write.matches(current.get(write.id()))) {
+                    write.fail();
+                }
+                current.put(write.id(), write.document);
+            }
+        }
+    }
+
+    private final class Write {
+        private final Object entity;
+        private final BsonDocument document;
+        @Nullable
+        private final Document filter;
+        private final boolean always;
+        @Nullable
+        private final PropertyModel versionProperty;
+
+        /**
+         * @param always true if this write applies regardless of what is in the database, as inserts and upserts do
+         */
+        private Write(Object entity, BsonDocument document, @Nullable Document filter, boolean always) {
+            this.entity = entity;
+            this.document = document;
+            this.filter = filter;
+            this.always = always;
+            versionProperty = mapper.getEntityModel(entity.getClass()).getVersionProperty();
+        }
+
+        private BsonValue id() {
+            return document.get("_id");
+        }
+
+        private boolean matches(@Nullable BsonDocument existing) {
+            if (existing == null) {
+                return false;
+            }
+            if (versionProperty == null) {
+                return true;
+            }
+            BsonValue version = existing.get(versionProperty.getMappedName());
+            Object expected = Objects.requireNonNull(filter).get(versionProperty.getMappedName());
+            return version != null && version.isNumber() && expected != null
+                    && version.asNumber().longValue() == ((Number) expected).longValue();
+        }
+
+        private void fail() {
+            Object id = Objects.requireNonNull(filter).get("_id");
+            if (versionProperty != null) {
+                rollbackVersion();
+                throw new VersionMismatchException(entity.getClass(), id);
+            }
+            throw new MappingException(noDocumentsUpdated(id));
+        }
+
+        private void rollbackVersion() {
+            if (versionProperty == null) {
+                return;
+            }
+            if (filter != null) {
+                versionProperty.setValue(entity, filter.get(versionProperty.getMappedName()));
+            } else {
+                long previous = (Long) versionProperty.getValue(entity) - 1;
+                versionProperty.setValue(entity, previous == 0 && !versionProperty.getType().isPrimitive() ? null : previous);
+            }
+        }
+    }
+
+    private static final class Target {
+        private final String namespace;
+        @Nullable
+        private final Boolean bypassDocumentValidation;
+
+        private Target(String namespace, @Nullable Boolean bypassDocumentValidation) {
+            this.namespace = namespace;
+            this.bypassDocumentValidation = bypassDocumentValidation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Target)) {
+                return false;
+            }
+            Target other = (Target) o;
+            return namespace.equals(other.namespace) && Objects.equals(bypassDocumentValidation, other.bypassDocumentValidation);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(namespace, bypassDocumentValidation);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package dev.morphia.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
+
+import dev.morphia.InsertOneOptions;
+import dev.morphia.VersionMismatchException;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.PrePersist;
+import dev.morphia.annotations.Transient;
+import dev.morphia.annotations.Version;
+import dev.morphia.transactions.MorphiaSession;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static dev.morphia.query.filters.Filters.eq;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+
+public class TestChangeTracking extends TestBase {
+    public TestChangeTracking() {
+        super(buildConfig(Tracked.class, VersionedTracked.class)
+                .trackChanges(true));
+    }
+
+    @Test
+    public void onlyChangedFieldsAreWritten() {
+        Tracked tracked = new Tracked();
+        tracked.name = "original";
+        tracked.description = "original";
+        tracked.address = new Address("Main St", "Springfield");
+        getDs().save(tracked);
+
+        Tracked loaded = getDs().find(Tracked.class).filter(eq("_id", tracked.id)).first();
+        MongoCollection<Document> collection = getDocumentCollection(Tracked.class);
+        collection.updateOne(new Document("_id", tracked.id), new Document("$set", new Document("description", "concurrent")
+                .append("address.city", "Shelbyville")));
+
+        loaded.name = "updated";
+        loaded.address.street = "Elm St";
+        getDs().save(loaded);
+
+        Document document = collection.find(new Document("_id", tracked.id)).first();
+        assertEquals(document.getString("name"), "updated");
+        assertEquals(document.getString("description"), "concurrent");
+        assertEquals(document.get("address", Document.class).getString("street"), "Elm St");
+        assertEquals(document.get("address", Document.class).getString("city"), "Shelbyville");
+    }
+
+    @Test
+    public void removedFieldsAreUnset() {
+        Tracked tracked = new Tracked();
+        tracked.name = "name";
+        tracked.description = "description";
+        tracked.tags.add("tag");
+        getDs().save(tracked);
+
+        Tracked loaded = getDs().find(Tracked.class).filter(eq("_id", tracked.id)).first();
+        loaded.description = null;
+        loaded.tags.add("another");
+        getDs().save(loaded);
+
+        Document document = getDocumentCollection(Tracked.class).find(new Document("_id", tracked.id)).first();
+        assertFalse(document.containsKey("description"));
+        assertEquals(document.getList("tags", String.class), List.of("tag", "another"));
+    }
+
+    @Test
+    public void unchangedEntitiesAreNotWritten() {
+        Tracked tracked = new Tracked();
+        tracked.name = "original";
+        getDs().save(tracked);
+
+        Tracked loaded = getDs().find(Tracked.class).filter(eq("_id", tracked.id)).first();
+        getDocumentCollection(Tracked.class).updateOne(new Document("_id", tracked.id),
+                new Document("$set", new Document("name", "concurrent")));
+        getDs().save(loaded);
+
+        assertEquals(getDs().find(Tracked.class).filter(eq("_id", tracked.id)).first().name, "concurrent");
+    }
+
+    @Test
+    public void abortedTransactions() {
+        checkForReplicaSet();
+        Tracked tracked = new Tracked();
+        tracked.name = "original";
+        getDs().save(tracked);
+
+        Tracked loaded = getDs().find(Tracked.class).filter(eq("_id", tracked.id)).first();
+        try (MorphiaSession session = getDs().startSession()) {
+            session.startTransaction();
+            loaded.name = "aborted";
+            session.save(loaded);
+            session.abortTransaction();
+        }
+        getDs().save(loaded);
+
+        assertEquals(getDs().find(Tracked.class).filter(eq("_id", tracked.id)).first().name, "aborted");
+    }
+
+    @Test
+    public void versioning() {
+        VersionedTracked tracked = new VersionedTracked();
+        tracked.name = "original";
+        getDs().save(tracked);
+        assertEquals(tracked.version, 1L);
+
+        VersionedTracked loaded = getDs().find(VersionedTracked.class).filter(eq("_id", tracked.id)).first();
+        getDs().save(loaded);
+        assertEquals(loaded.version, 1L);
+
+        loaded.name = "updated";
+        getDs().save(loaded);
+        assertEquals(loaded.version, 2L);
+        Document document = getDocumentCollection(VersionedTracked.class).find().first();
+        assertEquals(document.getLong("version"), 2L);
+        assertEquals(document.getString("name"), "updated");
+
+        tracked.name = "stale";
+        assertThrows(VersionMismatchException.class, () -> getDs().save(tracked));
+        assertEquals(tracked.version, 1L);
+    }
+
+    @Test
+    public void deletedDocumentsAreWrittenInFull() {
+        Tracked tracked = new Tracked();
+        tracked.name = "original";
+        tracked.description = "description";
+        getDs().save(tracked);
+
+        Tracked loaded = getDs().find(Tracked.class).filter(eq("_id", tracked.id)).first();
+        getDocumentCollection(Tracked.class).deleteMany(new Document());
+        loaded.name = "updated";
+        getDs().save(loaded);
+        assertEquals(loaded.persisted, 1, "Lifecycle methods should run once per save");
+
+        Tracked saved = getDs().find(Tracked.class).filter(eq("_id", tracked.id)).first();
+        assertEquals(saved.name, "updated");
+        assertEquals(saved.description, "description");
+    }
+
+    @Test
+    public void unacknowledgedWrites() {
+        Tracked tracked = new Tracked();
+        tracked.name = "original";
+        getDs().save(tracked);
+
+        Tracked loaded = getDs().find(Tracked.class).filter(eq("_id", tracked.id)).first();
+        loaded.name = "updated";
+        getDs().save(loaded, new InsertOneOptions().writeConcern(WriteConcern.UNACKNOWLEDGED));
+        assertEquals(loaded.persisted, 1);
+    }
+
+    @Entity
+    private static class Tracked {
+        @Id
+        private ObjectId id;
+        private String name;
+        private String description;
+        private Address address;
+        private List<String> tags = new ArrayList<>();
+        @Transient
+        private int persisted;
+
+        @PrePersist
+        void prePersist() {
+            persisted++;
+        }
+    }
+
+    @Entity
+    private static class Address {
+        private String street;
+        private String city;
+
+        Address() {
+        }
+
+        Address(String street, String city) {
+            this.street = street;
+            this.city = city;
+        }
+    }
+
+    @Entity
+    private static class VersionedTracked {
+        @Id
+        private ObjectId id;
+        private String name;
+        @Version
+        private Long version;
+    }
+}
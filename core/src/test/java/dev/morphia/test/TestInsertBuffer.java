@@ -0,0 +1,180 @@
+package dev.morphia.test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.MongoBulkWriteException;
+
+import dev.morphia.InsertBuffer;
+import dev.morphia.InsertBufferOptions;
+import dev.morphia.InsertManyOptions;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class TestInsertBuffer extends TestBase {
+    public TestInsertBuffer() {
+        super(buildConfig(Event.class, Alert.class));
+    }
+
+    @Test
+    public void batchSize() throws Exception {
+        try (InsertBuffer buffer = getDs().insertBuffer(new InsertBufferOptions()
+                .batchSize(10)
+                .flushInterval(Duration.ofHours(1)))) {
+            List<CompletableFuture<Event>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(buffer.insert(new Event(i)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+            assertNotNull(futures.get(0).get().id);
+            assertEquals(getDs().find(Event.class).count(), 10);
+
+            CompletableFuture<Event> pending = buffer.insert(new Event(10));
+            assertEquals(buffer.size(), 1);
+            buffer.flush().get(10, TimeUnit.SECONDS);
+            assertTrue(pending.isDone());
+            assertEquals(getDs().find(Event.class).count(), 11);
+        }
+    }
+
+    @Test
+    public void flushInterval() throws Exception {
+        try (InsertBuffer buffer = getDs().insertBuffer(new InsertBufferOptions()
+                .flushInterval(Duration.ofMillis(50)))) {
+            buffer.insert(new Event(1)).get(10, TimeUnit.SECONDS);
+            assertEquals(getDs().find(Event.class).count(), 1);
+        }
+    }
+
+    @Test
+    public void concurrentProducers() throws Exception {
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        List<CompletableFuture<Event>> futures = new ArrayList<>();
+        try (InsertBuffer buffer = getDs().insertBuffer(new InsertBufferOptions()
+                .batchSize(100)
+                .batchBytes(4096)
+                .capacity(200))) {
+            List<Future<List<CompletableFuture<Event>>>> submitted = new ArrayList<>();
+            for (int producer = 0; producer < 4; producer++) {
+                int offset = producer * 1000;
+                submitted.add(producers.submit(() -> {
+                    List<CompletableFuture<Event>> inserted = new ArrayList<>();
+                    for (int i = 0; i < 1000; i++) {
+                        inserted.add(buffer.insert(new Event(offset + i)));
+                    }
+                    return inserted;
+                }));
+            }
+            for (var future : submitted) {
+                futures.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            producers.shutdown();
+        }
+
+        assertTrue(futures.stream().allMatch(future -> future.isDone() && !future.isCompletedExceptionally()));
+        assertEquals(getDs().find(Event.class).count(), 4000);
+    }
+
+    @Test
+    public void failures() throws Exception {
+        Event existing = new Event(0);
+        getDs().insert(existing);
+
+        CompletableFuture<Event> duplicate;
+        CompletableFuture<Event> unique;
+        try (InsertBuffer buffer = getDs().insertBuffer(new InsertBufferOptions()
+                .insertOptions(new InsertManyOptions().ordered(false)))) {
+            Event copy = new Event(0);
+            copy.id = existing.id;
+            duplicate = buffer.insert(copy);
+            unique = buffer.insert(new Event(1));
+        }
+
+        ExecutionException exception = expectThrows(ExecutionException.class, duplicate::get);
+        assertTrue(exception.getCause() instanceof MongoBulkWriteException);
+        assertNotNull(unique.get().id);
+        assertEquals(getDs().find(Event.class).count(), 2);
+    }
+
+    @Test
+    public void orderedAcrossTypes() throws Exception {
+        Alert existing = new Alert();
+        getDs().insert(existing);
+
+        CompletableFuture<Event> before;
+        CompletableFuture<Alert> duplicate;
+        CompletableFuture<Event> after;
+        try (InsertBuffer buffer = getDs().insertBuffer(new InsertBufferOptions()
+                .flushInterval(Duration.ofHours(1)))) {
+            before = buffer.insert(new Event(1));
+            Alert copy = new Alert();
+            copy.id = existing.id;
+            duplicate = buffer.insert(copy);
+            after = buffer.insert(new Event(2));
+        }
+
+        assertNotNull(before.get().id);
+        assertThrows(ExecutionException.class, duplicate::get);
+        assertThrows(ExecutionException.class, after::get);
+        assertEquals(getDs().find(Event.class).count(), 1);
+    }
+
+    @Test
+    public void encodedOnInsert() throws Exception {
+        try (InsertBuffer buffer = getDs().insertBuffer(new InsertBufferOptions()
+                .flushInterval(Duration.ofHours(1)))) {
+            Event event = new Event(1);
+            CompletableFuture<Event> future = buffer.insert(event);
+            assertNotNull(event.id);
+            event.sequence = 2;
+            buffer.flush().get(10, TimeUnit.SECONDS);
+            assertEquals(future.get().sequence, 2);
+        }
+
+        assertEquals(getDs().find(Event.class).first().sequence, 1);
+    }
+
+    @Test
+    public void closed() {
+        InsertBuffer buffer = getDs().insertBuffer(new InsertBufferOptions());
+        buffer.close();
+        assertThrows(IllegalStateException.class, () -> buffer.insert(new Event(1)));
+    }
+
+    @Entity("alerts")
+    private static class Alert {
+        @Id
+        private ObjectId id;
+    }
+
+    @Entity("events")
+    private static class Event {
+        @Id
+        private ObjectId id;
+        private int sequence;
+
+        private Event() {
+        }
+
+        private Event(int sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
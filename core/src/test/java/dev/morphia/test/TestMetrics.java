@@ -0,0 +1,150 @@
+package dev.morphia.test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import dev.morphia.DeleteOptions;
+import dev.morphia.UpdateOptions;
+import dev.morphia.metrics.CodecSnapshot;
+import dev.morphia.metrics.CodecStatistics;
+import dev.morphia.metrics.InMemoryMetrics;
+import dev.morphia.metrics.OperationSnapshot;
+import dev.morphia.metrics.OperationType;
+import dev.morphia.metrics.QueryCapture;
+import dev.morphia.metrics.QueryCaptureLog;
+import dev.morphia.query.FindOptions;
+import dev.morphia.query.Query;
+import dev.morphia.test.models.User;
+
+import org.bson.Document;
+import org.testng.annotations.Test;
+
+import static dev.morphia.aggregation.stages.Sort.sort;
+import static dev.morphia.metrics.OperationType.AGGREGATE;
+import static dev.morphia.metrics.OperationType.COUNT;
+import static dev.morphia.metrics.OperationType.DELETE_MANY;
+import static dev.morphia.metrics.OperationType.FIND;
+import static dev.morphia.metrics.OperationType.INSERT_MANY;
+import static dev.morphia.metrics.OperationType.UPDATE_MANY;
+import static dev.morphia.query.Sort.descending;
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.filters.Filters.gte;
+import static dev.morphia.query.updates.UpdateOperators.inc;
+import static java.time.LocalDate.now;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+public class TestMetrics extends TestBase {
+    @Test
+    public void codecStatistics() {
+        CodecStatistics statistics = new CodecStatistics(true);
+        withConfig(buildConfig().codecStatistics(statistics), () -> {
+            getDs().save(List.of(new User("Mal", now()), new User("Zoe", now()), new User("Wash", now())));
+            getDs().find(User.class).iterator().toList();
+
+            List<CodecSnapshot> snapshots = statistics.snapshot();
+            assertEquals(snapshots.size(), 1);
+            CodecSnapshot snapshot = snapshots.get(0);
+            assertEquals(snapshot.type(), User.class);
+            assertTrue(snapshot.encodes() >= 3);
+            assertEquals(snapshot.decodes(), 3);
+            assertTrue(snapshot.encodeNanos() > 0);
+            assertTrue(snapshot.decodeNanos() > 0);
+            if (statistics.tracksAllocations()) {
+                assertTrue(snapshot.decodeBytes() > 0);
+            }
+
+            statistics.reset();
+            assertTrue(statistics.snapshot().isEmpty());
+        });
+    }
+
+    @Test
+    public void recordOperations() {
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        withConfig(buildConfig().metrics(metrics), () -> {
+            getDs().save(List.of(new User("Mal", now()), new User("Zoe", now()), new User("Wash", now())));
+            getDs().find(User.class).iterator().toList();
+            getDs().find(User.class).count();
+            getDs().find(User.class).update(new UpdateOptions().multi(true), inc("age", 20));
+            getDs().aggregate(User.class).sort(sort().ascending("name")).execute(User.class).toList();
+            getDs().find(User.class).filter(gte("age", 20)).delete(new DeleteOptions().multi(true));
+
+            Map<OperationType, OperationSnapshot> snapshots = metrics.snapshot().stream()
+                    .collect(Collectors.toMap(OperationSnapshot::operation, Function.identity()));
+
+            assertEquals(snapshots.get(INSERT_MANY).documents(), 3);
+            assertEquals(snapshots.get(FIND).documents(), 3);
+            assertEquals(snapshots.get(COUNT).count(), 1);
+            assertEquals(snapshots.get(UPDATE_MANY).documents(), 3);
+            assertEquals(snapshots.get(AGGREGATE).documents(), 3);
+            assertEquals(snapshots.get(DELETE_MANY).documents(), 3);
+            for (OperationSnapshot snapshot : snapshots.values()) {
+                assertEquals(snapshot.entity(), User.class);
+                assertEquals(snapshot.collection(), "users");
+                assertEquals(snapshot.failures(), 0);
+                assertTrue(snapshot.maxNanos() > 0);
+                assertTrue(snapshot.percentile(0.5) <= snapshot.maxNanos());
+            }
+        });
+    }
+
+    @Test
+    public void captureLoggedQuery() {
+        getDs().save(List.of(new User("Mal", now()), new User("Zoe", now())));
+
+        FindOptions options = new FindOptions()
+                .logQuery()
+                .sort(descending("age"));
+        options.projection().include("name");
+        Query<User> query = getDs().find(User.class).filter(eq("name", "Zoe"));
+        query.iterator(options).toList();
+
+        QueryCapture capture = query.getQueryCapture();
+        assertEquals(capture.entity(), User.class);
+        assertEquals(capture.collection(), "users");
+        assertDocumentEquals(capture.filter(), new Document("name", "Zoe"));
+        assertEquals(capture.sort(), new Document("age", -1));
+        assertEquals(capture.projection().get("name"), 1);
+        assertTrue(capture.executionNanos() > 0);
+        assertDocumentEquals(Document.parse(query.getLoggedQuery()), new Document("name", "Zoe"));
+
+        query.iterator().toList();
+        assertThrows(IllegalStateException.class, query::getLoggedQuery);
+    }
+
+    @Test
+    public void captureSlowQueries() {
+        QueryCaptureLog captures = new QueryCaptureLog(2, Duration.ZERO, 1.0);
+        withConfig(buildConfig().queryCaptures(captures), () -> {
+            getDs().save(List.of(new User("Mal", now()), new User("Zoe", now())));
+            for (String name : List.of("Mal", "Zoe", "Wash")) {
+                getDs().find(User.class).filter(eq("name", name)).iterator().toList();
+            }
+
+            List<QueryCapture> recent = captures.recent();
+            assertEquals(recent.size(), 2);
+            assertDocumentEquals(recent.get(0).filter(), new Document("name", "Zoe"));
+            assertDocumentEquals(recent.get(1).filter(), new Document("name", "Wash"));
+            assertNull(recent.get(1).sort());
+
+            captures.clear();
+            assertTrue(captures.recent().isEmpty());
+            getDs().find(User.class).filter(eq("name", "Kaylee")).iterator().toList();
+            recent = captures.recent();
+            assertEquals(recent.size(), 1);
+            assertDocumentEquals(recent.get(0).filter(), new Document("name", "Kaylee"));
+        });
+
+        QueryCaptureLog none = new QueryCaptureLog(2, Duration.ofDays(1), 1.0);
+        withConfig(buildConfig().queryCaptures(none), () -> {
+            getDs().find(User.class).iterator().toList();
+            assertTrue(none.recent().isEmpty());
+        });
+    }
+}
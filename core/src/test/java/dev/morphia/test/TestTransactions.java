@@ -5,9 +5,12 @@ import java.util.List;
 
 import com.mongodb.MongoQueryException;
 import com.mongodb.TransactionOptions;
+import com.mongodb.client.ClientSession;
 import com.mongodb.client.result.DeleteResult;
 
 import dev.morphia.Datastore;
+import dev.morphia.VersionMismatchException;
+import dev.morphia.aggregation.Aggregation;
 import dev.morphia.aggregation.stages.Lookup;
 import dev.morphia.annotations.Entity;
 import dev.morphia.annotations.Id;
@@ -17,7 +20,9 @@ import dev.morphia.test.mapping.lazy.TestLazyCircularReference.ReferencedEntity;
 import dev.morphia.test.mapping.lazy.TestLazyCircularReference.RootEntity;
 import dev.morphia.test.models.Rectangle;
 import dev.morphia.test.models.User;
+import dev.morphia.test.models.versioned.Versioned;
 import dev.morphia.transactions.MorphiaSession;
+import dev.morphia.transactions.SessionDatastore;
 
 import org.bson.types.ObjectId;
 import org.testng.Assert;
@@ -30,6 +35,7 @@ import static dev.morphia.query.updates.UpdateOperators.inc;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
 
 //@Tags(@Tag("transactions"))
 public class TestTransactions extends TemplatedTestBase {
@@ -42,6 +48,80 @@ public class TestTransactions extends TemplatedTestBase {
         getDs().find(User.class).findAndDelete();
     }
 
+    @Test
+    public void batchedWrites() {
+        withTestConfig(buildConfig().batchTransactionWrites(true), List.of(Rectangle.class, User.class), () -> {
+            getDs().withTransaction(session -> {
+                Rectangle rectangle = new Rectangle(1, 1);
+                session.save(rectangle);
+                session.save(new Rectangle(2, 2));
+                session.insert(new User("batched", LocalDate.now()));
+                assertNotNull(rectangle.getId());
+
+                rectangle.setWidth(42);
+                session.save(rectangle);
+
+                ClientSession clientSession = ((SessionDatastore) session).getSession();
+                assertEquals(getDocumentCollection(Rectangle.class).countDocuments(clientSession), 0);
+
+                assertEquals(session.find(Rectangle.class).count(), 2);
+                assertEquals(session.find(Rectangle.class).filter(Filters.eq("_id", rectangle.getId())).first().getWidth(), 42, 0.5);
+                assertEquals(getDocumentCollection(User.class).countDocuments(clientSession), 1);
+                return null;
+            });
+
+            assertEquals(getDs().find(Rectangle.class).count(), 2);
+            assertEquals(getDs().find(User.class).count(), 1);
+        });
+    }
+
+    @Test
+    public void batchedAggregation() {
+        withTestConfig(buildConfig().batchTransactionWrites(true), List.of(Rectangle.class, User.class), () -> {
+            getDs().withTransaction(session -> {
+                Aggregation<Rectangle> aggregation = session.aggregate(Rectangle.class);
+                session.save(new Rectangle(1, 1));
+                session.insert(new User("interleaved", LocalDate.now()));
+                session.save(new Rectangle(2, 2));
+
+                ClientSession clientSession = ((SessionDatastore) session).getSession();
+                assertEquals(getDocumentCollection(Rectangle.class).countDocuments(clientSession), 0);
+                aggregation.execute(Rectangle.class).toList();
+                assertEquals(getDocumentCollection(Rectangle.class).countDocuments(clientSession), 2);
+                assertEquals(getDocumentCollection(User.class).countDocuments(clientSession), 1);
+                return null;
+            });
+
+            assertEquals(getDs().find(Rectangle.class).count(), 2);
+            assertEquals(getDs().find(User.class).count(), 1);
+        });
+    }
+
+    @Test
+    public void batchedVersionMismatch() {
+        withTestConfig(buildConfig().batchTransactionWrites(true), List.of(Versioned.class), () -> {
+            Versioned versioned = new Versioned();
+            versioned.setName("original");
+            getDs().save(versioned);
+
+            Versioned first = getDs().find(Versioned.class).first();
+            Versioned second = getDs().find(Versioned.class).first();
+
+            assertThrows(VersionMismatchException.class, () -> getDs().withTransaction(session -> {
+                first.setName("first");
+                session.save(first);
+                second.setName("second");
+                session.save(second);
+                return null;
+            }));
+
+            assertEquals(second.getVersion(), 1L);
+            Versioned stored = getDs().find(Versioned.class).first();
+            assertEquals(stored.getName(), "original");
+            assertEquals(stored.getVersion(), 1L);
+        });
+    }
+
     @Test
     public void delete() {
         Rectangle rectangle = new Rectangle(1, 1);
@@ -0,0 +1,184 @@
+package dev.morphia.test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.ChangeStreamPreAndPostImagesOptions;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import com.mongodb.client.model.changestream.OperationType;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.changestream.ChangeStreamSubscription;
+import dev.morphia.changestream.InMemoryResumeTokenStore;
+import dev.morphia.changestream.ResumeTokenStore;
+import dev.morphia.changestream.Watch;
+import dev.morphia.changestream.WatchOptions;
+
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static dev.morphia.aggregation.expressions.Expressions.value;
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.filters.Filters.expr;
+import static dev.morphia.query.filters.Filters.where;
+import static dev.morphia.query.updates.UpdateOperators.set;
+import static dev.morphia.test.ServerVersion.v60;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+public class TestWatch extends TestBase {
+    public TestWatch() {
+        super(buildConfig(Watched.class));
+    }
+
+    @Test
+    public void typedEvents() {
+        checkForReplicaSet();
+        getDs().save(new Watched("setup"));
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Watched>> cursor = getDs().watch(Watched.class, eq("name", "match"))
+                .iterator(new WatchOptions()
+                        .fullDocument(FullDocument.UPDATE_LOOKUP)
+                        .operationTypes(OperationType.INSERT, OperationType.UPDATE))) {
+            getDs().save(new Watched("ignored"));
+            Watched watched = getDs().save(new Watched("match"));
+            getDs().find(Watched.class).filter(eq("_id", watched.id)).update(set("count", 42));
+
+            ChangeStreamDocument<Watched> inserted = cursor.next();
+            assertEquals(inserted.getOperationType(), OperationType.INSERT);
+            assertEquals(inserted.getFullDocument().name, "match");
+
+            ChangeStreamDocument<Watched> updated = cursor.next();
+            assertEquals(updated.getOperationType(), OperationType.UPDATE);
+            assertEquals(updated.getFullDocument().id, watched.id);
+            assertEquals(updated.getFullDocument().count, 42);
+        }
+    }
+
+    @Test
+    public void keyFilters() {
+        checkForReplicaSet();
+        Watched watched = getDs().save(new Watched("watched"));
+        getDs().save(new Watched("ignored"));
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Watched>> cursor = getDs().watch(Watched.class, eq("_id", watched.id))
+                .iterator()) {
+            getDs().find(Watched.class).filter(eq("name", "ignored")).delete();
+            getDs().find(Watched.class).filter(eq("_id", watched.id)).update(set("count", 1));
+            getDs().delete(watched);
+
+            assertEquals(cursor.next().getOperationType(), OperationType.UPDATE);
+            ChangeStreamDocument<Watched> deleted = cursor.next();
+            assertEquals(deleted.getOperationType(), OperationType.DELETE);
+            assertEquals(deleted.getDocumentKey().getObjectId("_id").getValue(), watched.id);
+        }
+    }
+
+    @Test
+    public void unsupportedFilters() {
+        Watch<Watched> watch = getDs().watch(Watched.class, eq("name", "match"));
+        assertThrows(IllegalArgumentException.class, watch::iterator);
+        assertThrows(IllegalArgumentException.class, () -> watch.iterator(new WatchOptions()
+                .operationTypes(OperationType.INSERT, OperationType.UPDATE)));
+        assertThrows(IllegalArgumentException.class, () -> watch.iterator(new WatchOptions()
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .operationTypes(OperationType.INSERT, OperationType.DELETE)));
+
+        assertThrows(IllegalArgumentException.class, () -> getDs().watch(Watched.class, expr(value(true)))
+                .iterator(new WatchOptions().operationTypes(OperationType.INSERT)));
+        assertThrows(IllegalArgumentException.class, () -> getDs().watch(Watched.class, where("this.count > 1"))
+                .iterator(new WatchOptions().operationTypes(OperationType.INSERT)));
+    }
+
+    @Test
+    public void closeFromListener() throws InterruptedException {
+        checkForReplicaSet();
+        AtomicReference<ChangeStreamSubscription<Watched>> reference = new AtomicReference<>();
+        CountDownLatch closed = new CountDownLatch(1);
+        ChangeStreamSubscription<Watched> subscription = getDs().watch(Watched.class)
+                .subscribe(new WatchOptions().executor(ForkJoinPool.commonPool()), changes -> {
+                    reference.get().close();
+                    closed.countDown();
+                });
+        reference.set(subscription);
+
+        getDs().save(new Watched("close"));
+        assertTrue(closed.await(10, TimeUnit.SECONDS));
+        subscription.close();
+        assertFalse(subscription.isRunning());
+    }
+
+    @Test
+    public void preImages() {
+        checkForReplicaSet();
+        checkMinServerVersion(v60);
+        getDatabase().createCollection(getMapper().getEntityModel(Watched.class).getCollectionName(),
+                new CreateCollectionOptions().changeStreamPreAndPostImagesOptions(new ChangeStreamPreAndPostImagesOptions(true)));
+
+        Watched watched = getDs().save(new Watched("before"));
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Watched>> cursor = getDs().watch(Watched.class)
+                .iterator(new WatchOptions()
+                        .fullDocumentBeforeChange(FullDocumentBeforeChange.REQUIRED)
+                        .operationTypes(OperationType.UPDATE))) {
+            getDs().find(Watched.class).filter(eq("_id", watched.id)).update(set("name", "after"));
+
+            ChangeStreamDocument<Watched> updated = cursor.next();
+            assertEquals(updated.getFullDocumentBeforeChange().name, "before");
+        }
+    }
+
+    @Test
+    public void subscriptionsResume() throws InterruptedException {
+        checkForReplicaSet();
+        getDs().save(new Watched("setup"));
+        ResumeTokenStore store = new InMemoryResumeTokenStore();
+        BlockingQueue<String> names = new LinkedBlockingQueue<>();
+        WatchOptions options = new WatchOptions()
+                .resumeTokens(store, "names")
+                .executor(ForkJoinPool.commonPool());
+
+        try (ChangeStreamSubscription<Watched> subscription = getDs().watch(Watched.class)
+                .subscribe(options, changes -> changes.forEach(change -> names.add(change.getFullDocument().name)))) {
+            getDs().save(List.of(new Watched("first"), new Watched("second")));
+            assertEquals(names.poll(10, TimeUnit.SECONDS), "first");
+            assertEquals(names.poll(10, TimeUnit.SECONDS), "second");
+            assertTrue(subscription.isRunning());
+        }
+
+        getDs().save(new Watched("while stopped"));
+
+        try (ChangeStreamSubscription<Watched> subscription = getDs().watch(Watched.class)
+                .subscribe(options, changes -> changes.forEach(change -> names.add(change.getFullDocument().name)))) {
+            assertEquals(names.poll(10, TimeUnit.SECONDS), "while stopped");
+            assertNull(subscription.failure());
+        }
+    }
+
+    @Entity("watched")
+    private static class Watched {
+        @Id
+        private ObjectId id;
+        private String name;
+        private int count;
+
+        private Watched() {
+        }
+
+        private Watched(String name) {
+            this.name = name;
+        }
+    }
+}
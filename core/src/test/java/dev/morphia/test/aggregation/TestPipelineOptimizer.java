@@ -0,0 +1,99 @@
+package dev.morphia.test.aggregation;
+
+import java.util.List;
+
+import dev.morphia.aggregation.Aggregation;
+import dev.morphia.aggregation.AggregationImpl;
+import dev.morphia.test.TestBase;
+import dev.morphia.test.aggregation.model.Book;
+
+import org.bson.Document;
+import org.testng.annotations.Test;
+
+import static dev.morphia.aggregation.expressions.Expressions.field;
+import static dev.morphia.aggregation.expressions.Expressions.value;
+import static dev.morphia.aggregation.stages.AddFields.addFields;
+import static dev.morphia.aggregation.stages.Lookup.lookup;
+import static dev.morphia.aggregation.stages.Projection.project;
+import static dev.morphia.aggregation.stages.Sort.sort;
+import static dev.morphia.aggregation.stages.Unwind.unwind;
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.filters.Filters.expr;
+import static dev.morphia.query.filters.Filters.gte;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestPipelineOptimizer extends TestBase {
+    public TestPipelineOptimizer() {
+        super(buildConfig(Book.class).optimizeAggregations(true));
+    }
+
+    @Test
+    public void matchesMoveAhead() {
+        Aggregation<Book> aggregation = getDs().aggregate(Book.class)
+                .lookup(lookup("authors").localField("author").foreignField("_id").as("writer"))
+                .unwind(unwind("tags"))
+                .match(eq("author", "Homer"), eq("tags", "epic"))
+                .match(gte("copies", 5));
+
+        assertEquals(stageNames(aggregation), List.of("$match", "$lookup", "$unwind", "$match"));
+        assertEquals(pipeline(aggregation).get(0), new Document("$match", new Document("author", "Homer")
+                .append("copies", new Document("$gte", 5))));
+        assertTrue(aggregation.optimizations().contains("merged adjacent $match stages"));
+    }
+
+    @Test
+    public void dependentMatchesStay() {
+        Aggregation<Book> aggregation = getDs().aggregate(Book.class)
+                .addFields(addFields().field("popular", value(true)))
+                .match(eq("popular", true))
+                .match(expr(field("copies")));
+
+        assertEquals(stageNames(aggregation), List.of("$addFields", "$match"));
+    }
+
+    @Test
+    public void limitsMoveToSort() {
+        Aggregation<Book> aggregation = getDs().aggregate(Book.class)
+                .sort(sort().descending("copies"))
+                .lookup(lookup("authors").localField("author").foreignField("_id").as("writer"))
+                .project(project().include("title").include("author").include("writer"))
+                .project(project().include("title"))
+                .limit(10)
+                .limit(2);
+
+        assertEquals(stageNames(aggregation), List.of("$sort", "$limit", "$lookup", "$project"));
+        assertEquals(pipeline(aggregation).get(1), new Document("$limit", 2L));
+    }
+
+    @Test
+    public void sameResults() {
+        getDs().save(List.of(new Book("The Banquet", "Dante", 2, "prose"),
+                new Book("Divine Comedy", "Dante", 1, "epic", "poetry"),
+                new Book("The Odyssey", "Homer", 10, "epic"),
+                new Book("Iliad", "Homer", 10, "epic", "war")));
+
+        List<Document> results = getDs().aggregate(Book.class)
+                .sort(sort().ascending("title"))
+                .unwind(unwind("tags"))
+                .addFields(addFields().field("stock", field("copies")))
+                .match(eq("tags", "epic"), gte("copies", 5))
+                .project(project().include("title").include("tags"))
+                .limit(1)
+                .execute(Document.class)
+                .toList();
+
+        assertEquals(results.size(), 1);
+        assertEquals(results.get(0).getString("title"), "Iliad");
+    }
+
+    private List<Document> pipeline(Aggregation<Book> aggregation) {
+        return ((AggregationImpl<Book>) aggregation).pipeline();
+    }
+
+    private List<String> stageNames(Aggregation<Book> aggregation) {
+        return pipeline(aggregation).stream()
+                .map(stage -> stage.keySet().iterator().next())
+                .toList();
+    }
+}
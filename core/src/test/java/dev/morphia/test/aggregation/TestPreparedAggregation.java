@@ -0,0 +1,79 @@
+package dev.morphia.test.aggregation;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import dev.morphia.aggregation.AggregationImpl;
+import dev.morphia.aggregation.PreparedAggregation;
+import dev.morphia.query.QueryException;
+import dev.morphia.test.TestBase;
+import dev.morphia.test.aggregation.model.Author;
+import dev.morphia.test.aggregation.model.Book;
+
+import org.bson.Document;
+import org.testng.annotations.Test;
+
+import static dev.morphia.aggregation.expressions.AccumulatorExpressions.push;
+import static dev.morphia.aggregation.expressions.Expressions.field;
+import static dev.morphia.aggregation.stages.Group.group;
+import static dev.morphia.aggregation.stages.Group.id;
+import static dev.morphia.aggregation.stages.Sort.sort;
+import static dev.morphia.query.Parameter.param;
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.filters.Filters.gte;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+
+public class TestPreparedAggregation extends TestBase {
+    @Test
+    public void bindValues() {
+        getDs().save(List.of(new Book("The Banquet", "Dante", 2),
+                new Book("Divine Comedy", "Dante", 1),
+                new Book("The Odyssey", "Homer", 10),
+                new Book("Iliad", "Homer", 10)));
+
+        PreparedAggregation<Book> prepared = getDs().aggregate(Book.class)
+                .match(gte("copies", param("copies")))
+                .group(group(id("author"))
+                        .field("books", push(field("title"))))
+                .sort(sort().ascending("_id"))
+                .prepare();
+
+        assertEquals(prepared.parameters(), Set.of("copies"));
+        List<Author> authors = prepared.bind("copies", 2).execute(Author.class).toList();
+        assertEquals(authors.size(), 2);
+        assertEquals(authors.get(0).getBooks(), List.of("The Banquet"));
+
+        authors = prepared.bind("copies", 5).execute(Author.class).toList();
+        assertEquals(authors.size(), 1);
+        assertEquals(authors.get(0).getName(), "Homer");
+    }
+
+    @Test
+    public void boundPipeline() {
+        PreparedAggregation<Book> prepared = getDs().aggregate(Book.class)
+                .match(eq("author", param("author")))
+                .group(group(id("author")))
+                .prepare();
+
+        List<Document> expected = ((AggregationImpl<Book>) getDs().aggregate(Book.class)
+                .match(eq("author", "Homer"))
+                .group(group(id("author"))))
+                .pipeline();
+        assertEquals(((AggregationImpl<Book>) prepared.bind("author", "Homer")).pipeline(), expected);
+        assertEquals(((AggregationImpl<Book>) prepared.bind("author", "Homer").limit(1)).pipeline().size(), 3);
+        assertEquals(((AggregationImpl<Book>) prepared.bind("author", "Dante")).pipeline().size(), 2);
+    }
+
+    @Test
+    public void missingValues() {
+        PreparedAggregation<Book> prepared = getDs().aggregate(Book.class)
+                .match(eq("author", param("author")))
+                .prepare();
+
+        assertThrows(QueryException.class, () -> prepared.bind(new HashMap<>()));
+        assertThrows(QueryException.class, () -> prepared.bind(Map.of("author", "Dante", "title", "Iliad")));
+    }
+}
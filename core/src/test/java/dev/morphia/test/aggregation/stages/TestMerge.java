@@ -6,12 +6,19 @@ import java.util.List;
 
 import dev.morphia.InsertOneOptions;
 import dev.morphia.MorphiaDatastore;
+import dev.morphia.aggregation.InMemoryWatermarkStore;
+import dev.morphia.aggregation.Watermark;
+import dev.morphia.aggregation.WatermarkStore;
 import dev.morphia.aggregation.stages.Group;
 import dev.morphia.annotations.Entity;
 import dev.morphia.annotations.Id;
+import dev.morphia.changestream.InMemoryResumeTokenStore;
+import dev.morphia.changestream.ResumeTokenStore;
 import dev.morphia.test.aggregation.AggregationTest;
 import dev.morphia.test.aggregation.model.Salary;
 
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.testng.annotations.Test;
@@ -22,6 +29,8 @@ import static dev.morphia.aggregation.expressions.AccumulatorExpressions.sum;
 import static dev.morphia.aggregation.expressions.Expressions.field;
 import static dev.morphia.aggregation.stages.Group.id;
 import static dev.morphia.aggregation.stages.Merge.into;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
 
 public class TestMerge extends AggregationTest {
     @Test
@@ -60,6 +69,63 @@ public class TestMerge extends AggregationTest {
         assertDocumentEquals(actual, expected);
     }
 
+    @Test
+    public void testIncrementalByField() {
+        insert("salaries", parseDocs(
+                "{ '_id' : 1, employee: 'Ant', salary: 100000, updated: 1 }",
+                "{ '_id' : 2, employee: 'Bee', salary: 120000, updated: 2 }",
+                "{ '_id' : 3, employee: 'Cat', salary: 115000, updated: 3 }"));
+        WatermarkStore store = new InMemoryWatermarkStore();
+
+        copySalaries(Watermark.field(store, "copy", "updated"));
+        assertEquals(getDatabase().getCollection("salaryCopies").countDocuments(), 3);
+
+        getDatabase().getCollection("salaries").updateOne(new Document("_id", 1), new Document("$set", new Document("salary", 1)));
+        getDatabase().getCollection("salaries").insertOne(Document.parse("{ '_id' : 4, employee: 'Dog', salary: 90000, updated: 4 }"));
+        copySalaries(Watermark.field(store, "copy", "updated"));
+
+        assertEquals(getDatabase().getCollection("salaryCopies").countDocuments(), 4);
+        assertEquals(getDatabase().getCollection("salaryCopies").find(new Document("_id", 1)).first().get("salary"), 100000);
+        assertEquals(store.load("copy"), new BsonDocument("value", new BsonInt32(4)).append("_id", new BsonInt32(4)));
+
+        getDatabase().getCollection("salaries").insertOne(Document.parse("{ '_id' : 5, employee: 'Eel', salary: 95000, updated: 4 }"));
+        copySalaries(Watermark.field(store, "copy", "updated"));
+
+        assertEquals(getDatabase().getCollection("salaryCopies").countDocuments(), 5);
+        assertEquals(store.load("copy"), new BsonDocument("value", new BsonInt32(4)).append("_id", new BsonInt32(5)));
+    }
+
+    @Test
+    public void testIncrementalByChangeStream() {
+        checkForReplicaSet();
+        insert("salaries", parseDocs(
+                "{ '_id' : 1, employee: 'Ant', salary: 100000 }",
+                "{ '_id' : 2, employee: 'Bee', salary: 120000 }"));
+        ResumeTokenStore store = new InMemoryResumeTokenStore();
+
+        copySalaries(Watermark.changeStream(store, "copy"));
+        assertEquals(getDatabase().getCollection("salaryCopies").countDocuments(), 2);
+        assertNotNull(store.load("copy"));
+
+        getDatabase().getCollection("salaries").updateOne(new Document("_id", 1), new Document("$set", new Document("salary", 1)));
+        getDatabase().getCollection("salaries").insertOne(Document.parse("{ '_id' : 3, employee: 'Cat', salary: 115000 }"));
+        getDatabase().getCollection("salaryCopies").deleteOne(new Document("_id", 2));
+        copySalaries(Watermark.changeStream(store, "copy").batchSize(1));
+
+        List<Document> copies = getDatabase().getCollection("salaryCopies").find().sort(new Document("_id", 1)).into(new ArrayList<>());
+        assertDocumentEquals(copies, parseDocs(
+                "{ '_id' : 1, employee: 'Ant', salary: 1 }",
+                "{ '_id' : 3, employee: 'Cat', salary: 115000 }"));
+    }
+
+    private void copySalaries(Watermark watermark) {
+        getDs().aggregate("salaries")
+                .merge(into("salaryCopies")
+                        .on("_id")
+                        .whenMatched(REPLACE)
+                        .whenNotMatched(INSERT), watermark);
+    }
+
     @Test
     public void testMergeWithUnsetMissing() {
         GenericEntity entity = new GenericEntity();
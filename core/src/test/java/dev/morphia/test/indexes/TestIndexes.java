@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Set;
 
 import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.CollationCaseFirst;
 import com.mongodb.client.model.CollationMaxVariable;
 import com.mongodb.client.model.CollationStrength;
@@ -22,6 +23,8 @@ import dev.morphia.annotations.Indexes;
 import dev.morphia.annotations.Property;
 import dev.morphia.annotations.Text;
 import dev.morphia.mapping.IndexDirection;
+import dev.morphia.mapping.IndexDrift.Kind;
+import dev.morphia.mapping.IndexReport;
 import dev.morphia.mapping.IndexType;
 import dev.morphia.mapping.PropertyDiscovery;
 import dev.morphia.mapping.codec.pojo.EntityModel;
@@ -43,7 +46,9 @@ import static org.bson.Document.parse;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
 
 public class TestIndexes extends TestBase {
@@ -300,6 +305,40 @@ public class TestIndexes extends TestBase {
 
     }
 
+    @Test
+    public void checkIndexes() {
+        withTestConfig(List.of(IndexDriftEntity.class), () -> {
+            IndexReport report = getDs().checkIndexes();
+            assertEquals(report.drift(Kind.MISSING).size(), 2, report.toString());
+            assertFalse(report.isInSync());
+
+            getDs().applyIndexes();
+            report = getDs().checkIndexes();
+            assertTrue(report.isInSync(), report.toString());
+            assertEquals(report.unchanged(), 2);
+
+            MongoCollection<Document> collection = getDatabase().getCollection("indexDrift");
+            collection.dropIndex("name_1");
+            collection.createIndex(new Document("name", 1), new com.mongodb.client.model.IndexOptions().unique(true));
+            collection.createIndex(new Document("extra", 1));
+
+            report = getDs().checkIndexes();
+            assertEquals(report.unchanged(), 1, report.toString());
+            assertEquals(report.drift(Kind.CHANGED).get(0).name(), "name_1");
+            assertEquals(report.drift(Kind.UNDECLARED).get(0).name(), "extra_1");
+            assertFalse(report.isInSync());
+
+            collection.dropIndex("value_-1");
+            collection.createIndex(new Document("value", -1), new com.mongodb.client.model.IndexOptions()
+                    .collation(com.mongodb.client.model.Collation.builder().locale("en").build()));
+            report = getDs().checkIndexes();
+            assertEquals(report.unchanged(), 0, report.toString());
+            assertEquals(report.drift(Kind.CHANGED).size(), 2, report.toString());
+
+            assertThrows(MongoCommandException.class, () -> getDs().applyIndexes());
+        });
+    }
+
     @Entity
     @Indexes(@Index(fields = { @Field("active"),
             @Field(value = "lastModified", type = IndexType.DESC) }, options = @IndexOptions(unique = true)))
@@ -372,6 +411,17 @@ public class TestIndexes extends TestBase {
         private ObjectId id;
     }
 
+    @Entity("indexDrift")
+    private static class IndexDriftEntity {
+        @Id
+        private ObjectId id;
+        @Indexed
+        private String name;
+        @Indexed(IndexDirection.DESC)
+        private long value;
+        private String extra;
+    }
+
     @Entity
     private static class InboxEvent {
         @Id
@@ -0,0 +1,113 @@
+package dev.morphia.test.internal;
+
+import java.util.Set;
+
+import dev.morphia.internal.ChangeTracker;
+import dev.morphia.internal.ChangeTracker.Changes;
+import dev.morphia.test.TestBase;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.testng.annotations.Test;
+
+import static org.bson.Document.parse;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class ChangeTrackerTest extends TestBase {
+    @Test
+    public void changes() {
+        ChangeTracker tracker = new ChangeTracker();
+        Object entity = new Object();
+        assertNull(tracker.changes(entity, bytes("{}"), Set.of()));
+
+        tracker.track(entity, bytes("{_id: 1, name: 'a', address: {street: 's', city: 'c', zip: 1}, tags: ['x']}"));
+        assertTrue(tracker.isTracked(entity));
+
+        Changes changes = tracker.changes(entity,
+                bytes("{_id: 1, name: 'a', address: {street: 't', city: 'c', zip: 1}, tags: ['x']}"), Set.of());
+        assertEquals(changes.toUpdate().toJson(), parse("{$set: {'address.street': 't'}}").toJson());
+
+        changes = tracker.changes(entity, bytes("{_id: 1, address: {street: 's', city: 'c'}, tags: ['x', 'y']}"),
+                Set.of());
+        assertEquals(changes.toUpdate().toJson(), parse("{$set: {tags: ['x', 'y']}, $unset: {'address.zip': '', name: ''}}").toJson());
+
+        changes = tracker.changes(entity, bytes("{_id: 2, name: 'a', address: 'moved', tags: ['x']}"), Set.of("_id"));
+        assertEquals(changes.toUpdate().toJson(), parse("{$set: {address: 'moved'}}").toJson());
+
+        changes = tracker.changes(entity,
+                bytes("{_id: 1, name: 'a', address: {street: 's', city: 'c', zip: 1}, tags: ['x']}"), Set.of());
+        assertTrue(changes.isEmpty());
+
+        tracker.forget(entity);
+        assertFalse(tracker.isTracked(entity));
+    }
+
+    @Test
+    public void topLevelNamesWhichAreNotPaths() {
+        ChangeTracker tracker = new ChangeTracker();
+        Object entity = new Object();
+        tracker.track(entity, bytes("{_id: 1, name: 'a', 'a.b': 1}"));
+
+        assertTrue(tracker.isTracked(entity));
+        assertNull(tracker.changes(entity, bytes("{_id: 1, name: 'b', 'a.b': 1}"), Set.of()));
+        assertNull(tracker.changes(entity, bytes("{_id: 1, name: 'b', $c: 1}"), Set.of()));
+    }
+
+    @Test
+    public void transactions() {
+        ChangeTracker tracker = new ChangeTracker();
+        Object saved = new Object();
+        Object deleted = new Object();
+        tracker.track(saved, bytes("{_id: 1, name: 'a'}"));
+        tracker.track(deleted, bytes("{_id: 2, name: 'a'}"));
+
+        ChangeTracker aborted = tracker.transaction();
+        aborted.track(saved, bytes("{_id: 1, name: 'b'}"));
+        aborted.forget(deleted);
+        assertTrue(aborted.changes(saved, bytes("{_id: 1, name: 'b'}"), Set.of()).isEmpty());
+        assertFalse(aborted.isTracked(deleted));
+        assertEquals(tracker.changes(saved, bytes("{_id: 1, name: 'b'}"), Set.of()).toUpdate().toJson(),
+                parse("{$set: {name: 'b'}}").toJson());
+        assertTrue(tracker.isTracked(deleted));
+
+        ChangeTracker committed = tracker.transaction();
+        committed.track(saved, bytes("{_id: 1, name: 'b'}"));
+        committed.forget(deleted);
+        committed.commit();
+        assertTrue(tracker.changes(saved, bytes("{_id: 1, name: 'b'}"), Set.of()).isEmpty());
+        assertFalse(tracker.isTracked(deleted));
+    }
+
+    @Test
+    public void nestedNamesWhichAreNotPaths() {
+        ChangeTracker tracker = new ChangeTracker();
+        Object entity = new Object();
+        tracker.track(entity, bytes("{map: {'a.b': 1, c: 2}}"));
+
+        Changes changes = tracker.changes(entity, bytes("{map: {'a.b': 1, c: 3}}"), Set.of());
+        assertEquals(changes.toUpdate().toJson(), parse("{$set: {map: {'a.b': 1, c: 3}}}").toJson());
+    }
+
+    @Test
+    public void fieldsAreComparedExactly() {
+        ChangeTracker tracker = new ChangeTracker();
+        Object entity = new Object();
+        tracker.track(entity, bytes("{name: 'a', code: 'x', count: 1}"));
+
+        assertTrue(tracker.changes(entity, bytes("{added: 'longer value', name: 'a', code: 'x', count: 1}"), Set.of("added")).isEmpty());
+
+        Changes changes = tracker.changes(entity, bytes("{name: 'a', code: {$code: 'x'}, count: 2}"), Set.of());
+        assertEquals(changes.toUpdate().toJson(), parse("{$set: {code: {$code: 'x'}, count: 2}}").toJson());
+    }
+
+    private static byte[] bytes(String json) {
+        RawBsonDocument document = new RawBsonDocument(Document.parse(json), new DocumentCodec());
+        byte[] bytes = new byte[document.getByteBuffer().remaining()];
+        document.getByteBuffer().get(bytes);
+        return bytes;
+    }
+}
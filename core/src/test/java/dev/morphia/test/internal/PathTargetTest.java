@@ -28,6 +28,7 @@ import dev.morphia.annotations.Property;
 import dev.morphia.internal.PathTarget;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.query.ValidationException;
 import dev.morphia.test.TestBase;
 import dev.morphia.test.models.City;
 import dev.morphia.test.models.CityPopulation;
@@ -61,6 +62,31 @@ public class PathTargetTest extends TestBase {
         });
     }
 
+    @Test
+    public void cachedResolutions() {
+        withTestConfig(List.of(EntityWithListsAndArrays.class, EmbeddedType.class, Another.class, Child.class), () -> {
+            Mapper mapper = getMapper();
+            EntityModel entityModel = mapper.getEntityModel(EntityWithListsAndArrays.class);
+            mapper.getPathCache().clear();
+
+            Assert.assertEquals(new PathTarget(mapper, entityModel, "listEmbeddedType.1.anotherField").translatedPath(),
+                    "listEmbeddedType.1.anotherField");
+            Assert.assertEquals(mapper.getPathCache().size(), 1);
+
+            PathTarget pathTarget = new PathTarget(mapper, entityModel, "listEmbeddedType.42.anotherField");
+            Assert.assertEquals(pathTarget.translatedPath(), "listEmbeddedType.42.anotherField");
+            Assert.assertEquals(mapper.getEntityModel(Another.class).getProperty("anotherField"), pathTarget.target());
+            Assert.assertEquals(mapper.getPathCache().size(), 1);
+
+            new PathTarget(mapper, entityModel, "listEmbeddedType.42.anotherField", false).translatedPath();
+            Assert.assertEquals(mapper.getPathCache().size(), 2);
+
+            Assert.assertThrows(ValidationException.class, () -> new PathTarget(mapper, entityModel, "notAField").translatedPath());
+            Assert.assertThrows(ValidationException.class, () -> new PathTarget(mapper, entityModel, "notAField").translatedPath());
+            Assert.assertEquals(mapper.getPathCache().size(), 2);
+        });
+    }
+
     @Test
     public void disableValidation() {
         withTestConfig(List.of(FatherEntity.class), () -> {
@@ -80,6 +106,10 @@ public class PathTargetTest extends TestBase {
             PathTarget pathTarget = new PathTarget(mapper, State.class, "biggestCity.population");
             Assert.assertEquals(pathTarget.translatedPath(), "biggestCity.pop");
             Assert.assertEquals(mapper.getEntityModel(CityPopulation.class).getProperty("population"), pathTarget.target());
+
+            PathTarget cached = new PathTarget(mapper, State.class, "biggestCity.population");
+            Assert.assertEquals(cached.translatedPath(), "biggestCity.pop");
+            Assert.assertTrue(cached.toString().contains("[biggestCity, pop]"), cached.toString());
         });
     }
 
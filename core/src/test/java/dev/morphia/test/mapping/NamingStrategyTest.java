@@ -14,5 +14,7 @@ public class NamingStrategyTest extends TestBase {
         Assert.assertEquals(NamingStrategy.camelCase().apply("TestValue"), "testValue", "Should be in camel case");
         Assert.assertEquals(NamingStrategy.kebabCase().apply("TestValue"), "test-value", "Should be in kebab case");
         Assert.assertEquals(NamingStrategy.lowerCase().apply("TestValue"), "testvalue", "Should be in lower case");
+        Assert.assertEquals(NamingStrategy.compact().apply("TestValue"), "tg93", "Should be compacted");
+        Assert.assertEquals(NamingStrategy.compact().apply("customerName"), "cxx0", "Should match the mapping documentation");
     }
 }
\ No newline at end of file
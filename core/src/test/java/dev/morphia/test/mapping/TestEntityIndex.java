@@ -0,0 +1,155 @@
+package dev.morphia.test.mapping;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import dev.morphia.config.MorphiaConfig;
+import dev.morphia.mapping.EntityIndex;
+import dev.morphia.mapping.EntityIndexProcessor;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.test.TestBase;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class TestEntityIndex extends TestBase {
+    private static final List<String> INDEXED = List.of("sample.Child", "sample.Hotel", "sample.Outer$Inner", "sample.Parent",
+            "sample.nested.Deep");
+
+    private final List<Path> directories = new ArrayList<>();
+
+    @AfterMethod
+    public void deleteDirectories() throws IOException {
+        for (Path directory : directories) {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(path);
+                }
+            }
+        }
+        directories.clear();
+    }
+
+    @Test
+    public void indexEntities() throws IOException {
+        Path sources = directory("sources");
+        Path classes = directory("classes");
+        compile(sources, classes, writeSources(sources));
+
+        assertEquals(Files.readAllLines(classes.resolve(EntityIndex.LOCATION)), INDEXED);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { classes.toUri().toURL() }, getClass().getClassLoader())) {
+            assertEquals(EntityIndex.find(loader, "sample"), INDEXED.subList(0, 4));
+            assertEquals(EntityIndex.find(loader, "sample.*"), INDEXED);
+            assertEquals(EntityIndex.find(loader, "sample.nested"), List.of("sample.nested.Deep"));
+            assertNull(EntityIndex.find(loader, "sample.missing"));
+        }
+    }
+
+    @Test
+    public void partialIndex() throws IOException {
+        Path sources = directory("sources");
+        Path classes = directory("classes");
+        compile(sources, classes, writeSources(sources));
+
+        Path otherSources = directory("sources");
+        Path other = directory("classes");
+        compile(otherSources, other, List.of(write(otherSources, "sample", "Extra", "@Entity public class Extra { @Id String id; }")),
+                false);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { classes.toUri().toURL(), other.toUri().toURL() },
+                getClass().getClassLoader())) {
+            assertNull(EntityIndex.find(loader, "sample"));
+            assertNull(EntityIndex.find(loader, "sample.*"));
+            assertEquals(EntityIndex.find(loader, "sample.nested"), List.of("sample.nested.Deep"));
+        }
+    }
+
+    @Test
+    public void incrementalCompilation() throws IOException {
+        Path sources = directory("sources");
+        Path classes = directory("classes");
+        compile(sources, classes, writeSources(sources));
+
+        Path plain = write(sources, "sample", "Plain", "public class Plain { }");
+        compile(sources, classes, List.of(plain));
+
+        assertEquals(Files.readAllLines(classes.resolve(EntityIndex.LOCATION)), INDEXED);
+    }
+
+    @Test
+    @SuppressWarnings("removal")
+    public void mapFromIndex() throws IOException {
+        Path sources = directory("sources");
+        Path classes = directory("classes");
+        compile(sources, classes, writeSources(sources));
+
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { classes.toUri().toURL() }, getClass().getClassLoader())) {
+            Thread.currentThread().setContextClassLoader(loader);
+            Mapper mapper = new Mapper(MorphiaConfig.load());
+            mapper.map("sample.*");
+
+            List<String> mapped = mapper.getMappedEntities().stream()
+                    .map(model -> model.getType().getName())
+                    .sorted()
+                    .collect(Collectors.toList());
+            assertEquals(mapped, INDEXED);
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
+    private Path directory(String prefix) throws IOException {
+        Path directory = Files.createTempDirectory(prefix);
+        directories.add(directory);
+        return directory;
+    }
+
+    private void compile(Path sources, Path classes, List<Path> files) {
+        compile(sources, classes, files, true);
+    }
+
+    private void compile(Path sources, Path classes, List<Path> files, boolean index) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        var fileManager = compiler.getStandardFileManager(null, null, null);
+        var units = fileManager.getJavaFileObjectsFromPaths(files);
+        String classpath = System.getProperty("java.class.path") + File.pathSeparator + classes;
+        var task = compiler.getTask(null, fileManager, null,
+                List.of("-classpath", classpath, "-sourcepath", sources.toString(), "-d", classes.toString()), null, units);
+        task.setProcessors(index ? List.of(new EntityIndexProcessor()) : List.of());
+        assertTrue(task.call());
+    }
+
+    private List<Path> writeSources(Path sources) throws IOException {
+        return List.of(
+                write(sources, "sample", "Hotel", "@Entity public class Hotel { @Id String id; }"),
+                write(sources, "sample", "Parent", "@Entity public abstract class Parent { @Id String id; }"),
+                write(sources, "sample", "Child", "public class Child extends Parent { }"),
+                write(sources, "sample", "Outer", "public class Outer { @Entity public static class Inner { @Id String id; } }"),
+                write(sources, "sample", "Unmapped", "public class Unmapped { }"),
+                write(sources, "sample.nested", "Deep", "@Entity public class Deep { @Id String id; }"));
+    }
+
+    private Path write(Path sources, String packageName, String name, String source) throws IOException {
+        Path path = sources.resolve(packageName.replace('.', '/')).resolve(name + ".java");
+        Files.createDirectories(path.getParent());
+        return Files.writeString(path, "package " + packageName + ";\nimport dev.morphia.annotations.*;\n" + source);
+    }
+}
@@ -1,9 +1,15 @@
 package dev.morphia.test.mapping;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import dev.morphia.config.MorphiaConfig;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.MappingException;
 import dev.morphia.mapping.codec.pojo.EntityModel;
 import dev.morphia.test.TestBase;
+import dev.morphia.test.models.Hotel;
 import dev.morphia.test.models.generics.ChildEntity;
 
 import org.testng.annotations.Test;
@@ -15,6 +21,31 @@ import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertNull;
 
 public class TestMapper extends TestBase {
+    @Test
+    @SuppressWarnings("removal")
+    public void parallelMapping() {
+        Mapper sequential = new Mapper(MorphiaConfig.load());
+        sequential.map(Hotel.class.getPackageName());
+        Mapper parallel = new Mapper(MorphiaConfig.load().parallelMapping(true));
+        parallel.map(Hotel.class.getPackageName());
+
+        assertEquals(describe(parallel), describe(sequential));
+        parallel.getMappedEntities().forEach(model -> {
+            List<String> subtypes = model.subtypes.stream()
+                    .map(subtype -> subtype.getType().getName())
+                    .collect(Collectors.toList());
+            assertEquals(subtypes, subtypes.stream().sorted().collect(Collectors.toList()));
+        });
+    }
+
+    private static Map<String, String> describe(Mapper mapper) {
+        return mapper.getMappedEntities().stream()
+                .collect(Collectors.toMap(model -> model.getType().getName(),
+                        model -> (model.superClass != null ? model.superClass.getType().getName() : "") + " "
+                                + model.subtypes.stream().map(subtype -> subtype.getType().getName()).sorted().collect(Collectors.toList())
+                                + " " + model.getProperties()));
+    }
+
     @Test
     public void testMapperCopying() {
         withConfig(buildConfig(ChildEntity.class), () -> {
@@ -11,6 +11,7 @@ import dev.morphia.Datastore;
 import dev.morphia.MorphiaDatastore;
 import dev.morphia.annotations.Entity;
 import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Property;
 import dev.morphia.config.MorphiaConfig;
 import dev.morphia.mapping.codec.pojo.EntityModel;
 import dev.morphia.query.FindOptions;
@@ -23,7 +24,9 @@ import org.testng.annotations.Test;
 
 import static dev.morphia.Morphia.*;
 import static dev.morphia.mapping.DiscriminatorFunction.lowerSimpleName;
+import static dev.morphia.mapping.NamingStrategy.compact;
 import static dev.morphia.mapping.NamingStrategy.lowerCase;
+import static dev.morphia.query.filters.Filters.eq;
 import static dev.morphia.query.filters.Filters.ne;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -133,6 +136,31 @@ public class TestMappingOptions extends TestBase {
         });
     }
 
+    @Test
+    public void compactNames() {
+        EntityModel model = getMapper().getEntityModel(CompactEntity.class);
+        String compact = compact().apply("customerName");
+        assertEquals(model.getProperty("customerName").getMappedName(), compact);
+        assertEquals(model.getProperty("customerName").getLoadNames(), List.of("customerName"));
+        assertEquals(model.getProperty("explicitlyNamed").getMappedName(), "explicit");
+        assertEquals(getMapper().getEntityModel(ComplexObject.class).getProperty("stringVal").getMappedName(), "stringVal");
+
+        CompactEntity entity = new CompactEntity();
+        entity.customerName = "Bob";
+        entity.explicitlyNamed = "explicit";
+        getDs().save(entity);
+
+        Document document = getDocumentCollection(CompactEntity.class).find().first();
+        assertEquals(document.getString(compact), "Bob");
+        assertFalse(document.containsKey("customerName"));
+        assertEquals(getDs().find(CompactEntity.class).filter(eq("customerName", "Bob")).first().id, entity.id);
+
+        ObjectId legacy = new ObjectId();
+        getDocumentCollection(CompactEntity.class).insertOne(new Document("_id", legacy)
+                .append("customerName", "Alice"));
+        assertEquals(getDs().find(CompactEntity.class).filter(eq("_id", legacy)).first().customerName, "Alice");
+    }
+
     @Test
     public void customDiscriminators() {
         getDs().getMapper().map(EntityDiscriminator.class, EntityDiscriminator2.class);
@@ -349,6 +377,15 @@ public class TestMappingOptions extends TestBase {
         }
     }
 
+    @Entity(value = "compact", compactNames = true)
+    private static class CompactEntity {
+        @Id
+        private ObjectId id;
+        private String customerName;
+        @Property("explicit")
+        private String explicitlyNamed;
+    }
+
     @Entity
     private static class DummyEntity {
         @Id
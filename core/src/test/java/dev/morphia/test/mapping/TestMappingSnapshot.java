@@ -0,0 +1,152 @@
+package dev.morphia.test.mapping;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import dev.morphia.config.MorphiaConfig;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.MappingSnapshot;
+import dev.morphia.mapping.NamingStrategy;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.test.TestBase;
+import dev.morphia.test.models.Hotel;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+@SuppressWarnings("removal")
+public class TestMappingSnapshot extends TestBase {
+    private static final String PACKAGE = Hotel.class.getPackageName();
+
+    private final List<Path> directories = new ArrayList<>();
+
+    @AfterMethod
+    public void deleteDirectories() throws IOException {
+        for (Path directory : directories) {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(path);
+                }
+            }
+        }
+        directories.clear();
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        MappingSnapshot snapshot = MappingSnapshot.of(map(MorphiaConfig.load()));
+        assertFalse(snapshot.entities().isEmpty());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        snapshot.write(output);
+        MappingSnapshot read = MappingSnapshot.read(new ByteArrayInputStream(output.toByteArray()));
+
+        assertEquals(read.entities(), snapshot.entities());
+        assertNotNull(read.entry(Hotel.class));
+    }
+
+    @Test
+    public void mapFromSnapshot() throws IOException {
+        Mapper discovered = map(MorphiaConfig.load());
+        Path classes = writeSnapshot(discovered);
+
+        withSnapshot(classes, () -> {
+            Mapper restored = map(MorphiaConfig.load().mappingSnapshot(true));
+            assertNotNull(restored.snapshotEntry(Hotel.class));
+            assertEquals(describe(restored), describe(discovered));
+
+            assertNull(map(MorphiaConfig.load()).snapshotEntry(Hotel.class));
+        });
+    }
+
+    @Test
+    public void ignoreMismatchedConfiguration() throws IOException {
+        Path classes = writeSnapshot(map(MorphiaConfig.load()));
+
+        withSnapshot(classes, () -> {
+            Mapper mapper = map(MorphiaConfig.load().mappingSnapshot(true).propertyNaming(NamingStrategy.snakeCase()));
+            assertNull(mapper.snapshotEntry(Hotel.class));
+            assertEquals(mapper.getEntityModel(Hotel.class).getProperty("startDate").getMappedName(), "start_date");
+        });
+    }
+
+    @Test
+    public void ignoreReconfiguredNaming() throws IOException {
+        Path classes = writeSnapshot(map(MorphiaConfig.load().propertyNaming(new Prefixed("a_"))));
+
+        withSnapshot(classes, () -> {
+            Mapper mapper = map(MorphiaConfig.load().mappingSnapshot(true).propertyNaming(new Prefixed("b_")));
+            assertNull(mapper.snapshotEntry(Hotel.class));
+            assertEquals(mapper.getEntityModel(Hotel.class).getProperty("startDate").getMappedName(), "b_startDate");
+        });
+    }
+
+    private Mapper map(MorphiaConfig config) {
+        Mapper mapper = new Mapper(config);
+        mapper.map(PACKAGE);
+        return mapper;
+    }
+
+    private Path writeSnapshot(Mapper mapper) throws IOException {
+        Path classes = Files.createTempDirectory("classes");
+        directories.add(classes);
+        Path path = classes.resolve(MappingSnapshot.LOCATION);
+        Files.createDirectories(path.getParent());
+        try (var output = Files.newOutputStream(path)) {
+            MappingSnapshot.of(mapper).write(output);
+        }
+        return classes;
+    }
+
+    private void withSnapshot(Path classes, Runnable runnable) throws IOException {
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { classes.toUri().toURL() }, original)) {
+            Thread.currentThread().setContextClassLoader(loader);
+            runnable.run();
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
+    private List<String> describe(Mapper mapper) {
+        Function<EntityModel, String> describe = model -> model.getType().getName() + model.getProperties().stream()
+                .map(property -> property.getName() + "=" + property.getMappedName() + property.getLoadNames()
+                        + property.getTypeData())
+                .collect(Collectors.joining(", ", "{", "}"))
+                + model.useDiscriminator() + model.getDiscriminatorKey() + model.getDiscriminator() + model.getCollectionName()
+                + model.getIdProperty() + model.getVersionProperty();
+        return mapper.getMappedEntities().stream()
+                .map(describe)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static class Prefixed extends NamingStrategy {
+        private final String prefix;
+
+        private Prefixed(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public String apply(String value) {
+            return prefix + value;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package dev.morphia.test.mapping.codec;
+
+import java.util.Arrays;
+
+import dev.morphia.annotations.Compressed;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.mapping.MappingException;
+import dev.morphia.mapping.codec.CompressedCodec;
+import dev.morphia.test.TestBase;
+
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.Document;
+import org.bson.codecs.BinaryCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.StringCodec;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static dev.morphia.annotations.internal.CompressedBuilder.compressedBuilder;
+import static dev.morphia.query.filters.Filters.eq;
+import static java.util.List.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+public class CompressedCodecTest extends TestBase {
+    private static final String BODY = "The quick brown fox jumps over the lazy dog. ".repeat(1000);
+
+    public CompressedCodecTest() {
+        super(buildConfig()
+                .packages(of("dev.morphia.test.mapping.codec")));
+    }
+
+    @Test
+    public void roundTrip() {
+        CompressedCodec<String> codec = new CompressedCodec<>(new StringCodec(), compressedBuilder().threshold(100).build());
+
+        BsonDocument document = new BsonDocument();
+        BsonDocumentWriter writer = new BsonDocumentWriter(document);
+        writer.writeStartDocument();
+        writer.writeName("large");
+        codec.encode(writer, BODY, EncoderContext.builder().build());
+        writer.writeName("small");
+        codec.encode(writer, "small", EncoderContext.builder().build());
+        writer.writeEndDocument();
+
+        assertEquals(document.getBinary("large").getType(), CompressedCodec.SUBTYPE);
+        assertTrue(document.getBinary("large").getData().length < BODY.length() / 10);
+        assertEquals(document.getString("small").getValue(), "small");
+
+        BsonDocumentReader reader = new BsonDocumentReader(document);
+        reader.readStartDocument();
+        reader.readName();
+        assertEquals(codec.decode(reader, DecoderContext.builder().build()), BODY);
+        reader.readName();
+        assertEquals(codec.decode(reader, DecoderContext.builder().build()), "small");
+    }
+
+    @Test
+    public void userDefinedBinary() {
+        CompressedCodec<Binary> codec = new CompressedCodec<>(new BinaryCodec(), compressedBuilder().threshold(100).build());
+        Binary binary = new Binary(BsonBinarySubType.USER_DEFINED.getValue(),
+                new byte[] { 'Z', 1, 7, 'd', 'e', 'f', 'l', 'a', 't', 'e', 0 });
+
+        assertEquals(decode(codec, new BsonDocument("value", new BsonBinary(binary.getType(), binary.getData()))), binary);
+    }
+
+    @Test
+    public void maxSize() {
+        CompressedCodec<String> codec = new CompressedCodec<>(new StringCodec(), compressedBuilder().threshold(100).build());
+        CompressedCodec<String> limited = new CompressedCodec<>(new StringCodec(), compressedBuilder()
+                .threshold(100)
+                .maxSize(1000)
+                .build());
+
+        BsonDocument document = new BsonDocument();
+        BsonDocumentWriter writer = new BsonDocumentWriter(document);
+        writer.writeStartDocument();
+        writer.writeName("value");
+        codec.encode(writer, BODY, EncoderContext.builder().build());
+        writer.writeEndDocument();
+
+        assertEquals(decode(codec, document), BODY);
+        assertThrows(MappingException.class, () -> decode(limited, document));
+        assertThrows(MappingException.class, () -> limited.encode(new BsonDocumentWriter(new BsonDocument()), BODY,
+                EncoderContext.builder().build()));
+    }
+
+    @Test
+    public void compressProperties() {
+        Payload payload = new Payload();
+        payload.body = BODY;
+        payload.bytes = BODY.getBytes();
+        payload.embedded = new Body();
+        payload.embedded.text = BODY;
+        payload.small = "small";
+        getDs().save(payload);
+
+        Document document = getDatabase().getCollection("payloads").find().first();
+        for (String name : of("body", "bytes", "embedded")) {
+            Binary binary = document.get(name, Binary.class);
+            assertEquals(binary.getType(), CompressedCodec.SUBTYPE, name);
+            assertTrue(binary.length() < BODY.length() / 10, name);
+        }
+        assertEquals(document.getString("small"), "small");
+
+        Payload loaded = getDs().find(Payload.class).filter(eq("_id", payload.id)).first();
+        assertEquals(loaded.body, BODY);
+        assertTrue(Arrays.equals(loaded.bytes, payload.bytes));
+        assertEquals(loaded.embedded.text, BODY);
+        assertEquals(loaded.small, "small");
+    }
+
+    @Test
+    public void readUncompressed() {
+        getDatabase().getCollection("payloads").insertOne(new Document("_id", new ObjectId())
+                .append("body", BODY)
+                .append("embedded", new Document("text", "plain")));
+
+        Payload loaded = getDs().find(Payload.class).first();
+        assertEquals(loaded.body, BODY);
+        assertEquals(loaded.embedded.text, "plain");
+    }
+
+    private static <T> T decode(CompressedCodec<T> codec, BsonDocument document) {
+        BsonDocumentReader reader = new BsonDocumentReader(document);
+        reader.readStartDocument();
+        reader.readName();
+        return codec.decode(reader, DecoderContext.builder().build());
+    }
+
+    @Entity(value = "payloads", useDiscriminator = false)
+    public static class Payload {
+        @Id
+        private ObjectId id;
+        @Compressed
+        private String body;
+        @Compressed
+        private byte[] bytes;
+        @Compressed
+        private Body embedded;
+        @Compressed
+        private String small;
+    }
+
+    @Entity
+    public static class Body {
+        private String text;
+    }
+}
@@ -0,0 +1,86 @@
+package dev.morphia.test.mapping.codec;
+
+import java.util.List;
+
+import dev.morphia.aggregation.AggregationImpl;
+import dev.morphia.mapping.codec.writer.BinaryDocumentWriter;
+import dev.morphia.test.TestBase;
+import dev.morphia.test.models.User;
+
+import org.bson.BsonSerializationException;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static dev.morphia.aggregation.expressions.AccumulatorExpressions.sum;
+import static dev.morphia.aggregation.expressions.Expressions.field;
+import static dev.morphia.aggregation.expressions.Expressions.value;
+import static dev.morphia.aggregation.stages.Group.group;
+import static dev.morphia.aggregation.stages.Group.id;
+import static dev.morphia.aggregation.stages.Match.match;
+import static dev.morphia.aggregation.stages.Projection.project;
+import static dev.morphia.aggregation.stages.Sort.sort;
+import static dev.morphia.mapping.codec.CodecHelper.array;
+import static dev.morphia.mapping.codec.CodecHelper.document;
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.filters.Filters.gt;
+import static dev.morphia.query.filters.Filters.lt;
+
+public class TestBinaryDocumentWriter extends TestBase {
+    @Test
+    public void binary() {
+        BinaryDocumentWriter writer = new BinaryDocumentWriter();
+        document(writer, () -> {
+            array(writer, "stuff", () -> {
+                writer.writeString("hello");
+                document(writer, () -> writer.writeInt32("doc", 42));
+            });
+            writer.writeString("next", "something simple");
+        });
+
+        Assert.assertEquals(writer.getDocument(), new Document("stuff", List.of("hello", new Document("doc", 42)))
+                .append("next", "something simple").toBsonDocument());
+    }
+
+    @Test
+    public void repeatedNames() {
+        Assert.assertThrows(BsonSerializationException.class, () -> BinaryDocumentWriter.encode(match(gt("age", 30), lt("age", 40)),
+                getDs().getCodecRegistry()));
+    }
+
+    @Test
+    public void pipeline() {
+        AggregationImpl<User> aggregation = (AggregationImpl<User>) getDs().aggregate(User.class)
+                .match(eq("name", "Mal"), gt("age", 30))
+                .match(gt("age", 30), lt("age", 40))
+                .group(group(id(field("name")))
+                        .field("count", sum(value(1))));
+
+        List<Document> documents = aggregation.pipeline();
+        List<Bson> encoded = aggregation.encodedPipeline();
+
+        Assert.assertTrue(encoded.get(0) instanceof RawBsonDocument);
+        Assert.assertTrue(encoded.get(1) instanceof Document, "Repeated field names should fall back to a Document");
+        Assert.assertTrue(encoded.get(2) instanceof RawBsonDocument);
+        for (int i = 0; i < documents.size(); i++) {
+            Assert.assertEquals(encoded.get(i).toBsonDocument(), documents.get(i).toBsonDocument(Document.class, getDs().getCodecRegistry()));
+        }
+    }
+
+    @Test
+    public void repeatedNamesOutsideMatch() {
+        AggregationImpl<User> aggregation = (AggregationImpl<User>) getDs().aggregate(User.class)
+                .sort(sort().ascending("name").descending("name"))
+                .project(project().include("name").include("name"));
+
+        List<Document> documents = aggregation.pipeline();
+        List<Bson> encoded = aggregation.encodedPipeline();
+
+        for (int i = 0; i < documents.size(); i++) {
+            Assert.assertTrue(encoded.get(i) instanceof Document, "Repeated field names should fall back to a Document");
+            Assert.assertEquals(encoded.get(i), documents.get(i));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package dev.morphia.test.query;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.mongodb.client.model.Collation;
+
+import dev.morphia.query.FindOptions;
+import dev.morphia.test.TestBase;
+import dev.morphia.test.models.User;
+
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static com.mongodb.client.model.CollationStrength.SECONDARY;
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.filters.Filters.gte;
+import static java.time.LocalDate.now;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestCoveredQueries extends TestBase {
+    @Test
+    public void distinct() {
+        getDs().save(List.of(user("Mal", 35, "ships", "browncoats"), user("Zoe", 33, "browncoats"), user("Wash", 34, "dinosaurs")));
+
+        assertEquals(Set.copyOf(getDs().find(User.class).distinct("name", String.class).toList()), Set.of("Mal", "Zoe", "Wash"));
+        assertEquals(Set.copyOf(getDs().find(User.class).distinct("likes", String.class).toList()),
+                Set.of("ships", "browncoats", "dinosaurs"));
+        assertEquals(getDs().find(User.class)
+                .filter(gte("age", 35))
+                .distinct("age", Integer.class)
+                .toList(), List.of(35));
+    }
+
+    @Test
+    public void exists() {
+        assertFalse(getDs().find(User.class).exists());
+
+        getDs().save(user("Kaylee", 27, "engines"));
+
+        assertTrue(getDs().find(User.class).filter(eq("name", "Kaylee")).exists());
+        assertFalse(getDs().find(User.class).filter(eq("name", "Jayne")).exists());
+        assertTrue(getDs().find(User.class).filter(eq("name", "KAYLEE"))
+                .exists(new FindOptions().collation(Collation.builder().locale("en").collationStrength(SECONDARY).build())));
+    }
+
+    @Test
+    public void ids() {
+        List<User> users = getDs().save(List.of(user("Simon", 30), user("River", 17), user("Book", 60)));
+
+        Set<ObjectId> expected = users.stream()
+                .filter(u -> u.age >= 30)
+                .map(User::getId)
+                .collect(Collectors.toSet());
+        assertEquals(Set.copyOf(getDs().find(User.class).filter(gte("age", 30)).ids(ObjectId.class).toList()), expected);
+        assertEquals(getDs().find(User.class).ids(ObjectId.class, new FindOptions().limit(1)).toList().size(), 1);
+    }
+
+    private static User user(String name, int age, String... likes) {
+        User user = new User(name, now(), likes);
+        user.age = age;
+        return user;
+    }
+}
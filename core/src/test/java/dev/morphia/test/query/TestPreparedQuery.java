@@ -0,0 +1,109 @@
+package dev.morphia.test.query;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import dev.morphia.query.MorphiaQuery;
+import dev.morphia.query.Parameter;
+import dev.morphia.query.PreparedQuery;
+import dev.morphia.query.Query;
+import dev.morphia.query.QueryException;
+import dev.morphia.test.TestBase;
+import dev.morphia.test.models.User;
+
+import org.bson.Document;
+import org.testng.annotations.Test;
+
+import static dev.morphia.query.Parameter.param;
+import static dev.morphia.query.filters.Filters.and;
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.filters.Filters.gte;
+import static java.time.LocalDate.now;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertThrows;
+
+public class TestPreparedQuery extends TestBase {
+    @Test
+    public void bindValues() {
+        getDs().save(List.of(user("Mal", 35), user("Zoe", 33), user("Wash", 34), user("River", 17)));
+
+        PreparedQuery<User> query = getDs().find(User.class)
+                .filter(and(gte("age", param("min")), eq("name", param("name"))))
+                .prepare();
+
+        assertEquals(query.parameters(), Set.of("min", "name"));
+        assertEquals(query.bind(Map.of("min", 30, "name", "Zoe")).count(), 1);
+        assertEquals(query.bind(Map.of("min", 30, "name", "River")).count(), 0);
+        assertEquals(query.bind(Map.of("min", 10, "name", "River")).first().name, "River");
+    }
+
+    @Test
+    public void boundDocument() {
+        Query<User> query = getDs().find(User.class)
+                .filter(eq("name", param("name")));
+        PreparedQuery<User> prepared = query.prepare();
+
+        Document expected = ((MorphiaQuery<User>) getDs().find(User.class)
+                .filter(eq("name", "Kaylee")))
+                .toDocument();
+        assertEquals(((MorphiaQuery<User>) prepared.bind("name", "Kaylee")).toDocument(), expected);
+    }
+
+    @Test
+    public void memoizedDocument() {
+        var query = (MorphiaQuery<User>) getDs().find(User.class)
+                .filter(eq("name", "Inara"));
+
+        Document first = query.toDocument();
+        Document expected = query.toDocument();
+        first.put("extra", 1);
+        ((Document) first.get("_t")).put("$nin", List.of());
+        Document second = query.toDocument();
+        assertNotSame(first, second);
+        assertEquals(second, expected);
+
+        query.filter(eq("age", 30));
+        assertEquals(query.toDocument(), ((MorphiaQuery<User>) getDs().find(User.class)
+                .filter(eq("name", "Inara"), eq("age", 30)))
+                .toDocument());
+    }
+
+    @Test
+    public void missingValues() {
+        PreparedQuery<User> prepared = getDs().find(User.class)
+                .filter(eq("name", param("name")))
+                .prepare();
+
+        assertThrows(QueryException.class, () -> prepared.bind(new HashMap<>()));
+        assertThrows(QueryException.class, () -> prepared.bind("age", 12));
+    }
+
+    @Test
+    public void sharedParameters() {
+        Parameter value = param("value");
+        PreparedQuery<User> byName = getDs().find(User.class)
+                .filter(eq("name", value))
+                .prepare();
+        PreparedQuery<User> byAge = getDs().find(User.class)
+                .filter(eq("age", value))
+                .prepare();
+
+        assertEquals(((MorphiaQuery<User>) byName.bind("value", "Jayne")).toDocument(),
+                ((MorphiaQuery<User>) getDs().find(User.class).filter(eq("name", "Jayne"))).toDocument());
+        assertEquals(((MorphiaQuery<User>) byAge.bind("value", 40)).toDocument(),
+                ((MorphiaQuery<User>) getDs().find(User.class).filter(eq("age", 40))).toDocument());
+
+        Query<User> conflicting = getDs().find(User.class)
+                .filter(eq("name", value), gte("age", value));
+        assertThrows(QueryException.class, conflicting::prepare);
+    }
+
+    private static User user(String name, int age) {
+        User user = new User(name, now());
+        user.age = age;
+        return user;
+    }
+}
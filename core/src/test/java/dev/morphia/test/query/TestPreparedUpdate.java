@@ -0,0 +1,80 @@
+package dev.morphia.test.query;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import dev.morphia.ModifyOptions;
+import dev.morphia.query.Parameter;
+import dev.morphia.query.PreparedUpdate;
+import dev.morphia.query.QueryException;
+import dev.morphia.test.TestBase;
+import dev.morphia.test.models.User;
+
+import org.bson.Document;
+import org.testng.annotations.Test;
+
+import static com.mongodb.client.model.ReturnDocument.AFTER;
+import static dev.morphia.query.Parameter.param;
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.updates.UpdateOperators.inc;
+import static dev.morphia.query.updates.UpdateOperators.set;
+import static java.time.LocalDate.now;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+
+public class TestPreparedUpdate extends TestBase {
+    @Test
+    public void bindValues() {
+        getDs().save(List.of(new User("Mal", now()), new User("Zoe", now())));
+
+        PreparedUpdate<User> update = getDs().find(User.class)
+                .prepareUpdate(set("name", param("name")), inc("age", param("years")));
+        assertEquals(update.parameters(), Set.of("name", "years"));
+
+        getDs().find(User.class)
+                .filter(eq("name", "Mal"))
+                .update(update.bind(Map.of("name", "Malcolm", "years", 35)));
+        User user = getDs().find(User.class)
+                .filter(eq("name", "Zoe"))
+                .modify(new ModifyOptions().returnDocument(AFTER), update.bind(Map.of("name", "Zoe Washburne", "years", 33)));
+
+        assertEquals(user.name, "Zoe Washburne");
+        assertEquals(user.age, 33);
+        assertEquals(getDs().find(User.class).filter(eq("name", "Malcolm")).first().age, 35);
+    }
+
+    @Test
+    public void boundDocument() {
+        PreparedUpdate<User> update = getDs().find(User.class)
+                .prepareUpdate(set("name", param("name")), inc("age", param("years")));
+
+        assertEquals(update.bind("name", "Kaylee").bind("years", 1).toDocument(),
+                new Document("$set", new Document("name", "Kaylee"))
+                        .append("$inc", new Document("age", 1)));
+    }
+
+    @Test
+    public void sharedParameters() {
+        Parameter value = param("value");
+        PreparedUpdate<User> rename = getDs().find(User.class)
+                .prepareUpdate(set("name", value));
+        PreparedUpdate<User> age = getDs().find(User.class)
+                .prepareUpdate(inc("age", value));
+
+        assertEquals(rename.bind("value", "Kaylee").toDocument(), new Document("$set", new Document("name", "Kaylee")));
+        assertEquals(age.bind("value", 1).toDocument(), new Document("$inc", new Document("age", 1)));
+        assertThrows(QueryException.class, () -> getDs().find(User.class)
+                .prepareUpdate(set("name", value), inc("age", value)));
+    }
+
+    @Test
+    public void missingValues() {
+        PreparedUpdate<User> update = getDs().find(User.class)
+                .prepareUpdate(set("name", param("name")), inc("age", param("years")));
+
+        assertThrows(QueryException.class, () -> update.bind("joined", now()));
+        assertThrows(QueryException.class, () -> update.bind("name", "Book").toDocument());
+        assertThrows(QueryException.class, () -> getDs().find(User.class).update(update));
+    }
+}
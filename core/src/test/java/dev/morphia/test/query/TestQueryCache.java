@@ -0,0 +1,177 @@
+package dev.morphia.test.query;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.annotations.CacheQueries;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.query.FindOptions;
+import dev.morphia.query.MorphiaCursor;
+import dev.morphia.query.Query;
+import dev.morphia.query.internal.QueryCache;
+import dev.morphia.test.TestBase;
+
+import org.bson.types.ObjectId;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.filters.Filters.gte;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class TestQueryCache extends TestBase {
+    public TestQueryCache() {
+        super(buildConfig(Product.class, Order.class)
+                .queryCacheSize(64L * 1024 * 1024));
+    }
+
+    @BeforeMethod
+    public void clearCache() {
+        cache().clear();
+    }
+
+    @Test
+    public void cachedUntilChanged() throws InterruptedException {
+        checkForReplicaSet();
+        getDs().save(List.of(new Product("books", 10), new Product("books", 20), new Product("games", 30)));
+
+        List<Product> first = getDs().find(Product.class).filter(eq("category", "books")).iterator().toList();
+        assertEquals(first.size(), 2);
+        assertEquals(cache().size(), 1);
+
+        List<Product> second = getDs().find(Product.class).filter(eq("category", "books")).iterator().toList();
+        assertEquals(second.size(), 2);
+        assertEquals(cache().size(), 1);
+        assertNotSame(second.get(0), first.get(0));
+
+        getDs().save(new Product("books", 40));
+        await(() -> cache().size() == 0);
+
+        assertEquals(getDs().find(Product.class).filter(eq("category", "books")).iterator().toList().size(), 3);
+    }
+
+    @Test
+    public void keyedByOptions() {
+        checkForReplicaSet();
+        getDs().save(List.of(new Product("books", 10), new Product("books", 20)));
+
+        assertEquals(getDs().find(Product.class).filter(gte("price", 10)).iterator(new FindOptions().limit(1)).toList().size(), 1);
+        assertEquals(getDs().find(Product.class).filter(gte("price", 10)).iterator().toList().size(), 2);
+        assertEquals(getDs().find(Product.class).filter(gte("price", 20)).first().price, 20);
+        assertEquals(cache().size(), 3);
+    }
+
+    @Test
+    public void perQuery() {
+        checkForReplicaSet();
+        getDs().save(new Product("books", 10));
+        getDs().save(new Order(5));
+
+        getDs().find(Product.class).iterator(new FindOptions().cache(false)).toList();
+        getDs().find(Order.class).iterator().toList();
+        assertEquals(cache().size(), 0);
+
+        getDs().find(Order.class).iterator(new FindOptions().cache(true)).toList();
+        assertEquals(cache().size(), 1);
+    }
+
+    @Test
+    public void disabledByDefault() {
+        MorphiaDatastore datastore = new MorphiaDatastore(getMongoClient(), buildConfig(Product.class));
+        assertNull(datastore.queryCache());
+    }
+
+    @Test
+    public void loggedQueries() {
+        checkForReplicaSet();
+        getDs().save(new Product("books", 10));
+
+        Query<Product> query = getDs().find(Product.class).filter(eq("category", "books"));
+        query.iterator().toList();
+        assertEquals(cache().size(), 1);
+
+        query.iterator(new FindOptions().logQuery()).toList();
+        assertNotNull(query.getLoggedQuery());
+    }
+
+    @Test
+    public void close() {
+        checkForReplicaSet();
+        MorphiaDatastore datastore = new MorphiaDatastore(getMongoClient(), buildConfig(Product.class)
+                .queryCacheSize(1024L * 1024));
+        datastore.save(new Product("books", 10));
+        datastore.find(Product.class).iterator().toList();
+        QueryCache cache = datastore.queryCache();
+        assertNotNull(cache);
+        assertEquals(cache.size(), 1);
+
+        datastore.close();
+        assertEquals(cache.size(), 0);
+        datastore.find(Product.class).iterator().toList();
+        assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void partialReads() {
+        checkForReplicaSet();
+        for (int i = 0; i < 10; i++) {
+            getDs().save(new Product("books", i));
+        }
+
+        try (MorphiaCursor<Product> cursor = getDs().find(Product.class).iterator(new FindOptions().batchSize(2))) {
+            cursor.next();
+        }
+        assertEquals(cache().size(), 0);
+    }
+
+    private QueryCache cache() {
+        QueryCache cache = getDs().queryCache();
+        assertTrue(cache != null);
+        return cache;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the cache to be invalidated");
+            Thread.sleep(50);
+        }
+    }
+
+    @Entity("products")
+    @CacheQueries
+    private static class Product {
+        @Id
+        private ObjectId id;
+        private String category;
+        private int price;
+
+        private Product() {
+        }
+
+        private Product(String category, int price) {
+            this.category = category;
+            this.price = price;
+        }
+    }
+
+    @Entity("orders")
+    private static class Order {
+        @Id
+        private ObjectId id;
+        private int quantity;
+
+        private Order() {
+        }
+
+        private Order(int quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package dev.morphia.test.query;
+
+import java.util.List;
+
+import com.mongodb.client.model.IndexModel;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Indexed;
+import dev.morphia.query.FindOptions;
+import dev.morphia.query.QueryPlan;
+import dev.morphia.test.TestBase;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static dev.morphia.query.Sort.ascending;
+import static dev.morphia.query.filters.Filters.eq;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+public class TestQueryPlan extends TestBase {
+    public TestQueryPlan() {
+        super(buildConfig(Account.class));
+    }
+
+    @Test
+    public void indexedQuery() {
+        getDs().ensureIndexes(Account.class);
+        getDs().save(List.of(new Account("mal@serenity.com", "Mal"), new Account("zoe@serenity.com", "Zoe")));
+
+        QueryPlan plan = getDs().find(Account.class)
+                .filter(eq("email", "zoe@serenity.com"))
+                .plan()
+                .assertIndexed()
+                .assertUsesIndex("email_1")
+                .assertExaminedAtMost(1);
+
+        assertFalse(plan.isCollectionScan());
+        assertEquals(plan.declaredIndexes(), List.of("email_1"));
+        assertEquals(plan.returned(), Long.valueOf(1));
+        assertTrue(plan.unusedIndexes().isEmpty());
+    }
+
+    @Test
+    public void collectionScan() {
+        getDs().ensureIndexes(Account.class);
+        getDs().save(List.of(new Account("mal@serenity.com", "Mal"), new Account("zoe@serenity.com", "Zoe")));
+
+        QueryPlan plan = getDs().find(Account.class)
+                .filter(eq("name", "Zoe"))
+                .plan(new FindOptions().sort(ascending("name")));
+
+        assertTrue(plan.isCollectionScan());
+        assertTrue(plan.hasInMemorySort());
+        assertEquals(plan.unusedIndexes(), List.of("email_1"));
+        assertThrows(AssertionError.class, plan::assertIndexed);
+        assertThrows(AssertionError.class, plan::assertNoInMemorySort);
+    }
+
+    @Test
+    public void missingIndex() {
+        getDs().save(new Account("mal@serenity.com", "Mal"));
+
+        QueryPlan plan = getDs().find(Account.class)
+                .filter(eq("email", "mal@serenity.com"))
+                .plan();
+
+        assertEquals(plan.missedIndexes(), List.of("email_1"));
+        assertThrows(AssertionError.class, plan::assertIndexed);
+    }
+
+    @Test
+    public void otherIndex() {
+        Document explain = Document.parse("{ queryPlanner: { namespace: 'test.accounts', winningPlan: { stage: 'FETCH', "
+                + "inputStage: { stage: 'IXSCAN', indexName: 'email_1_name_1' } } } }");
+        QueryPlan plan = new QueryPlan(explain, new Document("email", "mal@serenity.com"),
+                List.of(new IndexModel(new Document("email", 1))));
+
+        plan.assertIndexed();
+        assertTrue(plan.missedIndexes().isEmpty());
+        assertTrue(plan.problems().isEmpty());
+        assertThrows(AssertionError.class, () -> plan.assertExaminedAtMost(1));
+    }
+
+    @Test
+    public void aggregation() {
+        getDs().ensureIndexes(Account.class);
+        getDs().save(List.of(new Account("mal@serenity.com", "Mal"), new Account("zoe@serenity.com", "Zoe")));
+
+        QueryPlan plan = getDs().aggregate(Account.class)
+                .match(eq("email", "mal@serenity.com"))
+                .plan();
+
+        plan.assertIndexed();
+        assertEquals(plan.indexesUsed(), List.of("email_1"));
+    }
+
+    @Entity("accounts")
+    private static class Account {
+        @Id
+        private ObjectId id;
+        @Indexed
+        private String email;
+        private String name;
+
+        private Account() {
+        }
+
+        private Account(String email, String name) {
+            this.email = email;
+            this.name = name;
+        }
+    }
+}